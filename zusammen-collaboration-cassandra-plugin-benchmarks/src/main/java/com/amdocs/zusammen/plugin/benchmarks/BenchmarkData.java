@@ -0,0 +1,73 @@
+package com.amdocs.zusammen.plugin.benchmarks;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.Namespace;
+import com.amdocs.zusammen.datatypes.item.Info;
+import com.amdocs.zusammen.datatypes.item.Relation;
+import com.amdocs.zusammen.sdk.collaboration.types.CollaborationElement;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Random;
+
+/**
+ * Payloads shared by the benchmarks. The content is random but reproducible between runs.
+ */
+public final class BenchmarkData {
+  public static final int SMALL_PAYLOAD_SIZE = 1024;
+  private static final int INFO_PROPERTY_SIZE = 1024;
+  private static final int RELATIONS_COUNT = 16;
+
+  private BenchmarkData() {
+  }
+
+  public static byte[] createBytes(int size) {
+    byte[] bytes = new byte[size];
+    new Random(size).nextBytes(bytes);
+    return bytes;
+  }
+
+  /**
+   * Creates an info whose properties add up to (about) the given size.
+   */
+  public static Info createInfo(int size) {
+    Info info = new Info();
+    info.setName("benchmark element");
+    Random random = new Random(size);
+    for (int propertyIndex = 0; propertyIndex * INFO_PROPERTY_SIZE < size; propertyIndex++) {
+      char[] value =
+          new char[Math.min(INFO_PROPERTY_SIZE, size - propertyIndex * INFO_PROPERTY_SIZE)];
+      for (int charIndex = 0; charIndex < value.length; charIndex++) {
+        value[charIndex] = (char) ('a' + random.nextInt(26));
+      }
+      info.addProperty("property" + propertyIndex, new String(value));
+    }
+    return info;
+  }
+
+  public static Collection<Relation> createRelations() {
+    Collection<Relation> relations = new ArrayList<>(RELATIONS_COUNT);
+    for (int index = 0; index < RELATIONS_COUNT; index++) {
+      relations.add(new Relation());
+    }
+    return relations;
+  }
+
+  /**
+   * Creates an element with data of the given size, and small info, visualization and
+   * searchable data. The streams are created over the given arrays, so a new element is needed
+   * for every conversion.
+   */
+  public static CollaborationElement createElement(Id itemId, Id versionId, Info info,
+                                                   byte[] data, byte[] smallPayload) {
+    CollaborationElement element =
+        new CollaborationElement(itemId, versionId, new Namespace(), new Id());
+    element.setInfo(info);
+    element.setRelations(createRelations());
+    element.setData(new ByteArrayInputStream(data));
+    element.setSearchableData(new ByteArrayInputStream(smallPayload));
+    element.setVisualization(new ByteArrayInputStream(smallPayload));
+    return element;
+  }
+}
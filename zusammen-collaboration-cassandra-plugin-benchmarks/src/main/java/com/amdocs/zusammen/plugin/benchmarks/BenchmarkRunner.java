@@ -0,0 +1,29 @@
+package com.amdocs.zusammen.plugin.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the plugin benchmarks with the standard JMH command line options.
+ * Unless profilers are given explicitly, the GC profiler is added, so allocation rate
+ * (gc.alloc.rate.norm) is reported with every result.
+ */
+public class BenchmarkRunner {
+
+  private static final String BENCHMARKS_PACKAGE = "com.amdocs.zusammen.plugin";
+
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+    if (commandLineOptions.getIncludes().isEmpty()) {
+      options.include(BENCHMARKS_PACKAGE);
+    }
+    if (commandLineOptions.getProfilers().isEmpty()) {
+      options.addProfiler(GCProfiler.class);
+    }
+    new Runner(options.build()).run();
+  }
+}
@@ -0,0 +1,68 @@
+package com.amdocs.zusammen.plugin.benchmarks;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.item.ElementContext;
+import com.amdocs.zusammen.datatypes.item.Info;
+import com.amdocs.zusammen.plugin.ZusammenPluginUtil;
+import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
+import com.amdocs.zusammen.sdk.collaboration.types.CollaborationElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.amdocs.zusammen.plugin.benchmarks.BenchmarkData.SMALL_PAYLOAD_SIZE;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ElementConversionBenchmark {
+
+  @Param({"1024", "65536", "1048576", "10485760"})
+  private int payloadSize;
+
+  private ElementContext elementContext;
+  private Info info;
+  private byte[] data;
+  private byte[] smallPayload;
+  private ElementEntity elementEntity;
+
+  @Setup
+  public void setup() {
+    elementContext = new ElementContext(new Id(), new Id());
+    info = BenchmarkData.createInfo(SMALL_PAYLOAD_SIZE);
+    data = BenchmarkData.createBytes(payloadSize);
+    smallPayload = BenchmarkData.createBytes(SMALL_PAYLOAD_SIZE);
+    elementEntity = ZusammenPluginUtil.convertToElementEntity(createElement());
+  }
+
+  /**
+   * Includes reading the element streams and calculating the element hash.
+   */
+  @Benchmark
+  public ElementEntity convertToElementEntity() {
+    return ZusammenPluginUtil.convertToElementEntity(createElement());
+  }
+
+  @Benchmark
+  public CollaborationElement convertToCollaborationElement() {
+    return ZusammenPluginUtil.convertToCollaborationElement(elementContext, elementEntity);
+  }
+
+  private CollaborationElement createElement() {
+    return BenchmarkData.createElement(elementContext.getItemId(), elementContext.getVersionId(),
+        info, data, smallPayload);
+  }
+}
@@ -0,0 +1,51 @@
+package com.amdocs.zusammen.plugin.benchmarks;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.plugin.ZusammenPluginUtil;
+import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static com.amdocs.zusammen.plugin.benchmarks.BenchmarkData.SMALL_PAYLOAD_SIZE;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ElementHashBenchmark {
+
+  @Param({"1024", "65536", "1048576", "10485760"})
+  private int payloadSize;
+
+  private ElementEntity element;
+
+  @Setup
+  public void setup() {
+    byte[] smallPayload = BenchmarkData.createBytes(SMALL_PAYLOAD_SIZE);
+    element = new ElementEntity(new Id());
+    element.setInfo(BenchmarkData.createInfo(SMALL_PAYLOAD_SIZE));
+    element.setRelations(BenchmarkData.createRelations());
+    element.setData(ByteBuffer.wrap(BenchmarkData.createBytes(payloadSize)));
+    element.setSearchableData(ByteBuffer.wrap(smallPayload));
+    element.setVisualization(ByteBuffer.wrap(smallPayload));
+  }
+
+  @Benchmark
+  public String calculateElementHash() {
+    return ZusammenPluginUtil.calculateElementHash(element);
+  }
+}
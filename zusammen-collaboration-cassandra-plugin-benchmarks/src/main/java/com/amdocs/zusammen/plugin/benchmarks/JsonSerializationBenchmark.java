@@ -0,0 +1,72 @@
+package com.amdocs.zusammen.plugin.benchmarks;
+
+import com.amdocs.zusammen.datatypes.item.Info;
+import com.amdocs.zusammen.datatypes.item.Relation;
+import com.amdocs.zusammen.utils.fileutils.json.JsonUtil;
+import com.google.gson.reflect.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Info and relations are stored as json, the same way the element DAOs do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class JsonSerializationBenchmark {
+  private static final Type RELATIONS_TYPE = new TypeToken<ArrayList<Relation>>() {
+  }.getType();
+
+  @Param({"1024", "65536", "1048576", "10485760"})
+  private int payloadSize;
+
+  private Info info;
+  private String infoJson;
+  private Collection<Relation> relations;
+  private String relationsJson;
+
+  @Setup
+  public void setup() {
+    info = BenchmarkData.createInfo(payloadSize);
+    infoJson = JsonUtil.object2Json(info);
+    relations = BenchmarkData.createRelations();
+    relationsJson = JsonUtil.object2Json(relations);
+  }
+
+  @Benchmark
+  public String serializeInfo() {
+    return JsonUtil.object2Json(info);
+  }
+
+  @Benchmark
+  public Info deserializeInfo() {
+    return JsonUtil.json2Object(infoJson, Info.class);
+  }
+
+  @Benchmark
+  public String serializeRelations() {
+    return JsonUtil.object2Json(relations);
+  }
+
+  @Benchmark
+  public Collection<Relation> deserializeRelations() {
+    return JsonUtil.json2Object(relationsJson, RELATIONS_TYPE);
+  }
+}
@@ -0,0 +1,150 @@
+package com.amdocs.zusammen.plugin.benchmarks.scenario;
+
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.collaboration.impl.ElementPrivateStoreImpl;
+import com.amdocs.zusammen.plugin.collaboration.impl.ElementPublicStoreImpl;
+import com.amdocs.zusammen.plugin.collaboration.impl.ElementStageStoreImpl;
+import com.amdocs.zusammen.plugin.collaboration.impl.VersionPrivateStoreImpl;
+import com.amdocs.zusammen.plugin.collaboration.impl.VersionPublicStoreImpl;
+import com.amdocs.zusammen.plugin.collaboration.impl.VersionStageStoreImpl;
+import com.amdocs.zusammen.plugin.dao.ElementRepository;
+import com.amdocs.zusammen.plugin.dao.ElementStageRepository;
+import com.amdocs.zusammen.plugin.dao.ElementSynchronizationStateRepository;
+import com.amdocs.zusammen.plugin.dao.VersionChangeLogRepository;
+import com.amdocs.zusammen.plugin.dao.VersionDao;
+import com.amdocs.zusammen.plugin.dao.VersionRevisionRepository;
+import com.amdocs.zusammen.plugin.dao.VersionStageRepository;
+import com.amdocs.zusammen.plugin.dao.VersionSynchronizationStateRepository;
+import com.amdocs.zusammen.plugin.dao.VersionTagRepository;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.ElementRepositoryImpl;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.ElementStageRepositoryImpl;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.ElementSynchronizationStateRepositoryImpl;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryDatabase;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.VersionChangeLogRepositoryImpl;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.VersionDaoImpl;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.VersionRevisionRepositoryImpl;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.VersionStageRepositoryImpl;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.VersionSynchronizationStateRepositoryImpl;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.VersionTagRepositoryImpl;
+import com.amdocs.zusammen.plugin.main.CassandraCollaborationStorePluginImpl;
+import com.amdocs.zusammen.sdk.collaboration.CollaborationStore;
+
+/**
+ * Builds the collaboration plugin over the in memory DAOs of a given database, without going
+ * through the factory configuration - so that every scenario run gets its own database.
+ */
+public final class InMemoryCollaborationStores {
+
+  private InMemoryCollaborationStores() {
+  }
+
+  public static CollaborationStore create(InMemoryDatabase database) {
+    ElementRepository elementRepository = new ElementRepositoryImpl(database);
+    ElementSynchronizationStateRepository elementSyncStateRepository =
+        new ElementSynchronizationStateRepositoryImpl(database);
+    ElementStageRepository elementStageRepository = new ElementStageRepositoryImpl(database);
+    VersionDao versionDao = new VersionDaoImpl(database);
+    VersionSynchronizationStateRepository versionSyncStateRepository =
+        new VersionSynchronizationStateRepositoryImpl(database);
+    VersionStageRepository versionStageRepository = new VersionStageRepositoryImpl(database);
+    VersionChangeLogRepository versionChangeLogRepository =
+        new VersionChangeLogRepositoryImpl(database);
+    VersionRevisionRepository versionRevisionRepository =
+        new VersionRevisionRepositoryImpl(database);
+    VersionTagRepository versionTagRepository = new VersionTagRepositoryImpl(database);
+
+    return new CassandraCollaborationStorePluginImpl(
+        new VersionPrivateStoreImpl() {
+          @Override
+          protected VersionDao getVersionDao(SessionContext context) {
+            return versionDao;
+          }
+
+          @Override
+          protected VersionSynchronizationStateRepository getVersionSyncStateRepository(
+              SessionContext context) {
+            return versionSyncStateRepository;
+          }
+        },
+        new VersionPublicStoreImpl() {
+          @Override
+          protected VersionDao getVersionDao(SessionContext context) {
+            return versionDao;
+          }
+
+          @Override
+          protected VersionSynchronizationStateRepository getVersionSyncStateRepository(
+              SessionContext context) {
+            return versionSyncStateRepository;
+          }
+
+          @Override
+          protected VersionRevisionRepository getVersionRevisionRepository(
+              SessionContext context) {
+            return versionRevisionRepository;
+          }
+
+          @Override
+          protected boolean isVersionRevisionsEnabled() {
+            return true;
+          }
+
+          @Override
+          protected VersionTagRepository getVersionTagRepository(SessionContext context) {
+            return versionTagRepository;
+          }
+
+          @Override
+          public boolean isTaggingEnabled() {
+            return true;
+          }
+        },
+        new VersionStageStoreImpl() {
+          @Override
+          protected VersionStageRepository getVersionStageRepository(SessionContext context) {
+            return versionStageRepository;
+          }
+        },
+        new ElementPrivateStoreImpl() {
+          @Override
+          protected ElementRepository getElementRepository(SessionContext context) {
+            return elementRepository;
+          }
+
+          @Override
+          protected ElementSynchronizationStateRepository getElementSyncStateRepository(
+              SessionContext context) {
+            return elementSyncStateRepository;
+          }
+        },
+        new ElementPublicStoreImpl() {
+          @Override
+          protected ElementRepository getElementRepository(SessionContext context) {
+            return elementRepository;
+          }
+
+          @Override
+          protected ElementSynchronizationStateRepository getElementSyncStateRepository(
+              SessionContext context) {
+            return elementSyncStateRepository;
+          }
+
+          @Override
+          protected VersionChangeLogRepository getVersionChangeLogRepository(
+              SessionContext context) {
+            return versionChangeLogRepository;
+          }
+
+          @Override
+          protected boolean isChangeLogEnabled() {
+            return true; // the in memory DAOs have every table
+          }
+        },
+        new ElementStageStoreImpl() {
+          @Override
+          protected ElementStageRepository getElementStageRepository(SessionContext context) {
+            return elementStageRepository;
+          }
+        });
+  }
+}
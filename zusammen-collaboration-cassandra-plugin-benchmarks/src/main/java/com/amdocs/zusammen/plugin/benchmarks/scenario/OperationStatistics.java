@@ -0,0 +1,68 @@
+package com.amdocs.zusammen.plugin.benchmarks.scenario;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latencies, statements and bytes moved per operation of a scenario run. Not thread safe - the
+ * scenario runs its operations sequentially, which also keeps the counter deltas of the database
+ * attributable to a single operation.
+ */
+public class OperationStatistics {
+  private static final String ROW_FORMAT =
+      "%-34s %7s %10s %10s %10s %10s %12s %12s %12s%n";
+
+  private final Map<String, Operation> operations = new LinkedHashMap<>();
+
+  public void record(String operationName, long latencyNanos, long statements, long bytesRead,
+                     long bytesWritten) {
+    operations.computeIfAbsent(operationName, name -> new Operation())
+        .record(latencyNanos, statements, bytesRead, bytesWritten);
+  }
+
+  public void report(PrintStream out) {
+    out.printf(ROW_FORMAT, "operation", "count", "p50 ms", "p90 ms", "p99 ms", "max ms",
+        "stmts/op", "KB read/op", "KB write/op");
+    operations.forEach((name, operation) -> {
+      long[] latencies = Arrays.copyOf(operation.latencies, operation.count);
+      Arrays.sort(latencies);
+      out.printf(ROW_FORMAT, name, operation.count,
+          toMillis(percentile(latencies, 50)),
+          toMillis(percentile(latencies, 90)),
+          toMillis(percentile(latencies, 99)),
+          toMillis(latencies[latencies.length - 1]),
+          String.format("%.1f", (double) operation.statements / operation.count),
+          String.format("%.1f", operation.bytesRead / 1024.0 / operation.count),
+          String.format("%.1f", operation.bytesWritten / 1024.0 / operation.count));
+    });
+  }
+
+  private static long percentile(long[] sortedValues, int percentile) {
+    int index = (int) Math.ceil(percentile / 100.0 * sortedValues.length) - 1;
+    return sortedValues[Math.max(index, 0)];
+  }
+
+  private static String toMillis(long nanos) {
+    return String.format("%.3f", nanos / 1_000_000.0);
+  }
+
+  private static class Operation {
+    private long[] latencies = new long[16];
+    private int count;
+    private long statements;
+    private long bytesRead;
+    private long bytesWritten;
+
+    private void record(long latencyNanos, long statements, long bytesRead, long bytesWritten) {
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+      latencies[count++] = latencyNanos;
+      this.statements += statements;
+      this.bytesRead += bytesRead;
+      this.bytesWritten += bytesWritten;
+    }
+  }
+}
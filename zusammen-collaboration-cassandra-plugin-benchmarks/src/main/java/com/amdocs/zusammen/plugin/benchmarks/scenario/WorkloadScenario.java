@@ -0,0 +1,247 @@
+package com.amdocs.zusammen.plugin.benchmarks.scenario;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.Namespace;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.datatypes.UserInfo;
+import com.amdocs.zusammen.datatypes.item.Info;
+import com.amdocs.zusammen.datatypes.item.ItemVersionData;
+import com.amdocs.zusammen.datatypes.item.Resolution;
+import com.amdocs.zusammen.datatypes.itemversion.Revision;
+import com.amdocs.zusammen.datatypes.response.Response;
+import com.amdocs.zusammen.plugin.benchmarks.BenchmarkData;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryDatabase;
+import com.amdocs.zusammen.sdk.collaboration.CollaborationStore;
+import com.amdocs.zusammen.sdk.collaboration.types.CollaborationElement;
+import com.amdocs.zusammen.sdk.collaboration.types.CollaborationItemVersionConflict;
+import com.amdocs.zusammen.sdk.types.ElementConflictDescriptor;
+import com.amdocs.zusammen.sdk.types.ElementDescriptor;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * End to end workload of the collaboration plugin over the in memory DAOs: an owner creates a
+ * version with N elements and publishes it, K users sync it, each of them edits M elements and
+ * publishes, two of them edit the same M elements (so the second one gets conflicts to resolve),
+ * the owner reverts to the first revision and finally branches a new version.
+ * <p>
+ * The report holds the latency percentiles, statements per operation and bytes moved per
+ * operation. Several element counts can be given in order to get the scaling curve.
+ * Parameters (system properties):
+ * <ul>
+ * <li>scenario.elements - comma separated element counts (N), default 100,1000</li>
+ * <li>scenario.editedElements - elements edited by each user (M), default 10</li>
+ * <li>scenario.users - users syncing and publishing (K), default 4</li>
+ * <li>scenario.iterations - runs per element count, default 5</li>
+ * <li>scenario.payloadSize - element data size in bytes, default 1024</li>
+ * <li>zusammen.cassandra.inMemory.latencyMicros - simulated latency per statement, default 0</li>
+ * </ul>
+ */
+public class WorkloadScenario {
+  private static final String TENANT = "benchmark";
+  private static final int TREE_FAN_OUT = 10;
+
+  private final CollaborationStore collaborationStore;
+  private final InMemoryDatabase database;
+  private final OperationStatistics statistics;
+  private final int elementCount;
+  private final int editedElementCount;
+  private final int userCount;
+  private final byte[] smallPayload = BenchmarkData.createBytes(BenchmarkData.SMALL_PAYLOAD_SIZE);
+  private final byte[] data;
+  private int editRound;
+
+  public WorkloadScenario(InMemoryDatabase database, OperationStatistics statistics,
+                          int elementCount, int editedElementCount, int userCount,
+                          int payloadSize) {
+    if (userCount < 2) {
+      throw new IllegalArgumentException(
+          String.format("The scenario needs at least 2 users, got %d", userCount));
+    }
+    this.database = database;
+    this.collaborationStore = InMemoryCollaborationStores.create(database);
+    this.statistics = statistics;
+    this.elementCount = elementCount;
+    this.editedElementCount = Math.min(editedElementCount, elementCount);
+    this.userCount = userCount;
+    this.data = BenchmarkData.createBytes(payloadSize);
+  }
+
+  public static void main(String[] args) {
+    int[] elementCounts = Arrays.stream(System.getProperty("scenario.elements", "100,1000")
+        .split(",")).mapToInt(elementCount -> Integer.parseInt(elementCount.trim())).toArray();
+    int editedElementCount = Integer.getInteger("scenario.editedElements", 10);
+    int userCount = Integer.getInteger("scenario.users", 4);
+    int iterations = Integer.getInteger("scenario.iterations", 5);
+    int payloadSize = Integer.getInteger("scenario.payloadSize", 1024);
+
+    for (int elementCount : elementCounts) {
+      InMemoryDatabase database = new InMemoryDatabase(
+          Long.getLong("zusammen.cassandra.inMemory.latencyMicros", 0));
+      OperationStatistics statistics = new OperationStatistics();
+      WorkloadScenario scenario = new WorkloadScenario(database, statistics, elementCount,
+          editedElementCount, userCount, payloadSize);
+      for (int iteration = 0; iteration < iterations; iteration++) {
+        scenario.run();
+      }
+
+      System.out.printf("%nN=%d elements, M=%d edited, K=%d users, %d iterations%n",
+          elementCount, editedElementCount, userCount, iterations);
+      statistics.report(System.out);
+    }
+  }
+
+  /**
+   * Runs the whole scenario once, on a new item.
+   */
+  public void run() {
+    Id itemId = new Id();
+    Id versionId = new Id();
+    SessionContext owner = createContext("owner");
+
+    measure("createItemVersion", () ->
+        collaborationStore.createItemVersion(owner, itemId, null, versionId, createVersionData()));
+
+    List<CollaborationElement> elements = new ArrayList<>(elementCount);
+    for (int index = 0; index < elementCount; index++) {
+      Id parentId = index < TREE_FAN_OUT ? null : elements.get(index / TREE_FAN_OUT - 1).getId();
+      CollaborationElement element = createElement(itemId, versionId, new Id(), parentId);
+      elements.add(element);
+      measure("createElement", () -> collaborationStore.createElement(owner, element));
+    }
+    measure("publish (create N)", () ->
+        collaborationStore.publishItemVersion(owner, itemId, versionId, "created"));
+
+    List<SessionContext> users = new ArrayList<>(userCount);
+    for (int index = 0; index < userCount; index++) {
+      SessionContext user = createContext("user" + index);
+      users.add(user);
+      measure("sync (new user)", () -> collaborationStore.syncItemVersion(user, itemId, versionId));
+    }
+
+    // each user edits a different slice and publishes
+    for (int index = 0; index < userCount; index++) {
+      SessionContext user = users.get(index);
+      measure("sync", () -> collaborationStore.syncItemVersion(user, itemId, versionId));
+      editElements(user, elements, index * editedElementCount);
+      measure("publish (edit M)", () ->
+          collaborationStore.publishItemVersion(user, itemId, versionId, "edited"));
+    }
+
+    // two users edit the same slice - the second one resolves the conflicts
+    SessionContext first = users.get(0);
+    SessionContext second = users.get(1);
+    measure("sync", () -> collaborationStore.syncItemVersion(first, itemId, versionId));
+    measure("sync", () -> collaborationStore.syncItemVersion(second, itemId, versionId));
+    editElements(first, elements, 0);
+    editElements(second, elements, 0);
+    measure("publish (edit M)", () ->
+        collaborationStore.publishItemVersion(first, itemId, versionId, "edited"));
+    measure("sync (conflicted)", () ->
+        collaborationStore.syncItemVersion(second, itemId, versionId));
+    CollaborationItemVersionConflict conflict = measure("getItemVersionConflict", () ->
+        collaborationStore.getItemVersionConflict(second, itemId, versionId)).getValue();
+    for (ElementConflictDescriptor elementConflict : conflict.getElementConflictDescriptors()) {
+      CollaborationElement element = createConflictResolution(itemId, versionId, elementConflict);
+      measure("resolveElementConflict", () ->
+          collaborationStore.resolveElementConflict(second, element, Resolution.YOURS));
+    }
+    measure("publish (resolved)", () ->
+        collaborationStore.publishItemVersion(second, itemId, versionId, "resolved"));
+
+    // the owner goes back to the first revision and publishes it
+    measure("sync", () -> collaborationStore.syncItemVersion(owner, itemId, versionId));
+    Id firstRevisionId = measure("listItemVersionRevisions", () ->
+        collaborationStore.listItemVersionRevisions(owner, itemId, versionId)).getValue()
+        .getItemVersionRevisions().stream()
+        .min(Comparator.comparing(Revision::getTime))
+        .map(Revision::getRevisionId)
+        .orElseThrow(() -> new IllegalStateException("Published version must have revisions"));
+    measure("revertItemVersionRevision", () ->
+        collaborationStore.revertItemVersionRevision(owner, itemId, versionId, firstRevisionId));
+    measure("publish (reverted)", () ->
+        collaborationStore.publishItemVersion(owner, itemId, versionId, "reverted"));
+
+    measure("createItemVersion (branch)", () ->
+        collaborationStore.createItemVersion(owner, itemId, versionId, new Id(),
+            createVersionData()));
+  }
+
+  private void editElements(SessionContext user, List<CollaborationElement> elements,
+                            int fromIndex) {
+    editRound++;
+    for (int offset = 0; offset < editedElementCount; offset++) {
+      CollaborationElement original = elements.get((fromIndex + offset) % elements.size());
+      CollaborationElement element = createElement(original.getItemId(),
+          original.getVersionId(), original.getId(), original.getParentId());
+      element.getInfo().addProperty("editRound", editRound);
+      measure("updateElement", () -> collaborationStore.updateElement(user, element));
+    }
+  }
+
+  private <T> Response<T> measure(String operationName, Supplier<Response<T>> operation) {
+    long statements = database.getStatementCount();
+    long bytesRead = database.getBytesRead();
+    long bytesWritten = database.getBytesWritten();
+    long start = System.nanoTime();
+
+    Response<T> response = operation.get();
+
+    long latency = System.nanoTime() - start;
+    if (response.getReturnCode() != null) {
+      throw new IllegalStateException(String
+          .format("Operation %s failed: %s", operationName, response.getReturnCode()));
+    }
+    statistics.record(operationName, latency,
+        database.getStatementCount() - statements,
+        database.getBytesRead() - bytesRead,
+        database.getBytesWritten() - bytesWritten);
+    return response;
+  }
+
+  private CollaborationElement createElement(Id itemId, Id versionId, Id elementId,
+                                             Id parentId) {
+    CollaborationElement element =
+        new CollaborationElement(itemId, versionId, new Namespace(), elementId);
+    element.setParentId(parentId);
+    element.setInfo(BenchmarkData.createInfo(BenchmarkData.SMALL_PAYLOAD_SIZE));
+    element.setRelations(BenchmarkData.createRelations());
+    element.setData(new ByteArrayInputStream(data));
+    element.setSearchableData(new ByteArrayInputStream(smallPayload));
+    element.setVisualization(new ByteArrayInputStream(smallPayload));
+    return element;
+  }
+
+  private CollaborationElement createConflictResolution(Id itemId, Id versionId,
+                                                        ElementConflictDescriptor conflict) {
+    ElementDescriptor descriptor = conflict.getLocalElementDescriptor() == null
+        ? conflict.getRemoteElementDescriptor()
+        : conflict.getLocalElementDescriptor();
+    CollaborationElement element =
+        new CollaborationElement(itemId, versionId, descriptor.getNamespace(), descriptor.getId());
+    element.setParentId(descriptor.getParentId());
+    element.setInfo(descriptor.getInfo());
+    element.setRelations(descriptor.getRelations());
+    return element;
+  }
+
+  private static ItemVersionData createVersionData() {
+    Info info = new Info();
+    info.setName("benchmark version");
+    ItemVersionData versionData = new ItemVersionData();
+    versionData.setInfo(info);
+    return versionData;
+  }
+
+  private static SessionContext createContext(String user) {
+    SessionContext context = new SessionContext();
+    context.setUser(new UserInfo(user));
+    context.setTenant(TENANT);
+    return context;
+  }
+}
@@ -0,0 +1,99 @@
+package com.amdocs.zusammen.plugin.dao.impl.cassandra;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.plugin.benchmarks.BenchmarkData;
+import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
+import com.amdocs.zusammen.utils.fileutils.json.JsonUtil;
+import com.datastax.driver.core.Row;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps element rows the way {@link ElementRepositoryImpl} does after reading them.
+ * The row is an in memory stub holding the column values as the driver returns them, so only
+ * the mapping (mostly info and relations json parsing) is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ElementRowMappingBenchmark {
+
+  @Param({"1024", "65536", "1048576", "10485760"})
+  private int payloadSize;
+
+  private Id elementId;
+  private ElementEntity element;
+  private Row row;
+
+  @Setup
+  public void setup() {
+    elementId = new Id();
+    element = new ElementEntity(elementId);
+
+    Set<String> subElementIds = new HashSet<>();
+    for (int index = 0; index < 16; index++) {
+      subElementIds.add(new Id().getValue());
+    }
+    byte[] smallPayload = BenchmarkData.createBytes(BenchmarkData.SMALL_PAYLOAD_SIZE);
+
+    Map<String, Object> columns = new HashMap<>();
+    columns.put("namespace", new Id().getValue());
+    columns.put("parent_id", new Id().getValue());
+    columns.put("info", JsonUtil.object2Json(BenchmarkData.createInfo(payloadSize)));
+    columns.put("relations", JsonUtil.object2Json(BenchmarkData.createRelations()));
+    columns.put("sub_element_ids", subElementIds);
+    columns.put("data", ByteBuffer.wrap(BenchmarkData.createBytes(payloadSize)));
+    columns.put("searchable_data", ByteBuffer.wrap(smallPayload));
+    columns.put("visualization", ByteBuffer.wrap(smallPayload));
+    columns.put("element_hash", new Id().getValue());
+    row = createRow(columns);
+  }
+
+  @Benchmark
+  public ElementEntity getElementEntityDescriptor() {
+    return ElementRepositoryImpl.getElementEntityDescriptor(elementId, row);
+  }
+
+  @Benchmark
+  public ElementEntity getElementEntity() {
+    return ElementRepositoryImpl.getElementEntity(element, row);
+  }
+
+  private static Row createRow(Map<String, Object> columns) {
+    return (Row) Proxy.newProxyInstance(Row.class.getClassLoader(), new Class<?>[]{Row.class},
+        (proxy, method, args) -> {
+          Object value = columns.get((String) args[0]);
+          switch (method.getName()) {
+            case "getString":
+            case "getSet":
+              return value;
+            case "getBytes":
+              return value == null ? null : ((ByteBuffer) value).duplicate();
+            case "isNull":
+              return value == null;
+            default:
+              throw new UnsupportedOperationException(method.getName());
+          }
+        });
+  }
+}
@@ -0,0 +1,101 @@
+package com.amdocs.zusammen.plugin;
+
+import com.amdocs.zusammen.plugin.metrics.PluginInstrumentation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.amdocs.zusammen.plugin.ZusammenPluginConstants.CONCURRENCY;
+
+/**
+ * Bounded pool shared by the plugin for running independent statements concurrently (e.g. the
+ * fetches and writes of a tree level).
+ * Tasks submitted from within a pool thread run on the calling thread, so that nested parallel
+ * work cannot exhaust the pool and deadlock. Tasks are measured as part of the operation of the
+ * submitting thread.
+ */
+public final class ZusammenPluginConcurrency {
+  private static final int PARALLELISM = Integer.getInteger(CONCURRENCY, 16);
+
+  private static final ThreadGroup WORKERS = new ThreadGroup("zusammen-cassandra-workers");
+  private static final ExecutorService EXECUTOR = PARALLELISM <= 1 ? null
+      : Executors.newFixedThreadPool(PARALLELISM, new WorkerFactory());
+
+  private ZusammenPluginConcurrency() {
+  }
+
+  /**
+   * Applies the function to all the values concurrently, and waits for all of them.
+   *
+   * @return the results in the order of the values
+   * @throws RuntimeException the first failure of the function, after all applications ended
+   */
+  public static <T, R> List<R> map(Collection<T> values, Function<T, R> function) {
+    if (values.size() <= 1 || EXECUTOR == null || isWorker()) {
+      List<R> results = new ArrayList<>(values.size());
+      values.forEach(value -> results.add(function.apply(value)));
+      return results;
+    }
+
+    List<CompletableFuture<R>> futures = new ArrayList<>(values.size());
+    for (T value : values) {
+      futures.add(CompletableFuture.supplyAsync(
+          PluginInstrumentation.inCurrentOperation(() -> function.apply(value)), EXECUTOR));
+    }
+
+    List<R> results = new ArrayList<>(futures.size());
+    RuntimeException failure = null;
+    for (CompletableFuture<R> future : futures) {
+      try {
+        results.add(future.join());
+      } catch (CompletionException e) {
+        if (failure == null) {
+          failure = e.getCause() instanceof RuntimeException
+              ? (RuntimeException) e.getCause()
+              : e;
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+    return results;
+  }
+
+  /**
+   * Runs the action on all the values concurrently, and waits for all of them.
+   *
+   * @throws RuntimeException the first failure of the action, after all runs ended
+   */
+  public static <T> void forEach(Collection<T> values, Consumer<T> action) {
+    map(values, value -> {
+      action.accept(value);
+      return null;
+    });
+  }
+
+  private static boolean isWorker() {
+    return Thread.currentThread().getThreadGroup() == WORKERS;
+  }
+
+  private static class WorkerFactory implements ThreadFactory {
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread =
+          new Thread(WORKERS, runnable, WORKERS.getName() + '-' + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -22,4 +22,89 @@ import com.amdocs.zusammen.datatypes.Id;
 public class ZusammenPluginConstants {
   public static final String PUBLIC_SPACE = "public";
   public static final Id ROOT_ELEMENTS_PARENT_ID = Id.ZERO;
+
+  /**
+   * Window (in milliseconds) in which repeated updates of the same private element are coalesced.
+   * Updates are written through when not set or not positive.
+   */
+  public static final String WRITE_BEHIND_WINDOW_MILLIS = "zusammen.cassandra.writeBehind.windowMillis";
+  /**
+   * Whether pending private element updates are flushed on JVM shutdown (default true).
+   */
+  public static final String WRITE_BEHIND_FLUSH_ON_SHUTDOWN =
+      "zusammen.cassandra.writeBehind.flushOnShutdown";
+  /**
+   * Number of times a scheduled flush of a version's pending updates is attempted before it is
+   * left to the next flush of the version (default 5).
+   */
+  public static final String WRITE_BEHIND_MAX_FLUSH_ATTEMPTS =
+      "zusammen.cassandra.writeBehind.maxFlushAttempts";
+  /**
+   * Latency (in microseconds) added to every statement of the in memory DAO implementation.
+   */
+  public static final String IN_MEMORY_LATENCY_MICROS = "zusammen.cassandra.inMemory.latencyMicros";
+  /**
+   * Whether plugin operations are measured (default true).
+   */
+  public static final String METRICS_ENABLED = "zusammen.cassandra.metrics.enabled";
+  /**
+   * Latency (in milliseconds) from which a summary of the operation is logged (default 1000).
+   */
+  public static final String METRICS_SUMMARY_THRESHOLD_MILLIS =
+      "zusammen.cassandra.metrics.summaryThresholdMillis";
+  /**
+   * Latency (in milliseconds) from which a statement is logged along with its partition and the
+   * size of its result (default 500, negative disables the log).
+   */
+  public static final String SLOW_STATEMENT_THRESHOLD_MILLIS =
+      "zusammen.cassandra.slowStatementThresholdMillis";
+  /**
+   * Number of statements the plugin may run concurrently on behalf of a single operation
+   * (default 16, 1 or less runs them sequentially).
+   */
+  public static final String CONCURRENCY = "zusammen.cassandra.concurrency";
+  /**
+   * Number of staged elements committed to private together when committing the staging
+   * (default 200).
+   */
+  public static final String COMMIT_STAGING_PAGE_SIZE = "zusammen.cassandra.commitStaging.pageSize";
+  /**
+   * Whether a sync which cannot conflict (nothing changed on private and nothing staged) applies
+   * the public changes directly to private instead of staging them (default true).
+   */
+  public static final String SYNC_DIRECT_APPLY = "zusammen.cassandra.sync.directApply";
+  /**
+   * Whether the ids of the staged elements are also maintained in the version elements (default
+   * false) - for plugin versions which list the staged elements by them.
+   */
+  public static final String STAGE_MAINTAIN_ELEMENT_IDS = "zusammen.cassandra.stage.maintainElementIds";
+  /**
+   * Whether element_stage has the local_change column (default false), which staging local changes
+   * - merging versions - requires. Other staging does not use it.
+   */
+  public static final String STAGE_LOCAL_CHANGES = "zusammen.cassandra.stage.localChanges";
+  /**
+   * Whether publications are appended to the version_change_log table, and sync reads the changes
+   * from it (default false). Publications made while it is off are not logged, so the table must
+   * be truncated before turning it on again.
+   */
+  public static final String CHANGE_LOG_ENABLED = "zusammen.cassandra.changeLog.enabled";
+  /**
+   * Whether the version revisions are written to, and listed from, the version_revisions table
+   * (default false) - otherwise they are listed from the version synchronization states.
+   * Publications made while it is off are not written to the table, so the table must be truncated
+   * before turning it on again.
+   */
+  public static final String VERSION_REVISIONS_ENABLED =
+      "zusammen.cassandra.versionRevisions.enabled";
+  /**
+   * Whether version tags are stored in the version_tags table (default false) - otherwise tagging
+   * a version does nothing, as before tags were supported, and the table is not accessed.
+   */
+  public static final String TAGS_ENABLED = "zusammen.cassandra.tags.enabled";
+  /**
+   * Number of private element hashes kept by a JVM to tell changed elements apart without reading
+   * their stored hash (default 10000, 0 disables the cache).
+   */
+  public static final String ELEMENT_HASH_CACHE_SIZE = "zusammen.cassandra.elementHashCache.size";
 }
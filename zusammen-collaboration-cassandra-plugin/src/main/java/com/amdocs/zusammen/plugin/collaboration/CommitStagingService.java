@@ -3,14 +3,18 @@ package com.amdocs.zusammen.plugin.collaboration;
 import com.amdocs.zusammen.datatypes.Id;
 import com.amdocs.zusammen.datatypes.SessionContext;
 import com.amdocs.zusammen.datatypes.item.ElementContext;
+import com.amdocs.zusammen.plugin.ZusammenPluginConcurrency;
 import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
 import com.amdocs.zusammen.plugin.dao.types.StageEntity;
 import com.amdocs.zusammen.plugin.dao.types.VersionEntity;
 
-import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static com.amdocs.zusammen.plugin.ZusammenPluginConstants.COMMIT_STAGING_PAGE_SIZE;
 
 public class CommitStagingService {
+  private static final int PAGE_SIZE = Integer.getInteger(COMMIT_STAGING_PAGE_SIZE, 200);
 
   private VersionPrivateStore versionPrivateStore;
   private VersionStageStore versionStageStore;
@@ -32,15 +36,13 @@ public class CommitStagingService {
         versionStageStore.get(context, itemId, new VersionEntity(versionId));
 
     final ElementContext elementContext = new ElementContext(itemId, versionId, Id.ZERO);
-    Collection<ElementEntity> stagedElementIds = elementStageStore.listIds(context, elementContext);
-
-    if ((!versionStage.isPresent() && stagedElementIds.isEmpty()) ||
+    if ((!versionStage.isPresent() && !elementStageStore.hasElements(context, elementContext)) ||
         elementStageStore.hasConflicts(context, elementContext)) {
       return;
     }
 
     versionStage.ifPresent(verStage -> commitVersionStage(context, itemId, verStage));
-    commitElementsStage(context, elementContext, stagedElementIds);
+    commitElementsStage(context, elementContext);
   }
 
   private void commitVersionStage(SessionContext context, Id itemId,
@@ -66,35 +68,72 @@ public class CommitStagingService {
     versionStageStore.delete(context, itemId, versionStage.getEntity());
   }
 
-  private void commitElementsStage(SessionContext context, ElementContext elementContext,
-                                   Collection<ElementEntity> stagedElementIds) {
-    for (ElementEntity stagedElementId : stagedElementIds) {
-      StageEntity<ElementEntity> stagedElement =
-          elementStageStore.get(context, elementContext, stagedElementId)
-              .orElseThrow(
-                  () -> new IllegalStateException("Staged element id returned by list must exist"));
-      switch (stagedElement.getAction()) {
-        case CREATE:
-          elementPrivateStore.commitStagedCreate(context, elementContext, stagedElement.getEntity(),
-              stagedElement.getPublishTime());
-          break;
-        case UPDATE:
-          elementPrivateStore.commitStagedUpdate(context, elementContext, stagedElement.getEntity(),
-              stagedElement.getPublishTime());
-          break;
-        case DELETE:
-          elementPrivateStore
-              .commitStagedDelete(context, elementContext, stagedElement.getEntity());
-          break;
-        case IGNORE:
-          elementPrivateStore.commitStagedIgnore(context, elementContext, stagedElement.getEntity(),
-              stagedElement.getPublishTime());
-          break;
-        default:
-          throw new UnsupportedOperationException(
-              "Element change other then Create/Update/Delete/Ignore is not supported");
-      }
-      elementStageStore.delete(context, elementContext, stagedElement.getEntity());
+  /**
+   * Commits the staged elements a page at a time: the elements of a page are committed to private
+   * concurrently, and only then deleted from stage together. So the stage left by an interrupted
+   * commit is exactly what is left to commit, and committing it again resumes the commit
+   * (re-committing the elements of an interrupted page is harmless).
+   */
+  private void commitElementsStage(SessionContext context, ElementContext elementContext) {
+    elementStageStore.list(context, elementContext, PAGE_SIZE, stagedElements -> {
+      ZusammenPluginConcurrency.forEach(stagedElements,
+          stagedElement -> commitElementStage(context, elementContext, stagedElement));
+      elementStageStore.delete(context, elementContext, stagedElements.stream()
+          .map(StageEntity::getEntity)
+          .collect(Collectors.toList()));
+    });
+  }
+
+  private void commitElementStage(SessionContext context, ElementContext elementContext,
+                                  StageEntity<ElementEntity> stagedElement) {
+    if (stagedElement.isLocal()) {
+      commitLocalElementStage(context, elementContext, stagedElement);
+      return;
+    }
+    switch (stagedElement.getAction()) {
+      case CREATE:
+        elementPrivateStore.commitStagedCreate(context, elementContext, stagedElement.getEntity(),
+            stagedElement.getPublishTime());
+        break;
+      case UPDATE:
+        elementPrivateStore.commitStagedUpdate(context, elementContext, stagedElement.getEntity(),
+            stagedElement.getPublishTime());
+        break;
+      case DELETE:
+        elementPrivateStore
+            .commitStagedDelete(context, elementContext, stagedElement.getEntity());
+        break;
+      case IGNORE:
+        elementPrivateStore.commitStagedIgnore(context, elementContext, stagedElement.getEntity(),
+            stagedElement.getPublishTime());
+        break;
+      default:
+        throw new UnsupportedOperationException(
+            "Element change other then Create/Update/Delete/Ignore is not supported");
+    }
+  }
+
+  /**
+   * A local change is committed as a change made to the private version - it is marked as dirty,
+   * so that it will be published. An ignored local change keeps the private element as is.
+   */
+  private void commitLocalElementStage(SessionContext context, ElementContext elementContext,
+                                       StageEntity<ElementEntity> stagedElement) {
+    switch (stagedElement.getAction()) {
+      case CREATE:
+        elementPrivateStore.create(context, elementContext, stagedElement.getEntity());
+        break;
+      case UPDATE:
+        elementPrivateStore.update(context, elementContext, stagedElement.getEntity());
+        break;
+      case DELETE:
+        elementPrivateStore.delete(context, elementContext, stagedElement.getEntity());
+        break;
+      case IGNORE:
+        break;
+      default:
+        throw new UnsupportedOperationException(
+            "Element change other then Create/Update/Delete/Ignore is not supported");
     }
   }
 }
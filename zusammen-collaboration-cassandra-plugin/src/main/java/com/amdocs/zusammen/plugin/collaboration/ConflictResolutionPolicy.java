@@ -0,0 +1,58 @@
+package com.amdocs.zusammen.plugin.collaboration;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.Namespace;
+import com.amdocs.zusammen.datatypes.item.Resolution;
+import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Decides how the conflicted elements of an item version are resolved, so that many conflicts can
+ * be resolved by a single operation.
+ */
+@FunctionalInterface
+public interface ConflictResolutionPolicy {
+
+  /**
+   * @param conflictedElement the staged descriptor of a conflicted element
+   * @return the resolution of the element's conflict, or empty to leave it conflicted
+   */
+  Optional<Resolution> getResolution(ElementEntity conflictedElement);
+
+  /**
+   * @return a policy resolving all the conflicts by the given resolution
+   */
+  static ConflictResolutionPolicy all(Resolution resolution) {
+    return conflictedElement -> Optional.of(resolution);
+  }
+
+  /**
+   * @return a policy resolving the conflicts of the given elements by their resolutions
+   */
+  static ConflictResolutionPolicy of(Map<Id, Resolution> resolutions) {
+    return conflictedElement -> Optional.ofNullable(resolutions.get(conflictedElement.getId()));
+  }
+
+  /**
+   * @return a policy resolving the conflicts of the elements within the given namespace (or any
+   * namespace nested in it) by the given resolution
+   */
+  static ConflictResolutionPolicy inNamespace(Namespace namespace, Resolution resolution) {
+    String namespaceValue = namespace.toString();
+    return conflictedElement -> {
+      if (conflictedElement.getNamespace() == null) {
+        return Optional.empty();
+      }
+      // a namespace is a path of element ids joined by the namespace separator - a nested one
+      // continues it by a separator, while a sibling's may continue it by more id characters
+      String elementNamespace = conflictedElement.getNamespace().toString();
+      return elementNamespace.startsWith(namespaceValue) &&
+          (elementNamespace.length() == namespaceValue.length() ||
+              !Character.isLetterOrDigit(elementNamespace.charAt(namespaceValue.length())))
+          ? Optional.of(resolution)
+          : Optional.empty();
+    };
+  }
+}
@@ -4,15 +4,19 @@ import com.amdocs.zusammen.datatypes.Id;
 import com.amdocs.zusammen.datatypes.SessionContext;
 import com.amdocs.zusammen.datatypes.item.Action;
 import com.amdocs.zusammen.datatypes.item.ElementContext;
+import com.amdocs.zusammen.plugin.ZusammenPluginConcurrency;
 import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
 import com.amdocs.zusammen.plugin.dao.types.StageEntity;
 import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class DiscardChangesService {
@@ -69,57 +73,109 @@ public class DiscardChangesService {
         new ElementContext(itemId, versionId, revisionIdOfPrivateLastSync));
   }
 
+  /**
+   * Overrides the dirty elements (found by the dirty element ids of the version) with their public
+   * state, read in bulk. The overrides are applied directly to private, unless there are staged
+   * elements (e.g. conflicts of a sync) - then they are staged along with them, to be committed
+   * once those are resolved.
+   */
   private void overrideDirtyElements(SessionContext context, ElementContext elementContext) {
-    Map<Id, SynchronizationStateEntity> publicSyncStateById =
-        elementPublicStore.listSynchronizationStates(context, elementContext).stream()
-            .collect(Collectors.toMap(SynchronizationStateEntity::getId, Function.identity()));
-
-    List<SynchronizationStateEntity> dirtyPrivateSyncStates =
-        elementPrivateStore.listSynchronizationStates(context, elementContext).stream()
-            .filter(SynchronizationStateEntity::isDirty)
-            .collect(Collectors.toList());
+    Collection<SynchronizationStateEntity> dirtyPrivateSyncStates =
+        elementPrivateStore.listDirtySynchronizationStates(context, elementContext);
+    if (dirtyPrivateSyncStates.isEmpty()) {
+      return;
+    }
 
+    Map<Id, ElementEntity> privateElements = elementPrivateStore.getDescriptors(context,
+        elementContext, dirtyPrivateSyncStates.stream()
+            .map(SynchronizationStateEntity::getId)
+            .collect(Collectors.toSet()));
+    Set<Id> publishedElementIds = dirtyPrivateSyncStates.stream()
+        .filter(privateSyncState -> privateSyncState.getPublishTime() != null)
+        .map(SynchronizationStateEntity::getId)
+        .collect(Collectors.toSet());
+    Map<Id, SynchronizationStateEntity> publicSyncStateById = publishedElementIds.isEmpty()
+        ? new HashMap<>()
+        : elementPublicStore.getSynchronizationStates(context, elementContext, publishedElementIds);
+    Map<Id, ElementEntity> publicElements = publicSyncStateById.isEmpty()
+        ? new HashMap<>()
+        : elementPublicStore.get(context, elementContext, publicSyncStateById.keySet());
+
+    List<StageEntity<ElementEntity>> elementStages =
+        new ArrayList<>(dirtyPrivateSyncStates.size());
     for (SynchronizationStateEntity privateSyncState : dirtyPrivateSyncStates) {
-      Optional<ElementEntity> privateElement =
-          elementPrivateStore.get(context, elementContext, privateSyncState.getId());
+      ElementEntity privateElement = privateElements.get(privateSyncState.getId());
       if (privateSyncState.getPublishTime() == null) {
-        stageElement(context, elementContext, privateElement.orElseThrow(
-            () -> new IllegalStateException(String
-                .format(PRIVATE_UNPUBLISHED_SYNC_STATE_EXISTS_WITHOUT_ELEMENT,
-                    elementContext.getItemId(), elementContext.getVersionId(),
-                    privateSyncState.getId()))), null, Action.DELETE);
-      } else {
-        SynchronizationStateEntity publicSyncState =
-            publicSyncStateById.get(privateSyncState.getId());
-        if (publicSyncState != null) {
-          ElementEntity publicElement =
-              elementPublicStore.get(context, elementContext, privateSyncState.getId()).orElseThrow(
-                  () -> new IllegalStateException(String
-                      .format(PUBLIC_SYNC_STATE_EXISTS_WITHOUT_ELEMENT, elementContext.getItemId(),
-                          elementContext.getVersionId(), privateSyncState.getId())));
-
-          stageElement(context, elementContext, publicElement, publicSyncState.getPublishTime(),
-              privateElement.isPresent() ? Action.UPDATE : Action.CREATE);
-        } else {
-          stageElement(context, elementContext,
-              privateElement.orElseGet(() -> new ElementEntity(privateSyncState.getId())), null,
-              Action.DELETE);
+        if (privateElement == null) {
+          throw new IllegalStateException(String
+              .format(PRIVATE_UNPUBLISHED_SYNC_STATE_EXISTS_WITHOUT_ELEMENT,
+                  elementContext.getItemId(), elementContext.getVersionId(),
+                  privateSyncState.getId()));
         }
+        elementStages.add(createStage(privateElement, null, Action.DELETE));
+        continue;
+      }
+
+      SynchronizationStateEntity publicSyncState =
+          publicSyncStateById.get(privateSyncState.getId());
+      if (publicSyncState == null) {
+        elementStages.add(createStage(privateElement == null
+            ? new ElementEntity(privateSyncState.getId())
+            : privateElement, null, Action.DELETE));
+        continue;
+      }
+
+      ElementEntity publicElement = publicElements.get(privateSyncState.getId());
+      if (publicElement == null) {
+        throw new IllegalStateException(String
+            .format(PUBLIC_SYNC_STATE_EXISTS_WITHOUT_ELEMENT, elementContext.getItemId(),
+                elementContext.getVersionId(), privateSyncState.getId()));
       }
+      elementStages.add(createStage(publicElement, publicSyncState.getPublishTime(),
+          privateElement == null ? Action.CREATE : Action.UPDATE));
+    }
+
+    if (elementStageStore.hasElements(context, elementContext)) {
+      ZusammenPluginConcurrency.forEach(elementStages,
+          elementStage -> elementStageStore.create(context, elementContext, elementStage));
+    } else {
+      applyElementStages(context, elementContext, elementStages);
     }
   }
 
-  private void stageElement(SessionContext context, ElementContext elementContext,
-                            ElementEntity element, Date publishTime, Action action) {
-    elementStageStore
-        .create(context, elementContext, new StageEntity<>(element, publishTime, action, false));
+  /**
+   * Applies the overrides as their commit would: created and updated elements concurrently, then
+   * the deleted ones together.
+   */
+  private void applyElementStages(SessionContext context, ElementContext elementContext,
+                                  List<StageEntity<ElementEntity>> elementStages) {
+    Map<Boolean, List<StageEntity<ElementEntity>>> elementStagesByDeletion =
+        elementStages.stream().collect(Collectors.partitioningBy(
+            elementStage -> elementStage.getAction() == Action.DELETE));
+
+    ZusammenPluginConcurrency.forEach(elementStagesByDeletion.get(false), elementStage -> {
+      if (elementStage.getAction() == Action.CREATE) {
+        elementPrivateStore.commitStagedCreate(context, elementContext, elementStage.getEntity(),
+            elementStage.getPublishTime());
+      } else {
+        elementPrivateStore.commitStagedUpdate(context, elementContext, elementStage.getEntity(),
+            elementStage.getPublishTime());
+      }
+    });
+    elementPrivateStore.commitStagedDelete(context, elementContext,
+        elementStagesByDeletion.get(true).stream()
+            .map(StageEntity::getEntity)
+            .collect(Collectors.toList()));
+  }
+
+  private static StageEntity<ElementEntity> createStage(ElementEntity element, Date publishTime,
+                                                        Action action) {
+    return new StageEntity<>(element, publishTime, action, false);
   }
 
   private Id findRevisionIdOfPrivateLastSync(SessionContext context, Id itemId, Id versionId,
                                              Date publishTimeOfPrivateLastSync) {
-    return versionPublicStore.listSynchronizationStates(context, itemId, versionId).stream()
-        .filter(syncState -> publishTimeOfPrivateLastSync.equals(syncState.getPublishTime()))
-        .findFirst()
+    return versionPublicStore.findRevision(context, itemId, versionId, publishTimeOfPrivateLastSync)
         .orElseThrow(() -> new IllegalStateException(
             String.format(PRIVATE_VERSION_REVISION_WAS_NOT_FOUND_ON_PUBLIC, itemId, versionId,
                 publishTimeOfPrivateLastSync)))
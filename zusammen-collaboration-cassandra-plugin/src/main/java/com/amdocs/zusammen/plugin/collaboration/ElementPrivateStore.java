@@ -8,13 +8,10 @@ import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
 
 import java.util.Collection;
 import java.util.Date;
-import java.util.Map;
 import java.util.Optional;
 
 public interface ElementPrivateStore extends ElementStore {
 
-  Map<Id, Id> listIds(SessionContext context, ElementContext elementContext);
-
   void cleanAll(SessionContext context, ElementContext elementContext);
 
   Collection<ElementEntity> listSubs(SessionContext context, ElementContext elementContext,
@@ -24,12 +21,24 @@ public interface ElementPrivateStore extends ElementStore {
                                                                ElementContext elementContext,
                                                                Id elementId);
 
+  /**
+   * Lists the synchronization states of the dirty elements only, by the dirty element ids of the
+   * version.
+   */
+  Collection<SynchronizationStateEntity> listDirtySynchronizationStates(
+      SessionContext context, ElementContext elementContext);
+
   void create(SessionContext context, ElementContext elementContext, ElementEntity element);
 
   boolean update(SessionContext context, ElementContext elementContext, ElementEntity element);
 
   void delete(SessionContext context, ElementContext elementContext, ElementEntity element);
 
+  /**
+   * Deletes the existing elements out of the given ones, along with their sub trees, in bulk.
+   */
+  void delete(SessionContext context, ElementContext elementContext, Collection<Id> elementIds);
+
   void markAsPublished(SessionContext context, ElementContext elementContext, Id elementId,
                        Date publishTime);
 
@@ -45,6 +54,13 @@ public interface ElementPrivateStore extends ElementStore {
   void commitStagedDelete(SessionContext context, ElementContext elementContext,
                           ElementEntity element);
 
+  /**
+   * Deletes the given elements (without their sub trees) and their synchronization states, all
+   * together. Only the elements with a populated parent id are removed from their parents.
+   */
+  void commitStagedDelete(SessionContext context, ElementContext elementContext,
+                          Collection<ElementEntity> elements);
+
   void commitStagedIgnore(SessionContext context, ElementContext elementContext,
                           ElementEntity element, Date publishTime);
 }
@@ -3,15 +3,18 @@ package com.amdocs.zusammen.plugin.collaboration;
 import com.amdocs.zusammen.datatypes.Id;
 import com.amdocs.zusammen.datatypes.SessionContext;
 import com.amdocs.zusammen.datatypes.item.ElementContext;
+import com.amdocs.zusammen.plugin.dao.types.ChangeLogEntryEntity;
 import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
+import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
 
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public interface ElementPublicStore extends ElementStore {
 
-  Map<Id,Id> listIds(SessionContext context, ElementContext elementContext);
-
   void cleanAll(SessionContext context, ElementContext elementContext);
 
   void create(SessionContext context, ElementContext elementContext, ElementEntity element,
@@ -22,4 +25,43 @@ public interface ElementPublicStore extends ElementStore {
 
   void delete(SessionContext context, ElementContext elementContext, ElementEntity element,
               Date publishTime);
+
+  Optional<SynchronizationStateEntity> getSynchronizationState(SessionContext context,
+                                                               ElementContext elementContext,
+                                                               Id elementId);
+
+  /**
+   * @return the synchronization state of the element at the given element revision - for callers
+   * which already hold the element revisions of the version (see {@link #listIds})
+   */
+  Optional<SynchronizationStateEntity> getSynchronizationState(SessionContext context,
+                                                               ElementContext elementContext,
+                                                               Id elementId,
+                                                               Id elementRevisionId);
+
+  /**
+   * @return the synchronization states of the existing elements out of the given ones, by their
+   * ids
+   */
+  Map<Id, SynchronizationStateEntity> getSynchronizationStates(SessionContext context,
+                                                               ElementContext elementContext,
+                                                               Collection<Id> elementIds);
+
+  /**
+   * Appends the element changes of a publication to the version's change log. The publication
+   * itself is logged as well, so that it is known to be covered by the log even if it has no
+   * element changes. Nothing is logged unless the change log is enabled.
+   */
+  void logChanges(SessionContext context, ElementContext elementContext, Date publishTime,
+                  Collection<ChangeLogEntryEntity> changes);
+
+  /**
+   * @return the element changes published after the publication of the given from time, up to
+   * the publication of the given to time, ordered by their publish time - or empty if the change
+   * log does not cover both publications (e.g. the to publication is still being published, or
+   * failed before it was logged, or the change log is not enabled)
+   */
+  Optional<List<ChangeLogEntryEntity>> listChanges(SessionContext context,
+                                                   ElementContext elementContext,
+                                                   Date fromPublishTime, Date toPublishTime);
 }
@@ -7,12 +7,29 @@ import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
 import com.amdocs.zusammen.plugin.dao.types.StageEntity;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ElementStageStore {
 
   Collection<ElementEntity> listIds(SessionContext context, ElementContext elementContext);
 
+  boolean hasElements(SessionContext context, ElementContext elementContext);
+
+  /**
+   * Whether local changes (e.g. of a merge) are staged, which must be committed before anything
+   * else is staged.
+   */
+  boolean hasLocalChanges(SessionContext context, ElementContext elementContext);
+
+  /**
+   * Scans the staged elements with their full content, handing them to the consumer a page at a
+   * time.
+   */
+  void list(SessionContext context, ElementContext elementContext, int pageSize,
+            Consumer<List<StageEntity<ElementEntity>>> pageConsumer);
+
   boolean hasConflicts(SessionContext context, ElementContext elementContext);
 
   Collection<StageEntity<ElementEntity>> listConflictedDescriptors(SessionContext context,
@@ -32,6 +49,18 @@ public interface ElementStageStore {
 
   void delete(SessionContext context, ElementContext elementContext, ElementEntity element);
 
+  void delete(SessionContext context, ElementContext elementContext,
+              Collection<ElementEntity> elements);
+
   void resolveConflict(SessionContext context, ElementContext elementContext, ElementEntity element,
                        Resolution resolution);
+
+  /**
+   * Resolves the conflicts chosen by the policy with batched stage updates.
+   *
+   * @return the number of conflicted elements resolved by the policy - their conflict dependents,
+   * which are marked as not conflicted along with them, are not counted
+   */
+  int resolveConflicts(SessionContext context, ElementContext elementContext,
+                       ConflictResolutionPolicy resolutionPolicy);
 }
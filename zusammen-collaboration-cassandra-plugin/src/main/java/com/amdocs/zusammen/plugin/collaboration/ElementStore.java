@@ -7,14 +7,40 @@ import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
 import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 public interface ElementStore {
+
+  /**
+   * @return the revision ids of the version elements, by their ids
+   */
+  Map<Id, Id> listIds(SessionContext context, ElementContext elementContext);
+
   Optional<ElementEntity> get(SessionContext context, ElementContext elementContext, Id elementId);
 
+  /**
+   * @return the existing elements out of the given ones, by their ids
+   */
+  Map<Id, ElementEntity> get(SessionContext context, ElementContext elementContext,
+                             Collection<Id> elementIds);
+
   Optional<ElementEntity> getDescriptor(SessionContext context, ElementContext elementContext,
                                         Id elementId);
 
+  /**
+   * @return the descriptors of the existing elements out of the given ones, by their ids
+   */
+  Map<Id, ElementEntity> getDescriptors(SessionContext context, ElementContext elementContext,
+                                        Collection<Id> elementIds);
+
+  /**
+   * @return the hashes of the existing elements out of the given ones, by their ids - without
+   * reading their content
+   */
+  Map<Id, Id> getHashes(SessionContext context, ElementContext elementContext,
+                        Collection<Id> elementIds);
+
   Collection<SynchronizationStateEntity> listSynchronizationStates(SessionContext context,
                                                                    ElementContext elementContext);
 }
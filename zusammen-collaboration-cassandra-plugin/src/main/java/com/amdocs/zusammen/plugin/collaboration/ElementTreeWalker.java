@@ -0,0 +1,81 @@
+package com.amdocs.zusammen.plugin.collaboration;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.plugin.ZusammenPluginConcurrency;
+import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Iterative traversal of element trees, level by level (breadth first) using a work queue of the
+ * next level's element ids instead of recursion - so deep hierarchies cannot overflow the stack.
+ * The elements of a level are fetched by a single call of the level fetcher, and may be visited
+ * concurrently.
+ */
+public class ElementTreeWalker {
+  private final Function<Collection<Id>, Map<Id, ElementEntity>> levelFetcher;
+  private final Consumer<Id> missingElementHandler;
+  private final boolean parallel;
+
+  /**
+   * @param levelFetcher          fetches the existing elements out of the given ids
+   * @param missingElementHandler called for an element which does not exist, it may throw - if
+   *                              it does not, the element and its subtree are skipped
+   * @param parallel              whether the elements of a level are visited concurrently
+   */
+  public ElementTreeWalker(Function<Collection<Id>, Map<Id, ElementEntity>> levelFetcher,
+                           Consumer<Id> missingElementHandler, boolean parallel) {
+    this.levelFetcher = levelFetcher;
+    this.missingElementHandler = missingElementHandler;
+    this.parallel = parallel;
+  }
+
+  /**
+   * Visits the trees of the given elements top down - an element is visited before its sub
+   * elements, and a level is visited before the next one is fetched.
+   *
+   * @return the ids of the visited elements
+   */
+  public Set<Id> walkTopDown(Collection<Id> elementIds, Consumer<ElementEntity> visitor) {
+    Set<Id> visitedElementIds = new HashSet<>();
+    Collection<Id> levelElementIds = elementIds;
+    while (!levelElementIds.isEmpty()) {
+      Collection<ElementEntity> levelElements = fetchLevel(levelElementIds);
+      visit(levelElements, visitor);
+      levelElementIds = getNextLevelIds(levelElements, visitedElementIds);
+    }
+    return visitedElementIds;
+  }
+
+  private Collection<ElementEntity> fetchLevel(Collection<Id> levelElementIds) {
+    Map<Id, ElementEntity> levelElements = levelFetcher.apply(levelElementIds);
+    levelElementIds.stream()
+        .filter(elementId -> !levelElements.containsKey(elementId))
+        .forEach(missingElementHandler);
+    return levelElements.values();
+  }
+
+  private Collection<Id> getNextLevelIds(Collection<ElementEntity> levelElements,
+                                         Set<Id> visitedElementIds) {
+    levelElements.forEach(element -> visitedElementIds.add(element.getId()));
+    return levelElements.stream()
+        .flatMap(element -> element.getSubElementIds().stream())
+        .filter(elementId -> !visitedElementIds.contains(elementId))
+        .distinct() // a sub element shared by elements of the level is fetched once
+        .collect(Collectors.toList());
+  }
+
+  private <T> void visit(Collection<T> levelElements, Consumer<T> visitor) {
+    if (parallel) {
+      ZusammenPluginConcurrency.forEach(levelElements, visitor);
+    } else {
+      levelElements.forEach(visitor);
+    }
+  }
+}
@@ -0,0 +1,283 @@
+package com.amdocs.zusammen.plugin.collaboration;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.datatypes.item.ElementContext;
+import com.amdocs.zusammen.plugin.collaboration.impl.ElementPrivateStoreImpl;
+import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static com.amdocs.zusammen.plugin.ZusammenPluginConstants.WRITE_BEHIND_FLUSH_ON_SHUTDOWN;
+import static com.amdocs.zusammen.plugin.ZusammenPluginConstants.WRITE_BEHIND_MAX_FLUSH_ATTEMPTS;
+import static com.amdocs.zusammen.plugin.ZusammenPluginConstants.WRITE_BEHIND_WINDOW_MILLIS;
+
+/**
+ * Write-behind buffer of private element updates, kept per user, item and version.
+ * Repeated updates of the same element within the configured window are coalesced into a single
+ * write of the last one.
+ * Pending updates of a version must be flushed before anything reads or changes the private
+ * elements of that version (element reads, publish, sync, discard etc.).
+ * When no window is configured the buffer is disabled and updates are written through.
+ * <p>
+ * The buffer is local to the JVM: pending updates are neither visible to other nodes nor written
+ * by them, so reads of the version on other nodes do not see them until they are flushed, and
+ * they are lost if the JVM exits without flushing them. A failed scheduled flush is logged and
+ * retried on the next windows, up to the configured number of attempts, after which the updates
+ * stay pending until the version is flushed again. The shutdown flush is best effort - an
+ * application which closes its Cassandra session before the JVM exits should call
+ * {@link #flushAll()} before closing it.
+ */
+public class ElementUpdateBuffer {
+  private static final Logger LOGGER = Logger.getLogger(ElementUpdateBuffer.class.getName());
+  private static final int DEFAULT_MAX_FLUSH_ATTEMPTS = 5;
+  private static final String FLUSH_FAILED =
+      "Failed to flush the element updates of %s, %d updates are still pending";
+  private static final String FLUSH_ATTEMPTS_EXHAUSTED =
+      "Gave up flushing the element updates of %s after %d attempts, %d updates stay pending "
+          + "until the version is flushed again";
+
+  private static final ElementUpdateBuffer INSTANCE =
+      new ElementUpdateBuffer(new ElementPrivateStoreImpl(),
+          Long.getLong(WRITE_BEHIND_WINDOW_MILLIS, 0L),
+          Boolean.parseBoolean(System.getProperty(WRITE_BEHIND_FLUSH_ON_SHUTDOWN, "true")),
+          Integer.getInteger(WRITE_BEHIND_MAX_FLUSH_ATTEMPTS, DEFAULT_MAX_FLUSH_ATTEMPTS));
+
+  private final ElementPrivateStore elementPrivateStore;
+  private final long windowMillis;
+  private final int maxFlushAttempts;
+  private final Map<VersionKey, VersionBuffer> buffers = new ConcurrentHashMap<>();
+  private ScheduledExecutorService flushScheduler;
+
+  public static ElementUpdateBuffer getInstance() {
+    return INSTANCE;
+  }
+
+  public ElementUpdateBuffer(ElementPrivateStore elementPrivateStore, long windowMillis,
+                             boolean flushOnShutdown) {
+    this(elementPrivateStore, windowMillis, flushOnShutdown, DEFAULT_MAX_FLUSH_ATTEMPTS);
+  }
+
+  public ElementUpdateBuffer(ElementPrivateStore elementPrivateStore, long windowMillis,
+                             boolean flushOnShutdown, int maxFlushAttempts) {
+    this.elementPrivateStore = elementPrivateStore;
+    this.windowMillis = windowMillis;
+    this.maxFlushAttempts = maxFlushAttempts;
+    if (!isEnabled()) {
+      return;
+    }
+
+    flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "zusammen-element-update-buffer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    if (flushOnShutdown) {
+      Runtime.getRuntime().addShutdownHook(new Thread(this::flushAll));
+    }
+  }
+
+  public boolean isEnabled() {
+    return windowMillis > 0;
+  }
+
+  public void update(SessionContext context, ElementContext elementContext,
+                     ElementEntity element) {
+    if (!isEnabled()) {
+      elementPrivateStore.update(context, elementContext, element);
+      return;
+    }
+
+    VersionKey key = new VersionKey(context, elementContext.getItemId(),
+        elementContext.getVersionId());
+    while (true) {
+      VersionBuffer buffer = buffers.computeIfAbsent(key, versionKey -> new VersionBuffer());
+      synchronized (buffer) {
+        if (buffer.closed) {
+          continue; // flushed meanwhile - a new buffer is needed
+        }
+        buffer.pendingUpdates.put(element.getId(),
+            new PendingUpdate(context, elementContext, element));
+        if (!buffer.flushScheduled) {
+          buffer.flushScheduled = true;
+          buffer.flushAttempts = 0;
+          scheduleFlush(key);
+        }
+        return;
+      }
+    }
+  }
+
+  /**
+   * Writes all the pending updates of the version.
+   */
+  public void flush(SessionContext context, Id itemId, Id versionId) {
+    if (isEnabled()) {
+      flush(new VersionKey(context, itemId, versionId), true);
+    }
+  }
+
+  /**
+   * Drops the pending updates of the version, used when the version itself is deleted.
+   */
+  public void discard(SessionContext context, Id itemId, Id versionId) {
+    if (isEnabled()) {
+      flush(new VersionKey(context, itemId, versionId), false);
+    }
+  }
+
+  /**
+   * Writes the pending updates of all the versions. A version whose updates fail to be written is
+   * logged and stays pending, the other versions are flushed regardless.
+   */
+  public void flushAll() {
+    for (VersionKey key : new ArrayList<>(buffers.keySet())) {
+      try {
+        flush(key, true);
+      } catch (RuntimeException e) {
+        logFlushFailure(key, e);
+      }
+    }
+  }
+
+  private void flush(VersionKey key, boolean write) {
+    VersionBuffer buffer;
+    while ((buffer = buffers.get(key)) != null) {
+      synchronized (buffer) {
+        if (buffer.closed) {
+          continue;
+        }
+        if (write) {
+          writePendingUpdates(buffer);
+        }
+        buffer.closed = true;
+        buffers.remove(key, buffer);
+        return;
+      }
+    }
+  }
+
+  private void writePendingUpdates(VersionBuffer buffer) {
+    Iterator<PendingUpdate> pendingUpdates = buffer.pendingUpdates.values().iterator();
+    while (pendingUpdates.hasNext()) {
+      PendingUpdate pendingUpdate = pendingUpdates.next();
+      elementPrivateStore
+          .update(pendingUpdate.context, pendingUpdate.elementContext, pendingUpdate.element);
+      pendingUpdates.remove(); // on failure the rest stays pending
+    }
+  }
+
+  private void scheduleFlush(VersionKey key) {
+    flushScheduler.schedule(() -> {
+      try {
+        flush(key, true);
+      } catch (RuntimeException e) {
+        logFlushFailure(key, e);
+        retryFlush(key);
+      }
+    }, windowMillis, TimeUnit.MILLISECONDS);
+  }
+
+  private void retryFlush(VersionKey key) {
+    VersionBuffer buffer = buffers.get(key);
+    if (buffer == null) {
+      return;
+    }
+    synchronized (buffer) {
+      if (buffer.closed) {
+        return;
+      }
+      if (++buffer.flushAttempts < maxFlushAttempts) {
+        scheduleFlush(key); // retry on the next window
+        return;
+      }
+      // the next update schedules a flush again, a read of the version flushes it anyway
+      buffer.flushScheduled = false;
+      LOGGER.severe(String.format(FLUSH_ATTEMPTS_EXHAUSTED, key, buffer.flushAttempts,
+          buffer.pendingUpdates.size()));
+    }
+  }
+
+  private void logFlushFailure(VersionKey key, RuntimeException e) {
+    VersionBuffer buffer = buffers.get(key);
+    int pendingUpdates;
+    if (buffer == null) {
+      pendingUpdates = 0;
+    } else {
+      synchronized (buffer) {
+        pendingUpdates = buffer.pendingUpdates.size();
+      }
+    }
+    LOGGER.log(Level.WARNING, String.format(FLUSH_FAILED, key, pendingUpdates), e);
+  }
+
+  private static class VersionBuffer {
+    private final Map<Id, PendingUpdate> pendingUpdates = new LinkedHashMap<>();
+    private boolean flushScheduled;
+    private int flushAttempts;
+    private boolean closed;
+  }
+
+  private static class PendingUpdate {
+    private final SessionContext context;
+    private final ElementContext elementContext;
+    private final ElementEntity element;
+
+    private PendingUpdate(SessionContext context, ElementContext elementContext,
+                          ElementEntity element) {
+      this.context = context;
+      this.elementContext = elementContext;
+      this.element = element;
+    }
+  }
+
+  private static class VersionKey {
+    private final String tenant;
+    private final String user;
+    private final Id itemId;
+    private final Id versionId;
+
+    private VersionKey(SessionContext context, Id itemId, Id versionId) {
+      this.tenant = context.getTenant();
+      this.user = context.getUser().getUserName();
+      this.itemId = itemId;
+      this.versionId = versionId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+
+      VersionKey that = (VersionKey) o;
+
+      return Objects.equals(tenant, that.tenant) && user.equals(that.user) &&
+          itemId.equals(that.itemId) && versionId.equals(that.versionId);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(tenant, user, itemId, versionId);
+    }
+
+    @Override
+    public String toString() {
+      return String.format("tenant %s, user %s, item %s, version %s", tenant, user, itemId,
+          versionId);
+    }
+  }
+}
@@ -0,0 +1,212 @@
+package com.amdocs.zusammen.plugin.collaboration;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.datatypes.item.Action;
+import com.amdocs.zusammen.datatypes.item.ElementContext;
+import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
+import com.amdocs.zusammen.plugin.dao.types.StageEntity;
+import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
+import com.amdocs.zusammen.plugin.dao.types.VersionEntity;
+import com.amdocs.zusammen.sdk.collaboration.types.CollaborationMergeChange;
+import com.amdocs.zusammen.sdk.collaboration.types.CollaborationMergeConflict;
+import com.amdocs.zusammen.sdk.collaboration.types.CollaborationMergeResult;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Merges a source version into the private target version by a three way diff of their element
+ * hashes against a common base - the public revision of the version they were branched from, at
+ * the time they were branched. Only the hashes are read for the diff, the content is read only for
+ * the elements taken from the source. The merge changes are staged as local changes (along with
+ * their conflicts), to be committed by the staging commit. Deleting an element whose target sub
+ * tree was changed since the base is a conflict, depended on by that sub tree.
+ */
+public class MergeService {
+  private static final String MERGE_INTO_NON_EXISTING_VERSION =
+      "Item Id %s, version Id %s: Cannot merge into a version which does not exist";
+  private static final String MERGE_NON_EXISTING_VERSION =
+      "Item Id %s, version Id %s: Cannot merge a version which does not exist";
+  private static final String MERGE_INTO_STAGED_VERSION =
+      "Item Id %s, version Id %s: Cannot merge into a version with staged changes, " +
+          "they should be committed or resolved first";
+  private static final String MERGED_ELEMENT_NOT_EXIST =
+      "Item Id %s, version Id %s: Element with Id %s which should be merged does not exist";
+
+  private VersionPublicStore versionPublicStore;
+  private VersionPrivateStore versionPrivateStore;
+  private ElementPublicStore elementPublicStore;
+  private ElementPrivateStore elementPrivateStore;
+  private ElementStageStore elementStageStore;
+
+  public MergeService(VersionPublicStore versionPublicStore,
+                      VersionPrivateStore versionPrivateStore,
+                      ElementPublicStore elementPublicStore,
+                      ElementPrivateStore elementPrivateStore,
+                      ElementStageStore elementStageStore) {
+    this.versionPublicStore = versionPublicStore;
+    this.versionPrivateStore = versionPrivateStore;
+    this.elementPublicStore = elementPublicStore;
+    this.elementPrivateStore = elementPrivateStore;
+    this.elementStageStore = elementStageStore;
+  }
+
+  public CollaborationMergeResult merge(SessionContext context, Id itemId, Id versionId,
+                                        Id sourceVersionId) {
+    VersionEntity targetVersion = versionPrivateStore.get(context, itemId, versionId)
+        .orElseThrow(() -> new IllegalArgumentException(
+            String.format(MERGE_INTO_NON_EXISTING_VERSION, itemId, versionId)));
+    ElementContext targetContext = new ElementContext(itemId, versionId, Id.ZERO);
+    if (elementStageStore.hasElements(context, targetContext)) {
+      throw new IllegalStateException(String.format(MERGE_INTO_STAGED_VERSION, itemId, versionId));
+    }
+
+    // the source is merged as this user sees it - privately if it was synced, publicly otherwise
+    Optional<VersionEntity> privateSourceVersion =
+        versionPrivateStore.get(context, itemId, sourceVersionId);
+    VersionEntity sourceVersion = privateSourceVersion.isPresent()
+        ? privateSourceVersion.get()
+        : versionPublicStore.get(context, itemId, sourceVersionId)
+            .orElseThrow(() -> new IllegalArgumentException(
+                String.format(MERGE_NON_EXISTING_VERSION, itemId, sourceVersionId)));
+    ElementStore sourceStore =
+        privateSourceVersion.isPresent() ? elementPrivateStore : elementPublicStore;
+    ElementContext sourceContext = privateSourceVersion.isPresent()
+        ? new ElementContext(itemId, sourceVersionId, Id.ZERO)
+        : new ElementContext(itemId, sourceVersionId, getLastRevisionId(context, itemId,
+            sourceVersionId));
+
+    Map<Id, Id> baseHashes = getBaseHashes(context, itemId, targetVersion, sourceVersion);
+    Map<Id, Id> targetHashes = getHashes(context, elementPrivateStore, targetContext);
+    ThreeWayDiff diff = ThreeWayDiff.between(baseHashes,
+        getHashes(context, sourceStore, sourceContext), targetHashes);
+
+    stageMerge(context, targetContext, sourceStore, sourceContext, diff,
+        elementId -> !Objects.equals(targetHashes.get(elementId), baseHashes.get(elementId)));
+    return createResult();
+  }
+
+  private void stageMerge(SessionContext context, ElementContext targetContext,
+                          ElementStore sourceStore, ElementContext sourceContext,
+                          ThreeWayDiff diff, Predicate<Id> isChangedOnTarget) {
+    Map<Id, Action> actions = new HashMap<>(diff.getChanges());
+    actions.putAll(diff.getConflicts());
+
+    Set<Id> copiedElementIds = actions.entrySet().stream()
+        .filter(action -> action.getValue() != Action.DELETE)
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toSet());
+    Map<Id, ElementEntity> sourceElements =
+        sourceStore.get(context, sourceContext, copiedElementIds);
+
+    actions.forEach((elementId, action) -> {
+      ElementEntity element;
+      if (action == Action.DELETE) {
+        element = new ElementEntity(elementId);
+      } else {
+        element = sourceElements.get(elementId);
+        if (element == null) {
+          throw new IllegalStateException(String.format(MERGED_ELEMENT_NOT_EXIST,
+              sourceContext.getItemId(), sourceContext.getVersionId(), elementId));
+        }
+      }
+
+      boolean conflicted = diff.getConflicts().containsKey(elementId);
+      Set<Id> conflictDependents = null;
+      if (action == Action.DELETE) {
+        // deleting an element deletes its target sub tree, including the target changes in it
+        Set<Id> subElementIds = getTargetSubElementIds(context, targetContext, elementId);
+        if (conflicted || subElementIds.stream().anyMatch(isChangedOnTarget)) {
+          conflicted = true;
+          conflictDependents = subElementIds;
+        }
+      }
+
+      StageEntity<ElementEntity> elementStage =
+          new StageEntity<>(element, null, action, conflicted);
+      if (conflictDependents != null && !conflictDependents.isEmpty()) {
+        elementStage.setConflictDependents(conflictDependents.stream()
+            .map(ElementEntity::new)
+            .collect(Collectors.toSet()));
+      }
+      elementStage.setLocal(true);
+      elementStageStore.create(context, targetContext, elementStage);
+    });
+  }
+
+  private Set<Id> getTargetSubElementIds(SessionContext context, ElementContext targetContext,
+                                         Id elementId) {
+    Set<Id> subElementIds = new ElementTreeWalker(
+        elementIds -> elementPrivateStore.getDescriptors(context, targetContext, elementIds),
+        missingElementId -> {
+        }, false)
+        .walkTopDown(Collections.singleton(elementId), element -> {
+        });
+    subElementIds.remove(elementId);
+    return subElementIds;
+  }
+
+  /**
+   * The base of versions which were branched one from the other, or from the same version, is
+   * the last public revision of the version they were branched from, published before the
+   * (first) branching. Versions with no common base are merged against an empty base.
+   */
+  private Map<Id, Id> getBaseHashes(SessionContext context, Id itemId,
+                                    VersionEntity targetVersion, VersionEntity sourceVersion) {
+    Id baseVersionId;
+    Date branchTime;
+    if (sourceVersion.getId().equals(targetVersion.getBaseId())) {
+      baseVersionId = sourceVersion.getId();
+      branchTime = targetVersion.getCreationTime();
+    } else if (targetVersion.getId().equals(sourceVersion.getBaseId())) {
+      baseVersionId = targetVersion.getId();
+      branchTime = sourceVersion.getCreationTime();
+    } else if (targetVersion.getBaseId() != null &&
+        targetVersion.getBaseId().equals(sourceVersion.getBaseId())) {
+      baseVersionId = targetVersion.getBaseId();
+      branchTime = targetVersion.getCreationTime().before(sourceVersion.getCreationTime())
+          ? targetVersion.getCreationTime()
+          : sourceVersion.getCreationTime();
+    } else {
+      return new HashMap<>();
+    }
+
+    // the revisions published before the branching are those published before its next millisecond
+    List<SynchronizationStateEntity> baseRevisions = versionPublicStore.listRevisions(context,
+        itemId, baseVersionId, new Date(branchTime.getTime() + 1), null, 1);
+    if (baseRevisions.isEmpty()) {
+      return new HashMap<>();
+    }
+    return getHashes(context, elementPublicStore,
+        new ElementContext(itemId, baseVersionId, baseRevisions.get(0).getRevisionId()));
+  }
+
+  private Map<Id, Id> getHashes(SessionContext context, ElementStore elementStore,
+                                ElementContext elementContext) {
+    return elementStore.getHashes(context, elementContext,
+        elementStore.listIds(context, elementContext).keySet());
+  }
+
+  private Id getLastRevisionId(SessionContext context, Id itemId, Id versionId) {
+    return versionPublicStore.getSynchronizationState(context, itemId, versionId, null)
+        .map(SynchronizationStateEntity::getRevisionId)
+        .orElseThrow(() -> new IllegalArgumentException(
+            String.format(MERGE_NON_EXISTING_VERSION, itemId, versionId)));
+  }
+
+  private CollaborationMergeResult createResult() {
+    CollaborationMergeResult result = new CollaborationMergeResult();
+    result.setChange(new CollaborationMergeChange());
+    result.setConflict(new CollaborationMergeConflict());
+    return result;
+  }
+}
@@ -8,6 +8,7 @@ import com.amdocs.zusammen.datatypes.response.ReturnCode;
 import com.amdocs.zusammen.datatypes.response.ZusammenException;
 import com.amdocs.zusammen.plugin.ZusammenPluginConstants;
 import com.amdocs.zusammen.plugin.ZusammenPluginUtil;
+import com.amdocs.zusammen.plugin.dao.types.ChangeLogEntryEntity;
 import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
 import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
 import com.amdocs.zusammen.plugin.dao.types.VersionEntity;
@@ -15,7 +16,9 @@ import com.amdocs.zusammen.sdk.collaboration.types.CollaborationMergeChange;
 import com.amdocs.zusammen.sdk.collaboration.types.CollaborationPublishResult;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -130,6 +133,8 @@ public class PublishService {
           ZusammenPluginConstants.ROOT_ELEMENTS_PARENT_ID.equals(privateElementSyncState.getId()),
           result);
     }
+    // the elements of the first publication are synced entirely, so they are not logged
+    elementPublicStore.logChanges(context, elementContext, publishTime, Collections.emptyList());
   }
 
   private void publishDirtyElements(SessionContext context, ElementContext elementContext,
@@ -142,6 +147,7 @@ public class PublishService {
     Collection<SynchronizationStateEntity> publicElementSyncStates =
         elementPublicStore.listSynchronizationStates(context, elementContext);
 
+    Map<Id, ChangeLogEntryEntity> changes = new HashMap<>();
     for (SynchronizationStateEntity privateElementSyncState : privateElementSyncStates) {
       if (!privateElementSyncState.isDirty()) {
         continue;
@@ -181,10 +187,27 @@ public class PublishService {
                 publishTime);
       }
 
+      logChange(elementContext, elementToPublish, actionOnPublic, publishTime, changes);
       updateResult(elementContext, elementToPublish, actionOnPublic,
           ZusammenPluginConstants.ROOT_ELEMENTS_PARENT_ID.equals(privateElementSyncState.getId()),
           result);
     }
+    elementPublicStore.logChanges(context, elementContext, publishTime, changes.values());
+  }
+
+  /**
+   * Creating or deleting an element updates its parent on public as well - the parent is logged
+   * as updated unless it has a change of its own in this publication.
+   */
+  private void logChange(ElementContext elementContext, ElementEntity element, Action action,
+                         Date publishTime, Map<Id, ChangeLogEntryEntity> changes) {
+    changes.put(element.getId(), new ChangeLogEntryEntity(element.getId(),
+        elementContext.getRevisionId(), publishTime, action));
+
+    if (action != Action.UPDATE && element.getParentId() != null) {
+      changes.putIfAbsent(element.getParentId(), new ChangeLogEntryEntity(element.getParentId(),
+          elementContext.getRevisionId(), publishTime, Action.UPDATE));
+    }
   }
 
   private void updateResult(ElementContext elementContext, ElementEntity element,
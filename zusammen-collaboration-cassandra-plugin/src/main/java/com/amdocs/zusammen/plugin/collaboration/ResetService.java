@@ -0,0 +1,161 @@
+package com.amdocs.zusammen.plugin.collaboration;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.datatypes.item.ElementContext;
+import com.amdocs.zusammen.plugin.ZusammenPluginConcurrency;
+import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
+import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
+import com.amdocs.zusammen.plugin.dao.types.VersionEntity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Moves the private version back (or forward) to a public revision, as if it was last synced at
+ * that revision - without dirty elements and without staged changes.
+ * Only the private elements which differ from the revision are written: an element is at the
+ * revision when it is not dirty and was synced at the publish time of its state in the revision.
+ */
+public class ResetService {
+  private static final String RESET_TO_NON_EXISTING_REVISION =
+      "Item Id %s, version Id %s: Cannot reset to revision %s since it is not found";
+  private static final String RESET_NON_SYNCED_VERSION =
+      "Item Id %s, version Id %s: Version must be synced before it can be reset";
+
+  private VersionPublicStore versionPublicStore;
+  private VersionPrivateStore versionPrivateStore;
+  private VersionStageStore versionStageStore;
+  private ElementPublicStore elementPublicStore;
+  private ElementPrivateStore elementPrivateStore;
+  private ElementStageStore elementStageStore;
+
+  public ResetService(VersionPublicStore versionPublicStore,
+                      VersionPrivateStore versionPrivateStore,
+                      VersionStageStore versionStageStore,
+                      ElementPublicStore elementPublicStore,
+                      ElementPrivateStore elementPrivateStore,
+                      ElementStageStore elementStageStore) {
+    this.versionPublicStore = versionPublicStore;
+    this.versionPrivateStore = versionPrivateStore;
+    this.versionStageStore = versionStageStore;
+    this.elementPublicStore = elementPublicStore;
+    this.elementPrivateStore = elementPrivateStore;
+    this.elementStageStore = elementStageStore;
+  }
+
+  public void reset(SessionContext context, Id itemId, Id versionId, Id revisionId) {
+    SynchronizationStateEntity revision =
+        versionPublicStore.getRevision(context, itemId, versionId, revisionId)
+            .orElseThrow(() -> new IllegalArgumentException(
+                String.format(RESET_TO_NON_EXISTING_REVISION, itemId, versionId, revisionId)));
+    VersionEntity privateVersion = versionPrivateStore.get(context, itemId, versionId)
+        .orElseThrow(() -> new IllegalStateException(
+            String.format(RESET_NON_SYNCED_VERSION, itemId, versionId)));
+
+    ElementContext privateContext = new ElementContext(itemId, versionId, Id.ZERO);
+    ElementContext revisionContext = new ElementContext(itemId, versionId, revisionId);
+
+    // staged changes (of a sync, including its conflicts) are relative to the discarded state
+    elementStageStore.deleteAll(context, privateContext);
+    versionStageStore.delete(context, itemId, privateVersion);
+
+    resetElements(context, privateContext, revisionContext);
+
+    versionPrivateStore.update(context, itemId, privateVersion, revision.getPublishTime(), false);
+  }
+
+  private void resetElements(SessionContext context, ElementContext privateContext,
+                             ElementContext revisionContext) {
+    Map<Id, SynchronizationStateEntity> revisionSyncStates = toMapById(
+        elementPublicStore.listSynchronizationStates(context, revisionContext));
+    Map<Id, SynchronizationStateEntity> privateSyncStates = toMapById(
+        elementPrivateStore.listSynchronizationStates(context, privateContext));
+    Set<Id> privateElementIds = elementPrivateStore.listIds(context, privateContext).keySet();
+
+    Set<Id> createdElementIds = new HashSet<>();
+    Set<Id> updatedElementIds = new HashSet<>();
+    revisionSyncStates.forEach((elementId, revisionSyncState) -> {
+      if (!privateElementIds.contains(elementId)) {
+        createdElementIds.add(elementId);
+      } else if (!isAtRevision(privateSyncStates.get(elementId), revisionSyncState)) {
+        updatedElementIds.add(elementId);
+      }
+    });
+    // including the states of private deletions which were not published
+    Set<Id> deletedElementIds = new HashSet<>(privateElementIds);
+    deletedElementIds.addAll(privateSyncStates.keySet());
+    deletedElementIds.removeAll(revisionSyncStates.keySet());
+
+    Set<Id> copiedElementIds = new HashSet<>(createdElementIds);
+    copiedElementIds.addAll(updatedElementIds);
+    Map<Id, ElementEntity> revisionElements =
+        elementPublicStore.get(context, revisionContext, copiedElementIds);
+    Optional<Id> missingElementId = copiedElementIds.stream()
+        .filter(elementId -> !revisionElements.containsKey(elementId))
+        .findFirst();
+    if (missingElementId.isPresent()) {
+      throw new IllegalStateException(String
+          .format("Item Id %s, version Id %s, revision Id %s: Missing element with Id %s",
+              revisionContext.getItemId(), revisionContext.getVersionId(),
+              revisionContext.getRevisionId(), missingElementId.get()));
+    }
+
+    ZusammenPluginConcurrency.forEach(createdElementIds, elementId ->
+        elementPrivateStore.commitStagedCreate(context, privateContext,
+            revisionElements.get(elementId),
+            revisionSyncStates.get(elementId).getPublishTime()));
+    ZusammenPluginConcurrency.forEach(updatedElementIds, elementId ->
+        elementPrivateStore.commitStagedUpdate(context, privateContext,
+            revisionElements.get(elementId),
+            revisionSyncStates.get(elementId).getPublishTime()));
+
+    elementPrivateStore.commitStagedDelete(context, privateContext,
+        getDeletedElements(context, privateContext, deletedElementIds));
+  }
+
+  /**
+   * The deleted elements whose parents are kept are populated with their parent ids, so that they
+   * are removed from them.
+   */
+  private Collection<ElementEntity> getDeletedElements(SessionContext context,
+                                                       ElementContext privateContext,
+                                                       Set<Id> deletedElementIds) {
+    if (deletedElementIds.isEmpty()) {
+      return new ArrayList<>();
+    }
+    Map<Id, ElementEntity> descriptors =
+        elementPrivateStore.getDescriptors(context, privateContext, deletedElementIds);
+
+    List<ElementEntity> deletedElements = new ArrayList<>(deletedElementIds.size());
+    for (Id elementId : deletedElementIds) {
+      ElementEntity deletedElement = new ElementEntity(elementId);
+      ElementEntity descriptor = descriptors.get(elementId);
+      if (descriptor != null && descriptor.getParentId() != null &&
+          !deletedElementIds.contains(descriptor.getParentId())) {
+        deletedElement.setParentId(descriptor.getParentId());
+      }
+      deletedElements.add(deletedElement);
+    }
+    return deletedElements;
+  }
+
+  private static boolean isAtRevision(SynchronizationStateEntity privateSyncState,
+                                      SynchronizationStateEntity revisionSyncState) {
+    return privateSyncState != null && !privateSyncState.isDirty() &&
+        revisionSyncState.getPublishTime().equals(privateSyncState.getPublishTime());
+  }
+
+  private static Map<Id, SynchronizationStateEntity> toMapById(
+      Collection<SynchronizationStateEntity> syncStates) {
+    return syncStates.stream()
+        .collect(Collectors.toMap(SynchronizationStateEntity::getId, Function.identity()));
+  }
+}
@@ -3,12 +3,16 @@ package com.amdocs.zusammen.plugin.collaboration;
 import com.amdocs.zusammen.datatypes.Id;
 import com.amdocs.zusammen.datatypes.SessionContext;
 import com.amdocs.zusammen.datatypes.item.ElementContext;
+import com.amdocs.zusammen.plugin.ZusammenPluginConcurrency;
+import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
 import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 public class RevertService {
 
@@ -27,18 +31,41 @@ public class RevertService {
     copyElementsFromPublic(context, sourceContext, targetContext);
   }
 
+  /**
+   * Applies the diff from the target to the source revision: the created and updated elements
+   * are fetched from the source revision at once and written concurrently, the deleted ones are
+   * deleted (with their sub trees) together.
+   */
   private void copyElementsFromPublic(SessionContext context, ElementContext sourceContext,
                                       ElementContext targetContext) {
-    Collection<RevertElementAction> revertElementActions =
-        evaluateRevertElementActions(context, sourceContext, targetContext);
+    RevisionDiff revertDiff = evaluateRevertDiff(context, sourceContext, targetContext);
+    if (revertDiff.isEmpty()) {
+      return;
+    }
 
-    revertElementActions.forEach(revertElementAction -> revertElementAction.run(context));
-  }
+    Set<Id> copiedElementIds = new HashSet<>(revertDiff.getCreated());
+    copiedElementIds.addAll(revertDiff.getUpdated());
+    Map<Id, ElementEntity> sourceElements =
+        elementPublicStore.get(context, sourceContext, copiedElementIds);
+    Optional<Id> missingElementId = copiedElementIds.stream()
+        .filter(elementId -> !sourceElements.containsKey(elementId))
+        .findFirst();
+    if (missingElementId.isPresent()) {
+      throw getMissingElementException(sourceContext, missingElementId.get());
+    }
 
-  private Collection<RevertElementAction> evaluateRevertElementActions(SessionContext context,
-                                                                       ElementContext sourceContext,
-                                                                       ElementContext targetContext) {
+    ZusammenPluginConcurrency.forEach(revertDiff.getCreated(), elementId ->
+        elementPrivateStore.create(context, targetContext, sourceElements.get(elementId)));
+    ZusammenPluginConcurrency.forEach(revertDiff.getUpdated(), elementId ->
+        elementPrivateStore.update(context, targetContext, sourceElements.get(elementId)));
+
+    if (!revertDiff.getDeleted().isEmpty()) {
+      elementPrivateStore.delete(context, targetContext, revertDiff.getDeleted());
+    }
+  }
 
+  private RevisionDiff evaluateRevertDiff(SessionContext context, ElementContext sourceContext,
+                                          ElementContext targetContext) {
     Map<Id, Id> sourceElements = elementPublicStore.listIds(context, sourceContext);
     Map<Id, Id> targetPublicElements = elementPublicStore.listIds(context, targetContext);
     Collection<SynchronizationStateEntity> synchronizationStateEntities =
@@ -47,27 +74,7 @@ public class RevertService {
     Map<Id, Id> targetElements =
         evaluateTargetElements(targetPublicElements, synchronizationStateEntities);
 
-
-    Collection<RevertElementAction> revertElementActions = new ArrayList<>();
-
-    sourceElements.forEach((sourceElementId, sourceElementRevisionId) -> {
-      if (!targetElements.containsKey(sourceElementId)) {
-        revertElementActions
-            .add(new RevertElementAction(sourceContext, sourceElementId, commands[CREATE]));
-      } else if (!targetElements.get(sourceElementId).equals(sourceElementRevisionId)) {
-        revertElementActions
-            .add(new RevertElementAction(sourceContext, sourceElementId, commands[UPDATE]));
-      }
-    });
-
-    targetElements.forEach((targetElementId, targetElementRevisionId) -> {
-      if (!sourceElements.containsKey(targetElementId)) {
-        revertElementActions
-            .add(new RevertElementAction(targetContext, targetElementId, commands[DELETE]));
-      }
-    });
-
-    return revertElementActions;
+    return RevisionDiff.between(targetElements, sourceElements);
   }
 
   private Map<Id, Id> evaluateTargetElements(Map<Id, Id> targetPublicElements,
@@ -79,56 +86,6 @@ public class RevertService {
     return targetElements;
   }
 
-  private static class RevertElementAction {
-    private ElementContext elementContext;
-    private Id elementId;
-    private ActionCommand command;
-
-    private RevertElementAction(ElementContext elementContext, Id elementId,
-                                ActionCommand command) {
-      this.elementContext = elementContext;
-      this.elementId = elementId;
-      this.command = command;
-    }
-
-    public ElementContext getElementContext() {
-      return elementContext;
-    }
-
-    public Id getElementId() {
-      return elementId;
-    }
-
-    void run(SessionContext context) {
-      command.run(context, elementContext, elementId);
-    }
-  }
-
-  private interface ActionCommand {
-    void run(SessionContext context, ElementContext elementContext, Id elementId);
-  }
-
-  private static final int CREATE = 0;
-  private static final int UPDATE = 1;
-  private static final int DELETE = 2;
-
-  private ActionCommand[] commands = {
-      //create
-      (context, elementContext, elementId) ->
-          elementPrivateStore.create(context, elementContext,
-              elementPublicStore.get(context, elementContext, elementId)
-                  .orElseThrow(() -> getMissingElementException(elementContext, elementId))),
-      //update
-      (context, elementContext, elementId) ->
-          elementPrivateStore.update(context, elementContext,
-              elementPublicStore.get(context, elementContext, elementId)
-                  .orElseThrow(() -> getMissingElementException(elementContext, elementId))),
-      //delete
-      (context, elementContext, elementId) ->
-          elementPrivateStore.get(context, elementContext, elementId)
-              .ifPresent(element -> elementPrivateStore.delete(context, elementContext, element))
-  };
-
   private RuntimeException getMissingElementException(ElementContext elementContext,
                                                       Id elementId) {
     return new IllegalStateException(String
@@ -0,0 +1,59 @@
+package com.amdocs.zusammen.plugin.collaboration;
+
+import com.amdocs.zusammen.datatypes.Id;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The element changes between two manifests of a version - the revision ids of its elements by
+ * their ids, as listed by {@code listIds} of the element stores.
+ */
+public class RevisionDiff {
+  private final Set<Id> created = new HashSet<>();
+  private final Set<Id> updated = new HashSet<>();
+  private final Set<Id> deleted = new HashSet<>();
+
+  private RevisionDiff() {
+  }
+
+  /**
+   * Computes the changes which turn one manifest into the other, in a single pass over each.
+   *
+   * @param fromElements the revision ids of the elements by their ids, before the changes
+   * @param toElements   the revision ids of the elements by their ids, after the changes
+   */
+  public static RevisionDiff between(Map<Id, Id> fromElements, Map<Id, Id> toElements) {
+    RevisionDiff diff = new RevisionDiff();
+    toElements.forEach((elementId, revisionId) -> {
+      Id fromRevisionId = fromElements.get(elementId);
+      if (fromRevisionId == null) {
+        diff.created.add(elementId);
+      } else if (!fromRevisionId.equals(revisionId)) {
+        diff.updated.add(elementId);
+      }
+    });
+    fromElements.keySet().stream()
+        .filter(elementId -> !toElements.containsKey(elementId))
+        .forEach(diff.deleted::add);
+    return diff;
+  }
+
+  public Set<Id> getCreated() {
+    return Collections.unmodifiableSet(created);
+  }
+
+  public Set<Id> getUpdated() {
+    return Collections.unmodifiableSet(updated);
+  }
+
+  public Set<Id> getDeleted() {
+    return Collections.unmodifiableSet(deleted);
+  }
+
+  public boolean isEmpty() {
+    return created.isEmpty() && updated.isEmpty() && deleted.isEmpty();
+  }
+}
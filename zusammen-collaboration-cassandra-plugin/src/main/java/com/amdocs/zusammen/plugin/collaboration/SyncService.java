@@ -4,6 +4,8 @@ import com.amdocs.zusammen.datatypes.Id;
 import com.amdocs.zusammen.datatypes.SessionContext;
 import com.amdocs.zusammen.datatypes.item.Action;
 import com.amdocs.zusammen.datatypes.item.ElementContext;
+import com.amdocs.zusammen.plugin.ZusammenPluginConcurrency;
+import com.amdocs.zusammen.plugin.dao.types.ChangeLogEntryEntity;
 import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
 import com.amdocs.zusammen.plugin.dao.types.StageEntity;
 import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
@@ -12,25 +14,39 @@ import com.amdocs.zusammen.sdk.collaboration.types.CollaborationMergeChange;
 import com.amdocs.zusammen.sdk.collaboration.types.CollaborationMergeConflict;
 import com.amdocs.zusammen.sdk.collaboration.types.CollaborationMergeResult;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import static com.amdocs.zusammen.plugin.ZusammenPluginConstants.COMMIT_STAGING_PAGE_SIZE;
 import static com.amdocs.zusammen.plugin.ZusammenPluginConstants.ROOT_ELEMENTS_PARENT_ID;
+import static com.amdocs.zusammen.plugin.ZusammenPluginConstants.SYNC_DIRECT_APPLY;
 
 public class SyncService {
+  private static final boolean DIRECT_APPLY =
+      Boolean.parseBoolean(System.getProperty(SYNC_DIRECT_APPLY, "true"));
+  private static final int APPLY_PAGE_SIZE = Integer.getInteger(COMMIT_STAGING_PAGE_SIZE, 200);
   private static final String PULL_NON_EXISTING_VERSION =
       "Item Id %s, version Id %s: Non existing version cannot be synced.";
+  private static final String SYNC_STAGED_LOCAL_CHANGES =
+      "Item Id %s, version Id %s: Cannot sync a version with staged local changes (of a merge), " +
+          "they should be resolved and committed first";
   private static final String PUBLIC_SYNC_STATE_EXISTS_WITHOUT_ELEMENT =
       "Item Id %s, version Id %s: Sync state of element with Id %s " +
           "exists in public space while the element does not";
+  private static final String PUBLIC_ELEMENT_WITHOUT_SYNC_STATE =
+      "Item Id %s, version Id %s: Element with Id %s exists in public space while its sync " +
+          "state does not";
   private static final String ELEMENT_TO_STAGE_NOT_EXIST =
       "Item Id %s, version Id %s: Element with Id %s which should be staged with action %s " +
           "does not exist";
@@ -72,11 +88,17 @@ public class SyncService {
         publishTime.equals(privateVersionSyncState.get().getPublishTime())) {
       return result;
     }
+    // public changes staged over local ones would be committed as local (dirty) changes
+    ElementContext stageContext = new ElementContext(itemId, versionId, Id.ZERO);
+    if (elementStageStore.hasLocalChanges(context, stageContext)) {
+      throw new IllegalStateException(String.format(SYNC_STAGED_LOCAL_CHANGES, itemId, versionId));
+    }
 
     syncVersion(context, itemId, versionId, publishTime, privateVersionSyncState.isPresent());
     syncElements(context,
         new ElementContext(itemId, versionId, publicVersionSyncState.getRevisionId()),
-        privateVersionSyncState.map(SynchronizationStateEntity::getPublishTime).orElse(null));
+        privateVersionSyncState.map(SynchronizationStateEntity::getPublishTime).orElse(null),
+        publishTime);
 
     return result;
   }
@@ -101,14 +123,25 @@ public class SyncService {
   }
 
   private void syncElements(SessionContext context, ElementContext elementContext,
-                            Date previousSyncedPublishTime) {
-    Collection<SynchronizationStateEntity> publicSyncStates =
-        elementPublicStore.listSynchronizationStates(context, elementContext);
+                            Date previousSyncedPublishTime, Date publishTime) {
     Collection<SynchronizationStateEntity> privateSyncStates =
         elementPrivateStore.listSynchronizationStates(context, elementContext);
+    Map<Id, SynchronizationStateEntity> privateSyncStateById = toMapById(privateSyncStates);
+    boolean directApply = isConflictFree(context, elementContext, privateSyncStates);
+
+    Optional<List<ChangeLogEntryEntity>> publicChanges = previousSyncedPublishTime == null
+        ? Optional.empty()
+        : elementPublicStore.listChanges(context, elementContext, previousSyncedPublishTime,
+            publishTime);
+    if (publicChanges.isPresent()) {
+      syncChangedElements(context, elementContext, publicChanges.get(), privateSyncStateById,
+          directApply);
+      return;
+    }
 
+    Collection<SynchronizationStateEntity> publicSyncStates =
+        elementPublicStore.listSynchronizationStates(context, elementContext);
     Map<Id, SynchronizationStateEntity> publicSyncStateById = toMapById(publicSyncStates);
-    Map<Id, SynchronizationStateEntity> privateSyncStateById = toMapById(privateSyncStates);
 
     Collection<SynchronizationStateEntity> updatedPublicSyncStates =
         previousSyncedPublishTime == null
@@ -118,7 +151,8 @@ public class SyncService {
                 .collect(Collectors.toList());
 
     syncPublicUpdatedElements(context, elementContext, updatedPublicSyncStates,
-        publicSyncStateById, privateSyncStateById);
+        elementId -> Optional.ofNullable(publicSyncStateById.get(elementId)),
+        privateSyncStateById, directApply);
 
     List<SynchronizationStateEntity> onlyOnPrivatePublishedSyncStates =
         privateSyncStates.stream()
@@ -127,13 +161,107 @@ public class SyncService {
             .collect(Collectors.toList());
 
     syncPublicDeletedElements(context, elementContext, onlyOnPrivatePublishedSyncStates,
-        publicSyncStateById, privateSyncStateById);
+        publicSyncStateById::containsKey, privateSyncStateById, directApply);
+  }
+
+  /**
+   * A sync cannot conflict when nothing was changed on private since the previous sync and nothing
+   * is left staged (e.g. unresolved conflicts of a previous sync), so its elements can be applied
+   * directly to private instead of being staged (and copied from stage on commit).
+   */
+  private boolean isConflictFree(SessionContext context, ElementContext elementContext,
+                                 Collection<SynchronizationStateEntity> privateSyncStates) {
+    return DIRECT_APPLY &&
+        privateSyncStates.stream().noneMatch(SynchronizationStateEntity::isDirty) &&
+        !elementStageStore.hasElements(context, elementContext);
+  }
+
+  /**
+   * Syncs only the elements changed on public since the previous sync, as logged in the change
+   * log of the version. The public sync states of the changed elements are taken out of the log,
+   * those of other elements are read only when needed (e.g. for staging a tree).
+   */
+  private void syncChangedElements(SessionContext context, ElementContext elementContext,
+                                   List<ChangeLogEntryEntity> publicChanges,
+                                   Map<Id, SynchronizationStateEntity> privateSyncStateById,
+                                   boolean directApply) {
+    Map<Id, ChangeLogEntryEntity> lastChangeById = new HashMap<>();
+    publicChanges.forEach(change -> lastChangeById.put(change.getElementId(), change));
+
+    Map<Id, SynchronizationStateEntity> updatedPublicSyncStateById = new HashMap<>();
+    List<SynchronizationStateEntity> onlyOnPrivatePublishedSyncStates = new ArrayList<>();
+    for (ChangeLogEntryEntity lastChange : lastChangeById.values()) {
+      if (lastChange.getAction() != Action.DELETE) {
+        updatedPublicSyncStateById.put(lastChange.getElementId(),
+            new SynchronizationStateEntity(lastChange.getElementId(), lastChange.getRevisionId(),
+                lastChange.getPublishTime(), false));
+        continue;
+      }
+      SynchronizationStateEntity privateSyncState =
+          privateSyncStateById.get(lastChange.getElementId());
+      if (privateSyncState != null && privateSyncState.getPublishTime() != null) {
+        onlyOnPrivatePublishedSyncStates.add(privateSyncState);
+      }
+    }
+
+    Function<Id, Optional<SynchronizationStateEntity>> unchangedPublicSyncStateGetter =
+        createPublicSyncStateGetter(context, elementContext);
+    Function<Id, Optional<SynchronizationStateEntity>> publicSyncStateGetter =
+        elementId -> lastChangeById.containsKey(elementId)
+            ? Optional.ofNullable(updatedPublicSyncStateById.get(elementId))
+            : unchangedPublicSyncStateGetter.apply(elementId);
+
+    syncPublicUpdatedElements(context, elementContext, updatedPublicSyncStateById.values(),
+        publicSyncStateGetter, privateSyncStateById, directApply);
+
+    syncPublicDeletedElements(context, elementContext, onlyOnPrivatePublishedSyncStates,
+        elementId -> publicSyncStateGetter.apply(elementId).isPresent(), privateSyncStateById,
+        directApply);
+  }
+
+  /**
+   * Gets the public sync states of elements one by one, by the element revisions of the version -
+   * read once, on first use, rather than per element.
+   */
+  private Function<Id, Optional<SynchronizationStateEntity>> createPublicSyncStateGetter(
+      SessionContext context, ElementContext elementContext) {
+    AtomicReference<Map<Id, Id>> elementRevisionIds = new AtomicReference<>();
+    return elementId -> {
+      Map<Id, Id> revisionIds;
+      synchronized (elementRevisionIds) {
+        if (elementRevisionIds.get() == null) {
+          elementRevisionIds.set(elementPublicStore.listIds(context, elementContext));
+        }
+        revisionIds = elementRevisionIds.get();
+      }
+      Id elementRevisionId = revisionIds.get(elementId);
+      return elementRevisionId == null
+          ? Optional.empty()
+          : elementPublicStore.getSynchronizationState(context, elementContext, elementId,
+              elementRevisionId);
+    };
   }
 
-  private void syncPublicUpdatedElements(SessionContext context, ElementContext elementContext,
-                                         Collection<SynchronizationStateEntity> updatedPublicSyncStates,
-                                         Map<Id, SynchronizationStateEntity> publicSyncStateById,
-                                         Map<Id, SynchronizationStateEntity> privateSyncStateById) {
+  private void syncPublicUpdatedElements(
+      SessionContext context, ElementContext elementContext,
+      Collection<SynchronizationStateEntity> updatedPublicSyncStates,
+      Function<Id, Optional<SynchronizationStateEntity>> publicSyncStateGetter,
+      Map<Id, SynchronizationStateEntity> privateSyncStateById, boolean directApply) {
+    if (directApply) {
+      applyPublicUpdatedElements(context, elementContext, updatedPublicSyncStates,
+          privateSyncStateById);
+      return;
+    }
+    // the elements updated on both spaces are compared by their hashes only, read at once
+    Set<Id> dirtyElementIds = updatedPublicSyncStates.stream()
+        .map(SynchronizationStateEntity::getId)
+        .filter(elementId -> privateSyncStateById.containsKey(elementId) &&
+            privateSyncStateById.get(elementId).isDirty())
+        .collect(Collectors.toSet());
+    Map<Id, Id> privateHashById = dirtyElementIds.isEmpty()
+        ? new HashMap<>()
+        : elementPrivateStore.getHashes(context, elementContext, dirtyElementIds);
+
     Set<Id> syncedElements = new HashSet<>();
     for (SynchronizationStateEntity publicSyncState : updatedPublicSyncStates) {
       if (syncedElements.contains(publicSyncState.getId())) {
@@ -157,29 +285,27 @@ public class SyncService {
               Action.UPDATE, false, null);
           syncedElements.add(publicSyncState.getId());
         } else {
-          Optional<ElementEntity> privateElement =
-              elementPrivateStore.get(context, elementContext, publicSyncState.getId());
+          Id privateElementHash = privateHashById.get(publicSyncState.getId());
 
-          if (privateElement.isPresent()) {
+          if (privateElementHash != null) {
             // updated on private - conflict if it has different hash
             stageElement(context, elementContext, publicElement,
                 publicSyncState.getPublishTime(), Action.UPDATE,
-                !publicElement.getElementHash().equals(privateElement.get().getElementHash()),
-                null);
+                !publicElement.getElementHash().equals(privateElementHash), null);
 
             syncedElements.add(publicSyncState.getId());
           } else {
             // deleted on private - conflict tree
             Set<Id> changeTreeElementIds =
-                stagePublicElementTree(context, elementContext, publicElement, publicSyncStateById,
-                    treeElementIds -> true);
+                stagePublicElementTree(context, elementContext, publicElement,
+                    publicSyncStateGetter, treeElementIds -> true);
             syncedElements.addAll(changeTreeElementIds);
           }
         }
       } else {
         // not existing on private - new creation on public
         Set<Id> changeTreeElementIds =
-            stagePublicElementTree(context, elementContext, publicElement, publicSyncStateById,
+            stagePublicElementTree(context, elementContext, publicElement, publicSyncStateGetter,
                 treeElementIds -> containsDirty(treeElementIds, privateSyncStateById));
         syncedElements.addAll(changeTreeElementIds);
       }
@@ -189,8 +315,12 @@ public class SyncService {
   private void syncPublicDeletedElements(
       SessionContext context, ElementContext elementContext,
       Collection<SynchronizationStateEntity> onlyOnPrivatePublishedSyncStates,
-      Map<Id, SynchronizationStateEntity> publicSyncStateById,
-      Map<Id, SynchronizationStateEntity> privateSyncStateById) {
+      Predicate<Id> isElementExistOnPublic,
+      Map<Id, SynchronizationStateEntity> privateSyncStateById, boolean directApply) {
+    if (directApply) {
+      applyPublicDeletedElements(context, elementContext, onlyOnPrivatePublishedSyncStates);
+      return;
+    }
     Set<Id> syncedElements = new HashSet<>();
     for (SynchronizationStateEntity privateSyncState : onlyOnPrivatePublishedSyncStates) {
       if (syncedElements.contains(privateSyncState.getId())) {
@@ -208,7 +338,7 @@ public class SyncService {
       } else {
         Set<Id> changeTreeElementIds =
             stageElementTree(context, elementContext, privateElement.get(),
-                elementPrivateStore, publicSyncStateById::containsKey,
+                elementPrivateStore, isElementExistOnPublic,
                 treeElementIds -> containsDirty(treeElementIds, privateSyncStateById),
                 elementId -> null, Action.DELETE);
         syncedElements.addAll(changeTreeElementIds);
@@ -216,17 +346,84 @@ public class SyncService {
     }
   }
 
-  private Set<Id> stagePublicElementTree(SessionContext context,
-                                         ElementContext elementContext,
-                                         ElementEntity publicElement,
-                                         Map<Id, SynchronizationStateEntity> publicSyncStateById,
-                                         Predicate<Set<Id>> isElementTreeConflicted) {
+  /**
+   * Applies the elements updated on public directly to private, a page at a time. With no private
+   * changes, every element updated on public is either updated on private or new there (along
+   * with its entire new sub tree, which was updated on public as well).
+   */
+  private void applyPublicUpdatedElements(
+      SessionContext context, ElementContext elementContext,
+      Collection<SynchronizationStateEntity> updatedPublicSyncStates,
+      Map<Id, SynchronizationStateEntity> privateSyncStateById) {
+    List<SynchronizationStateEntity> syncStates = new ArrayList<>(updatedPublicSyncStates);
+    for (int pageStart = 0; pageStart < syncStates.size(); pageStart += APPLY_PAGE_SIZE) {
+      List<SynchronizationStateEntity> page = syncStates
+          .subList(pageStart, Math.min(pageStart + APPLY_PAGE_SIZE, syncStates.size()));
+      Map<Id, ElementEntity> publicElements = elementPublicStore.get(context, elementContext,
+          page.stream().map(SynchronizationStateEntity::getId).collect(Collectors.toList()));
+
+      ZusammenPluginConcurrency.forEach(page, publicSyncState -> {
+        ElementEntity publicElement = publicElements.get(publicSyncState.getId());
+        if (publicElement == null) {
+          throw new IllegalStateException(String
+              .format(PUBLIC_SYNC_STATE_EXISTS_WITHOUT_ELEMENT, elementContext.getItemId(),
+                  elementContext.getVersionId(), publicSyncState.getId()));
+        }
+        if (privateSyncStateById.containsKey(publicSyncState.getId())) {
+          elementPrivateStore.commitStagedUpdate(context, elementContext, publicElement,
+              publicSyncState.getPublishTime());
+        } else {
+          elementPrivateStore.commitStagedCreate(context, elementContext, publicElement,
+              publicSyncState.getPublishTime());
+        }
+      });
+    }
+  }
+
+  /**
+   * Deletes the elements deleted on public directly from private, all together. With no private
+   * changes, the entire sub trees of the deleted elements were deleted on public as well, so only
+   * the roots of the deleted sub trees are removed from their (kept) parents.
+   */
+  private void applyPublicDeletedElements(
+      SessionContext context, ElementContext elementContext,
+      Collection<SynchronizationStateEntity> onlyOnPrivatePublishedSyncStates) {
+    if (onlyOnPrivatePublishedSyncStates.isEmpty()) {
+      return;
+    }
+    Set<Id> deletedElementIds = onlyOnPrivatePublishedSyncStates.stream()
+        .map(SynchronizationStateEntity::getId)
+        .collect(Collectors.toSet());
+    Map<Id, ElementEntity> descriptors =
+        elementPrivateStore.getDescriptors(context, elementContext, deletedElementIds);
+
+    List<ElementEntity> deletedElements = new ArrayList<>(deletedElementIds.size());
+    for (Id elementId : deletedElementIds) {
+      ElementEntity deletedElement = new ElementEntity(elementId);
+      ElementEntity descriptor = descriptors.get(elementId);
+      if (descriptor != null && descriptor.getParentId() != null &&
+          !deletedElementIds.contains(descriptor.getParentId())) {
+        deletedElement.setParentId(descriptor.getParentId());
+      }
+      deletedElements.add(deletedElement);
+    }
+    elementPrivateStore.commitStagedDelete(context, elementContext, deletedElements);
+  }
+
+  private Set<Id> stagePublicElementTree(
+      SessionContext context, ElementContext elementContext, ElementEntity publicElement,
+      Function<Id, Optional<SynchronizationStateEntity>> publicSyncStateGetter,
+      Predicate<Set<Id>> isElementTreeConflicted) {
     return stageElementTree(context, elementContext, publicElement,
         elementPublicStore,
         elementId -> elementPrivateStore.getDescriptor(context, elementContext, elementId)
             .isPresent(),
         isElementTreeConflicted,
-        elementId -> publicSyncStateById.get(elementId).getPublishTime(),
+        elementId -> publicSyncStateGetter.apply(elementId)
+            .orElseThrow(() -> new IllegalStateException(String
+                .format(PUBLIC_ELEMENT_WITHOUT_SYNC_STATE, elementContext.getItemId(),
+                    elementContext.getVersionId(), elementId)))
+            .getPublishTime(),
         Action.CREATE);
   }
 
@@ -259,15 +456,16 @@ public class SyncService {
                                                 ElementStore elementStore,
                                                 Predicate<Id> isElementExistOnOppositeStore,
                                                 ElementEntity element) {
-    return element.getId().equals(ROOT_ELEMENTS_PARENT_ID) ||
-        isElementExistOnOppositeStore.test(element.getParentId())
-        ? element
-        : findRootElementOfChange(context, elementContext, elementStore,
-            isElementExistOnOppositeStore,
-            elementStore.get(context, elementContext, element.getParentId())
-                .orElseThrow(() -> new IllegalStateException(
-                    String.format("Element %s exists while its parent element %s does not",
-                        element.getId(), element.getParentId()))));
+    ElementEntity rootElement = element;
+    while (!rootElement.getId().equals(ROOT_ELEMENTS_PARENT_ID) &&
+        !isElementExistOnOppositeStore.test(rootElement.getParentId())) {
+      ElementEntity childElement = rootElement;
+      rootElement = elementStore.get(context, elementContext, childElement.getParentId())
+          .orElseThrow(() -> new IllegalStateException(
+              String.format("Element %s exists while its parent element %s does not",
+                  childElement.getId(), childElement.getParentId())));
+    }
+    return rootElement;
   }
 
   private boolean containsDirty(Set<Id> elementIds,
@@ -281,22 +479,17 @@ public class SyncService {
   private Set<Id> stageElementSubs(SessionContext context, ElementContext elementContext,
                                    ElementStore elementStore, ElementEntity parentElement,
                                    Function<Id, Date> stagePublishTimeGetter, Action stageAction) {
-    Set<Id> elementTreeIds = new HashSet<>();
-    for (Id elementId : parentElement.getSubElementIds()) {
-      ElementEntity element = elementStore.get(context, elementContext, elementId)
-          .orElseThrow(() -> new IllegalStateException(String
+    ElementTreeWalker elementTreeWalker = new ElementTreeWalker(
+        elementIds -> elementStore.get(context, elementContext, elementIds),
+        elementId -> {
+          throw new IllegalStateException(String
               .format(ELEMENT_TO_STAGE_NOT_EXIST, elementContext.getItemId(),
-                  elementContext.getVersionId(), elementId, stageAction)));
+                  elementContext.getVersionId(), elementId, stageAction));
+        }, true);
 
-      stageElement(context, elementContext, element, stagePublishTimeGetter.apply(elementId),
-          stageAction, false, null);
-
-      elementTreeIds.add(elementId);
-      elementTreeIds.addAll(
-          stageElementSubs(context, elementContext, elementStore, element, stagePublishTimeGetter,
-              stageAction));
-    }
-    return elementTreeIds;
+    return elementTreeWalker.walkTopDown(parentElement.getSubElementIds(),
+        element -> stageElement(context, elementContext, element,
+            stagePublishTimeGetter.apply(element.getId()), stageAction, false, null));
   }
 
   private void stageElement(SessionContext context, ElementContext elementContext,
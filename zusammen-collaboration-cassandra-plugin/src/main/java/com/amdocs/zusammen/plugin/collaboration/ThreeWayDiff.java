@@ -0,0 +1,72 @@
+package com.amdocs.zusammen.plugin.collaboration;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.item.Action;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The changes made to a source manifest since a common base, to be merged into a target manifest -
+ * the element hashes by their ids. An element changed only on the source is taken from it, an
+ * element changed on both sides to different contents is a conflict.
+ */
+public class ThreeWayDiff {
+  private final Map<Id, Action> changes = new HashMap<>();
+  private final Map<Id, Action> conflicts = new HashMap<>();
+
+  private ThreeWayDiff() {
+  }
+
+  /**
+   * @param baseHashes   the element hashes of the common base, empty when there is none
+   * @param sourceHashes the element hashes of the merged manifest
+   * @param targetHashes the element hashes of the manifest merged into
+   */
+  public static ThreeWayDiff between(Map<Id, Id> baseHashes, Map<Id, Id> sourceHashes,
+                                     Map<Id, Id> targetHashes) {
+    ThreeWayDiff diff = new ThreeWayDiff();
+    Set<Id> elementIds = new HashSet<>(sourceHashes.keySet());
+    elementIds.addAll(targetHashes.keySet());
+    for (Id elementId : elementIds) {
+      Id baseHash = baseHashes.get(elementId);
+      Id sourceHash = sourceHashes.get(elementId);
+      Id targetHash = targetHashes.get(elementId);
+      if (Objects.equals(sourceHash, targetHash) || Objects.equals(sourceHash, baseHash)) {
+        continue; // same on both sides, or changed only on the target
+      }
+
+      Action action = sourceHash == null
+          ? Action.DELETE
+          : targetHash == null ? Action.CREATE : Action.UPDATE;
+      if (Objects.equals(targetHash, baseHash)) {
+        diff.changes.put(elementId, action);
+      } else {
+        diff.conflicts.put(elementId, action);
+      }
+    }
+    return diff;
+  }
+
+  /**
+   * @return the actions which apply the source changes to the target, by element ids
+   */
+  public Map<Id, Action> getChanges() {
+    return Collections.unmodifiableMap(changes);
+  }
+
+  /**
+   * @return the actions which apply the source side of the conflicts to the target, by element ids
+   */
+  public Map<Id, Action> getConflicts() {
+    return Collections.unmodifiableMap(conflicts);
+  }
+
+  public boolean isEmpty() {
+    return changes.isEmpty() && conflicts.isEmpty();
+  }
+}
@@ -3,6 +3,7 @@ package com.amdocs.zusammen.plugin.collaboration;
 import com.amdocs.zusammen.datatypes.Id;
 import com.amdocs.zusammen.datatypes.SessionContext;
 import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
+import com.amdocs.zusammen.plugin.dao.types.TagEntity;
 import com.amdocs.zusammen.plugin.dao.types.VersionEntity;
 
 import java.util.Collection;
@@ -17,9 +18,32 @@ public interface VersionPublicStore {
 
   Optional<VersionEntity> get(SessionContext context, Id itemId, Id versionId);
 
+  /**
+   * Returns all the revisions of the version, from the newest to the oldest.
+   */
   List<SynchronizationStateEntity> listSynchronizationStates(SessionContext context, Id itemId,
                                                              Id versionId);
 
+  /**
+   * Returns a page of the version revisions metadata (revision id, publish time, user and
+   * message), from the newest to the oldest - revisions published at the same time are ordered by
+   * their revision id.
+   *
+   * @param lastPublishTime the publish time of the last revision of the previous page, null for
+   *                        the first page
+   * @param lastRevisionId  the revision id of the last revision of the previous page, null to list
+   *                        only the revisions published before the given time
+   */
+  List<SynchronizationStateEntity> listRevisions(SessionContext context, Id itemId, Id versionId,
+                                                 Date lastPublishTime, Id lastRevisionId,
+                                                 int limit);
+
+  /**
+   * Returns the metadata of the revision which was published at the given time.
+   */
+  Optional<SynchronizationStateEntity> findRevision(SessionContext context, Id itemId,
+                                                    Id versionId, Date publishTime);
+
   /**
    * Returns version synchronization state, which is actually revision.
    * If revision id is not specified - returns the last revision of the version.
@@ -27,6 +51,12 @@ public interface VersionPublicStore {
   Optional<SynchronizationStateEntity> getSynchronizationState(SessionContext context, Id itemId,
                                                                Id versionId, Id revisionId);
 
+  /**
+   * Returns the metadata of the revision (publish time, user and message) by a point lookup.
+   */
+  Optional<SynchronizationStateEntity> getRevision(SessionContext context, Id itemId,
+                                                   Id versionId, Id revisionId);
+
   void create(SessionContext context, Id itemId, VersionEntity version, Id revisionId,
               Map<Id, Id> versionElementIds, Date publishTime, String message);
 
@@ -35,5 +65,28 @@ public interface VersionPublicStore {
 
   void delete(SessionContext context, Id itemId, VersionEntity version);
 
+  /**
+   * @return whether tags are stored - when not, there are no tags and none can be created
+   */
+  boolean isTaggingEnabled();
+
+  /**
+   * Creates the tag unless a tag by its name already exists on the version.
+   *
+   * @return whether the tag was created
+   * @throws IllegalStateException if tagging is not enabled
+   */
+  boolean createTag(SessionContext context, Id itemId, Id versionId, TagEntity tag);
+
+  /**
+   * @return the tag, empty if it does not exist or tagging is not enabled
+   */
+  Optional<TagEntity> getTag(SessionContext context, Id itemId, Id versionId, String tagName);
+
+  /**
+   * @return the tags of the version, empty if tagging is not enabled
+   */
+  Collection<TagEntity> listTags(SessionContext context, Id itemId, Id versionId);
+
   boolean checkHealth(SessionContext context);
 }
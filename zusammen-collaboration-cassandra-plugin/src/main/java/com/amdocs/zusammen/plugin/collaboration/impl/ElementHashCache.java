@@ -0,0 +1,70 @@
+package com.amdocs.zusammen.plugin.collaboration.impl;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.plugin.ZusammenPluginConstants;
+import com.amdocs.zusammen.plugin.statestore.cassandra.dao.types.ElementEntityContext;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The hashes of the private elements last written by this JVM, least recently used evicted.
+ * The cache is JVM-local and is not invalidated by writes of other JVMs, so a cached hash only
+ * tells that an element differing from it has to be written - an element equal to it is still
+ * compared with the stored hash before its write is skipped.
+ * A single cache is shared by the private element stores of the JVM, and every write of a private
+ * element other than an update evicts it.
+ */
+class ElementHashCache {
+  private static final ElementHashCache INSTANCE = new ElementHashCache(
+      Integer.getInteger(ZusammenPluginConstants.ELEMENT_HASH_CACHE_SIZE, 10000));
+
+  private final int maxSize;
+  private final Map<String, Id> hashes;
+
+  ElementHashCache(int maxSize) {
+    this.maxSize = maxSize;
+    this.hashes = new LinkedHashMap<String, Id>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Id> eldest) {
+        return size() > ElementHashCache.this.maxSize;
+      }
+    };
+  }
+
+  static ElementHashCache getInstance() {
+    return INSTANCE;
+  }
+
+  synchronized Id get(ElementEntityContext elementContext, Id elementId) {
+    return maxSize > 0 ? hashes.get(getKey(elementContext, elementId)) : null;
+  }
+
+  synchronized void put(ElementEntityContext elementContext, Id elementId, Id elementHash) {
+    if (maxSize > 0) {
+      hashes.put(getKey(elementContext, elementId), elementHash);
+    }
+  }
+
+  synchronized void evict(ElementEntityContext elementContext, Collection<Id> elementIds) {
+    elementIds.forEach(elementId -> hashes.remove(getKey(elementContext, elementId)));
+  }
+
+  /**
+   * Evicts all the elements of the version.
+   */
+  synchronized void evictAll(ElementEntityContext elementContext) {
+    String versionKey = getVersionKey(elementContext);
+    hashes.keySet().removeIf(key -> key.startsWith(versionKey));
+  }
+
+  private static String getKey(ElementEntityContext elementContext, Id elementId) {
+    return getVersionKey(elementContext) + elementId;
+  }
+
+  private static String getVersionKey(ElementEntityContext elementContext) {
+    return elementContext.getSpace() + '/' + elementContext.getItemId() + '/'
+        + elementContext.getVersionId() + '/';
+  }
+}
@@ -5,6 +5,7 @@ import com.amdocs.zusammen.datatypes.SessionContext;
 import com.amdocs.zusammen.datatypes.item.ElementContext;
 import com.amdocs.zusammen.plugin.ZusammenPluginConstants;
 import com.amdocs.zusammen.plugin.collaboration.ElementPrivateStore;
+import com.amdocs.zusammen.plugin.collaboration.ElementTreeWalker;
 import com.amdocs.zusammen.plugin.dao.ElementRepository;
 import com.amdocs.zusammen.plugin.dao.ElementRepositoryFactory;
 import com.amdocs.zusammen.plugin.dao.ElementSynchronizationStateRepository;
@@ -15,11 +16,13 @@ import com.amdocs.zusammen.plugin.statestore.cassandra.dao.types.ElementEntityCo
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.amdocs.zusammen.plugin.ZusammenPluginUtil.getPrivateElementContext;
 import static com.amdocs.zusammen.plugin.ZusammenPluginUtil.getPrivateSpaceName;
@@ -30,6 +33,16 @@ public class ElementPrivateStoreImpl implements ElementPrivateStore {
       "Element %s, which appears as a sub element of element %s, " +
       "does not exist in space %s, item %s, version %s";
 
+  private final ElementHashCache hashCache;
+
+  public ElementPrivateStoreImpl() {
+    this(ElementHashCache.getInstance());
+  }
+
+  ElementPrivateStoreImpl(ElementHashCache hashCache) {
+    this.hashCache = hashCache;
+  }
+
   @Override
   public Map<Id, Id> listIds(SessionContext context, ElementContext elementContext) {
     return getElementRepository(context)
@@ -51,6 +64,7 @@ public class ElementPrivateStoreImpl implements ElementPrivateStore {
             .cleanAllRevisions(context, privateContext, new ElementEntity(syncState.getId())));
 
     elementSyncStateRepository.deleteAll(context, privateContext);
+    hashCache.evictAll(privateContext);
   }
 
   @Override
@@ -96,6 +110,16 @@ public class ElementPrivateStoreImpl implements ElementPrivateStore {
             new ElementEntity(elementId));
   }
 
+  @Override
+  public Map<Id, ElementEntity> get(SessionContext context, ElementContext elementContext,
+                                    Collection<Id> elementIds) {
+    ElementEntityContext privateElementContext =
+        new ElementEntityContext(getPrivateSpaceName(context), elementContext);
+    privateElementContext.setRevisionId(REVISION_ID);
+    return getElementRepository(context).get(context, privateElementContext,
+        elementIds.stream().map(ElementEntity::new).collect(Collectors.toList()));
+  }
+
   @Override
   public Optional<ElementEntity> getDescriptor(SessionContext context,
                                                ElementContext elementContext, Id elementId) {
@@ -106,6 +130,25 @@ public class ElementPrivateStoreImpl implements ElementPrivateStore {
             new ElementEntity(elementId));
   }
 
+  @Override
+  public Map<Id, ElementEntity> getDescriptors(SessionContext context,
+                                               ElementContext elementContext,
+                                               Collection<Id> elementIds) {
+    return getElementRepository(context).getDescriptors(context,
+        new ElementEntityContext(getPrivateSpaceName(context),
+            getPrivateElementContext(elementContext)),
+        elementIds.stream().map(ElementEntity::new).collect(Collectors.toList()));
+  }
+
+  @Override
+  public Map<Id, Id> getHashes(SessionContext context, ElementContext elementContext,
+                               Collection<Id> elementIds) {
+    return getElementRepository(context).getHashes(context,
+        new ElementEntityContext(getPrivateSpaceName(context),
+            getPrivateElementContext(elementContext)),
+        elementIds.stream().map(ElementEntity::new).collect(Collectors.toList()));
+  }
+
   @Override
   public Collection<SynchronizationStateEntity> listSynchronizationStates(SessionContext context,
                                                                           ElementContext elementContext) {
@@ -126,6 +169,14 @@ public class ElementPrivateStoreImpl implements ElementPrivateStore {
             new SynchronizationStateEntity(elementId, REVISION_ID));
   }
 
+  @Override
+  public Collection<SynchronizationStateEntity> listDirtySynchronizationStates(
+      SessionContext context, ElementContext elementContext) {
+    return getElementSyncStateRepository(context).listDirty(context,
+        new ElementEntityContext(getPrivateSpaceName(context),
+            getPrivateElementContext(elementContext)));
+  }
+
   @Override
   public void create(SessionContext context, ElementContext elementContext, ElementEntity element) {
     create(context, elementContext, element, true, null);
@@ -138,11 +189,17 @@ public class ElementPrivateStoreImpl implements ElementPrivateStore {
         new ElementEntityContext(getPrivateSpaceName(context), elementContext);
     privateContext.setRevisionId(REVISION_ID);
 
-    if (!isElementChanged(context, privateContext, element)) {
+    ElementRepository elementRepository = getElementRepository(context);
+    Id cachedHash = hashCache.get(privateContext, element.getId());
+    if (cachedHash != null && !cachedHash.equals(element.getElementHash())) {
+      // known to differ from what this JVM last wrote - no need to read the stored hash
+      elementRepository.update(context, privateContext, element);
+    } else if (!elementRepository.updateIfChanged(context, privateContext, element)) {
+      hashCache.put(privateContext, element.getId(), element.getElementHash());
       return false;
     }
+    hashCache.put(privateContext, element.getId(), element.getElementHash());
 
-    getElementRepository(context).update(context, privateContext, element);
     getElementSyncStateRepository(context).markAsDirty(context, privateContext,
         new SynchronizationStateEntity(element.getId(), REVISION_ID));
     return true;
@@ -159,6 +216,25 @@ public class ElementPrivateStoreImpl implements ElementPrivateStore {
         privateElementContext, element);
   }
 
+  @Override
+  public void delete(SessionContext context, ElementContext elementContext,
+                     Collection<Id> elementIds) {
+    ElementEntityContext privateElementContext =
+        new ElementEntityContext(getPrivateSpaceName(context), elementContext);
+    privateElementContext.setRevisionId(REVISION_ID);
+    ElementRepository elementRepository = getElementRepository(context);
+
+    Collection<ElementEntity> retrieved = elementRepository
+        .getDescriptors(context, privateElementContext,
+            elementIds.stream().map(ElementEntity::new).collect(Collectors.toList()))
+        .values();
+    if (retrieved.isEmpty()) {
+      return;
+    }
+    deleteElementHierarchies(context, elementRepository, getElementSyncStateRepository(context),
+        privateElementContext, retrieved);
+  }
+
   @Override
   public void markAsPublished(SessionContext context, ElementContext elementContext, Id elementId,
                               Date publishTime) {
@@ -196,6 +272,7 @@ public class ElementPrivateStoreImpl implements ElementPrivateStore {
     privateContext.setRevisionId(REVISION_ID);
 
     getElementRepository(context).update(context, privateContext, element);
+    hashCache.evict(privateContext, Collections.singleton(element.getId()));
     // Currently Resolution='Other' is not supported so this is invoked after conflict was
     // resolved with Resolution='Theirs' so dirty flag should be turned off.
     // (if there was no conflict it's off anyway)
@@ -210,11 +287,29 @@ public class ElementPrivateStoreImpl implements ElementPrivateStore {
         new ElementEntityContext(getPrivateSpaceName(context), elementContext);
     privateContext.setRevisionId(REVISION_ID);
     getElementRepository(context).delete(context, privateContext, element);
+    hashCache.evict(privateContext, Collections.singleton(element.getId()));
     getElementSyncStateRepository(context)
         .delete(context, privateContext,
             new SynchronizationStateEntity(element.getId(), REVISION_ID));
   }
 
+  @Override
+  public void commitStagedDelete(SessionContext context, ElementContext elementContext,
+                                 Collection<ElementEntity> elements) {
+    if (elements.isEmpty()) {
+      return;
+    }
+    ElementEntityContext privateContext =
+        new ElementEntityContext(getPrivateSpaceName(context), elementContext);
+    privateContext.setRevisionId(REVISION_ID);
+    getElementRepository(context).delete(context, privateContext, elements);
+    hashCache.evict(privateContext,
+        elements.stream().map(ElementEntity::getId).collect(Collectors.toList()));
+    getElementSyncStateRepository(context).delete(context, privateContext, elements.stream()
+        .map(element -> new SynchronizationStateEntity(element.getId(), REVISION_ID))
+        .collect(Collectors.toList()));
+  }
+
   @Override
   public void commitStagedIgnore(SessionContext context, ElementContext elementContext,
                                  ElementEntity element, Date publishTime) {
@@ -233,59 +328,110 @@ public class ElementPrivateStoreImpl implements ElementPrivateStore {
         new ElementEntityContext(getPrivateSpaceName(context), elementContext);
     privateContext.setRevisionId(REVISION_ID);
     getElementRepository(context).create(context, privateContext, element);
+    hashCache.evict(privateContext, Collections.singleton(element.getId()));
     getElementSyncStateRepository(context).create(context, privateContext,
         new SynchronizationStateEntity(element.getId(), REVISION_ID, publishTime, dirty));
   }
 
 
+  /**
+   * Deletes the element along with its entire sub tree - the sub tree is collected first (level by
+   * level), then all of its elements are deleted together and their synchronization states are
+   * handled in bulk.
+   */
   private void deleteElementHierarchy(
       SessionContext context, ElementRepository elementRepository,
       ElementSynchronizationStateRepository elementSyncStateRepository,
       ElementEntityContext elementContext, ElementEntity element) {
 
-    Optional<ElementEntity> retrieved = elementRepository.get(context, elementContext, element);
+    Optional<ElementEntity> retrieved =
+        elementRepository.getDescriptor(context, elementContext, element);
     if (!retrieved.isPresent()) {
       return;
     }
-    retrieved.get().getSubElementIds().stream()
+    deleteElementHierarchies(context, elementRepository, elementSyncStateRepository,
+        elementContext, Collections.singleton(retrieved.get()));
+  }
+
+  /**
+   * Deletes the given elements (descriptors) along with their sub trees, all together.
+   */
+  private void deleteElementHierarchies(
+      SessionContext context, ElementRepository elementRepository,
+      ElementSynchronizationStateRepository elementSyncStateRepository,
+      ElementEntityContext elementContext, Collection<ElementEntity> elements) {
+    Set<Id> elementIds = elements.stream().map(ElementEntity::getId).collect(Collectors.toSet());
+
+    ElementTreeWalker elementTreeWalker = new ElementTreeWalker(
+        levelElementIds -> elementRepository.getDescriptors(context, elementContext,
+            levelElementIds.stream().map(ElementEntity::new).collect(Collectors.toList())),
+        elementId -> {
+        }, false);
+    Set<Id> subElementIds = elementTreeWalker.walkTopDown(
+        elements.stream()
+            .flatMap(element -> element.getSubElementIds().stream())
+            .filter(subElementId -> !elementIds.contains(subElementId))
+            .collect(Collectors.toList()),
+        subElement -> {
+        });
+
+    // only for the given elements the parentId is populated (so they'll be removed from their
+    // parents)
+    List<ElementEntity> deletedElements = new ArrayList<>(elements.size() + subElementIds.size());
+    deletedElements.addAll(elements);
+    subElementIds.stream()
+        .filter(subElementId -> !elementIds.contains(subElementId))
         .map(ElementEntity::new)
-        .forEach(subElementEntity -> deleteElementHierarchy(
-            context, elementRepository, elementSyncStateRepository, elementContext,
-            subElementEntity));
+        .forEach(deletedElements::add);
+
+    elementRepository.delete(context, elementContext, deletedElements);
+    Set<Id> deletedElementIds =
+        deletedElements.stream().map(ElementEntity::getId).collect(Collectors.toSet());
+    hashCache.evict(elementContext, deletedElementIds);
+    handleDeletedElementsSyncStates(context, elementSyncStateRepository, elementContext,
+        deletedElementIds);
+  }
+
+  private void handleDeletedElementsSyncStates(SessionContext context,
+                                               ElementSynchronizationStateRepository elementSyncStateRepository,
+                                               ElementEntityContext elementContext,
+                                               Set<Id> elementIds) {
+    Map<Boolean, List<SynchronizationStateEntity>> elementSyncStatesByPublished =
+        getElementSyncStates(context, elementSyncStateRepository, elementContext, elementIds)
+            .stream()
+            .collect(Collectors.partitioningBy(
+                elementSyncState -> elementSyncState.getPublishTime() != null));
 
-    // only for the first one the parentId will populated (so it'll be removed from its parent)
-    elementRepository.delete(context, elementContext, element);
-    handleDeletedElementSyncState(context, elementSyncStateRepository, elementContext, element);
+    elementSyncStateRepository
+        .delete(context, elementContext, elementSyncStatesByPublished.get(false));
+    elementSyncStateRepository
+        .markAsDirty(context, elementContext, elementSyncStatesByPublished.get(true));
   }
 
-  private void handleDeletedElementSyncState(SessionContext context,
-                                             ElementSynchronizationStateRepository elementSyncStateRepository,
-                                             ElementEntityContext elementContext,
-                                             ElementEntity element) {
-    SynchronizationStateEntity elementSyncState = new SynchronizationStateEntity(element.getId(),
-        REVISION_ID);
-    if (elementSyncStateRepository.get(context, elementContext, elementSyncState).
-        orElseThrow(
-            () -> new IllegalStateException("Synchronization state must exist for an element"))
-        .getPublishTime() == null) {
-      elementSyncStateRepository.delete(context, elementContext, elementSyncState);
+  /**
+   * A single element's state is read directly, the states of a sub tree are taken out of a single
+   * scan of the version's synchronization states.
+   */
+  private Collection<SynchronizationStateEntity> getElementSyncStates(
+      SessionContext context, ElementSynchronizationStateRepository elementSyncStateRepository,
+      ElementEntityContext elementContext, Set<Id> elementIds) {
+    Collection<SynchronizationStateEntity> elementSyncStates;
+    if (elementIds.size() == 1) {
+      elementSyncStates = elementSyncStateRepository.get(context, elementContext,
+          new SynchronizationStateEntity(elementIds.iterator().next(), REVISION_ID))
+          .map(Collections::singleton)
+          .orElseGet(Collections::emptySet);
     } else {
-      elementSyncStateRepository.markAsDirty(context, elementContext, elementSyncState);
+      elementSyncStates = elementSyncStateRepository.list(context, elementContext).stream()
+          .filter(elementSyncState -> REVISION_ID.equals(elementSyncState.getRevisionId()) &&
+              elementIds.contains(elementSyncState.getId()))
+          .collect(Collectors.toList());
     }
-  }
 
-  private boolean isElementChanged(SessionContext context,
-                                   ElementEntityContext elementContext,
-                                   ElementEntity newElement) {
-    return getElementHash(context, elementContext, new ElementEntity(newElement.getId()))
-        .map(existingHash -> !newElement.getElementHash().equals(existingHash))
-        .orElse(true);
-  }
-
-  private Optional<Id> getElementHash(SessionContext context,
-                                      ElementEntityContext elementEntityContext,
-                                      ElementEntity element) {
-    return getElementRepository(context).getHash(context, elementEntityContext, element);
+    if (elementSyncStates.size() != elementIds.size()) {
+      throw new IllegalStateException("Synchronization state must exist for an element");
+    }
+    return elementSyncStates;
   }
 
   protected ElementRepository getElementRepository(SessionContext context) {
@@ -3,26 +3,38 @@ package com.amdocs.zusammen.plugin.collaboration.impl;
 import com.amdocs.zusammen.datatypes.Id;
 import com.amdocs.zusammen.datatypes.SessionContext;
 import com.amdocs.zusammen.datatypes.Space;
+import com.amdocs.zusammen.datatypes.item.Action;
 import com.amdocs.zusammen.datatypes.item.ElementContext;
+import com.amdocs.zusammen.plugin.ZusammenPluginConcurrency;
+import com.amdocs.zusammen.plugin.ZusammenPluginConstants;
 import com.amdocs.zusammen.plugin.collaboration.ElementPublicStore;
 import com.amdocs.zusammen.plugin.dao.ElementRepository;
 import com.amdocs.zusammen.plugin.dao.ElementRepositoryFactory;
 import com.amdocs.zusammen.plugin.dao.ElementSynchronizationStateRepository;
 import com.amdocs.zusammen.plugin.dao.ElementSynchronizationStateRepositoryFactory;
+import com.amdocs.zusammen.plugin.dao.VersionChangeLogRepository;
+import com.amdocs.zusammen.plugin.dao.VersionChangeLogRepositoryFactory;
+import com.amdocs.zusammen.plugin.dao.types.ChangeLogEntryEntity;
 import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
 import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
 import com.amdocs.zusammen.plugin.statestore.cassandra.dao.types.ElementEntityContext;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.amdocs.zusammen.plugin.ZusammenPluginUtil.getSpaceName;
 
 public class ElementPublicStoreImpl implements ElementPublicStore {
+  private static final boolean CHANGE_LOG_ENABLED =
+      Boolean.getBoolean(ZusammenPluginConstants.CHANGE_LOG_ENABLED);
 
   private static final String ELEMENT_TO_UPDATE_DOES_NOT_EXIST =
       "Item Id %s, version Id %s: Element %s that should be updated on public does not exist there";
@@ -35,6 +47,14 @@ public class ElementPublicStoreImpl implements ElementPublicStore {
             new ElementEntity(elementId));
   }
 
+  @Override
+  public Map<Id, ElementEntity> get(SessionContext context, ElementContext elementContext,
+                                    Collection<Id> elementIds) {
+    return getElementRepository(context)
+        .get(context, new ElementEntityContext(getSpaceName(context, Space.PUBLIC), elementContext),
+            elementIds.stream().map(ElementEntity::new).collect(Collectors.toList()));
+  }
+
   @Override
   public Optional<ElementEntity> getDescriptor(SessionContext context,
                                                ElementContext elementContext, Id elementId) {
@@ -43,25 +63,36 @@ public class ElementPublicStoreImpl implements ElementPublicStore {
         new ElementEntity(elementId));
   }
 
+  @Override
+  public Map<Id, ElementEntity> getDescriptors(SessionContext context,
+                                               ElementContext elementContext,
+                                               Collection<Id> elementIds) {
+    return getElementRepository(context).getDescriptors(context,
+        new ElementEntityContext(getSpaceName(context, Space.PUBLIC), elementContext),
+        elementIds.stream().map(ElementEntity::new).collect(Collectors.toList()));
+  }
+
+  @Override
+  public Map<Id, Id> getHashes(SessionContext context, ElementContext elementContext,
+                               Collection<Id> elementIds) {
+    return getElementRepository(context).getHashes(context,
+        new ElementEntityContext(getSpaceName(context, Space.PUBLIC), elementContext),
+        elementIds.stream().map(ElementEntity::new).collect(Collectors.toList()));
+  }
+
   @Override
   public Collection<SynchronizationStateEntity> listSynchronizationStates(
       SessionContext context, ElementContext elementContext) {
     ElementEntityContext publicContext =
         new ElementEntityContext(getSpaceName(context, Space.PUBLIC), elementContext);
 
-    ElementSynchronizationStateRepository elementSyncStateRepository =
-        getElementSyncStateRepository(context);
     Map<Id, Id> ids = getElementRepository(context).listIds(context, publicContext);
 
-    Collection<SynchronizationStateEntity> synchronizationStateEntities = new HashSet<>();
-    for (Map.Entry<Id, Id> elementEntry : ids.entrySet()) {
-      Optional<SynchronizationStateEntity> synchronizationStateEntity =
-          elementSyncStateRepository.get(context, publicContext,
-              new SynchronizationStateEntity(elementEntry.getKey(), elementEntry.getValue()));
-      synchronizationStateEntity.ifPresent(synchronizationStateEntities::add);
-    }
-
-    return synchronizationStateEntities;
+    // a single scan of the version's states (of all revisions), filtered to the current revision
+    // of each element
+    return getElementSyncStateRepository(context).list(context, publicContext).stream()
+        .filter(syncState -> syncState.getRevisionId().equals(ids.get(syncState.getId())))
+        .collect(Collectors.toSet());
   }
 
   @Override
@@ -102,6 +133,99 @@ public class ElementPublicStoreImpl implements ElementPublicStore {
             elementContext.getRevisionId()));
   }
 
+  @Override
+  public Optional<SynchronizationStateEntity> getSynchronizationState(SessionContext context,
+                                                                      ElementContext elementContext,
+                                                                      Id elementId) {
+    ElementEntityContext publicContext =
+        new ElementEntityContext(getSpaceName(context, Space.PUBLIC), elementContext);
+
+    Id elementRevisionId =
+        getElementRepository(context).listIds(context, publicContext).get(elementId);
+    return elementRevisionId == null
+        ? Optional.empty()
+        : getElementSyncStateRepository(context).get(context, publicContext,
+            new SynchronizationStateEntity(elementId, elementRevisionId));
+  }
+
+  @Override
+  public Optional<SynchronizationStateEntity> getSynchronizationState(SessionContext context,
+                                                                      ElementContext elementContext,
+                                                                      Id elementId,
+                                                                      Id elementRevisionId) {
+    return getElementSyncStateRepository(context).get(context,
+        new ElementEntityContext(getSpaceName(context, Space.PUBLIC), elementContext),
+        new SynchronizationStateEntity(elementId, elementRevisionId));
+  }
+
+  @Override
+  public Map<Id, SynchronizationStateEntity> getSynchronizationStates(
+      SessionContext context, ElementContext elementContext, Collection<Id> elementIds) {
+    ElementEntityContext publicContext =
+        new ElementEntityContext(getSpaceName(context, Space.PUBLIC), elementContext);
+
+    // the element revisions are read once for all the elements, then their states concurrently
+    Map<Id, Id> ids = getElementRepository(context).listIds(context, publicContext);
+    List<Id> existingElementIds = elementIds.stream()
+        .filter(ids::containsKey)
+        .collect(Collectors.toList());
+    ElementSynchronizationStateRepository elementSyncStateRepository =
+        getElementSyncStateRepository(context);
+    return ZusammenPluginConcurrency.map(existingElementIds,
+        elementId -> elementSyncStateRepository.get(context, publicContext,
+            new SynchronizationStateEntity(elementId, ids.get(elementId))))
+        .stream()
+        .filter(Optional::isPresent)
+        .map(Optional::get)
+        .collect(Collectors.toMap(SynchronizationStateEntity::getId, Function.identity()));
+  }
+
+  @Override
+  public void logChanges(SessionContext context, ElementContext elementContext, Date publishTime,
+                         Collection<ChangeLogEntryEntity> changes) {
+    if (!isChangeLogEnabled()) {
+      return;
+    }
+    List<ChangeLogEntryEntity> entries = new ArrayList<>(changes.size() + 1);
+    entries.addAll(changes);
+    entries.add(new ChangeLogEntryEntity(elementContext.getVersionId(),
+        elementContext.getRevisionId(), publishTime, Action.UPDATE));
+
+    getVersionChangeLogRepository(context).append(context,
+        new ElementEntityContext(getSpaceName(context, Space.PUBLIC), elementContext), entries);
+  }
+
+  @Override
+  public Optional<List<ChangeLogEntryEntity>> listChanges(SessionContext context,
+                                                          ElementContext elementContext,
+                                                          Date fromPublishTime,
+                                                          Date toPublishTime) {
+    if (!isChangeLogEnabled()) {
+      return Optional.empty();
+    }
+    List<ChangeLogEntryEntity> entries = getVersionChangeLogRepository(context).list(context,
+        new ElementEntityContext(getSpaceName(context, Space.PUBLIC), elementContext),
+        fromPublishTime);
+
+    // a publication is logged last, so its entry proves that all of its changes were logged
+    if (!isPublicationLogged(elementContext, entries, fromPublishTime) ||
+        !isPublicationLogged(elementContext, entries, toPublishTime)) {
+      return Optional.empty();
+    }
+    return Optional.of(entries.stream()
+        .filter(entry -> !isPublicationEntry(elementContext, entry) &&
+            entry.getPublishTime().after(fromPublishTime) &&
+            !entry.getPublishTime().after(toPublishTime))
+        .collect(Collectors.toList()));
+  }
+
+  private static boolean isPublicationLogged(ElementContext elementContext,
+                                             List<ChangeLogEntryEntity> entries,
+                                             Date publishTime) {
+    return entries.stream().anyMatch(entry -> isPublicationEntry(elementContext, entry) &&
+        entry.getPublishTime().equals(publishTime));
+  }
+
   @Override
   public Map<Id, Id> listIds(SessionContext context, ElementContext elementContext) {
     return getElementRepository(context).listIds(context,
@@ -126,6 +250,9 @@ public class ElementPublicStoreImpl implements ElementPublicStore {
         .cleanAllRevisions(context, publicContext, new ElementEntity(elementId)));
 
     elementSyncStateRepository.deleteAll(context, publicContext);
+    if (isChangeLogEnabled()) {
+      getVersionChangeLogRepository(context).deleteAll(context, publicContext);
+    }
   }
 
   private void update(SessionContext context, ElementEntityContext publicContext,
@@ -172,5 +299,24 @@ public class ElementPublicStoreImpl implements ElementPublicStore {
     return ElementSynchronizationStateRepositoryFactory.getInstance().createInterface(context);
   }
 
+  /**
+   * The change log table is optional - nothing reads or writes it unless it is enabled.
+   */
+  protected boolean isChangeLogEnabled() {
+    return CHANGE_LOG_ENABLED;
+  }
+
+  protected VersionChangeLogRepository getVersionChangeLogRepository(SessionContext context) {
+    return VersionChangeLogRepositoryFactory.getInstance().createInterface(context);
+  }
+
+  /**
+   * The publication itself is logged as a change of the version (whose id is not an element id).
+   */
+  private static boolean isPublicationEntry(ElementContext elementContext,
+                                            ChangeLogEntryEntity entry) {
+    return entry.getElementId().equals(elementContext.getVersionId());
+  }
+
 
 }
@@ -1,9 +1,11 @@
 package com.amdocs.zusammen.plugin.collaboration.impl;
 
+import com.amdocs.zusammen.datatypes.Id;
 import com.amdocs.zusammen.datatypes.SessionContext;
 import com.amdocs.zusammen.datatypes.item.Action;
 import com.amdocs.zusammen.datatypes.item.ElementContext;
 import com.amdocs.zusammen.datatypes.item.Resolution;
+import com.amdocs.zusammen.plugin.collaboration.ConflictResolutionPolicy;
 import com.amdocs.zusammen.plugin.collaboration.ElementStageStore;
 import com.amdocs.zusammen.plugin.dao.ElementStageRepository;
 import com.amdocs.zusammen.plugin.dao.ElementStageRepositoryFactory;
@@ -12,13 +14,19 @@ import com.amdocs.zusammen.plugin.dao.types.StageEntity;
 import com.amdocs.zusammen.plugin.statestore.cassandra.dao.types.ElementEntityContext;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static com.amdocs.zusammen.plugin.ZusammenPluginUtil.getPrivateElementContext;
 import static com.amdocs.zusammen.plugin.ZusammenPluginUtil.getPrivateSpaceName;
 
 public class ElementStageStoreImpl implements ElementStageStore {
+  private static final int DELETE_ALL_PAGE_SIZE = 500;
 
   @Override
   public Collection<ElementEntity> listIds(SessionContext context, ElementContext elementContext) {
@@ -27,6 +35,28 @@ public class ElementStageStoreImpl implements ElementStageStore {
             getPrivateElementContext(elementContext)));
   }
 
+  @Override
+  public boolean hasElements(SessionContext context, ElementContext elementContext) {
+    return getElementStageRepository(context)
+        .hasElements(context, new ElementEntityContext(getPrivateSpaceName(context),
+            getPrivateElementContext(elementContext)));
+  }
+
+  @Override
+  public boolean hasLocalChanges(SessionContext context, ElementContext elementContext) {
+    return getElementStageRepository(context)
+        .hasLocalChanges(context, new ElementEntityContext(getPrivateSpaceName(context),
+            getPrivateElementContext(elementContext)));
+  }
+
+  @Override
+  public void list(SessionContext context, ElementContext elementContext, int pageSize,
+                   Consumer<List<StageEntity<ElementEntity>>> pageConsumer) {
+    getElementStageRepository(context).list(context,
+        new ElementEntityContext(getPrivateSpaceName(context),
+            getPrivateElementContext(elementContext)), pageSize, pageConsumer);
+  }
+
   @Override
   public Optional<StageEntity<ElementEntity>> get(SessionContext context,
                                                   ElementContext elementContext,
@@ -59,32 +89,38 @@ public class ElementStageStoreImpl implements ElementStageStore {
                 (elementContext));
     ElementStageRepository elementStageRepository = getElementStageRepository(context);
 
-    return elementStageRepository.listConflictedIds(context, privateContext).stream()
-        .map(conflictedElement -> getConflictedDescriptor(context, privateContext,
-            elementStageRepository, conflictedElement))
+    Collection<ElementEntity> conflictedElements =
+        elementStageRepository.listConflictedIds(context, privateContext);
+    Map<Id, StageEntity<ElementEntity>> conflictedDescriptors =
+        elementStageRepository.getDescriptors(context, privateContext, conflictedElements);
+
+    return conflictedElements.stream()
+        .map(conflictedElement -> getConflictedDescriptor(privateContext, conflictedDescriptors,
+            conflictedElement))
         .collect(Collectors.toList());
   }
 
-  private StageEntity<ElementEntity> getConflictedDescriptor(SessionContext context,
-                                                             ElementEntityContext privateContext,
-                                                             ElementStageRepository elementStageRepository,
+  private StageEntity<ElementEntity> getConflictedDescriptor(ElementEntityContext privateContext,
+                                                             Map<Id, StageEntity<ElementEntity>> conflictedDescriptors,
                                                              ElementEntity conflictedElement) {
-    return elementStageRepository.getDescriptor(context, privateContext, conflictedElement)
-        .orElseThrow(() -> new IllegalStateException(String.format(
-            "Get staged conflicted element error: " +
-                "Element %s, which appears as a staged conflicted element of item %s version %s, " +
-                "does not exist in stage",
-            conflictedElement.getId(), privateContext.getItemId(), privateContext.getVersionId())));
+    StageEntity<ElementEntity> conflictedDescriptor =
+        conflictedDescriptors.get(conflictedElement.getId());
+    if (conflictedDescriptor == null) {
+      throw new IllegalStateException(String.format(
+          "Get staged conflicted element error: " +
+              "Element %s, which appears as a staged conflicted element of item %s version %s, " +
+              "does not exist in stage",
+          conflictedElement.getId(), privateContext.getItemId(), privateContext.getVersionId()));
+    }
+    return conflictedDescriptor;
   }
 
   @Override
   public void deleteAll(SessionContext context, ElementContext elementContext) {
-    for (ElementEntity element : listIds(context, elementContext)) {
-      StageEntity<ElementEntity> stagedElement =
-          get(context, elementContext, element).orElseThrow(
-              () -> new IllegalStateException("Staged element id returned by list must exist"));
-      delete(context, elementContext, stagedElement.getEntity());
-    }
+    list(context, elementContext, DELETE_ALL_PAGE_SIZE,
+        stagedElements -> delete(context, elementContext, stagedElements.stream()
+            .map(StageEntity::getEntity)
+            .collect(Collectors.toList())));
   }
 
   @Override
@@ -103,6 +139,14 @@ public class ElementStageStoreImpl implements ElementStageStore {
   }
 
 
+  @Override
+  public void delete(SessionContext context, ElementContext elementContext,
+                     Collection<ElementEntity> elements) {
+    getElementStageRepository(context).delete(context,
+        new ElementEntityContext(getPrivateSpaceName(context),
+            getPrivateElementContext(elementContext)), elements);
+  }
+
   @Override
   public void resolveConflict(SessionContext context, ElementContext elementContext,
                               ElementEntity element, Resolution resolution) {
@@ -132,6 +176,54 @@ public class ElementStageStoreImpl implements ElementStageStore {
     }
   }
 
+  @Override
+  public int resolveConflicts(SessionContext context, ElementContext elementContext,
+                              ConflictResolutionPolicy resolutionPolicy) {
+    Collection<StageEntity<ElementEntity>> conflictedDescriptors =
+        listConflictedDescriptors(context, elementContext);
+
+    Set<ElementEntity> resolvedByYours = new HashSet<>();
+    Set<ElementEntity> resolvedByTheirs = new HashSet<>();
+    int resolvedConflicts = 0;
+    for (StageEntity<ElementEntity> conflictedDescriptor : conflictedDescriptors) {
+      Optional<Resolution> resolution =
+          resolutionPolicy.getResolution(conflictedDescriptor.getEntity());
+      if (!resolution.isPresent()) {
+        continue;
+      }
+      switch (resolution.get()) {
+        case YOURS:
+          resolvedByYours.add(conflictedDescriptor.getEntity());
+          resolvedByYours.addAll(conflictedDescriptor.getConflictDependents());
+          resolvedConflicts++;
+          break;
+        case THEIRS:
+          resolvedByTheirs.add(conflictedDescriptor.getEntity());
+          resolvedConflicts++;
+          break;
+        case OTHER:
+          throw new UnsupportedOperationException(
+              "'Other' conflict resolution is not yet supported");
+        default:
+          break;
+      }
+    }
+    // a conflict dependent of an element resolved by yours is ignored, as when resolved one by one
+    resolvedByTheirs.removeAll(resolvedByYours);
+
+    ElementEntityContext privateContext = new ElementEntityContext(getPrivateSpaceName(context),
+        getPrivateElementContext(elementContext));
+    ElementStageRepository elementStageRepository = getElementStageRepository(context);
+    if (!resolvedByYours.isEmpty()) {
+      elementStageRepository
+          .markAsNotConflicted(context, privateContext, resolvedByYours, Action.IGNORE);
+    }
+    if (!resolvedByTheirs.isEmpty()) {
+      elementStageRepository.markAsNotConflicted(context, privateContext, resolvedByTheirs);
+    }
+    return resolvedConflicts;
+  }
+
   private void resolveConflictByYours(SessionContext context, ElementEntityContext privateContext,
                                       StageEntity<ElementEntity> stagedElement) {
     getElementStageRepository(context)
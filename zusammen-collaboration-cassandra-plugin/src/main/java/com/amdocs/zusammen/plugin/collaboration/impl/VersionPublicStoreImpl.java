@@ -3,24 +3,52 @@ package com.amdocs.zusammen.plugin.collaboration.impl;
 import com.amdocs.zusammen.datatypes.Id;
 import com.amdocs.zusammen.datatypes.SessionContext;
 import com.amdocs.zusammen.datatypes.Space;
+import com.amdocs.zusammen.plugin.ZusammenPluginConstants;
 import com.amdocs.zusammen.plugin.collaboration.VersionPublicStore;
 import com.amdocs.zusammen.plugin.dao.VersionDao;
 import com.amdocs.zusammen.plugin.dao.VersionDaoFactory;
+import com.amdocs.zusammen.plugin.dao.VersionRevisionRepository;
+import com.amdocs.zusammen.plugin.dao.VersionRevisionRepositoryFactory;
 import com.amdocs.zusammen.plugin.dao.VersionSynchronizationStateRepository;
 import com.amdocs.zusammen.plugin.dao.VersionSynchronizationStateRepositoryFactory;
+import com.amdocs.zusammen.plugin.dao.VersionTagRepository;
+import com.amdocs.zusammen.plugin.dao.VersionTagRepositoryFactory;
 import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
+import com.amdocs.zusammen.plugin.dao.types.TagEntity;
 import com.amdocs.zusammen.plugin.dao.types.VersionContext;
 import com.amdocs.zusammen.plugin.dao.types.VersionEntity;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static com.amdocs.zusammen.plugin.ZusammenPluginUtil.getSpaceName;
 
+/**
+ * When enabled, the revisions metadata of a version is read from the version_revisions table,
+ * ordered by publish time. Versions which were published before that table existed have their
+ * revisions only in the version synchronization states, these are listed from there (sorted in
+ * memory) until the next publish of the version copies them to the version_revisions table.
+ * When not enabled, the version_revisions table is not accessed at all and the revisions are
+ * always listed from the version synchronization states.
+ */
 public class VersionPublicStoreImpl implements VersionPublicStore {
+  private static final int REVISIONS_PAGE_SIZE = 100;
+  private static final boolean VERSION_REVISIONS_ENABLED =
+      Boolean.getBoolean(ZusammenPluginConstants.VERSION_REVISIONS_ENABLED);
+  private static final boolean TAGS_ENABLED =
+      Boolean.getBoolean(ZusammenPluginConstants.TAGS_ENABLED);
+  private static final String TAGGING_NOT_ENABLED =
+      "Item %s, version %s: Cannot create tag %s since tagging is not enabled - create the "
+          + "version_tags table and set " + ZusammenPluginConstants.TAGS_ENABLED + "=true";
+  private static final Comparator<SynchronizationStateEntity> NEWEST_REVISION_FIRST =
+      Comparator.comparing(SynchronizationStateEntity::getPublishTime).reversed()
+          .thenComparing(revision -> revision.getRevisionId().getValue());
 
   @Override
   public Collection<VersionEntity> list(SessionContext context, Id itemId) {
@@ -36,11 +64,61 @@ public class VersionPublicStoreImpl implements VersionPublicStore {
   @Override
   public List<SynchronizationStateEntity> listSynchronizationStates(SessionContext context,
                                                                     Id itemId, Id versionId) {
-    List<SynchronizationStateEntity> syncStates = getVersionSyncStateRepository(context)
-        .list(context, new VersionContext(getSpaceName(context, Space.PUBLIC), itemId),
-            new SynchronizationStateEntity(versionId, null));
-    syncStates.sort((o1, o2) -> o1.getPublishTime().after(o2.getPublishTime()) ? -1 : 1);
-    return syncStates;
+    List<SynchronizationStateEntity> revisions = new ArrayList<>();
+    List<SynchronizationStateEntity> page;
+    SynchronizationStateEntity lastRevision = null;
+    do {
+      page = lastRevision == null
+          ? listRevisions(context, itemId, versionId, null, null, REVISIONS_PAGE_SIZE)
+          : listRevisions(context, itemId, versionId, lastRevision.getPublishTime(),
+              lastRevision.getRevisionId(), REVISIONS_PAGE_SIZE);
+      revisions.addAll(page);
+      if (!page.isEmpty()) {
+        lastRevision = page.get(page.size() - 1);
+      }
+    } while (page.size() == REVISIONS_PAGE_SIZE);
+    return revisions;
+  }
+
+  @Override
+  public List<SynchronizationStateEntity> listRevisions(SessionContext context, Id itemId,
+                                                        Id versionId, Date lastPublishTime,
+                                                        Id lastRevisionId, int limit) {
+    VersionContext versionContext =
+        new VersionContext(getSpaceName(context, Space.PUBLIC), itemId);
+    if (isVersionRevisionsEnabled()) {
+      List<SynchronizationStateEntity> revisions = getVersionRevisionRepository(context)
+          .list(context, versionContext, versionId, lastPublishTime, lastRevisionId, limit);
+      if (!revisions.isEmpty() || hasRevisions(context, versionContext, versionId)) {
+        return revisions;
+      }
+    }
+
+    return listLegacyRevisions(context, versionContext, versionId).stream()
+        .filter(revision -> lastPublishTime == null ||
+            revision.getPublishTime().before(lastPublishTime) ||
+            (lastRevisionId != null && revision.getPublishTime().equals(lastPublishTime) &&
+                revision.getRevisionId().getValue().compareTo(lastRevisionId.getValue()) > 0))
+        .limit(limit)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public Optional<SynchronizationStateEntity> findRevision(SessionContext context, Id itemId,
+                                                           Id versionId, Date publishTime) {
+    VersionContext versionContext =
+        new VersionContext(getSpaceName(context, Space.PUBLIC), itemId);
+    if (isVersionRevisionsEnabled()) {
+      Optional<SynchronizationStateEntity> revision = getVersionRevisionRepository(context)
+          .get(context, versionContext, versionId, publishTime);
+      if (revision.isPresent() || hasRevisions(context, versionContext, versionId)) {
+        return revision;
+      }
+    }
+
+    return listLegacyRevisions(context, versionContext, versionId).stream()
+        .filter(legacyRevision -> publishTime.equals(legacyRevision.getPublishTime()))
+        .findFirst();
   }
 
   @Override
@@ -61,6 +139,13 @@ public class VersionPublicStoreImpl implements VersionPublicStore {
             new SynchronizationStateEntity(versionId, revisionId));
   }
 
+  @Override
+  public Optional<SynchronizationStateEntity> getRevision(SessionContext context, Id itemId,
+                                                          Id versionId, Id revisionId) {
+    return getVersionSyncStateRepository(context)
+        .getRevision(context, new VersionContext(getSpaceName(context, Space.PUBLIC), itemId),
+            new SynchronizationStateEntity(versionId, revisionId));
+  }
 
   @Override
   public void create(SessionContext context, Id itemId, VersionEntity version, Id revisionId,
@@ -74,6 +159,12 @@ public class VersionPublicStoreImpl implements VersionPublicStore {
 
     getVersionSyncStateRepository(context).create(context, new VersionContext(publicSpace, itemId),
         new SynchronizationStateEntity(version.getId(), revisionId, publishTime, false));
+
+    if (isVersionRevisionsEnabled()) {
+      getVersionRevisionRepository(context).create(context,
+          new VersionContext(publicSpace, itemId),
+          getRevisionEntity(context, version.getId(), revisionId, publishTime, message));
+    }
   }
 
   @Override
@@ -86,9 +177,21 @@ public class VersionPublicStoreImpl implements VersionPublicStore {
         createVersionElements(context, publicSpace, itemId, version.getId(),
             revisionId, versionElementIds, publishTime, message);
 
+    VersionContext versionContext = new VersionContext(publicSpace, itemId);
+    boolean versionRevisionsEnabled = isVersionRevisionsEnabled();
+    if (versionRevisionsEnabled && !hasRevisions(context, versionContext, version.getId())) {
+      listLegacyRevisions(context, versionContext, version.getId()).forEach(legacyRevision ->
+          getVersionRevisionRepository(context).create(context, versionContext, legacyRevision));
+    }
+
     getVersionSyncStateRepository(context).
-        updatePublishTime(context, new VersionContext(publicSpace, itemId),
+        updatePublishTime(context, versionContext,
             new SynchronizationStateEntity(version.getId(), revisionId, publishTime, false));
+
+    if (versionRevisionsEnabled) {
+      getVersionRevisionRepository(context).create(context, versionContext,
+          getRevisionEntity(context, version.getId(), revisionId, publishTime, message));
+    }
   }
 
   @Override
@@ -99,6 +202,48 @@ public class VersionPublicStoreImpl implements VersionPublicStore {
     getVersionSyncStateRepository(context)
         .delete(context, new VersionContext(publicSpace, itemId),
             new SynchronizationStateEntity(version.getId(), null));
+    if (isVersionRevisionsEnabled()) {
+      getVersionRevisionRepository(context)
+          .deleteAll(context, new VersionContext(publicSpace, itemId), version.getId());
+    }
+    if (isTaggingEnabled()) {
+      getVersionTagRepository(context)
+          .deleteAll(context, new VersionContext(publicSpace, itemId), version.getId());
+    }
+  }
+
+  @Override
+  public boolean isTaggingEnabled() {
+    return TAGS_ENABLED;
+  }
+
+  @Override
+  public boolean createTag(SessionContext context, Id itemId, Id versionId, TagEntity tag) {
+    if (!isTaggingEnabled()) {
+      throw new IllegalStateException(
+          String.format(TAGGING_NOT_ENABLED, itemId, versionId, tag.getName()));
+    }
+    return getVersionTagRepository(context).create(context,
+        new VersionContext(getSpaceName(context, Space.PUBLIC), itemId), versionId, tag);
+  }
+
+  @Override
+  public Optional<TagEntity> getTag(SessionContext context, Id itemId, Id versionId,
+                                    String tagName) {
+    if (!isTaggingEnabled()) {
+      return Optional.empty();
+    }
+    return getVersionTagRepository(context).get(context,
+        new VersionContext(getSpaceName(context, Space.PUBLIC), itemId), versionId, tagName);
+  }
+
+  @Override
+  public Collection<TagEntity> listTags(SessionContext context, Id itemId, Id versionId) {
+    if (!isTaggingEnabled()) {
+      return new ArrayList<>();
+    }
+    return getVersionTagRepository(context).list(context,
+        new VersionContext(getSpaceName(context, Space.PUBLIC), itemId), versionId);
   }
 
   @Override
@@ -109,11 +254,36 @@ public class VersionPublicStoreImpl implements VersionPublicStore {
   private Optional<SynchronizationStateEntity> getLastSynchronizationState(SessionContext context,
                                                                            Id itemId,
                                                                            Id versionId) {
-    List<SynchronizationStateEntity> syncStates =
-        listSynchronizationStates(context, itemId, versionId);
-    return syncStates.isEmpty() ?
-        Optional.empty() :
-        Optional.of(syncStates.get(0));
+    return listRevisions(context, itemId, versionId, null, null, 1).stream().findFirst();
+  }
+
+  private boolean hasRevisions(SessionContext context, VersionContext versionContext,
+                               Id versionId) {
+    return !getVersionRevisionRepository(context)
+        .list(context, versionContext, versionId, null, null, 1).isEmpty();
+  }
+
+  private List<SynchronizationStateEntity> listLegacyRevisions(SessionContext context,
+                                                               VersionContext versionContext,
+                                                               Id versionId) {
+    List<SynchronizationStateEntity> revisions = getVersionSyncStateRepository(context)
+        .list(context, versionContext, new SynchronizationStateEntity(versionId, null));
+    revisions.sort(NEWEST_REVISION_FIRST);
+    return revisions;
+  }
+
+  private SynchronizationStateEntity getRevisionEntity(SessionContext context, Id versionId,
+                                                       Id revisionId, Date publishTime,
+                                                       String message) {
+    SynchronizationStateEntity revision =
+        new SynchronizationStateEntity(versionId, revisionId, publishTime, false);
+    revision.setUser(context.getUser().getUserName());
+    revision.setMessage(message);
+    return revision;
+  }
+
+  protected boolean isVersionRevisionsEnabled() {
+    return VERSION_REVISIONS_ENABLED;
   }
 
   protected VersionDao getVersionDao(SessionContext context) {
@@ -124,4 +294,12 @@ public class VersionPublicStoreImpl implements VersionPublicStore {
       SessionContext context) {
     return VersionSynchronizationStateRepositoryFactory.getInstance().createInterface(context);
   }
+
+  protected VersionRevisionRepository getVersionRevisionRepository(SessionContext context) {
+    return VersionRevisionRepositoryFactory.getInstance().createInterface(context);
+  }
+
+  protected VersionTagRepository getVersionTagRepository(SessionContext context) {
+    return VersionTagRepositoryFactory.getInstance().createInterface(context);
+  }
 }
@@ -5,6 +5,7 @@ import com.amdocs.zusammen.datatypes.SessionContext;
 import com.amdocs.zusammen.plugin.statestore.cassandra.dao.types.ElementEntityContext;
 import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 
@@ -16,8 +17,31 @@ public interface ElementRepository {
 
   void update(SessionContext context, ElementEntityContext elementContext, ElementEntity element);
 
+  /**
+   * Updates the element only if its stored hash differs from the hash of the given element.
+   * The stored hash is read and compared first, the write itself is a regular (unconditional)
+   * update - so an element which is missing or has no stored hash is written as well.
+   * @param context
+   * @param elementContext
+   * @param element
+   * @return true if the element was written, false if it is stored with the same hash
+   */
+  boolean updateIfChanged(SessionContext context, ElementEntityContext elementContext,
+                          ElementEntity element);
+
   void delete(SessionContext context, ElementEntityContext elementContext, ElementEntity element);
 
+  /**
+   * Deletes the given elements together, e.g. an entire sub tree.
+   * An element whose parent is not deleted along with it (its parentId must be populated) is
+   * removed from its parent. The version elements list is updated once for all of them.
+   * @param context
+   * @param elementContext
+   * @param elements
+   */
+  void delete(SessionContext context, ElementEntityContext elementContext,
+              Collection<ElementEntity> elements);
+
   /**
    * Deletes the entire revisions of an element.
    * As apposed to delete (which deletes specific element revision) this API does not deletes the
@@ -31,12 +55,44 @@ public interface ElementRepository {
   Optional<ElementEntity> get(SessionContext context, ElementEntityContext elementContext,
                               ElementEntity element);
 
+  /**
+   * Gets the given elements, resolving their revisions once for all of them.
+   * @param context
+   * @param elementContext
+   * @param elements
+   * @return the existing elements by their ids
+   */
+  Map<Id, ElementEntity> get(SessionContext context, ElementEntityContext elementContext,
+                             Collection<ElementEntity> elements);
+
   Optional<ElementEntity> getDescriptor(SessionContext context, ElementEntityContext elementContext,
                                         ElementEntity element);
 
+  /**
+   * Gets the descriptors of the given elements, resolving their revisions once for all of them.
+   * @param context
+   * @param elementContext
+   * @param elements
+   * @return the descriptors of the existing elements by their ids
+   */
+  Map<Id, ElementEntity> getDescriptors(SessionContext context,
+                                        ElementEntityContext elementContext,
+                                        Collection<ElementEntity> elements);
+
   void createNamespace(SessionContext context, ElementEntityContext elementContext,
                        ElementEntity element);
 
   Optional<Id> getHash(SessionContext context, ElementEntityContext elementEntityContext,
                        ElementEntity element);
+
+  /**
+   * Gets the hashes of the given elements (without their content), resolving their revisions once
+   * for all of them.
+   * @param context
+   * @param elementContext
+   * @param elements
+   * @return the hashes of the existing elements by their ids
+   */
+  Map<Id, Id> getHashes(SessionContext context, ElementEntityContext elementContext,
+                        Collection<ElementEntity> elements);
 }
@@ -1,5 +1,6 @@
 package com.amdocs.zusammen.plugin.dao;
 
+import com.amdocs.zusammen.datatypes.Id;
 import com.amdocs.zusammen.datatypes.SessionContext;
 import com.amdocs.zusammen.datatypes.item.Action;
 import com.amdocs.zusammen.plugin.statestore.cassandra.dao.types.ElementEntityContext;
@@ -7,7 +8,10 @@ import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
 import com.amdocs.zusammen.plugin.dao.types.StageEntity;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ElementStageRepository
     extends StageRepository<ElementEntityContext, ElementEntity> {
@@ -16,9 +20,47 @@ public interface ElementStageRepository
                                                      ElementEntityContext elementContext,
                                                      ElementEntity element);
 
+  /**
+   * Gets the staged descriptors of the given elements, reading them concurrently.
+   * @param context
+   * @param elementContext
+   * @param elements
+   * @return the staged descriptors of the existing elements by their ids
+   */
+  Map<Id, StageEntity<ElementEntity>> getDescriptors(SessionContext context,
+                                                     ElementEntityContext elementContext,
+                                                     Collection<ElementEntity> elements);
+
+  /**
+   * Lists the ids of the staged elements of the version by a scan of its stage.
+   * @param context
+   * @param elementContext
+   * @return the staged elements, with their ids only
+   */
   Collection<ElementEntity> listIds(SessionContext context,
                                     ElementEntityContext elementContext);
 
+  boolean hasElements(SessionContext context, ElementEntityContext elementContext);
+
+  /**
+   * @param context
+   * @param elementContext
+   * @return whether any of the staged elements of the version is a local change (e.g. of a merge)
+   */
+  boolean hasLocalChanges(SessionContext context, ElementEntityContext elementContext);
+
+  /**
+   * Scans the staged elements of the version, with their full content, in a single paged query
+   * and hands them to the consumer a page at a time. The consumer may delete the staged elements
+   * it was handed.
+   * @param context
+   * @param elementContext
+   * @param pageSize
+   * @param pageConsumer
+   */
+  void list(SessionContext context, ElementEntityContext elementContext, int pageSize,
+            Consumer<List<StageEntity<ElementEntity>>> pageConsumer);
+
   Collection<ElementEntity> listConflictedIds(SessionContext context,
                                               ElementEntityContext elementContext);
 
@@ -28,7 +70,37 @@ public interface ElementStageRepository
   void markAsNotConflicted(SessionContext context, ElementEntityContext entityContext,
                            ElementEntity entity);
 
+  /**
+   * Marks the given elements as not conflicted with the given action, removing them from the
+   * conflicted elements at once.
+   * @param context
+   * @param entityContext
+   * @param entities
+   * @param action
+   */
+  void markAsNotConflicted(SessionContext context, ElementEntityContext entityContext,
+                           Collection<ElementEntity> entities, Action action);
+
+  /**
+   * Marks the given elements as not conflicted keeping their actions, removing them from the
+   * conflicted elements at once.
+   * @param context
+   * @param entityContext
+   * @param entities
+   */
+  void markAsNotConflicted(SessionContext context, ElementEntityContext entityContext,
+                           Collection<ElementEntity> entities);
+
   void update(SessionContext context, ElementEntityContext entityContext, ElementEntity entity,
               Action action, boolean conflicted);
 
+  /**
+   * Deletes the given staged elements, removing them from the staged elements at once.
+   * @param context
+   * @param entityContext
+   * @param entities
+   */
+  void delete(SessionContext context, ElementEntityContext entityContext,
+              Collection<ElementEntity> entities);
+
 }
@@ -12,6 +12,13 @@ public interface ElementSynchronizationStateRepository
   Collection<SynchronizationStateEntity> list(SessionContext context,
                                               ElementEntityContext elementContext);
 
+  /**
+   * Lists the states of the dirty elements of the version revision, by the dirty element ids kept
+   * on the version, rather than by scanning the states of all its elements.
+   */
+  Collection<SynchronizationStateEntity> listDirty(SessionContext context,
+                                                   ElementEntityContext elementContext);
+
   void deleteAll(SessionContext context, ElementEntityContext elementContext);
 
   void update(SessionContext context, ElementEntityContext entityContext,
@@ -20,4 +27,17 @@ public interface ElementSynchronizationStateRepository
   void markAsDirty(SessionContext context, ElementEntityContext entityContext,
                    SynchronizationStateEntity syncStateEntity);
 
+  /**
+   * Marks the given elements as dirty in bulk, rather than with statements per element.
+   */
+  void markAsDirty(SessionContext context, ElementEntityContext entityContext,
+                   Collection<SynchronizationStateEntity> syncStateEntities);
+
+  /**
+   * Deletes the synchronization states of the given elements in bulk, rather than with statements
+   * per element.
+   */
+  void delete(SessionContext context, ElementEntityContext entityContext,
+              Collection<SynchronizationStateEntity> syncStateEntities);
+
 }
@@ -0,0 +1,26 @@
+package com.amdocs.zusammen.plugin.dao;
+
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.dao.types.ChangeLogEntryEntity;
+import com.amdocs.zusammen.plugin.statestore.cassandra.dao.types.ElementEntityContext;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Append only log of the changes published to a version.
+ */
+public interface VersionChangeLogRepository {
+
+  void append(SessionContext context, ElementEntityContext elementContext,
+              Collection<ChangeLogEntryEntity> entries);
+
+  /**
+   * @return the entries published at or after the given time, ordered by their publish time
+   */
+  List<ChangeLogEntryEntity> list(SessionContext context, ElementEntityContext elementContext,
+                                  Date fromPublishTime);
+
+  void deleteAll(SessionContext context, ElementEntityContext elementContext);
+}
@@ -0,0 +1,14 @@
+package com.amdocs.zusammen.plugin.dao;
+
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.utils.facade.api.AbstractComponentFactory;
+import com.amdocs.zusammen.utils.facade.api.AbstractFactory;
+
+public abstract class VersionChangeLogRepositoryFactory
+    extends AbstractComponentFactory<VersionChangeLogRepository> {
+  public static VersionChangeLogRepositoryFactory getInstance() {
+    return AbstractFactory.getInstance(VersionChangeLogRepositoryFactory.class);
+  }
+
+  public abstract VersionChangeLogRepository createInterface(SessionContext context);
+}
@@ -0,0 +1,41 @@
+package com.amdocs.zusammen.plugin.dao;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
+import com.amdocs.zusammen.plugin.dao.types.VersionContext;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The revisions of a version with their metadata only (revision id, publish time, user and
+ * message), ordered from the newest to the oldest.
+ */
+public interface VersionRevisionRepository {
+
+  void create(SessionContext context, VersionContext versionContext,
+              SynchronizationStateEntity revision);
+
+  /**
+   * Revisions are ordered by their publish time (newest first) and then by their revision id, so
+   * a page continues from the last revision of the previous page even if other revisions were
+   * published at the same time.
+   *
+   * @param lastPublishTime the publish time of the last revision of the previous page, null for
+   *                        the first page
+   * @param lastRevisionId  the revision id of the last revision of the previous page, null to
+   *                        list only the revisions published before the given time
+   * @param limit           the maximal number of revisions to return
+   * @return the revisions which follow the given one, newest first
+   */
+  List<SynchronizationStateEntity> list(SessionContext context, VersionContext versionContext,
+                                        Id versionId, Date lastPublishTime, Id lastRevisionId,
+                                        int limit);
+
+  Optional<SynchronizationStateEntity> get(SessionContext context, VersionContext versionContext,
+                                           Id versionId, Date publishTime);
+
+  void deleteAll(SessionContext context, VersionContext versionContext, Id versionId);
+}
@@ -0,0 +1,14 @@
+package com.amdocs.zusammen.plugin.dao;
+
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.utils.facade.api.AbstractComponentFactory;
+import com.amdocs.zusammen.utils.facade.api.AbstractFactory;
+
+public abstract class VersionRevisionRepositoryFactory
+    extends AbstractComponentFactory<VersionRevisionRepository> {
+  public static VersionRevisionRepositoryFactory getInstance() {
+    return AbstractFactory.getInstance(VersionRevisionRepositoryFactory.class);
+  }
+
+  public abstract VersionRevisionRepository createInterface(SessionContext context);
+}
@@ -5,6 +5,7 @@ import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
 import com.amdocs.zusammen.plugin.dao.types.VersionContext;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface VersionSynchronizationStateRepository
     extends SynchronizationStateRepository<VersionContext> {
@@ -12,6 +13,18 @@ public interface VersionSynchronizationStateRepository
   void updatePublishTime(SessionContext context, VersionContext entityContext,
                          SynchronizationStateEntity syncStateEntity);
 
+  /**
+   * Lists the revisions of the version with their metadata only (revision id, publish time, user
+   * and message).
+   */
   List<SynchronizationStateEntity> list(SessionContext context, VersionContext entityContext,
                                         SynchronizationStateEntity syncStateEntity);
+
+  /**
+   * Gets the metadata of a single revision of the version (publish time, user and message),
+   * without reading its element maps.
+   */
+  Optional<SynchronizationStateEntity> getRevision(SessionContext context,
+                                                   VersionContext entityContext,
+                                                   SynchronizationStateEntity syncStateEntity);
 }
@@ -0,0 +1,31 @@
+package com.amdocs.zusammen.plugin.dao;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.dao.types.TagEntity;
+import com.amdocs.zusammen.plugin.dao.types.VersionContext;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * The tags of a version, by name.
+ */
+public interface VersionTagRepository {
+
+  /**
+   * Creates the tag unless a tag by its name already exists.
+   *
+   * @return whether the tag was created
+   */
+  boolean create(SessionContext context, VersionContext versionContext, Id versionId,
+                 TagEntity tag);
+
+  Optional<TagEntity> get(SessionContext context, VersionContext versionContext, Id versionId,
+                          String name);
+
+  Collection<TagEntity> list(SessionContext context, VersionContext versionContext,
+                             Id versionId);
+
+  void deleteAll(SessionContext context, VersionContext versionContext, Id versionId);
+}
@@ -0,0 +1,14 @@
+package com.amdocs.zusammen.plugin.dao;
+
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.utils.facade.api.AbstractComponentFactory;
+import com.amdocs.zusammen.utils.facade.api.AbstractFactory;
+
+public abstract class VersionTagRepositoryFactory
+    extends AbstractComponentFactory<VersionTagRepository> {
+  public static VersionTagRepositoryFactory getInstance() {
+    return AbstractFactory.getInstance(VersionTagRepositoryFactory.class);
+  }
+
+  public abstract VersionTagRepository createInterface(SessionContext context);
+}
@@ -11,9 +11,10 @@ class CassandraDaoUtils {
   }
 
   static <T> T getAccessor(SessionContext context, Class<T> classOfT) {
-    return CassandraConnectorFactory.getInstance().createInterface()
-        .getMappingManager(getCassandraContext(context))
-        .createAccessor(classOfT);
+    return InstrumentedAccessor.wrap(classOfT,
+        CassandraConnectorFactory.getInstance().createInterface()
+            .getMappingManager(getCassandraContext(context))
+            .createAccessor(classOfT));
   }
 
   static void registerCodecs(TypeCodec... codecs) {
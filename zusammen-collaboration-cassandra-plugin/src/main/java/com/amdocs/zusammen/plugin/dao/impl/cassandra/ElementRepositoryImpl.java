@@ -21,6 +21,7 @@ import com.amdocs.zusammen.datatypes.Namespace;
 import com.amdocs.zusammen.datatypes.SessionContext;
 import com.amdocs.zusammen.datatypes.item.Info;
 import com.amdocs.zusammen.datatypes.item.Relation;
+import com.amdocs.zusammen.plugin.ZusammenPluginConcurrency;
 import com.amdocs.zusammen.plugin.ZusammenPluginConstants;
 import com.amdocs.zusammen.plugin.dao.ElementRepository;
 import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
@@ -35,13 +36,17 @@ import com.google.gson.reflect.TypeToken;
 import java.lang.reflect.Type;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class ElementRepositoryImpl implements ElementRepository {
@@ -75,12 +80,47 @@ public class ElementRepositoryImpl implements ElementRepository {
         }
     }
 
+    @Override
+    public boolean updateIfChanged(SessionContext context, ElementEntityContext elementContext,
+            ElementEntity element) {
+        Optional<Id> storedHash = getHash(context, elementContext, element);
+        if (storedHash.isPresent() && storedHash.get().equals(element.getElementHash())) {
+            return false;
+        }
+
+        // a plain (not conditional) write - the element row is written by plain statements only
+        update(context, elementContext, element);
+        return true;
+    }
+
     @Override
     public void delete(SessionContext context, ElementEntityContext elementContext, ElementEntity element) {
         removeElementFromParent(context, elementContext, element);
         deleteElement(context, elementContext, element);
     }
 
+    @Override
+    public void delete(SessionContext context, ElementEntityContext elementContext,
+            Collection<ElementEntity> elements) {
+        Set<String> elementIds = elements.stream().map(element -> element.getId().getValue())
+                                         .collect(Collectors.toSet());
+        if (elementIds.isEmpty()) {
+            return;
+        }
+        removeElementsFromParents(context, elementContext, elements, elementIds);
+
+        // each element is a partition of its own, so the rows are deleted concurrently rather than batched
+        ElementAccessor elementAccessor = getElementAccessor(context);
+        ZusammenPluginConcurrency.forEach(elementIds,
+                elementId -> elementAccessor.delete(elementContext.getSpace(), elementContext.getItemId().toString(),
+                        elementContext.getVersionId().toString(), elementId,
+                        elementContext.getRevisionId().getValue()));
+
+        getVersionElementsAccessor(context)
+                .removeElements(elementIds, elementContext.getSpace(), elementContext.getItemId().toString(),
+                        elementContext.getVersionId().toString(), elementContext.getRevisionId().getValue());
+    }
+
     @Override
     public void cleanAllRevisions(SessionContext context, ElementEntityContext elementContext, ElementEntity element) {
         getElementAccessor(context).deleteAllRevisions(elementContext.getSpace(), elementContext.getItemId().toString(),
@@ -101,6 +141,17 @@ public class ElementRepositoryImpl implements ElementRepository {
         return row == null ? Optional.empty() : Optional.of(getElementEntity(element, row));
     }
 
+    @Override
+    public Map<Id, ElementEntity> get(SessionContext context, ElementEntityContext elementContext,
+            Collection<ElementEntity> elements) {
+        ElementAccessor elementAccessor = getElementAccessor(context);
+        return getElements(context, elementContext, elements,
+                (elementId, revisionId) -> elementAccessor.get(elementContext.getSpace(),
+                        elementContext.getItemId().toString(), elementContext.getVersionId().toString(),
+                        elementId.toString(), revisionId),
+                ElementRepositoryImpl::getElementEntity);
+    }
+
     @Override
     public Optional<ElementEntity> getDescriptor(SessionContext context, ElementEntityContext elementContext,
             ElementEntity element) {
@@ -117,6 +168,17 @@ public class ElementRepositoryImpl implements ElementRepository {
         return row == null ? Optional.empty() : Optional.of(getElementEntityDescriptor(element.getId(), row));
     }
 
+    @Override
+    public Map<Id, ElementEntity> getDescriptors(SessionContext context, ElementEntityContext elementContext,
+            Collection<ElementEntity> elements) {
+        ElementAccessor elementAccessor = getElementAccessor(context);
+        return getElements(context, elementContext, elements,
+                (elementId, revisionId) -> elementAccessor.getDescriptor(elementContext.getSpace(),
+                        elementContext.getItemId().toString(), elementContext.getVersionId().toString(),
+                        elementId.toString(), revisionId),
+                (element, row) -> getElementEntityDescriptor(element.getId(), row));
+    }
+
     @Override
     public void createNamespace(SessionContext context, ElementEntityContext elementContext, ElementEntity element) {
         getElementNamespaceAccessor(context).create(elementContext.getItemId().toString(), element.getId().toString(),
@@ -136,16 +198,58 @@ public class ElementRepositoryImpl implements ElementRepository {
         return row == null ? Optional.empty() : Optional.of(getElementHash(row));
     }
 
+    @Override
+    public Map<Id, Id> getHashes(SessionContext context, ElementEntityContext elementContext,
+            Collection<ElementEntity> elements) {
+        ElementAccessor elementAccessor = getElementAccessor(context);
+        return getElements(context, elementContext, elements,
+                (elementId, revisionId) -> elementAccessor.getHash(elementContext.getSpace(),
+                        elementContext.getItemId().toString(), elementContext.getVersionId().getValue(),
+                        elementId.toString(), revisionId),
+                (element, row) -> {
+                    ElementEntity elementHash = new ElementEntity(element.getId());
+                    elementHash.setElementHash(getElementHash(row));
+                    return elementHash;
+                }).values().stream()
+                       .collect(Collectors.toMap(ElementEntity::getId, ElementEntity::getElementHash));
+    }
+
+    private Map<Id, ElementEntity> getElements(SessionContext context, ElementEntityContext elementContext,
+            Collection<ElementEntity> elements, BiFunction<Id, String, ResultSet> elementReader,
+            BiFunction<ElementEntity, Row, ElementEntity> elementMapper) {
+        Function<Id, String> elementRevisionIdResolver = getElementRevisionIdResolver(context, elementContext);
+
+        List<Optional<ElementEntity>> retrievedElements = ZusammenPluginConcurrency.map(elements, element -> {
+            String revisionId = elementRevisionIdResolver.apply(element.getId());
+            if (revisionId == null) {
+                return Optional.empty();
+            }
+            Row row = elementReader.apply(element.getId(), revisionId).one();
+            return row == null ? Optional.empty() : Optional.of(elementMapper.apply(element, row));
+        });
+
+        Map<Id, ElementEntity> elementById = new HashMap<>();
+        retrievedElements.forEach(retrievedElement -> retrievedElement
+                .ifPresent(elementEntity -> elementById.put(elementEntity.getId(), elementEntity)));
+        return elementById;
+    }
+
     private String calculateElementRevisionId(SessionContext context, ElementEntityContext elementContext,
             Id elementId) {
+        return getElementRevisionIdResolver(context, elementContext).apply(elementId);
+    }
+
+    private Function<Id, String> getElementRevisionIdResolver(SessionContext context,
+            ElementEntityContext elementContext) {
         if (elementContext.getSpace().equals(ZusammenPluginConstants.PUBLIC_SPACE)) {
             elementContext.setRevisionId(
                     elementContext.getRevisionId() == null ? calculateLastRevisionId(context, elementContext) :
                             elementContext.getRevisionId());
 
-            return getVersionElementIds(context, elementContext).getOrDefault(elementId.getValue(), null);
+            Map<String, String> versionElementIds = getVersionElementIds(context, elementContext);
+            return elementId -> versionElementIds.get(elementId.getValue());
         }
-        return Id.ZERO.getValue();
+        return elementId -> Id.ZERO.getValue();
     }
 
     private Id calculateLastRevisionId(SessionContext context, ElementEntityContext elementContext) {
@@ -280,6 +384,40 @@ public class ElementRepositoryImpl implements ElementRepository {
                         elementContext.getVersionId().getValue(), elementContext.getRevisionId().getValue());
     }
 
+    private void removeElementsFromParents(SessionContext context, ElementEntityContext elementContext,
+            Collection<ElementEntity> elements, Set<String> elementIds) {
+        Map<Id, Set<String>> subElementIdsByParentId = new HashMap<>();
+        elements.stream()
+                .filter(element -> element.getParentId() != null && !elementIds
+                        .contains(element.getParentId().getValue()))
+                .forEach(element -> subElementIdsByParentId
+                        .computeIfAbsent(element.getParentId(), parentId -> new HashSet<>())
+                        .add(element.getId().getValue()));
+        if (subElementIdsByParentId.isEmpty()) {
+            return;
+        }
+
+        Set<Id> existingParentIds = getDescriptors(context, elementContext,
+                subElementIdsByParentId.keySet().stream().map(ElementEntity::new).collect(Collectors.toList()))
+                                            .keySet();
+        Map<String, String> parentElementIds = new TreeMap<>();
+        subElementIdsByParentId.forEach((parentId, subElementIds) -> {
+            if (!existingParentIds.contains(parentId)) {
+                return;
+            }
+            getElementAccessor(context).removeSubElements(subElementIds, elementContext.getSpace(),
+                    elementContext.getItemId().toString(), elementContext.getVersionId().toString(),
+                    parentId.toString(), elementContext.getRevisionId().getValue());
+            parentElementIds.put(parentId.toString(), elementContext.getRevisionId().getValue());
+        });
+
+        if (!parentElementIds.isEmpty()) {
+            getVersionElementsAccessor(context)
+                    .addElements(parentElementIds, elementContext.getSpace(), elementContext.getItemId().getValue(),
+                            elementContext.getVersionId().getValue(), elementContext.getRevisionId().getValue());
+        }
+    }
+
     static ElementEntity getElementEntityDescriptor(Id elementId, Row row) {
         ElementEntity element = new ElementEntity(elementId);
         element.setNamespace(getNamespace(row.getString(ElementField.NAMESPACE)));
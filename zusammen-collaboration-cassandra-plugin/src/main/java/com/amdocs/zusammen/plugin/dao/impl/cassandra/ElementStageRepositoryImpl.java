@@ -19,6 +19,8 @@ package com.amdocs.zusammen.plugin.dao.impl.cassandra;
 import com.amdocs.zusammen.datatypes.Id;
 import com.amdocs.zusammen.datatypes.SessionContext;
 import com.amdocs.zusammen.datatypes.item.Action;
+import com.amdocs.zusammen.plugin.ZusammenPluginConcurrency;
+import com.amdocs.zusammen.plugin.ZusammenPluginConstants;
 import com.amdocs.zusammen.plugin.dao.ElementStageRepository;
 import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
 import com.amdocs.zusammen.plugin.dao.types.StageEntity;
@@ -29,20 +31,97 @@ import com.datastax.driver.core.Row;
 import com.datastax.driver.mapping.annotations.Accessor;
 import com.datastax.driver.mapping.annotations.Param;
 import com.datastax.driver.mapping.annotations.Query;
+import com.datastax.driver.mapping.annotations.QueryParameters;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import static com.amdocs.zusammen.plugin.ZusammenPluginConstants.STAGE_MAINTAIN_ELEMENT_IDS;
+
 public class ElementStageRepositoryImpl implements ElementStageRepository {
 
+    /**
+     * Number of staged elements (with their full content) fetched by a page of a stage scan.
+     */
+    private static final int STAGE_FETCH_SIZE = 100;
+    /**
+     * Whether the ids of the staged elements are also maintained in version_elements.stage_element_ids,
+     * although they are listed by scanning element_stage.
+     */
+    private static final boolean MAINTAIN_STAGE_ELEMENT_IDS = Boolean.getBoolean(STAGE_MAINTAIN_ELEMENT_IDS);
+    /**
+     * Whether element_stage has the local_change column, which only the statements of local changes (merges) name -
+     * so that sync and commit keep working on keyspaces without it.
+     */
+    private static final boolean STAGE_LOCAL_CHANGES = Boolean.getBoolean(ZusammenPluginConstants.STAGE_LOCAL_CHANGES);
+    private static final String LOCAL_CHANGES_NOT_SUPPORTED =
+            "Item Id %s, version Id %s: Element %s cannot be staged as a local change since element_stage has no "
+                    + "local_change column - add it and set " + ZusammenPluginConstants.STAGE_LOCAL_CHANGES + "=true";
+
     @Override
     public Collection<ElementEntity> listIds(SessionContext context, ElementEntityContext elementContext) {
-        return getElements(getStageElementIds(context, elementContext));
+        ResultSet rows = getElementStageAccessor(context)
+                                 .listIds(elementContext.getSpace(), elementContext.getItemId().toString(),
+                                         elementContext.getVersionId().getValue());
+        Collection<ElementEntity> elements = new ArrayList<>();
+        for (Row row : rows) {
+            elements.add(new ElementEntity(new Id(row.getString(ElementStageField.ID))));
+        }
+        return elements;
+    }
+
+    @Override
+    public boolean hasElements(SessionContext context, ElementEntityContext elementContext) {
+        return getElementStageAccessor(context)
+                       .getAnyId(elementContext.getSpace(), elementContext.getItemId().toString(),
+                               elementContext.getVersionId().getValue()).one() != null;
+    }
+
+    @Override
+    public boolean hasLocalChanges(SessionContext context, ElementEntityContext elementContext) {
+        if (!STAGE_LOCAL_CHANGES) {
+            return false; // nothing can be staged as a local change
+        }
+        for (Row row : getLocalChangeAccessor(context).listLocalChanges(elementContext.getSpace(),
+                elementContext.getItemId().toString(), elementContext.getVersionId().getValue())) {
+            if (row.getBool(ElementStageField.LOCAL_CHANGE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void list(SessionContext context, ElementEntityContext elementContext, int pageSize,
+            Consumer<List<StageEntity<ElementEntity>>> pageConsumer) {
+        ResultSet rows = STAGE_LOCAL_CHANGES
+                ? getLocalChangeAccessor(context).list(elementContext.getSpace(), elementContext.getItemId().toString(),
+                        elementContext.getVersionId().getValue())
+                : getElementStageAccessor(context).list(elementContext.getSpace(),
+                        elementContext.getItemId().toString(), elementContext.getVersionId().getValue());
+
+        // rows are converted while being fetched, so only a page of staged elements is held at a time
+        List<StageEntity<ElementEntity>> page = new ArrayList<>(pageSize);
+        for (Row row : rows) {
+            page.add(getStageElement(row));
+            if (page.size() == pageSize) {
+                pageConsumer.accept(page);
+                page = new ArrayList<>(pageSize);
+            }
+        }
+        if (!page.isEmpty()) {
+            pageConsumer.accept(page);
+        }
     }
 
     @Override
@@ -83,6 +162,28 @@ public class ElementStageRepositoryImpl implements ElementStageRepository {
                         elementContext.getRevisionId().getValue());
     }
 
+    @Override
+    public void markAsNotConflicted(SessionContext context, ElementEntityContext elementContext,
+            Collection<ElementEntity> elements, Action action) {
+        ElementStageAccessor elementStageAccessor = getElementStageAccessor(context);
+        ZusammenPluginConcurrency.forEach(elements, element -> elementStageAccessor
+                .updateState(action, false, elementContext.getSpace(), elementContext.getItemId().toString(),
+                        elementContext.getVersionId().toString(), element.getId().toString()));
+
+        removeConflictElements(context, elementContext, elements);
+    }
+
+    @Override
+    public void markAsNotConflicted(SessionContext context, ElementEntityContext elementContext,
+            Collection<ElementEntity> elements) {
+        ElementStageAccessor elementStageAccessor = getElementStageAccessor(context);
+        ZusammenPluginConcurrency.forEach(elements, element -> elementStageAccessor
+                .markAsNotConflicted(elementContext.getSpace(), elementContext.getItemId().toString(),
+                        elementContext.getVersionId().toString(), element.getId().toString()));
+
+        removeConflictElements(context, elementContext, elements);
+    }
+
     @Override
     public void update(SessionContext context, ElementEntityContext elementContext, ElementEntity element,
             Action action, boolean conflicted) {
@@ -106,6 +207,32 @@ public class ElementStageRepositoryImpl implements ElementStageRepository {
         deleteElement(context, elementContext, element);
     }
 
+    @Override
+    public void delete(SessionContext context, ElementEntityContext elementContext,
+            Collection<ElementEntity> elements) {
+        if (elements.isEmpty()) {
+            return;
+        }
+        Set<String> deletedElementIds =
+                elements.stream().map(element -> element.getId().toString()).collect(Collectors.toSet());
+        ElementStageAccessor elementStageAccessor = getElementStageAccessor(context);
+
+        ZusammenPluginConcurrency.forEach(elements, element -> {
+            // a parent which is deleted as well is not updated
+            if (element.getParentId() != null && !deletedElementIds.contains(element.getParentId().toString())) {
+                removeElementFromParent(context, elementContext, element);
+            }
+            elementStageAccessor.delete(elementContext.getSpace(), elementContext.getItemId().toString(),
+                    elementContext.getVersionId().getValue(), element.getId().toString());
+        });
+
+        if (MAINTAIN_STAGE_ELEMENT_IDS) {
+            getStageElementsAccessor(context)
+                    .remove(deletedElementIds, elementContext.getSpace(), elementContext.getItemId().toString(),
+                            elementContext.getVersionId().getValue(), elementContext.getRevisionId().getValue());
+        }
+    }
+
     @Override
     public Optional<StageEntity<ElementEntity>> get(SessionContext context, ElementEntityContext elementContext,
             ElementEntity element) {
@@ -125,6 +252,26 @@ public class ElementStageRepositoryImpl implements ElementStageRepository {
         return row == null ? Optional.empty() : Optional.of(getStageElementDescriptor(row));
     }
 
+    @Override
+    public Map<Id, StageEntity<ElementEntity>> getDescriptors(SessionContext context,
+            ElementEntityContext elementContext, Collection<ElementEntity> elements) {
+        ElementStageAccessor elementStageAccessor = getElementStageAccessor(context);
+
+        List<Optional<StageEntity<ElementEntity>>> stagedElements =
+                ZusammenPluginConcurrency.map(elements, element -> {
+                    Row row = elementStageAccessor
+                                      .getDescriptor(elementContext.getSpace(), elementContext.getItemId().toString(),
+                                              elementContext.getVersionId().getValue(), element.getId().toString())
+                                      .one();
+                    return row == null ? Optional.empty() : Optional.of(getStageElementDescriptor(row));
+                });
+
+        Map<Id, StageEntity<ElementEntity>> stagedElementById = new HashMap<>();
+        stagedElements.forEach(stagedElement -> stagedElement.ifPresent(
+                elementStage -> stagedElementById.put(elementStage.getEntity().getId(), elementStage)));
+        return stagedElementById;
+    }
+
 
     private Collection<ElementEntity> getElements(Set<String> elementIds) {
         return elementIds.stream().map(id -> new ElementEntity(new Id(id))).collect(Collectors.toList());
@@ -140,20 +287,36 @@ public class ElementStageRepositoryImpl implements ElementStageRepository {
                                                      .map(conflictDependent -> conflictDependent.getId().getValue())
                                                      .collect(Collectors.toSet());
 
-        getElementStageAccessor(context).create(elementContext.getSpace(), elementContext.getItemId().toString(),
-                elementContext.getVersionId().getValue(), element.getId().toString(),
-                element.getParentId() == null ? null : element.getParentId().toString(),
-                element.getNamespace() == null ? null : element.getNamespace().toString(),
-                JsonUtil.object2Json(element.getInfo()), JsonUtil.object2Json(element.getRelations()),
-                element.getData(), element.getSearchableData(), element.getVisualization(), subElementIds,
-                element.getElementHash() == null ? null : element.getElementHash().getValue(),
-                elementStage.getPublishTime(), elementStage.getAction(), elementStage.isConflicted(),
-                conflictDependents);
+        String parentId = element.getParentId() == null ? null : element.getParentId().toString();
+        String namespace = element.getNamespace() == null ? null : element.getNamespace().toString();
+        String elementHash = element.getElementHash() == null ? null : element.getElementHash().getValue();
+        if (elementStage.isLocal() && !STAGE_LOCAL_CHANGES) {
+            throw new IllegalStateException(String.format(LOCAL_CHANGES_NOT_SUPPORTED, elementContext.getItemId(),
+                    elementContext.getVersionId(), element.getId()));
+        }
+        if (STAGE_LOCAL_CHANGES) {
+            // local_change is set either way, so that a row left by a local change is not taken for one
+            getLocalChangeAccessor(context).create(elementContext.getSpace(), elementContext.getItemId().toString(),
+                    elementContext.getVersionId().getValue(), element.getId().toString(), parentId, namespace,
+                    JsonUtil.object2Json(element.getInfo()), JsonUtil.object2Json(element.getRelations()),
+                    element.getData(), element.getSearchableData(), element.getVisualization(), subElementIds,
+                    elementHash, elementStage.getPublishTime(), elementStage.getAction(), elementStage.isConflicted(),
+                    elementStage.isLocal(), conflictDependents);
+        } else {
+            getElementStageAccessor(context).create(elementContext.getSpace(), elementContext.getItemId().toString(),
+                    elementContext.getVersionId().getValue(), element.getId().toString(), parentId, namespace,
+                    JsonUtil.object2Json(element.getInfo()), JsonUtil.object2Json(element.getRelations()),
+                    element.getData(), element.getSearchableData(), element.getVisualization(), subElementIds,
+                    elementHash, elementStage.getPublishTime(), elementStage.getAction(), elementStage.isConflicted(),
+                    conflictDependents);
+        }
 
-        getStageElementsAccessor(context)
-                .add(Collections.singleton(element.getId().toString()), elementContext.getSpace(),
-                        elementContext.getItemId().toString(), elementContext.getVersionId().getValue(),
-                        elementContext.getRevisionId().getValue());
+        if (MAINTAIN_STAGE_ELEMENT_IDS) {
+            getStageElementsAccessor(context)
+                    .add(Collections.singleton(element.getId().toString()), elementContext.getSpace(),
+                            elementContext.getItemId().toString(), elementContext.getVersionId().getValue(),
+                            elementContext.getRevisionId().getValue());
+        }
 
         if (elementStage.isConflicted()) {
             getStageElementsAccessor(context)
@@ -169,10 +332,12 @@ public class ElementStageRepositoryImpl implements ElementStageRepository {
         getElementStageAccessor(context).delete(elementContext.getSpace(), elementContext.getItemId().toString(),
                 elementContext.getVersionId().getValue(), element.getId().toString());
 
-        getStageElementsAccessor(context)
-                .remove(Collections.singleton(element.getId().toString()), elementContext.getSpace(),
-                        elementContext.getItemId().toString(), elementContext.getVersionId().getValue(),
-                        elementContext.getRevisionId().getValue());
+        if (MAINTAIN_STAGE_ELEMENT_IDS) {
+            getStageElementsAccessor(context)
+                    .remove(Collections.singleton(element.getId().toString()), elementContext.getSpace(),
+                            elementContext.getItemId().toString(), elementContext.getVersionId().getValue(),
+                            elementContext.getRevisionId().getValue());
+        }
     }
 
     private void addElementToParent(SessionContext context, ElementEntityContext elementContext,
@@ -197,6 +362,18 @@ public class ElementStageRepositoryImpl implements ElementStageRepository {
                         element.getParentId().toString());
     }
 
+    private void removeConflictElements(SessionContext context, ElementEntityContext elementContext,
+            Collection<ElementEntity> elements) {
+        if (elements.isEmpty()) {
+            return;
+        }
+        getStageElementsAccessor(context)
+                .removeConflictElements(elements.stream().map(element -> element.getId().toString())
+                                                .collect(Collectors.toSet()), elementContext.getSpace(),
+                        elementContext.getItemId().toString(), elementContext.getVersionId().toString(),
+                        elementContext.getRevisionId().getValue());
+    }
+
     private StageEntity<ElementEntity> getStageElementDescriptor(Row row) {
         return buildStageElement(
                 ElementRepositoryImpl.getElementEntityDescriptor(new Id(row.getString(ElementStageField.ID)), row),
@@ -214,20 +391,15 @@ public class ElementStageRepositoryImpl implements ElementStageRepository {
                 new StageEntity<>(element, row.getTimestamp(ElementStageField.PUBLISH_TIME));
         elementStage.setAction(Action.valueOf(row.getString(ElementStageField.ACTION)));
         elementStage.setConflicted(row.getBool(ElementStageField.CONFLICTED));
+        // named only by the statements of local changes
+        elementStage.setLocal(row.getColumnDefinitions().contains(ElementStageField.LOCAL_CHANGE) &&
+                row.getBool(ElementStageField.LOCAL_CHANGE));
         elementStage.setConflictDependents(row.getSet(ElementStageField.CONFLICT_DEPENDENTS, String.class).stream()
                                               .map(conflictDependentId -> new ElementEntity(
                                                       new Id(conflictDependentId))).collect(Collectors.toSet()));
         return elementStage;
     }
 
-    private Set<String> getStageElementIds(SessionContext context, ElementEntityContext elementContext) {
-        Row row = getStageElementsAccessor(context)
-                          .get(elementContext.getSpace(), elementContext.getItemId().toString(),
-                                  elementContext.getVersionId().getValue(), elementContext.getRevisionId().getValue())
-                          .one();
-        return row == null ? new HashSet<>() : row.getSet(StageElementsField.STAGE_ELEMENT_IDS, String.class);
-    }
-
     private Set<String> getConflictedElementIds(SessionContext context, ElementEntityContext elementContext) {
         Row row = getStageElementsAccessor(context)
                           .getConflicted(elementContext.getSpace(), elementContext.getItemId().toString(),
@@ -240,6 +412,10 @@ public class ElementStageRepositoryImpl implements ElementStageRepository {
         return CassandraDaoUtils.getAccessor(context, ElementStageAccessor.class);
     }
 
+    private LocalChangeAccessor getLocalChangeAccessor(SessionContext context) {
+        return CassandraDaoUtils.getAccessor(context, LocalChangeAccessor.class);
+    }
+
     private StageElementsAccessor getStageElementsAccessor(SessionContext context) {
         return CassandraDaoUtils.getAccessor(context, StageElementsAccessor.class);
     }
@@ -291,6 +467,19 @@ public class ElementStageRepositoryImpl implements ElementStageRepository {
                        + "FROM element_stage WHERE space=? AND item_id=? AND version_id=? AND element_id=? ")
         ResultSet getDescriptor(String space, String itemId, String versionId, String elementId);
 
+        @Query("SELECT element_id, parent_id, namespace, info, relations, data, searchable_data, "
+                       + "visualization, sub_element_ids,element_hash, publish_time, action, "
+                       + "conflicted, conflict_dependent_ids FROM element_stage "
+                       + "WHERE space=? AND item_id=? AND version_id=? ")
+        @QueryParameters(fetchSize = STAGE_FETCH_SIZE)
+        ResultSet list(String space, String itemId, String versionId);
+
+        @Query("SELECT element_id FROM element_stage WHERE space=? AND item_id=? AND version_id=? ")
+        ResultSet listIds(String space, String itemId, String versionId);
+
+        @Query("SELECT element_id FROM element_stage WHERE space=? AND item_id=? AND version_id=? LIMIT 1")
+        ResultSet getAnyId(String space, String itemId, String versionId);
+
         @Query("UPDATE element_stage SET sub_element_ids=sub_element_ids+? "
                        + " WHERE space=? AND item_id=? AND version_id=? AND element_id=?  ")
         void addSubElements(Set<String> subElementIds, String space, String itemId, String versionId, String elementId);
@@ -301,12 +490,47 @@ public class ElementStageRepositoryImpl implements ElementStageRepository {
                 String elementId);
     }
 
+    /**
+     * The statements which name element_stage.local_change - prepared only when they are used, so keyspaces without
+     * the column are not affected.
+     */
+    @Accessor
+    interface LocalChangeAccessor {
+
+        @Query("UPDATE element_stage SET parent_id=:parentId, namespace=:ns, info=:info, relations=:rels, "
+                       + "data=:data, searchable_data=:searchableData, visualization=:visualization, "
+                       + "publish_time=:publishTime, action=:action, conflicted=:conflicted, "
+                       + "local_change=:localChange, conflict_dependent_ids=:conflictDependents, "
+                       + "sub_element_ids=sub_element_ids+:subs, element_hash=:elementHash "
+                       + "WHERE space=:space AND item_id=:item AND version_id=:ver AND element_id=:id ")
+        void create(@Param("space") String space, @Param("item") String itemId, @Param("ver") String versionId,
+                @Param("id") String elementId, @Param("parentId") String parentElementId, @Param("ns") String namespace,
+                @Param("info") String info, @Param("rels") String relations, @Param("data") ByteBuffer data,
+                @Param("searchableData") ByteBuffer searchableData, @Param("visualization") ByteBuffer visualization,
+                @Param("subs") Set<String> subElementIds, @Param("elementHash") String elementHash,
+                @Param("publishTime") Date publishTime, @Param("action") Action action,
+                @Param("conflicted") boolean conflicted, @Param("localChange") boolean localChange,
+                @Param("conflictDependents") Set<String> conflictDependents);
+
+        @Query("SELECT local_change FROM element_stage WHERE space=? AND item_id=? AND version_id=? ")
+        @QueryParameters(fetchSize = STAGE_FETCH_SIZE)
+        ResultSet listLocalChanges(String space, String itemId, String versionId);
+
+        @Query("SELECT element_id, parent_id, namespace, info, relations, data, searchable_data, "
+                       + "visualization, sub_element_ids,element_hash, publish_time, action, "
+                       + "conflicted, local_change, conflict_dependent_ids FROM element_stage "
+                       + "WHERE space=? AND item_id=? AND version_id=? ")
+        @QueryParameters(fetchSize = STAGE_FETCH_SIZE)
+        ResultSet list(String space, String itemId, String versionId);
+    }
+
     private static final class ElementStageField {
 
         private static final String ID = "element_id";
         private static final String PUBLISH_TIME = "publish_time";
         private static final String ACTION = "action";
         private static final String CONFLICTED = "conflicted";
+        private static final String LOCAL_CHANGE = "local_change";
         private static final String CONFLICT_DEPENDENTS = "conflict_dependent_ids";
     }
 
@@ -321,10 +545,6 @@ public class ElementStageRepositoryImpl implements ElementStageRepository {
                        + "WHERE space=? AND item_id=? AND version_id=? AND revision_id=? ")
         void remove(Set<String> elementIds, String space, String itemId, String versionId, String revisionId);
 
-        @Query("SELECT stage_element_ids FROM version_elements "
-                       + "WHERE space=? AND item_id=? AND version_id=? AND revision_id=?")
-        ResultSet get(String space, String itemId, String versionId, String revisionId);
-
         @Query("UPDATE version_elements SET conflict_element_ids=conflict_element_ids+? "
                        + "WHERE space=? AND item_id=? AND version_id=? AND revision_id=? ")
         void addConflictElements(Set<String> elementIds, String space, String itemId, String versionId,
@@ -342,7 +562,6 @@ public class ElementStageRepositoryImpl implements ElementStageRepository {
 
     private static final class StageElementsField {
 
-        private static final String STAGE_ELEMENT_IDS = "stage_element_ids";
         private static final String CONFLICT_ELEMENT_IDS = "conflict_element_ids";
     }
 }
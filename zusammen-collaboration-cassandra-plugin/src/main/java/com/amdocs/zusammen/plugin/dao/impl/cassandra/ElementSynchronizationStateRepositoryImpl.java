@@ -10,6 +10,7 @@ import com.datastax.driver.core.Row;
 import com.datastax.driver.mapping.annotations.Accessor;
 import com.datastax.driver.mapping.annotations.Query;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -17,10 +18,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class ElementSynchronizationStateRepositoryImpl
     implements ElementSynchronizationStateRepository {
+  private static final int ELEMENT_IDS_CHUNK_SIZE = 500;
+  private static final String DIRTY_ELEMENT_IDS = "dirty_element_ids";
 
   @Override
   public Collection<SynchronizationStateEntity> list(SessionContext context,
@@ -34,6 +38,31 @@ public class ElementSynchronizationStateRepositoryImpl
 
   }
 
+  @Override
+  public Collection<SynchronizationStateEntity> listDirty(SessionContext context,
+                                                          ElementEntityContext elementContext) {
+    Row versionElementsRow = getVersionElementsAccessor(context)
+        .getDirtyElements(elementContext.getSpace(),
+            elementContext.getItemId().toString(),
+            elementContext.getVersionId().toString(),
+            elementContext.getRevisionId().getValue()).one();
+    if (versionElementsRow == null) {
+      return new HashSet<>();
+    }
+    List<String> elementIds =
+        new ArrayList<>(versionElementsRow.getSet(DIRTY_ELEMENT_IDS, String.class));
+
+    Set<SynchronizationStateEntity> dirtySyncStates = new HashSet<>();
+    forEachChunk(elementIds, elementIdsChunk -> getAccessor(context)
+        .get(elementContext.getSpace(),
+            elementContext.getItemId().toString(),
+            elementContext.getVersionId().toString(),
+            elementIdsChunk,
+            elementContext.getRevisionId().getValue())
+        .forEach(row -> dirtySyncStates.add(getSynchronizationStateEntity(row))));
+    return dirtySyncStates;
+  }
+
   @Override
   public void deleteAll(SessionContext context, ElementEntityContext elementContext) {
     getAccessor(context).deleteAll(elementContext.getSpace(),
@@ -106,6 +135,50 @@ public class ElementSynchronizationStateRepositoryImpl
         elementContext.getRevisionId().getValue());
   }
 
+  @Override
+  public void markAsDirty(SessionContext context, ElementEntityContext elementContext,
+                          Collection<SynchronizationStateEntity> elementSyncStates) {
+    List<String> elementIds = getElementIds(elementSyncStates);
+    if (elementIds.isEmpty()) {
+      return;
+    }
+
+    forEachChunk(elementIds, elementIdsChunk -> getAccessor(context).updateDirty(true,
+        elementContext.getSpace(),
+        elementContext.getItemId().toString(),
+        elementContext.getVersionId().toString(),
+        elementIdsChunk,
+        elementContext.getRevisionId().getValue()));
+
+    getVersionElementsAccessor(context).addDirtyElements(
+        new HashSet<>(elementIds), elementContext.getSpace(),
+        elementContext.getItemId().toString(),
+        elementContext.getVersionId().toString(),
+        elementContext.getRevisionId().getValue());
+  }
+
+  @Override
+  public void delete(SessionContext context, ElementEntityContext elementContext,
+                     Collection<SynchronizationStateEntity> elementSyncStates) {
+    List<String> elementIds = getElementIds(elementSyncStates);
+    if (elementIds.isEmpty()) {
+      return;
+    }
+
+    forEachChunk(elementIds, elementIdsChunk -> getAccessor(context).delete(
+        elementContext.getSpace(),
+        elementContext.getItemId().toString(),
+        elementContext.getVersionId().toString(),
+        elementIdsChunk,
+        elementContext.getRevisionId().getValue()));
+
+    getVersionElementsAccessor(context).removeDirtyElements(
+        new HashSet<>(elementIds), elementContext.getSpace(),
+        elementContext.getItemId().toString(),
+        elementContext.getVersionId().toString(),
+        elementContext.getRevisionId().getValue());
+  }
+
   @Override
   public Optional<SynchronizationStateEntity> get(SessionContext context,
                                                   ElementEntityContext elementContext,
@@ -147,6 +220,26 @@ public class ElementSynchronizationStateRepositoryImpl
   }
 
 
+  private static List<String> getElementIds(
+      Collection<SynchronizationStateEntity> elementSyncStates) {
+    return elementSyncStates.stream()
+        .map(elementSyncState -> elementSyncState.getId().toString())
+        .distinct()
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * All the rows of the table for a version are in a single partition, so the elements are
+   * addressed with an IN restriction - chunked to keep the statements (and their tombstones) to a
+   * reasonable size.
+   */
+  private static void forEachChunk(List<String> elementIds, Consumer<List<String>> action) {
+    for (int from = 0; from < elementIds.size(); from += ELEMENT_IDS_CHUNK_SIZE) {
+      action.accept(
+          elementIds.subList(from, Math.min(from + ELEMENT_IDS_CHUNK_SIZE, elementIds.size())));
+    }
+  }
+
   private SynchronizationStateEntity getSynchronizationStateEntity(Row row) {
     return new SynchronizationStateEntity(new Id(row.getString(SynchronizationStateField.ID)),
         new Id(row.getString(SynchronizationStateField.REVISION_ID)),
@@ -178,11 +271,26 @@ public class ElementSynchronizationStateRepositoryImpl
         "WHERE space=? AND item_id=? AND version_id=? AND element_id=? AND revision_id = ? ")
     void delete(String space, String itemId, String versionId, String elementId, String revisionId);
 
+    @Query("UPDATE element_synchronization_state SET dirty=? " +
+        "WHERE space=? AND item_id=? AND version_id=? AND element_id IN ? AND revision_id = ? ")
+    void updateDirty(boolean dirty, String space, String itemId, String versionId,
+                     List<String> elementIds, String revisionId);
+
+    @Query("DELETE FROM element_synchronization_state " +
+        "WHERE space=? AND item_id=? AND version_id=? AND element_id IN ? AND revision_id = ? ")
+    void delete(String space, String itemId, String versionId, List<String> elementIds,
+                String revisionId);
+
     @Query("SELECT element_id,revision_id, publish_time, dirty FROM element_synchronization_state" +
         " WHERE space=? AND item_id=? AND version_id=? AND element_id=? AND revision_id=?")
     ResultSet get(String space, String itemId, String versionId, String elementId,
                   String revisionId);
 
+    @Query("SELECT element_id,revision_id, publish_time, dirty FROM element_synchronization_state" +
+        " WHERE space=? AND item_id=? AND version_id=? AND element_id IN ? AND revision_id=?")
+    ResultSet get(String space, String itemId, String versionId, List<String> elementIds,
+                  String revisionId);
+
     @Query("SELECT element_id,revision_id, publish_time, dirty FROM element_synchronization_state" +
         " WHERE space=? AND item_id=? AND version_id=?")
     ResultSet list(String space, String itemId, String versionId);
@@ -201,6 +309,10 @@ public class ElementSynchronizationStateRepositoryImpl
   @Accessor
   interface VersionElementsAccessor {
 
+    @Query("SELECT dirty_element_ids FROM version_elements " +
+        "WHERE space=? AND item_id=? AND version_id=? AND revision_id=?")
+    ResultSet getDirtyElements(String space, String itemId, String versionId, String revisionId);
+
     @Query("UPDATE version_elements SET dirty_element_ids=dirty_element_ids+? " +
         "WHERE space=? AND item_id=? AND version_id=? AND revision_id=?")
     void addDirtyElements(Set<String> elementIds, String space, String itemId, String versionId,
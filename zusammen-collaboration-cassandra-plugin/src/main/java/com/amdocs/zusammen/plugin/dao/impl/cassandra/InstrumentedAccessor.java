@@ -0,0 +1,152 @@
+package com.amdocs.zusammen.plugin.dao.impl.cassandra;
+
+import com.amdocs.zusammen.plugin.metrics.PluginInstrumentation;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Reports the statements executed through an accessor, the blob bytes they write and the rows
+ * (and bytes) read from their results to the {@link PluginInstrumentation} of the calling
+ * thread, and logs the statements which are slower than the configured threshold
+ * (see {@link SlowStatement}).
+ */
+@SuppressWarnings("unchecked")
+class InstrumentedAccessor implements InvocationHandler {
+  private final String accessorName;
+  private final Object accessor;
+
+  private InstrumentedAccessor(String accessorName, Object accessor) {
+    this.accessorName = accessorName;
+    this.accessor = accessor;
+  }
+
+  static <T> T wrap(Class<T> accessorClass, T accessor) {
+    return accessorClass.cast(Proxy.newProxyInstance(accessorClass.getClassLoader(),
+        new Class<?>[]{accessorClass},
+        new InstrumentedAccessor(accessorClass.getSimpleName(), accessor)));
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    if (method.getDeclaringClass() == Object.class) {
+      return invoke(accessor, method, args);
+    }
+
+    String accessorMethod = accessorName + '.' + method.getName();
+    boolean measuring = PluginInstrumentation.isMeasuring();
+    if (measuring) {
+      PluginInstrumentation.statementExecuted(accessorMethod, getBlobsSize(args));
+    }
+
+    long start = System.nanoTime();
+    Object result = invoke(accessor, method, args);
+    SlowStatement slowStatement = SlowStatement.of(accessorMethod, System.nanoTime() - start, args);
+
+    if (!(result instanceof ResultSet)) {
+      if (slowStatement != null) {
+        slowStatement.log();
+      }
+      return result;
+    }
+    return measuring || slowStatement != null
+        ? trackRows((ResultSet) result, measuring, slowStatement)
+        : result;
+  }
+
+  private static ResultSet trackRows(ResultSet resultSet, boolean measuring,
+                                     SlowStatement slowStatement) {
+    return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+        new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+          Object result = invoke(resultSet, method, args);
+          switch (method.getName()) {
+            case "one":
+              Row row = (Row) result;
+              if (measuring) {
+                countRow(row);
+              }
+              if (slowStatement != null) {
+                slowStatement.log(resultSet,
+                    row == null ? Collections.emptyList() : Collections.singletonList(row));
+              }
+              break;
+            case "all":
+              List<Row> rows = (List<Row>) result;
+              if (measuring) {
+                rows.forEach(InstrumentedAccessor::countRow);
+              }
+              if (slowStatement != null) {
+                slowStatement.log(resultSet, rows);
+              }
+              break;
+            case "iterator":
+              if (slowStatement != null) {
+                slowStatement.log(resultSet, Collections.emptyList());
+              }
+              return measuring ? countRows((Iterator<Row>) result) : result;
+            default:
+              if (slowStatement != null) {
+                slowStatement.log(resultSet, Collections.emptyList());
+              }
+              break;
+          }
+          return result;
+        });
+  }
+
+  private static Iterator<Row> countRows(Iterator<Row> rows) {
+    return new Iterator<Row>() {
+      @Override
+      public boolean hasNext() {
+        return rows.hasNext();
+      }
+
+      @Override
+      public Row next() {
+        Row row = rows.next();
+        countRow(row);
+        return row;
+      }
+    };
+  }
+
+  private static void countRow(Row row) {
+    if (row == null) {
+      return;
+    }
+    long size = 0;
+    for (int column = 0; column < row.getColumnDefinitions().size(); column++) {
+      ByteBuffer value = row.getBytesUnsafe(column);
+      size += value == null ? 0 : value.remaining();
+    }
+    PluginInstrumentation.rowRead(size);
+  }
+
+  private static long getBlobsSize(Object[] args) {
+    long size = 0;
+    if (args != null) {
+      for (Object arg : args) {
+        if (arg instanceof ByteBuffer) {
+          size += ((ByteBuffer) arg).remaining();
+        }
+      }
+    }
+    return size;
+  }
+
+  private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package com.amdocs.zusammen.plugin.dao.impl.cassandra;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import static com.amdocs.zusammen.plugin.ZusammenPluginConstants.SLOW_STATEMENT_THRESHOLD_MILLIS;
+
+/**
+ * A statement which took longer than the configured threshold. It is logged along with its
+ * partition and the number of rows and collection entries (e.g. element_ids) it returned - once
+ * its result is read, since the rows are not available before.
+ */
+class SlowStatement {
+  private static final Logger LOGGER = Logger.getLogger(SlowStatement.class.getName());
+
+  private static final long THRESHOLD_NANOS =
+      TimeUnit.MILLISECONDS.toNanos(Long.getLong(SLOW_STATEMENT_THRESHOLD_MILLIS, 500L));
+  private static final Collection<String> PARTITION_COLUMNS =
+      Arrays.asList("space", "item_id", "version_id", "element_id");
+  private static final int MAX_ARGUMENT_LENGTH = 64;
+
+  private final String accessorMethod;
+  private final long latencyNanos;
+  private final Object[] args;
+  private boolean logged;
+
+  private SlowStatement(String accessorMethod, long latencyNanos, Object[] args) {
+    this.accessorMethod = accessorMethod;
+    this.latencyNanos = latencyNanos;
+    this.args = args;
+  }
+
+  /**
+   * @return the slow statement, or null when the statement is not slow (or the log is disabled)
+   */
+  static SlowStatement of(String accessorMethod, long latencyNanos, Object[] args) {
+    return THRESHOLD_NANOS >= 0 && latencyNanos >= THRESHOLD_NANOS
+        ? new SlowStatement(accessorMethod, latencyNanos, args)
+        : null;
+  }
+
+  /**
+   * Logs a statement which has no result.
+   */
+  void log() {
+    logOnce(formatArguments(), "");
+  }
+
+  /**
+   * Logs a statement along with the given rows which were read from its result.
+   */
+  void log(ResultSet resultSet, Collection<Row> rows) {
+    if (logged) {
+      return;
+    }
+    String partition = formatPartition(resultSet.getExecutionInfo().getStatement());
+    logOnce(partition == null ? formatArguments() : partition, formatRows(rows));
+  }
+
+  private void logOnce(String partition, String rows) {
+    if (logged) {
+      return;
+    }
+    logged = true;
+    LOGGER.warning(String.format("Slow statement %s took %d ms [%s]%s", accessorMethod,
+        TimeUnit.NANOSECONDS.toMillis(latencyNanos), partition, rows));
+  }
+
+  private String formatPartition(Statement statement) {
+    if (!(statement instanceof BoundStatement)) {
+      return null;
+    }
+    BoundStatement boundStatement = (BoundStatement) statement;
+    ColumnDefinitions variables = boundStatement.preparedStatement().getVariables();
+    Map<String, Object> partition = new LinkedHashMap<>();
+    for (int index = 0; index < variables.size(); index++) {
+      String column = variables.getName(index);
+      if (PARTITION_COLUMNS.contains(column) && !partition.containsKey(column)) {
+        partition.put(column, boundStatement.getObject(index));
+      }
+    }
+    return partition.entrySet().stream()
+        .map(column -> column.getKey() + '=' + column.getValue())
+        .collect(Collectors.joining(", "));
+  }
+
+  // without the bound statement the partition is one of the (short) string arguments
+  private String formatArguments() {
+    return args == null ? "" : Arrays.stream(args)
+        .filter(arg -> arg instanceof String && ((String) arg).length() <= MAX_ARGUMENT_LENGTH)
+        .map(String.class::cast)
+        .collect(Collectors.joining(", "));
+  }
+
+  private static String formatRows(Collection<Row> rows) {
+    Map<String, Integer> collectionSizes = new LinkedHashMap<>();
+    for (Row row : rows) {
+      ColumnDefinitions columns = row.getColumnDefinitions();
+      for (int index = 0; index < columns.size(); index++) {
+        if (columns.getType(index).isCollection()) {
+          collectionSizes.merge(columns.getName(index), getCollectionSize(row, index),
+              Integer::sum);
+        }
+      }
+    }
+    return String.format(" returned %d rows%s", rows.size(), collectionSizes.isEmpty()
+        ? ""
+        : collectionSizes.entrySet().stream()
+            .map(column -> column.getKey() + '=' + column.getValue() + " entries")
+            .collect(Collectors.joining(", ", ", ", "")));
+  }
+
+  // serialized collections start with their number of entries
+  private static int getCollectionSize(Row row, int index) {
+    ByteBuffer value = row.getBytesUnsafe(index);
+    return value == null || value.remaining() < Integer.BYTES ? 0 : value.getInt(value.position());
+  }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright © 2016-2017 European Support Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.amdocs.zusammen.plugin.dao.impl.cassandra;
+
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.dao.VersionChangeLogRepository;
+import com.amdocs.zusammen.plugin.dao.VersionChangeLogRepositoryFactory;
+
+public class VersionChangeLogRepositoryFactoryImpl extends VersionChangeLogRepositoryFactory {
+
+  private static final VersionChangeLogRepository INSTANCE =
+      new VersionChangeLogRepositoryImpl();
+
+  @Override
+  public VersionChangeLogRepository createInterface(SessionContext context) {
+    return INSTANCE;
+  }
+}
@@ -0,0 +1,90 @@
+package com.amdocs.zusammen.plugin.dao.impl.cassandra;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.datatypes.item.Action;
+import com.amdocs.zusammen.plugin.ZusammenPluginConcurrency;
+import com.amdocs.zusammen.plugin.dao.VersionChangeLogRepository;
+import com.amdocs.zusammen.plugin.dao.types.ChangeLogEntryEntity;
+import com.amdocs.zusammen.plugin.statestore.cassandra.dao.types.ElementEntityContext;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.mapping.annotations.Accessor;
+import com.datastax.driver.mapping.annotations.Query;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The log of a version is a single partition of the version_change_log table, clustered by
+ * publish time and element id.
+ */
+public class VersionChangeLogRepositoryImpl implements VersionChangeLogRepository {
+
+  @Override
+  public void append(SessionContext context, ElementEntityContext elementContext,
+                     Collection<ChangeLogEntryEntity> entries) {
+    VersionChangeLogAccessor accessor = getAccessor(context);
+    ZusammenPluginConcurrency.forEach(entries, entry -> accessor.create(
+        elementContext.getSpace(),
+        elementContext.getItemId().toString(),
+        elementContext.getVersionId().toString(),
+        entry.getPublishTime(),
+        entry.getElementId().toString(),
+        entry.getRevisionId().toString(),
+        entry.getAction().name()));
+  }
+
+  @Override
+  public List<ChangeLogEntryEntity> list(SessionContext context,
+                                         ElementEntityContext elementContext,
+                                         Date fromPublishTime) {
+    List<Row> rows = getAccessor(context).list(elementContext.getSpace(),
+        elementContext.getItemId().toString(),
+        elementContext.getVersionId().toString(),
+        fromPublishTime).all();
+    return rows.stream().map(this::getChangeLogEntryEntity).collect(Collectors.toList());
+  }
+
+  @Override
+  public void deleteAll(SessionContext context, ElementEntityContext elementContext) {
+    getAccessor(context).deleteAll(elementContext.getSpace(),
+        elementContext.getItemId().toString(),
+        elementContext.getVersionId().toString());
+  }
+
+  private ChangeLogEntryEntity getChangeLogEntryEntity(Row row) {
+    return new ChangeLogEntryEntity(new Id(row.getString(VersionChangeLogField.ELEMENT_ID)),
+        new Id(row.getString(VersionChangeLogField.REVISION_ID)),
+        row.getTimestamp(VersionChangeLogField.PUBLISH_TIME),
+        Action.valueOf(row.getString(VersionChangeLogField.ACTION)));
+  }
+
+  private VersionChangeLogAccessor getAccessor(SessionContext context) {
+    return CassandraDaoUtils.getAccessor(context, VersionChangeLogAccessor.class);
+  }
+
+  @Accessor
+  interface VersionChangeLogAccessor {
+    @Query("INSERT INTO version_change_log (space, item_id, version_id, publish_time, " +
+        "element_id, revision_id, action) VALUES (?, ?, ?, ?, ?, ?, ?)")
+    void create(String space, String itemId, String versionId, Date publishTime,
+                String elementId, String revisionId, String action);
+
+    @Query("SELECT publish_time, element_id, revision_id, action FROM version_change_log " +
+        "WHERE space=? AND item_id=? AND version_id=? AND publish_time>=?")
+    ResultSet list(String space, String itemId, String versionId, Date fromPublishTime);
+
+    @Query("DELETE FROM version_change_log WHERE space=? AND item_id=? AND version_id=?")
+    void deleteAll(String space, String itemId, String versionId);
+  }
+
+  private static final class VersionChangeLogField {
+    private static final String PUBLISH_TIME = "publish_time";
+    private static final String ELEMENT_ID = "element_id";
+    private static final String REVISION_ID = "revision_id";
+    private static final String ACTION = "action";
+  }
+}
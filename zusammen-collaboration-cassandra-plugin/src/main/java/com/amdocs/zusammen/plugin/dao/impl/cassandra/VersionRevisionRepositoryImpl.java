@@ -0,0 +1,129 @@
+package com.amdocs.zusammen.plugin.dao.impl.cassandra;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.dao.VersionRevisionRepository;
+import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
+import com.amdocs.zusammen.plugin.dao.types.VersionContext;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.mapping.annotations.Accessor;
+import com.datastax.driver.mapping.annotations.Query;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * The revisions of a version are a single partition of the version_revisions table, clustered by
+ * publish time in descending order - so the newest revisions are read first, without sorting.
+ * A page which starts within the revisions of a publish time reads the rest of them first, and
+ * then the revisions published before it.
+ */
+public class VersionRevisionRepositoryImpl implements VersionRevisionRepository {
+
+  @Override
+  public void create(SessionContext context, VersionContext versionContext,
+                     SynchronizationStateEntity revision) {
+    getAccessor(context).create(versionContext.getSpace(),
+        versionContext.getItemId().toString(),
+        revision.getId().toString(),
+        revision.getPublishTime(),
+        revision.getRevisionId().getValue(),
+        revision.getUser(),
+        revision.getMessage());
+  }
+
+  @Override
+  public List<SynchronizationStateEntity> list(SessionContext context,
+                                               VersionContext versionContext, Id versionId,
+                                               Date lastPublishTime, Id lastRevisionId,
+                                               int limit) {
+    VersionRevisionAccessor accessor = getAccessor(context);
+    String space = versionContext.getSpace();
+    String itemId = versionContext.getItemId().toString();
+    List<Row> rows = new ArrayList<>();
+    if (lastPublishTime == null) {
+      rows.addAll(accessor.list(space, itemId, versionId.toString(), limit).all());
+    } else {
+      if (lastRevisionId != null) {
+        rows.addAll(accessor.listAfter(space, itemId, versionId.toString(), lastPublishTime,
+            lastRevisionId.getValue(), limit).all());
+      }
+      if (rows.size() < limit) {
+        rows.addAll(accessor.listBefore(space, itemId, versionId.toString(), lastPublishTime,
+            limit - rows.size()).all());
+      }
+    }
+    return rows.stream()
+        .map(row -> getRevisionEntity(versionId, row))
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public Optional<SynchronizationStateEntity> get(SessionContext context,
+                                                  VersionContext versionContext, Id versionId,
+                                                  Date publishTime) {
+    Row row = getAccessor(context).get(versionContext.getSpace(),
+        versionContext.getItemId().toString(), versionId.toString(), publishTime).one();
+    return row == null ? Optional.empty() : Optional.of(getRevisionEntity(versionId, row));
+  }
+
+  @Override
+  public void deleteAll(SessionContext context, VersionContext versionContext, Id versionId) {
+    getAccessor(context).deleteAll(versionContext.getSpace(),
+        versionContext.getItemId().toString(), versionId.toString());
+  }
+
+  private SynchronizationStateEntity getRevisionEntity(Id versionId, Row row) {
+    SynchronizationStateEntity revision = new SynchronizationStateEntity(versionId,
+        new Id(row.getString(VersionRevisionField.REVISION_ID)));
+    revision.setPublishTime(row.getTimestamp(VersionRevisionField.PUBLISH_TIME));
+    revision.setUser(row.getString(VersionRevisionField.USER));
+    revision.setMessage(row.getString(VersionRevisionField.MESSAGE));
+    return revision;
+  }
+
+  private VersionRevisionAccessor getAccessor(SessionContext context) {
+    return CassandraDaoUtils.getAccessor(context, VersionRevisionAccessor.class);
+  }
+
+  @Accessor
+  interface VersionRevisionAccessor {
+    @Query("INSERT INTO version_revisions (space, item_id, version_id, publish_time, " +
+        "revision_id, user, message) VALUES (?, ?, ?, ?, ?, ?, ?)")
+    void create(String space, String itemId, String versionId, Date publishTime,
+                String revisionId, String user, String message);
+
+    @Query("SELECT revision_id, publish_time, user, message FROM version_revisions " +
+        "WHERE space=? AND item_id=? AND version_id=? LIMIT ?")
+    ResultSet list(String space, String itemId, String versionId, int limit);
+
+    @Query("SELECT revision_id, publish_time, user, message FROM version_revisions " +
+        "WHERE space=? AND item_id=? AND version_id=? AND publish_time=? AND revision_id>? " +
+        "LIMIT ?")
+    ResultSet listAfter(String space, String itemId, String versionId, Date publishTime,
+                        String lastRevisionId, int limit);
+
+    @Query("SELECT revision_id, publish_time, user, message FROM version_revisions " +
+        "WHERE space=? AND item_id=? AND version_id=? AND publish_time<? LIMIT ?")
+    ResultSet listBefore(String space, String itemId, String versionId, Date beforePublishTime,
+                         int limit);
+
+    @Query("SELECT revision_id, publish_time, user, message FROM version_revisions " +
+        "WHERE space=? AND item_id=? AND version_id=? AND publish_time=? LIMIT 1")
+    ResultSet get(String space, String itemId, String versionId, Date publishTime);
+
+    @Query("DELETE FROM version_revisions WHERE space=? AND item_id=? AND version_id=?")
+    void deleteAll(String space, String itemId, String versionId);
+  }
+
+  private static final class VersionRevisionField {
+    private static final String REVISION_ID = "revision_id";
+    private static final String PUBLISH_TIME = "publish_time";
+    private static final String USER = "user";
+    private static final String MESSAGE = "message";
+  }
+}
@@ -47,6 +47,17 @@ public class VersionSynchronizationStateRepositoryImpl
             .collect(Collectors.toList());
   }
 
+  @Override
+  public Optional<SynchronizationStateEntity> getRevision(SessionContext context,
+                                                          VersionContext entityContext,
+                                                          SynchronizationStateEntity syncStateEntity) {
+    Row row = getAccessor(context)
+        .getRevision(entityContext.getSpace(), entityContext.getItemId().toString(),
+            syncStateEntity.getId().toString(), syncStateEntity.getRevisionId().getValue()).one();
+
+    return row == null ? Optional.empty() : Optional.of(getSynchronizationStateEntity(row));
+  }
+
   @Override
   public void delete(SessionContext context, VersionContext entityContext,
                      SynchronizationStateEntity syncStateEntity) {
@@ -81,7 +92,6 @@ public class VersionSynchronizationStateRepositoryImpl
     SynchronizationStateEntity syncStateEntity = new SynchronizationStateEntity(entityId,
         new Id(row.getString(REVISION_ID_FIELD)));
     syncStateEntity.setPublishTime(row.getTimestamp(PUBLISH_TIME_FIELD));
-    syncStateEntity.setDirty(!row.getSet(DIRTY_ELEMENT_FIELD, String.class).isEmpty());
     syncStateEntity.setRevisionId(new Id(row.getString(REVISION_ID_FIELD)));
     syncStateEntity.setUser(row.getString(USER));
     syncStateEntity.setMessage(row.getString(MESSAGE));
@@ -103,10 +113,14 @@ public class VersionSynchronizationStateRepositoryImpl
         "FROM version_elements WHERE space=? AND item_id=? AND version_id=? AND revision_id=? ")
     ResultSet get(String space, String itemId, String versionId, String revisionId);
 
-    @Query("SELECT version_id, revision_id, publish_time, user, message, dirty_element_ids " +
+    @Query("SELECT version_id, revision_id, publish_time, user, message " +
         "FROM version_elements WHERE space=? AND item_id=? AND version_id=? ")
     ResultSet list(String space, String itemId, String versionId);
 
+    @Query("SELECT version_id, revision_id, publish_time, user, message " +
+        "FROM version_elements WHERE space=? AND item_id=? AND version_id=? AND revision_id=? ")
+    ResultSet getRevision(String space, String itemId, String versionId, String revisionId);
+
     @Query("DELETE FROM version_elements WHERE space=? AND item_id=? AND version_id=? ")
     void delete(String space, String itemId, String versionId);
   }
@@ -0,0 +1,95 @@
+package com.amdocs.zusammen.plugin.dao.impl.cassandra;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.dao.VersionTagRepository;
+import com.amdocs.zusammen.plugin.dao.types.TagEntity;
+import com.amdocs.zusammen.plugin.dao.types.VersionContext;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.mapping.annotations.Accessor;
+import com.datastax.driver.mapping.annotations.Query;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+public class VersionTagRepositoryImpl implements VersionTagRepository {
+
+  @Override
+  public boolean create(SessionContext context, VersionContext versionContext, Id versionId,
+                        TagEntity tag) {
+    return getAccessor(context).create(versionContext.getSpace(),
+        versionContext.getItemId().toString(),
+        versionId.toString(),
+        tag.getName(),
+        tag.getRevisionId().getValue(),
+        tag.getDescription(),
+        tag.getCreationTime(),
+        tag.getUser()).wasApplied();
+  }
+
+  @Override
+  public Optional<TagEntity> get(SessionContext context, VersionContext versionContext,
+                                 Id versionId, String name) {
+    Row row = getAccessor(context).get(versionContext.getSpace(),
+        versionContext.getItemId().toString(), versionId.toString(), name).one();
+    return row == null ? Optional.empty() : Optional.of(getTagEntity(row));
+  }
+
+  @Override
+  public Collection<TagEntity> list(SessionContext context, VersionContext versionContext,
+                                    Id versionId) {
+    return getAccessor(context).list(versionContext.getSpace(),
+        versionContext.getItemId().toString(), versionId.toString()).all().stream()
+        .map(this::getTagEntity)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public void deleteAll(SessionContext context, VersionContext versionContext, Id versionId) {
+    getAccessor(context).deleteAll(versionContext.getSpace(),
+        versionContext.getItemId().toString(), versionId.toString());
+  }
+
+  private TagEntity getTagEntity(Row row) {
+    TagEntity tag = new TagEntity(row.getString(VersionTagField.TAG_NAME),
+        new Id(row.getString(VersionTagField.REVISION_ID)));
+    tag.setDescription(row.getString(VersionTagField.DESCRIPTION));
+    tag.setCreationTime(row.getTimestamp(VersionTagField.CREATION_TIME));
+    tag.setUser(row.getString(VersionTagField.USER));
+    return tag;
+  }
+
+  private VersionTagAccessor getAccessor(SessionContext context) {
+    return CassandraDaoUtils.getAccessor(context, VersionTagAccessor.class);
+  }
+
+  @Accessor
+  interface VersionTagAccessor {
+    @Query("INSERT INTO version_tags (space, item_id, version_id, tag_name, revision_id, " +
+        "description, creation_time, user) VALUES (?, ?, ?, ?, ?, ?, ?, ?) IF NOT EXISTS")
+    ResultSet create(String space, String itemId, String versionId, String tagName,
+                     String revisionId, String description, Date creationTime, String user);
+
+    @Query("SELECT tag_name, revision_id, description, creation_time, user FROM version_tags " +
+        "WHERE space=? AND item_id=? AND version_id=? AND tag_name=?")
+    ResultSet get(String space, String itemId, String versionId, String tagName);
+
+    @Query("SELECT tag_name, revision_id, description, creation_time, user FROM version_tags " +
+        "WHERE space=? AND item_id=? AND version_id=?")
+    ResultSet list(String space, String itemId, String versionId);
+
+    @Query("DELETE FROM version_tags WHERE space=? AND item_id=? AND version_id=?")
+    void deleteAll(String space, String itemId, String versionId);
+  }
+
+  private static final class VersionTagField {
+    private static final String TAG_NAME = "tag_name";
+    private static final String REVISION_ID = "revision_id";
+    private static final String DESCRIPTION = "description";
+    private static final String CREATION_TIME = "creation_time";
+    private static final String USER = "user";
+  }
+}
@@ -0,0 +1,15 @@
+package com.amdocs.zusammen.plugin.dao.impl.inmemory;
+
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.dao.ElementRepository;
+import com.amdocs.zusammen.plugin.dao.ElementRepositoryFactory;
+
+public class ElementRepositoryFactoryImpl extends ElementRepositoryFactory {
+
+  private static final ElementRepository INSTANCE = new ElementRepositoryImpl();
+
+  @Override
+  public ElementRepository createInterface(SessionContext context) {
+    return INSTANCE;
+  }
+}
@@ -0,0 +1,379 @@
+package com.amdocs.zusammen.plugin.dao.impl.inmemory;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.ZusammenPluginConstants;
+import com.amdocs.zusammen.plugin.dao.ElementRepository;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryRows.ElementRow;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryRows.VersionElementsRow;
+import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
+import com.amdocs.zusammen.plugin.statestore.cassandra.dao.types.ElementEntityContext;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryTable.partitionKey;
+
+public class ElementRepositoryImpl implements ElementRepository {
+
+  private final InMemoryDatabase database;
+
+  public ElementRepositoryImpl() {
+    this(InMemoryDatabase.getInstance());
+  }
+
+  public ElementRepositoryImpl(InMemoryDatabase database) {
+    this.database = database;
+  }
+
+  @Override
+  public Map<Id, Id> listIds(SessionContext context, ElementEntityContext elementContext) {
+    if (elementContext.getRevisionId() == null) {
+      Id revisionId = calculateLastRevisionId(context, elementContext);
+      if (revisionId == null) {
+        return new HashMap<>();
+      }
+      elementContext.setRevisionId(revisionId);
+    }
+    return getVersionElementIds(context, elementContext).entrySet().stream().collect(
+        Collectors.toMap(entry -> new Id(entry.getKey()), entry -> new Id(entry.getValue())));
+  }
+
+  @Override
+  public void create(SessionContext context, ElementEntityContext elementContext,
+                     ElementEntity element) {
+    createElement(context, elementContext, element);
+    addElementToParent(context, elementContext, element);
+  }
+
+  @Override
+  public void update(SessionContext context, ElementEntityContext elementContext,
+                     ElementEntity element) {
+    Id elementRevisionId = listIds(context,
+        new ElementEntityContext(elementContext.getSpace(), elementContext.getItemId(),
+            elementContext.getVersionId(), elementContext.getRevisionId()))
+        .get(element.getId());
+    if (elementContext.getRevisionId().equals(elementRevisionId)) {
+      updateElement(context, elementContext, element);
+    } else {
+      createElement(context, elementContext, element);
+    }
+  }
+
+  @Override
+  public boolean updateIfChanged(SessionContext context, ElementEntityContext elementContext,
+                                 ElementEntity element) {
+    Optional<Id> storedHash = getHash(context, elementContext, element);
+    if (storedHash.isPresent() && storedHash.get().equals(element.getElementHash())) {
+      return false;
+    }
+
+    update(context, elementContext, element);
+    return true;
+  }
+
+  @Override
+  public void delete(SessionContext context, ElementEntityContext elementContext,
+                     ElementEntity element) {
+    removeElementFromParent(context, elementContext, element);
+    deleteElement(context, elementContext, element);
+  }
+
+  @Override
+  public void delete(SessionContext context, ElementEntityContext elementContext,
+                     Collection<ElementEntity> elements) {
+    Set<String> elementIds = elements.stream().map(element -> element.getId().getValue())
+        .collect(Collectors.toSet());
+    if (elementIds.isEmpty()) {
+      return;
+    }
+    removeElementsFromParents(context, elementContext, elements, elementIds);
+
+    elementIds.forEach(elementId -> database.execute(context).element
+        .delete(getElementKey(elementContext, new Id(elementId)),
+            elementContext.getRevisionId().getValue()));
+
+    database.execute(context).versionElements
+        .updateIfExists(getVersionElementsKey(elementContext),
+            elementContext.getRevisionId().getValue(),
+            row -> row.elementIds.keySet().removeAll(elementIds));
+  }
+
+  @Override
+  public void cleanAllRevisions(SessionContext context, ElementEntityContext elementContext,
+                                ElementEntity element) {
+    database.execute(context).element
+        .deletePartition(getElementKey(elementContext, element.getId()));
+  }
+
+  @Override
+  public Optional<ElementEntity> get(SessionContext context, ElementEntityContext elementContext,
+                                     ElementEntity element) {
+    String revisionId = calculateElementRevisionId(context, elementContext, element.getId());
+    if (revisionId == null) {
+      return Optional.empty();
+    }
+
+    return database.execute(context).element
+        .read(getElementKey(elementContext, element.getId()), revisionId,
+            row -> row.toEntity(database, element.getId()));
+  }
+
+  @Override
+  public Map<Id, ElementEntity> get(SessionContext context, ElementEntityContext elementContext,
+                                    Collection<ElementEntity> elements) {
+    return getElements(context, elementContext, elements,
+        (element, row) -> row.toEntity(database, element.getId()));
+  }
+
+  @Override
+  public Optional<ElementEntity> getDescriptor(SessionContext context,
+                                               ElementEntityContext elementContext,
+                                               ElementEntity element) {
+    String revisionId = calculateElementRevisionId(context, elementContext, element.getId());
+    if (revisionId == null) {
+      return Optional.empty();
+    }
+
+    return database.execute(context).element
+        .read(getElementKey(elementContext, element.getId()), revisionId,
+            row -> row.toDescriptor(element.getId()));
+  }
+
+  @Override
+  public Map<Id, ElementEntity> getDescriptors(SessionContext context,
+                                               ElementEntityContext elementContext,
+                                               Collection<ElementEntity> elements) {
+    return getElements(context, elementContext, elements,
+        (element, row) -> row.toDescriptor(element.getId()));
+  }
+
+  @Override
+  public void createNamespace(SessionContext context, ElementEntityContext elementContext,
+                              ElementEntity element) {
+    database.execute(context).elementNamespace
+        .upsert(partitionKey(elementContext.getItemId().getValue()), element.getId().getValue(),
+            row -> row.namespace = element.getNamespace().toString());
+  }
+
+  @Override
+  public Optional<Id> getHash(SessionContext context, ElementEntityContext elementContext,
+                              ElementEntity element) {
+    String revisionId = calculateElementRevisionId(context, elementContext, element.getId());
+    if (revisionId == null) {
+      return Optional.empty();
+    }
+
+    return database.execute(context).element
+        .read(getElementKey(elementContext, element.getId()), revisionId,
+            row -> new Id(row.elementHash));
+  }
+
+  @Override
+  public Map<Id, Id> getHashes(SessionContext context, ElementEntityContext elementContext,
+                               Collection<ElementEntity> elements) {
+    return getElements(context, elementContext, elements, (element, row) -> {
+      ElementEntity elementHash = new ElementEntity(element.getId());
+      elementHash.setElementHash(new Id(row.elementHash));
+      return elementHash;
+    }).values().stream()
+        .collect(Collectors.toMap(ElementEntity::getId, ElementEntity::getElementHash));
+  }
+
+  private Map<Id, ElementEntity> getElements(SessionContext context,
+                                             ElementEntityContext elementContext,
+                                             Collection<ElementEntity> elements,
+                                             BiFunction<ElementEntity, ElementRow, ElementEntity>
+                                                 elementMapper) {
+    Function<Id, String> elementRevisionIdResolver =
+        getElementRevisionIdResolver(context, elementContext);
+
+    Map<Id, ElementEntity> elementById = new HashMap<>();
+    for (ElementEntity element : elements) {
+      String revisionId = elementRevisionIdResolver.apply(element.getId());
+      if (revisionId != null) {
+        database.execute(context).element
+            .read(getElementKey(elementContext, element.getId()), revisionId,
+                row -> elementMapper.apply(element, row))
+            .ifPresent(elementEntity -> elementById.put(elementEntity.getId(), elementEntity));
+      }
+    }
+    return elementById;
+  }
+
+  private String calculateElementRevisionId(SessionContext context,
+                                            ElementEntityContext elementContext, Id elementId) {
+    return getElementRevisionIdResolver(context, elementContext).apply(elementId);
+  }
+
+  private Function<Id, String> getElementRevisionIdResolver(SessionContext context,
+                                                            ElementEntityContext elementContext) {
+    if (elementContext.getSpace().equals(ZusammenPluginConstants.PUBLIC_SPACE)) {
+      elementContext.setRevisionId(elementContext.getRevisionId() == null
+          ? calculateLastRevisionId(context, elementContext)
+          : elementContext.getRevisionId());
+
+      Map<String, String> versionElementIds = getVersionElementIds(context, elementContext);
+      return elementId -> versionElementIds.get(elementId.getValue());
+    }
+    return elementId -> Id.ZERO.getValue();
+  }
+
+  private Id calculateLastRevisionId(SessionContext context, ElementEntityContext elementContext) {
+    return database.execute(context).versionElements
+        .withRows(getVersionElementsKey(elementContext), rows -> rows.entrySet().stream()
+            .filter(revision -> revision.getValue().publishTime != null)
+            .max(Comparator.comparing(
+                (Map.Entry<String, VersionElementsRow> revision) ->
+                    revision.getValue().publishTime))
+            .map(revision -> new Id(revision.getKey()))
+            .orElse(null));
+  }
+
+  private void createElement(SessionContext context, ElementEntityContext elementContext,
+                             ElementEntity element) {
+    database.execute(context).element
+        .upsert(getElementKey(elementContext, element.getId()),
+            elementContext.getRevisionId().getValue(), row -> {
+              row.parentId =
+                  element.getParentId() == null ? null : element.getParentId().getValue();
+              row.namespace =
+                  element.getNamespace() == null ? null : element.getNamespace().toString();
+              row.setContent(database, element);
+              element.getSubElementIds().forEach(subElementId ->
+                  row.subElementIds.add(subElementId.getValue()));
+            });
+
+    addElementToVersion(context, elementContext, element.getId());
+  }
+
+  private void updateElement(SessionContext context, ElementEntityContext elementContext,
+                             ElementEntity element) {
+    database.execute(context).element
+        .upsert(getElementKey(elementContext, element.getId()),
+            elementContext.getRevisionId().getValue(), row -> {
+              row.setContent(database, element);
+              if (element.getParentId() != null) {
+                row.parentId = element.getParentId().getValue();
+              }
+            });
+
+    addElementToVersion(context, elementContext, element.getId());
+  }
+
+  private void deleteElement(SessionContext context, ElementEntityContext elementContext,
+                             ElementEntity element) {
+    database.execute(context).element.delete(getElementKey(elementContext, element.getId()),
+        elementContext.getRevisionId().getValue());
+
+    removeElementFromVersion(context, elementContext, element.getId());
+  }
+
+  private void addElementToParent(SessionContext context, ElementEntityContext elementContext,
+                                  ElementEntity element) {
+    if (element.getParentId() == null) {
+      return;
+    }
+
+    database.execute(context).element
+        .upsert(getElementKey(elementContext, element.getParentId()),
+            elementContext.getRevisionId().getValue(),
+            row -> row.subElementIds.add(element.getId().getValue()));
+
+    addElementToVersion(context, elementContext, element.getParentId());
+  }
+
+  private void removeElementFromParent(SessionContext context,
+                                       ElementEntityContext elementContext,
+                                       ElementEntity element) {
+    if (element.getParentId() == null) {
+      return;
+    }
+
+    Optional<ElementEntity> parentElement =
+        get(context, elementContext, new ElementEntity(element.getParentId()));
+    if (!parentElement.isPresent()) {
+      return;
+    }
+    database.execute(context).element
+        .updateIfExists(getElementKey(elementContext, element.getParentId()),
+            elementContext.getRevisionId().getValue(),
+            row -> row.subElementIds.remove(element.getId().getValue()));
+
+    removeElementFromVersion(context, elementContext, element.getId());
+    addElementToVersion(context, elementContext, element.getParentId());
+  }
+
+  private void removeElementsFromParents(SessionContext context,
+                                         ElementEntityContext elementContext,
+                                         Collection<ElementEntity> elements,
+                                         Set<String> elementIds) {
+    Map<Id, Set<String>> subElementIdsByParentId = new HashMap<>();
+    elements.stream()
+        .filter(element -> element.getParentId() != null &&
+            !elementIds.contains(element.getParentId().getValue()))
+        .forEach(element -> subElementIdsByParentId
+            .computeIfAbsent(element.getParentId(), parentId -> new HashSet<>())
+            .add(element.getId().getValue()));
+    if (subElementIdsByParentId.isEmpty()) {
+      return;
+    }
+
+    Set<Id> existingParentIds = getDescriptors(context, elementContext,
+        subElementIdsByParentId.keySet().stream().map(ElementEntity::new)
+            .collect(Collectors.toList())).keySet();
+    subElementIdsByParentId.forEach((parentId, subElementIds) -> {
+      if (!existingParentIds.contains(parentId)) {
+        return;
+      }
+      database.execute(context).element
+          .updateIfExists(getElementKey(elementContext, parentId),
+              elementContext.getRevisionId().getValue(),
+              row -> row.subElementIds.removeAll(subElementIds));
+      addElementToVersion(context, elementContext, parentId);
+    });
+  }
+
+  private void addElementToVersion(SessionContext context, ElementEntityContext elementContext,
+                                   Id elementId) {
+    String revisionId = elementContext.getRevisionId().getValue();
+    database.execute(context).versionElements
+        .upsert(getVersionElementsKey(elementContext), revisionId,
+            row -> row.elementIds.put(elementId.getValue(), revisionId));
+  }
+
+  private void removeElementFromVersion(SessionContext context,
+                                        ElementEntityContext elementContext, Id elementId) {
+    database.execute(context).versionElements
+        .updateIfExists(getVersionElementsKey(elementContext),
+            elementContext.getRevisionId().getValue(),
+            row -> row.elementIds.remove(elementId.getValue()));
+  }
+
+  private Map<String, String> getVersionElementIds(SessionContext context,
+                                                   ElementEntityContext elementContext) {
+    return database.execute(context).versionElements
+        .read(getVersionElementsKey(elementContext), elementContext.getRevisionId().getValue(),
+            row -> new HashMap<>(row.elementIds))
+        .orElseGet(HashMap::new);
+  }
+
+  static List<String> getElementKey(ElementEntityContext elementContext, Id elementId) {
+    return partitionKey(elementContext.getSpace(), elementContext.getItemId().getValue(),
+        elementContext.getVersionId().getValue(), elementId.getValue());
+  }
+
+  static List<String> getVersionElementsKey(ElementEntityContext elementContext) {
+    return partitionKey(elementContext.getSpace(), elementContext.getItemId().getValue(),
+        elementContext.getVersionId().getValue());
+  }
+}
@@ -0,0 +1,15 @@
+package com.amdocs.zusammen.plugin.dao.impl.inmemory;
+
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.dao.ElementStageRepository;
+import com.amdocs.zusammen.plugin.dao.ElementStageRepositoryFactory;
+
+public class ElementStageRepositoryFactoryImpl extends ElementStageRepositoryFactory {
+
+  private static final ElementStageRepository INSTANCE = new ElementStageRepositoryImpl();
+
+  @Override
+  public ElementStageRepository createInterface(SessionContext context) {
+    return INSTANCE;
+  }
+}
@@ -0,0 +1,312 @@
+package com.amdocs.zusammen.plugin.dao.impl.inmemory;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.datatypes.item.Action;
+import com.amdocs.zusammen.plugin.dao.ElementStageRepository;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryRows.ElementStageRow;
+import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
+import com.amdocs.zusammen.plugin.dao.types.StageEntity;
+import com.amdocs.zusammen.plugin.statestore.cassandra.dao.types.ElementEntityContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.amdocs.zusammen.plugin.ZusammenPluginConstants.STAGE_MAINTAIN_ELEMENT_IDS;
+import static com.amdocs.zusammen.plugin.dao.impl.inmemory.ElementRepositoryImpl.getVersionElementsKey;
+
+public class ElementStageRepositoryImpl implements ElementStageRepository {
+  private static final boolean MAINTAIN_STAGE_ELEMENT_IDS =
+      Boolean.getBoolean(STAGE_MAINTAIN_ELEMENT_IDS);
+
+  private final InMemoryDatabase database;
+
+  public ElementStageRepositoryImpl() {
+    this(InMemoryDatabase.getInstance());
+  }
+
+  public ElementStageRepositoryImpl(InMemoryDatabase database) {
+    this.database = database;
+  }
+
+  @Override
+  public Collection<ElementEntity> listIds(SessionContext context,
+                                           ElementEntityContext elementContext) {
+    return getElements(database.execute(context).elementStage
+        .withRows(getStageKey(elementContext), rows -> new HashSet<>(rows.keySet())));
+  }
+
+  @Override
+  public boolean hasElements(SessionContext context, ElementEntityContext elementContext) {
+    return database.execute(context).elementStage
+        .withRows(getStageKey(elementContext), rows -> !rows.isEmpty());
+  }
+
+  @Override
+  public boolean hasLocalChanges(SessionContext context, ElementEntityContext elementContext) {
+    return database.execute(context).elementStage
+        .withRows(getStageKey(elementContext),
+            rows -> rows.values().stream().anyMatch(row -> row.localChange));
+  }
+
+  @Override
+  public void list(SessionContext context, ElementEntityContext elementContext, int pageSize,
+                   Consumer<List<StageEntity<ElementEntity>>> pageConsumer) {
+    List<StageEntity<ElementEntity>> stagedElements = database.execute(context).elementStage
+        .withRows(getStageKey(elementContext), rows -> rows.entrySet().stream()
+            .map(entry -> buildStageElement(
+                entry.getValue().toEntity(database, new Id(entry.getKey())), entry.getValue()))
+            .collect(Collectors.toList()));
+
+    for (int pageStart = 0; pageStart < stagedElements.size(); pageStart += pageSize) {
+      pageConsumer.accept(new ArrayList<>(stagedElements
+          .subList(pageStart, Math.min(pageStart + pageSize, stagedElements.size()))));
+    }
+  }
+
+  @Override
+  public Collection<ElementEntity> listConflictedIds(SessionContext context,
+                                                     ElementEntityContext elementContext) {
+    return getElements(database.execute(context).versionElements
+        .read(getVersionElementsKey(elementContext), elementContext.getRevisionId().getValue(),
+            row -> new HashSet<>(row.conflictElementIds))
+        .orElseGet(HashSet::new));
+  }
+
+  @Override
+  public void create(SessionContext context, ElementEntityContext elementContext,
+                     StageEntity<ElementEntity> elementStage) {
+    createElement(context, elementContext, elementStage);
+    addElementToParent(context, elementContext, elementStage.getEntity());
+  }
+
+  @Override
+  public void markAsNotConflicted(SessionContext context, ElementEntityContext elementContext,
+                                  ElementEntity element, Action action) {
+    database.execute(context).elementStage
+        .upsert(getStageKey(elementContext), element.getId().getValue(), row -> {
+          row.action = action;
+          row.conflicted = false;
+        });
+
+    removeConflictElement(context, elementContext, element.getId());
+  }
+
+  @Override
+  public void markAsNotConflicted(SessionContext context, ElementEntityContext elementContext,
+                                  ElementEntity element) {
+    database.execute(context).elementStage
+        .upsert(getStageKey(elementContext), element.getId().getValue(),
+            row -> row.conflicted = false);
+
+    removeConflictElement(context, elementContext, element.getId());
+  }
+
+  @Override
+  public void markAsNotConflicted(SessionContext context, ElementEntityContext elementContext,
+                                  Collection<ElementEntity> elements, Action action) {
+    elements.forEach(element -> database.execute(context).elementStage
+        .upsert(getStageKey(elementContext), element.getId().getValue(), row -> {
+          row.action = action;
+          row.conflicted = false;
+        }));
+
+    removeConflictElements(context, elementContext, elements);
+  }
+
+  @Override
+  public void markAsNotConflicted(SessionContext context, ElementEntityContext elementContext,
+                                  Collection<ElementEntity> elements) {
+    elements.forEach(element -> database.execute(context).elementStage
+        .upsert(getStageKey(elementContext), element.getId().getValue(),
+            row -> row.conflicted = false));
+
+    removeConflictElements(context, elementContext, elements);
+  }
+
+  @Override
+  public void update(SessionContext context, ElementEntityContext elementContext,
+                     ElementEntity element, Action action, boolean conflicted) {
+    database.execute(context).elementStage
+        .upsert(getStageKey(elementContext), element.getId().getValue(), row -> {
+          row.setContent(database, element);
+          row.action = action;
+          row.conflicted = conflicted;
+        });
+
+    if (!conflicted) {
+      removeConflictElement(context, elementContext, element.getId());
+    }
+  }
+
+  @Override
+  public void delete(SessionContext context, ElementEntityContext elementContext,
+                     ElementEntity element) {
+    removeElementFromParent(context, elementContext, element);
+    deleteElement(context, elementContext, element);
+  }
+
+  @Override
+  public void delete(SessionContext context, ElementEntityContext elementContext,
+                     Collection<ElementEntity> elements) {
+    Set<Id> deletedElementIds =
+        elements.stream().map(ElementEntity::getId).collect(Collectors.toSet());
+    elements.forEach(element -> {
+      if (!deletedElementIds.contains(element.getParentId())) {
+        removeElementFromParent(context, elementContext, element);
+      }
+      database.execute(context).elementStage
+          .delete(getStageKey(elementContext), element.getId().getValue());
+    });
+
+    if (MAINTAIN_STAGE_ELEMENT_IDS) {
+      database.execute(context).versionElements
+          .updateIfExists(getVersionElementsKey(elementContext),
+              elementContext.getRevisionId().getValue(),
+              row -> deletedElementIds.forEach(elementId ->
+                  row.stageElementIds.remove(elementId.getValue())));
+    }
+  }
+
+  @Override
+  public Optional<StageEntity<ElementEntity>> get(SessionContext context,
+                                                  ElementEntityContext elementContext,
+                                                  ElementEntity element) {
+    return database.execute(context).elementStage
+        .read(getStageKey(elementContext), element.getId().getValue(),
+            row -> buildStageElement(row.toEntity(database, element.getId()), row));
+  }
+
+  @Override
+  public Optional<StageEntity<ElementEntity>> getDescriptor(SessionContext context,
+                                                            ElementEntityContext elementContext,
+                                                            ElementEntity element) {
+    return database.execute(context).elementStage
+        .read(getStageKey(elementContext), element.getId().getValue(),
+            row -> buildStageElement(row.toDescriptor(element.getId()), row));
+  }
+
+  @Override
+  public Map<Id, StageEntity<ElementEntity>> getDescriptors(SessionContext context,
+                                                            ElementEntityContext elementContext,
+                                                            Collection<ElementEntity> elements) {
+    Map<Id, StageEntity<ElementEntity>> stagedElementById = new HashMap<>();
+    elements.forEach(element -> getDescriptor(context, elementContext, element)
+        .ifPresent(elementStage -> stagedElementById.put(element.getId(), elementStage)));
+    return stagedElementById;
+  }
+
+  private Collection<ElementEntity> getElements(Set<String> elementIds) {
+    return elementIds.stream().map(id -> new ElementEntity(new Id(id)))
+        .collect(Collectors.toList());
+  }
+
+  private void createElement(SessionContext context, ElementEntityContext elementContext,
+                             StageEntity<ElementEntity> elementStage) {
+    ElementEntity element = elementStage.getEntity();
+    database.execute(context).elementStage
+        .upsert(getStageKey(elementContext), element.getId().getValue(), row -> {
+          row.parentId = element.getParentId() == null ? null : element.getParentId().getValue();
+          row.namespace = element.getNamespace() == null ? null : element.getNamespace().toString();
+          row.setContent(database, element);
+          element.getSubElementIds().forEach(subElementId ->
+              row.subElementIds.add(subElementId.getValue()));
+          row.publishTime = elementStage.getPublishTime();
+          row.action = elementStage.getAction();
+          row.conflicted = elementStage.isConflicted();
+          row.localChange = elementStage.isLocal();
+          row.conflictDependentIds = elementStage.getConflictDependents().stream()
+              .map(conflictDependent -> conflictDependent.getId().getValue())
+              .collect(Collectors.toSet());
+        });
+
+    String elementId = element.getId().getValue();
+    if (MAINTAIN_STAGE_ELEMENT_IDS) {
+      database.execute(context).versionElements
+          .upsert(getVersionElementsKey(elementContext), elementContext.getRevisionId().getValue(),
+              row -> row.stageElementIds.add(elementId));
+    }
+
+    if (elementStage.isConflicted()) {
+      database.execute(context).versionElements
+          .upsert(getVersionElementsKey(elementContext),
+              elementContext.getRevisionId().getValue(),
+              row -> row.conflictElementIds.add(elementId));
+    }
+  }
+
+  private void deleteElement(SessionContext context, ElementEntityContext elementContext,
+                             ElementEntity element) {
+    database.execute(context).elementStage
+        .delete(getStageKey(elementContext), element.getId().getValue());
+
+    if (MAINTAIN_STAGE_ELEMENT_IDS) {
+      database.execute(context).versionElements
+          .updateIfExists(getVersionElementsKey(elementContext),
+              elementContext.getRevisionId().getValue(),
+              row -> row.stageElementIds.remove(element.getId().getValue()));
+    }
+  }
+
+  private void addElementToParent(SessionContext context, ElementEntityContext elementContext,
+                                  ElementEntity element) {
+    if (element.getParentId() == null) {
+      return;
+    }
+    database.execute(context).elementStage
+        .upsert(getStageKey(elementContext), element.getParentId().getValue(),
+            row -> row.subElementIds.add(element.getId().getValue()));
+  }
+
+  private void removeElementFromParent(SessionContext context,
+                                       ElementEntityContext elementContext,
+                                       ElementEntity element) {
+    if (element.getParentId() == null) {
+      return;
+    }
+    database.execute(context).elementStage
+        .updateIfExists(getStageKey(elementContext), element.getParentId().getValue(),
+            row -> row.subElementIds.remove(element.getId().getValue()));
+  }
+
+  private void removeConflictElement(SessionContext context, ElementEntityContext elementContext,
+                                     Id elementId) {
+    database.execute(context).versionElements
+        .updateIfExists(getVersionElementsKey(elementContext),
+            elementContext.getRevisionId().getValue(),
+            row -> row.conflictElementIds.remove(elementId.getValue()));
+  }
+
+  private void removeConflictElements(SessionContext context, ElementEntityContext elementContext,
+                                      Collection<ElementEntity> elements) {
+    database.execute(context).versionElements
+        .updateIfExists(getVersionElementsKey(elementContext),
+            elementContext.getRevisionId().getValue(),
+            row -> elements.forEach(element ->
+                row.conflictElementIds.remove(element.getId().getValue())));
+  }
+
+  private StageEntity<ElementEntity> buildStageElement(ElementEntity element,
+                                                       ElementStageRow row) {
+    StageEntity<ElementEntity> elementStage = new StageEntity<>(element, row.publishTime);
+    elementStage.setAction(row.action);
+    elementStage.setConflicted(row.conflicted);
+    elementStage.setLocal(row.localChange);
+    elementStage.setConflictDependents(row.conflictDependentIds.stream()
+        .map(conflictDependentId -> new ElementEntity(new Id(conflictDependentId)))
+        .collect(Collectors.toSet()));
+    return elementStage;
+  }
+
+  static List<String> getStageKey(ElementEntityContext elementContext) {
+    return getVersionElementsKey(elementContext);
+  }
+}
@@ -0,0 +1,17 @@
+package com.amdocs.zusammen.plugin.dao.impl.inmemory;
+
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.dao.ElementSynchronizationStateRepository;
+import com.amdocs.zusammen.plugin.dao.ElementSynchronizationStateRepositoryFactory;
+
+public class ElementSynchronizationStateRepositoryFactoryImpl
+    extends ElementSynchronizationStateRepositoryFactory {
+
+  private static final ElementSynchronizationStateRepository INSTANCE =
+      new ElementSynchronizationStateRepositoryImpl();
+
+  @Override
+  public ElementSynchronizationStateRepository createInterface(SessionContext context) {
+    return INSTANCE;
+  }
+}
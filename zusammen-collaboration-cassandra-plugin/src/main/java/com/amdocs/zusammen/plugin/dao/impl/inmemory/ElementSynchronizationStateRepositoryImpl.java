@@ -0,0 +1,192 @@
+package com.amdocs.zusammen.plugin.dao.impl.inmemory;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.dao.ElementSynchronizationStateRepository;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryRows.ElementSynchronizationStateRow;
+import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
+import com.amdocs.zusammen.plugin.statestore.cassandra.dao.types.ElementEntityContext;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.amdocs.zusammen.plugin.dao.impl.inmemory.ElementRepositoryImpl.getVersionElementsKey;
+
+public class ElementSynchronizationStateRepositoryImpl
+    implements ElementSynchronizationStateRepository {
+
+  private final InMemoryDatabase database;
+
+  public ElementSynchronizationStateRepositoryImpl() {
+    this(InMemoryDatabase.getInstance());
+  }
+
+  public ElementSynchronizationStateRepositoryImpl(InMemoryDatabase database) {
+    this.database = database;
+  }
+
+  @Override
+  public Collection<SynchronizationStateEntity> list(SessionContext context,
+                                                     ElementEntityContext elementContext) {
+    return new HashSet<>(database.execute(context).elementSynchronizationState
+        .readAll(getVersionElementsKey(elementContext), this::getSynchronizationStateEntity));
+  }
+
+  @Override
+  public Collection<SynchronizationStateEntity> listDirty(SessionContext context,
+                                                          ElementEntityContext elementContext) {
+    Set<String> dirtyElementIds = database.execute(context).versionElements
+        .read(getVersionElementsKey(elementContext), elementContext.getRevisionId().getValue(),
+            row -> new HashSet<>(row.dirtyElementIds))
+        .orElseGet(HashSet::new);
+
+    Collection<SynchronizationStateEntity> dirtySyncStates = new HashSet<>();
+    dirtyElementIds.forEach(elementId -> database.execute(context).elementSynchronizationState
+        .read(getVersionElementsKey(elementContext),
+            getRowKey(new Id(elementId), elementContext.getRevisionId()),
+            this::getSynchronizationStateEntity)
+        .ifPresent(dirtySyncStates::add));
+    return dirtySyncStates;
+  }
+
+  @Override
+  public void deleteAll(SessionContext context, ElementEntityContext elementContext) {
+    database.execute(context).elementSynchronizationState
+        .deletePartition(getVersionElementsKey(elementContext));
+  }
+
+  @Override
+  public void create(SessionContext context, ElementEntityContext elementContext,
+                     SynchronizationStateEntity elementSyncState) {
+    update(context, elementContext, elementSyncState);
+  }
+
+  @Override
+  public void update(SessionContext context, ElementEntityContext elementContext,
+                     SynchronizationStateEntity elementSyncState) {
+    Id elementId = elementSyncState.getId();
+    Id elementRevisionId = elementSyncState.getRevisionId();
+    Date publishTime = elementSyncState.getPublishTime();
+    boolean dirty = elementSyncState.isDirty();
+
+    database.execute(context).elementSynchronizationState
+        .upsert(getVersionElementsKey(elementContext), getRowKey(elementId, elementRevisionId),
+            row -> {
+              row.elementId = elementId.getValue();
+              row.revisionId = elementRevisionId.getValue();
+              row.publishTime = publishTime;
+              row.dirty = dirty;
+            });
+
+    if (dirty) {
+      addDirtyElement(context, elementContext, elementId);
+    } else {
+      removeDirtyElement(context, elementContext, elementId);
+    }
+  }
+
+  @Override
+  public void markAsDirty(SessionContext context, ElementEntityContext elementContext,
+                          SynchronizationStateEntity elementSyncState) {
+    Id elementId = elementSyncState.getId();
+    Id revisionId = elementContext.getRevisionId();
+
+    database.execute(context).elementSynchronizationState
+        .upsert(getVersionElementsKey(elementContext), getRowKey(elementId, revisionId),
+            row -> {
+              row.elementId = elementId.getValue();
+              row.revisionId = revisionId.getValue();
+              row.dirty = true;
+            });
+
+    addDirtyElement(context, elementContext, elementId);
+  }
+
+  @Override
+  public void delete(SessionContext context, ElementEntityContext elementContext,
+                     SynchronizationStateEntity elementSyncState) {
+    database.execute(context).elementSynchronizationState
+        .delete(getVersionElementsKey(elementContext),
+            getRowKey(elementSyncState.getId(), elementContext.getRevisionId()));
+
+    removeDirtyElement(context, elementContext, elementSyncState.getId());
+  }
+
+  @Override
+  public void markAsDirty(SessionContext context, ElementEntityContext elementContext,
+                          Collection<SynchronizationStateEntity> elementSyncStates) {
+    String revisionId = elementContext.getRevisionId().getValue();
+    database.execute(context).elementSynchronizationState
+        .withRows(getVersionElementsKey(elementContext), rows -> {
+          elementSyncStates.forEach(elementSyncState -> {
+            ElementSynchronizationStateRow row = rows.computeIfAbsent(
+                getRowKey(elementSyncState.getId(), elementContext.getRevisionId()),
+                rowKey -> new ElementSynchronizationStateRow());
+            row.elementId = elementSyncState.getId().getValue();
+            row.revisionId = revisionId;
+            row.dirty = true;
+          });
+          return null;
+        });
+
+    database.execute(context).versionElements
+        .upsert(getVersionElementsKey(elementContext), revisionId,
+            row -> elementSyncStates.forEach(elementSyncState ->
+                row.dirtyElementIds.add(elementSyncState.getId().getValue())));
+  }
+
+  @Override
+  public void delete(SessionContext context, ElementEntityContext elementContext,
+                     Collection<SynchronizationStateEntity> elementSyncStates) {
+    database.execute(context).elementSynchronizationState
+        .withRows(getVersionElementsKey(elementContext), rows -> {
+          elementSyncStates.forEach(elementSyncState -> rows
+              .remove(getRowKey(elementSyncState.getId(), elementContext.getRevisionId())));
+          return null;
+        });
+
+    database.execute(context).versionElements
+        .updateIfExists(getVersionElementsKey(elementContext),
+            elementContext.getRevisionId().getValue(),
+            row -> elementSyncStates.forEach(elementSyncState ->
+                row.dirtyElementIds.remove(elementSyncState.getId().getValue())));
+  }
+
+  @Override
+  public Optional<SynchronizationStateEntity> get(SessionContext context,
+                                                  ElementEntityContext elementContext,
+                                                  SynchronizationStateEntity elementSyncState) {
+    return database.execute(context).elementSynchronizationState
+        .read(getVersionElementsKey(elementContext),
+            getRowKey(elementSyncState.getId(), elementSyncState.getRevisionId()),
+            this::getSynchronizationStateEntity);
+  }
+
+  private void addDirtyElement(SessionContext context, ElementEntityContext elementContext,
+                               Id elementId) {
+    database.execute(context).versionElements
+        .upsert(getVersionElementsKey(elementContext), elementContext.getRevisionId().getValue(),
+            row -> row.dirtyElementIds.add(elementId.getValue()));
+  }
+
+  private void removeDirtyElement(SessionContext context, ElementEntityContext elementContext,
+                                  Id elementId) {
+    database.execute(context).versionElements
+        .updateIfExists(getVersionElementsKey(elementContext),
+            elementContext.getRevisionId().getValue(),
+            row -> row.dirtyElementIds.remove(elementId.getValue()));
+  }
+
+  private SynchronizationStateEntity getSynchronizationStateEntity(
+      ElementSynchronizationStateRow row) {
+    return new SynchronizationStateEntity(new Id(row.elementId), new Id(row.revisionId),
+        row.publishTime, row.dirty);
+  }
+
+  private static String getRowKey(Id elementId, Id revisionId) {
+    return elementId.getValue() + '/' + revisionId.getValue();
+  }
+}
@@ -0,0 +1,142 @@
+package com.amdocs.zusammen.plugin.dao.impl.inmemory;
+
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryRows.ElementNamespaceRow;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryRows.ElementRow;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryRows.ElementStageRow;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryRows.ElementSynchronizationStateRow;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryRows.VersionChangeLogRow;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryRows.VersionElementsRow;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryRows.VersionRevisionRow;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryRows.VersionRow;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryRows.VersionStageRow;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryRows.VersionTagRow;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.amdocs.zusammen.plugin.ZusammenPluginConstants.IN_MEMORY_LATENCY_MICROS;
+
+/**
+ * In memory, thread safe replacement of the plugin's Cassandra tables, used for load testing
+ * without a Cassandra cluster.
+ * Each tenant has its own keyspace. Every statement the Cassandra DAOs would execute is counted
+ * and delayed by the configured latency.
+ */
+public class InMemoryDatabase {
+
+  private static final InMemoryDatabase INSTANCE =
+      new InMemoryDatabase(Long.getLong(IN_MEMORY_LATENCY_MICROS, 0L));
+
+  private final Map<String, Keyspace> keyspaces = new ConcurrentHashMap<>();
+  private final LongAdder statements = new LongAdder();
+  private final LongAdder bytesRead = new LongAdder();
+  private final LongAdder bytesWritten = new LongAdder();
+  private volatile long latencyNanos;
+
+  public static InMemoryDatabase getInstance() {
+    return INSTANCE;
+  }
+
+  public InMemoryDatabase(long latencyMicros) {
+    setLatency(latencyMicros);
+  }
+
+  public void setLatency(long latencyMicros) {
+    this.latencyNanos = TimeUnit.MICROSECONDS.toNanos(latencyMicros);
+  }
+
+  public long getStatementCount() {
+    return statements.sum();
+  }
+
+  public long getBytesRead() {
+    return bytesRead.sum();
+  }
+
+  public long getBytesWritten() {
+    return bytesWritten.sum();
+  }
+
+  public void resetCounters() {
+    statements.reset();
+    bytesRead.reset();
+    bytesWritten.reset();
+  }
+
+  public void clear() {
+    keyspaces.clear();
+    resetCounters();
+  }
+
+  /**
+   * Executes a single statement on the keyspace of the context's tenant.
+   */
+  Keyspace execute(SessionContext context) {
+    statements.increment();
+    long latency = latencyNanos;
+    if (latency > 0) {
+      LockSupport.parkNanos(latency);
+    }
+    return keyspaces.computeIfAbsent(context.getTenant() == null ? "" : context.getTenant(),
+        tenant -> new Keyspace());
+  }
+
+  ByteBuffer write(ByteBuffer buffer) {
+    ByteBuffer copy = copy(buffer);
+    if (copy != null) {
+      bytesWritten.add(copy.remaining());
+    }
+    return copy;
+  }
+
+  ByteBuffer read(ByteBuffer buffer) {
+    ByteBuffer copy = copy(buffer);
+    if (copy != null) {
+      bytesRead.add(copy.remaining());
+    }
+    return copy;
+  }
+
+  private static ByteBuffer copy(ByteBuffer buffer) {
+    if (buffer == null) {
+      return null;
+    }
+    ByteBuffer copy = ByteBuffer.allocate(buffer.remaining());
+    copy.put(buffer.duplicate());
+    copy.flip();
+    return copy;
+  }
+
+  static class Keyspace {
+    // partition: space, item_id, version_id, element_id. row: revision_id
+    final InMemoryTable<ElementRow> element = new InMemoryTable<>(ElementRow::new);
+    // partition: item_id. row: element_id
+    final InMemoryTable<ElementNamespaceRow> elementNamespace =
+        new InMemoryTable<>(ElementNamespaceRow::new);
+    // partition: space, item_id, version_id. row: element_id
+    final InMemoryTable<ElementStageRow> elementStage = new InMemoryTable<>(ElementStageRow::new);
+    // partition: space, item_id, version_id. row: element_id, revision_id
+    final InMemoryTable<ElementSynchronizationStateRow> elementSynchronizationState =
+        new InMemoryTable<>(ElementSynchronizationStateRow::new);
+    // partition: space, item_id. row: version_id
+    final InMemoryTable<VersionRow> version = new InMemoryTable<>(VersionRow::new);
+    // partition: space, item_id. row: version_id
+    final InMemoryTable<VersionStageRow> versionStage = new InMemoryTable<>(VersionStageRow::new);
+    // partition: space, item_id, version_id. row: revision_id
+    final InMemoryTable<VersionElementsRow> versionElements =
+        new InMemoryTable<>(VersionElementsRow::new);
+    // partition: space, item_id, version_id. row: publish_time, element_id
+    final InMemoryTable<VersionChangeLogRow> versionChangeLog =
+        new InMemoryTable<>(VersionChangeLogRow::new);
+    // partition: space, item_id, version_id. row: publish_time (descending), revision_id
+    final InMemoryTable<VersionRevisionRow> versionRevisions =
+        new InMemoryTable<>(VersionRevisionRow::new);
+    // partition: space, item_id, version_id. row: tag_name
+    final InMemoryTable<VersionTagRow> versionTags = new InMemoryTable<>(VersionTagRow::new);
+  }
+}
@@ -0,0 +1,151 @@
+package com.amdocs.zusammen.plugin.dao.impl.inmemory;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.Namespace;
+import com.amdocs.zusammen.datatypes.item.Action;
+import com.amdocs.zusammen.datatypes.item.Info;
+import com.amdocs.zusammen.datatypes.item.Relation;
+import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
+import com.amdocs.zusammen.plugin.dao.types.VersionEntity;
+import com.amdocs.zusammen.utils.fileutils.json.JsonUtil;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The rows of the in memory tables, holding the values in their stored (serialized) form.
+ */
+final class InMemoryRows {
+
+  private InMemoryRows() {
+  }
+
+  static class ElementRow {
+    String parentId;
+    String namespace;
+    String info;
+    String relations;
+    ByteBuffer data;
+    ByteBuffer searchableData;
+    ByteBuffer visualization;
+    Set<String> subElementIds = new HashSet<>();
+    String elementHash;
+
+    void setContent(InMemoryDatabase database, ElementEntity element) {
+      info = JsonUtil.object2Json(element.getInfo());
+      relations = JsonUtil.object2Json(element.getRelations());
+      data = database.write(element.getData());
+      searchableData = database.write(element.getSearchableData());
+      visualization = database.write(element.getVisualization());
+      elementHash = element.getElementHash() == null ? null : element.getElementHash().getValue();
+    }
+
+    ElementEntity toDescriptor(Id elementId) {
+      ElementEntity element = new ElementEntity(elementId);
+      Namespace elementNamespace = new Namespace();
+      if (namespace != null) {
+        elementNamespace.setValue(namespace);
+      }
+      element.setNamespace(elementNamespace);
+      element.setParentId(parentId == null ? null : new Id(parentId));
+      element.setInfo(json2Object(info, Info.class));
+      element.setRelations(
+          json2Object(relations, new TypeToken<ArrayList<Relation>>() {
+          }.getType()));
+      element.setSubElementIds(subElementIds.stream().map(Id::new).collect(Collectors.toSet()));
+      return element;
+    }
+
+    ElementEntity toEntity(InMemoryDatabase database, Id elementId) {
+      ElementEntity element = toDescriptor(elementId);
+      element.setData(database.read(data));
+      element.setSearchableData(database.read(searchableData));
+      element.setVisualization(database.read(visualization));
+      element.setElementHash(new Id(elementHash));
+      return element;
+    }
+
+    private static <T> T json2Object(String json, Type typeOfT) {
+      return json == null ? null : JsonUtil.json2Object(json, typeOfT);
+    }
+  }
+
+  static class ElementStageRow extends ElementRow {
+    Date publishTime;
+    Action action;
+    boolean conflicted;
+    boolean localChange;
+    Set<String> conflictDependentIds = new HashSet<>();
+  }
+
+  static class ElementSynchronizationStateRow {
+    String elementId;
+    String revisionId;
+    Date publishTime;
+    boolean dirty;
+  }
+
+  static class VersionElementsRow {
+    Map<String, String> elementIds = new HashMap<>();
+    Set<String> stageElementIds = new HashSet<>();
+    Set<String> conflictElementIds = new HashSet<>();
+    Set<String> dirtyElementIds = new HashSet<>();
+    Date publishTime;
+    String message;
+    String user;
+  }
+
+  static class VersionChangeLogRow {
+    String elementId;
+    String revisionId;
+    Date publishTime;
+    Action action;
+  }
+
+  static class VersionRevisionRow {
+    String revisionId;
+    Date publishTime;
+    String user;
+    String message;
+  }
+
+  static class VersionTagRow {
+    String tagName;
+    String revisionId;
+    String description;
+    Date creationTime;
+    String user;
+  }
+
+  static class VersionRow {
+    String versionId;
+    String baseVersionId;
+    Date creationTime;
+    Date modificationTime;
+
+    VersionEntity toVersionEntity() {
+      VersionEntity version = new VersionEntity(new Id(versionId));
+      version.setBaseId(new Id(baseVersionId));
+      version.setCreationTime(creationTime);
+      version.setModificationTime(modificationTime);
+      return version;
+    }
+  }
+
+  static class VersionStageRow extends VersionRow {
+    Date publishTime;
+    Action action;
+  }
+
+  static class ElementNamespaceRow {
+    String namespace;
+  }
+}
@@ -0,0 +1,99 @@
+package com.amdocs.zusammen.plugin.dao.impl.inmemory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A table of rows grouped by partition key and ordered by row (clustering) key.
+ * As in Cassandra, operations are atomic within a single partition.
+ * Readers must copy the values they take out of a row.
+ */
+class InMemoryTable<R> {
+  private final Map<List<String>, Partition<R>> partitions = new ConcurrentHashMap<>();
+  private final Supplier<R> rowSupplier;
+
+  InMemoryTable(Supplier<R> rowSupplier) {
+    this.rowSupplier = rowSupplier;
+  }
+
+  static List<String> partitionKey(String... keyParts) {
+    return Arrays.asList(keyParts);
+  }
+
+  <T> Optional<T> read(List<String> partitionKey, String rowKey, Function<R, T> reader) {
+    return Optional.ofNullable(withRows(partitionKey, rows -> {
+      R row = rows.get(rowKey);
+      return row == null ? null : reader.apply(row);
+    }));
+  }
+
+  <T> List<T> readAll(List<String> partitionKey, Function<R, T> reader) {
+    return withRows(partitionKey, rows -> {
+      List<T> values = new ArrayList<>(rows.size());
+      rows.values().forEach(row -> values.add(reader.apply(row)));
+      return values;
+    });
+  }
+
+  /**
+   * Updates the row, creating it if it does not exist (UPDATE/INSERT semantics).
+   */
+  void upsert(List<String> partitionKey, String rowKey, Consumer<R> updater) {
+    withRows(partitionKey, rows -> {
+      updater.accept(rows.computeIfAbsent(rowKey, key -> rowSupplier.get()));
+      return null;
+    });
+  }
+
+  /**
+   * Updates the row only if it exists - used for statements which only remove values, since
+   * those do not create a live row in Cassandra.
+   */
+  void updateIfExists(List<String> partitionKey, String rowKey, Consumer<R> updater) {
+    withRows(partitionKey, rows -> {
+      R row = rows.get(rowKey);
+      if (row != null) {
+        updater.accept(row);
+      }
+      return null;
+    });
+  }
+
+  void delete(List<String> partitionKey, String rowKey) {
+    withRows(partitionKey, rows -> rows.remove(rowKey));
+  }
+
+  void deletePartition(List<String> partitionKey) {
+    withRows(partitionKey, rows -> {
+      rows.clear();
+      return null;
+    });
+  }
+
+  /**
+   * Runs the function atomically on the rows of the partition.
+   */
+  <T> T withRows(List<String> partitionKey, Function<Map<String, R>, T> function) {
+    return partitions.computeIfAbsent(partitionKey, key -> new Partition<>()).withRows(function);
+  }
+
+  void clear() {
+    partitions.clear();
+  }
+
+  private static class Partition<R> {
+    private final Map<String, R> rows = new TreeMap<>();
+
+    private synchronized <T> T withRows(Function<Map<String, R>, T> function) {
+      return function.apply(rows);
+    }
+  }
+}
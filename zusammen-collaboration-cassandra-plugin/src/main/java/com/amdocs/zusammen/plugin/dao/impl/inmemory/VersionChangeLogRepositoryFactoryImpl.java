@@ -0,0 +1,16 @@
+package com.amdocs.zusammen.plugin.dao.impl.inmemory;
+
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.dao.VersionChangeLogRepository;
+import com.amdocs.zusammen.plugin.dao.VersionChangeLogRepositoryFactory;
+
+public class VersionChangeLogRepositoryFactoryImpl extends VersionChangeLogRepositoryFactory {
+
+  private static final VersionChangeLogRepository INSTANCE =
+      new VersionChangeLogRepositoryImpl();
+
+  @Override
+  public VersionChangeLogRepository createInterface(SessionContext context) {
+    return INSTANCE;
+  }
+}
@@ -0,0 +1,69 @@
+package com.amdocs.zusammen.plugin.dao.impl.inmemory;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.dao.VersionChangeLogRepository;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryRows.VersionChangeLogRow;
+import com.amdocs.zusammen.plugin.dao.types.ChangeLogEntryEntity;
+import com.amdocs.zusammen.plugin.statestore.cassandra.dao.types.ElementEntityContext;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.amdocs.zusammen.plugin.dao.impl.inmemory.ElementRepositoryImpl.getVersionElementsKey;
+
+public class VersionChangeLogRepositoryImpl implements VersionChangeLogRepository {
+
+  private final InMemoryDatabase database;
+
+  public VersionChangeLogRepositoryImpl() {
+    this(InMemoryDatabase.getInstance());
+  }
+
+  public VersionChangeLogRepositoryImpl(InMemoryDatabase database) {
+    this.database = database;
+  }
+
+  @Override
+  public void append(SessionContext context, ElementEntityContext elementContext,
+                     Collection<ChangeLogEntryEntity> entries) {
+    entries.forEach(entry -> database.execute(context).versionChangeLog
+        .upsert(getVersionElementsKey(elementContext),
+            getRowKey(entry.getPublishTime(), entry.getElementId()), row -> {
+              row.elementId = entry.getElementId().getValue();
+              row.revisionId = entry.getRevisionId().getValue();
+              row.publishTime = entry.getPublishTime();
+              row.action = entry.getAction();
+            }));
+  }
+
+  @Override
+  public List<ChangeLogEntryEntity> list(SessionContext context,
+                                         ElementEntityContext elementContext,
+                                         Date fromPublishTime) {
+    return database.execute(context).versionChangeLog
+        .readAll(getVersionElementsKey(elementContext), this::getChangeLogEntryEntity).stream()
+        .filter(entry -> !entry.getPublishTime().before(fromPublishTime))
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public void deleteAll(SessionContext context, ElementEntityContext elementContext) {
+    database.execute(context).versionChangeLog
+        .deletePartition(getVersionElementsKey(elementContext));
+  }
+
+  private ChangeLogEntryEntity getChangeLogEntryEntity(VersionChangeLogRow row) {
+    return new ChangeLogEntryEntity(new Id(row.elementId), new Id(row.revisionId),
+        row.publishTime, row.action);
+  }
+
+  /**
+   * Zero padded, so that the rows are ordered by their publish time.
+   */
+  private static String getRowKey(Date publishTime, Id elementId) {
+    return String.format("%020d/%s", publishTime.getTime(), elementId.getValue());
+  }
+}
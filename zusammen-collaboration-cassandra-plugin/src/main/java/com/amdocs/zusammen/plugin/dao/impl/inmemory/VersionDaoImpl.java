@@ -0,0 +1,109 @@
+package com.amdocs.zusammen.plugin.dao.impl.inmemory;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.dao.VersionDao;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryRows.VersionElementsRow;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryRows.VersionRow;
+import com.amdocs.zusammen.plugin.dao.types.VersionEntity;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryTable.partitionKey;
+
+public class VersionDaoImpl implements VersionDao {
+
+  private final InMemoryDatabase database;
+
+  public VersionDaoImpl() {
+    this(InMemoryDatabase.getInstance());
+  }
+
+  public VersionDaoImpl(InMemoryDatabase database) {
+    this.database = database;
+  }
+
+  @Override
+  public void create(SessionContext context, String space, Id itemId, VersionEntity version) {
+    database.execute(context).version
+        .upsert(getVersionKey(space, itemId), version.getId().getValue(), row -> {
+          row.versionId = version.getId().getValue();
+          row.baseVersionId = version.getBaseId() == null ? null : version.getBaseId().getValue();
+          row.creationTime = version.getCreationTime();
+          row.modificationTime = version.getModificationTime();
+        });
+  }
+
+  @Override
+  public void delete(SessionContext context, String space, Id itemId, Id versionId) {
+    database.execute(context).version.delete(getVersionKey(space, itemId), versionId.getValue());
+  }
+
+  @Override
+  public void updateModificationTime(SessionContext context, String space, Id itemId,
+                                     Id versionId, Date modificationTime) {
+    database.execute(context).version
+        .upsert(getVersionKey(space, itemId), versionId.getValue(), row -> {
+          row.versionId = versionId.getValue();
+          row.modificationTime = modificationTime;
+        });
+  }
+
+  @Override
+  public Collection<VersionEntity> list(SessionContext context, String space, Id itemId) {
+    return database.execute(context).version
+        .readAll(getVersionKey(space, itemId), VersionRow::toVersionEntity);
+  }
+
+  @Override
+  public Optional<VersionEntity> get(SessionContext context, String space, Id itemId,
+                                     Id versionId) {
+    return database.execute(context).version
+        .read(getVersionKey(space, itemId), versionId.getValue(),
+            VersionRow::toVersionEntity);
+  }
+
+  @Override
+  public boolean checkHealth(SessionContext context) {
+    database.execute(context);
+    return true;
+  }
+
+  @Override
+  public void createVersionElements(SessionContext context, String space, Id itemId,
+                                    Id versionId, Id revisionId, Map<Id, Id> versionElementIds,
+                                    Date publishTime, String message) {
+    Map<String, String> elementIds = new HashMap<>();
+    if (versionElementIds != null) {
+      versionElementIds.forEach((elementId, elementRevisionId) ->
+          elementIds.put(elementId.getValue(), elementRevisionId.getValue()));
+    }
+    String user = context.getUser().getUserName();
+
+    // insert - sets the given columns, the other columns of an existing row are kept
+    database.execute(context).versionElements
+        .withRows(partitionKey(space, itemId.getValue(), versionId.getValue()), rows -> {
+          VersionElementsRow row = new VersionElementsRow();
+          VersionElementsRow existingRow = rows.get(revisionId.getValue());
+          if (existingRow != null) {
+            row.stageElementIds = existingRow.stageElementIds;
+            row.conflictElementIds = existingRow.conflictElementIds;
+            row.dirtyElementIds = existingRow.dirtyElementIds;
+          }
+          row.elementIds = elementIds;
+          row.publishTime = publishTime;
+          row.message = message;
+          row.user = user;
+          return rows.put(revisionId.getValue(), row);
+        });
+  }
+
+  static List<String> getVersionKey(String space, Id itemId) {
+    return partitionKey(space, itemId.getValue());
+  }
+}
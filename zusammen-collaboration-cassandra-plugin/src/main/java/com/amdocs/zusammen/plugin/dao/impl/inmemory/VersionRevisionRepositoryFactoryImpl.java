@@ -0,0 +1,16 @@
+package com.amdocs.zusammen.plugin.dao.impl.inmemory;
+
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.dao.VersionRevisionRepository;
+import com.amdocs.zusammen.plugin.dao.VersionRevisionRepositoryFactory;
+
+public class VersionRevisionRepositoryFactoryImpl extends VersionRevisionRepositoryFactory {
+
+  private static final VersionRevisionRepository INSTANCE =
+      new VersionRevisionRepositoryImpl();
+
+  @Override
+  public VersionRevisionRepository createInterface(SessionContext context) {
+    return INSTANCE;
+  }
+}
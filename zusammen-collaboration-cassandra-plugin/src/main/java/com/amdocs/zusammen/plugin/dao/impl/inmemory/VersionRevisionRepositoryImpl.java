@@ -0,0 +1,97 @@
+package com.amdocs.zusammen.plugin.dao.impl.inmemory;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.dao.VersionRevisionRepository;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryRows.VersionRevisionRow;
+import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
+import com.amdocs.zusammen.plugin.dao.types.VersionContext;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryTable.partitionKey;
+
+public class VersionRevisionRepositoryImpl implements VersionRevisionRepository {
+
+  private final InMemoryDatabase database;
+
+  public VersionRevisionRepositoryImpl() {
+    this(InMemoryDatabase.getInstance());
+  }
+
+  public VersionRevisionRepositoryImpl(InMemoryDatabase database) {
+    this.database = database;
+  }
+
+  @Override
+  public void create(SessionContext context, VersionContext versionContext,
+                     SynchronizationStateEntity revision) {
+    database.execute(context).versionRevisions
+        .upsert(getVersionRevisionsKey(versionContext, revision.getId()),
+            getRowKey(revision.getPublishTime(), revision.getRevisionId()), row -> {
+              row.revisionId = revision.getRevisionId().getValue();
+              row.publishTime = revision.getPublishTime();
+              row.user = revision.getUser();
+              row.message = revision.getMessage();
+            });
+  }
+
+  @Override
+  public List<SynchronizationStateEntity> list(SessionContext context,
+                                               VersionContext versionContext, Id versionId,
+                                               Date lastPublishTime, Id lastRevisionId,
+                                               int limit) {
+    return database.execute(context).versionRevisions
+        .readAll(getVersionRevisionsKey(versionContext, versionId),
+            row -> getRevisionEntity(versionId, row)).stream()
+        .filter(revision -> lastPublishTime == null ||
+            revision.getPublishTime().before(lastPublishTime) ||
+            (lastRevisionId != null && revision.getPublishTime().equals(lastPublishTime) &&
+                revision.getRevisionId().getValue().compareTo(lastRevisionId.getValue()) > 0))
+        .limit(limit)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public Optional<SynchronizationStateEntity> get(SessionContext context,
+                                                  VersionContext versionContext, Id versionId,
+                                                  Date publishTime) {
+    return database.execute(context).versionRevisions
+        .readAll(getVersionRevisionsKey(versionContext, versionId),
+            row -> getRevisionEntity(versionId, row)).stream()
+        .filter(revision -> revision.getPublishTime().equals(publishTime))
+        .findFirst();
+  }
+
+  @Override
+  public void deleteAll(SessionContext context, VersionContext versionContext, Id versionId) {
+    database.execute(context).versionRevisions
+        .deletePartition(getVersionRevisionsKey(versionContext, versionId));
+  }
+
+  private SynchronizationStateEntity getRevisionEntity(Id versionId, VersionRevisionRow row) {
+    SynchronizationStateEntity revision =
+        new SynchronizationStateEntity(versionId, new Id(row.revisionId));
+    revision.setPublishTime(row.publishTime);
+    revision.setUser(row.user);
+    revision.setMessage(row.message);
+    return revision;
+  }
+
+  private static List<String> getVersionRevisionsKey(VersionContext versionContext,
+                                                     Id versionId) {
+    return partitionKey(versionContext.getSpace(), versionContext.getItemId().getValue(),
+        versionId.getValue());
+  }
+
+  /**
+   * Zero padded and inverted, so that the rows are ordered from the newest publish time.
+   */
+  private static String getRowKey(Date publishTime, Id revisionId) {
+    return String.format("%020d/%s", Long.MAX_VALUE - publishTime.getTime(),
+        revisionId.getValue());
+  }
+}
@@ -0,0 +1,67 @@
+package com.amdocs.zusammen.plugin.dao.impl.inmemory;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.dao.VersionStageRepository;
+import com.amdocs.zusammen.plugin.dao.types.StageEntity;
+import com.amdocs.zusammen.plugin.dao.types.VersionContext;
+import com.amdocs.zusammen.plugin.dao.types.VersionEntity;
+
+import java.util.Optional;
+
+import static com.amdocs.zusammen.plugin.dao.impl.inmemory.VersionDaoImpl.getVersionKey;
+
+public class VersionStageRepositoryImpl implements VersionStageRepository {
+
+  private final InMemoryDatabase database;
+
+  public VersionStageRepositoryImpl() {
+    this(InMemoryDatabase.getInstance());
+  }
+
+  public VersionStageRepositoryImpl(InMemoryDatabase database) {
+    this.database = database;
+  }
+
+  @Override
+  public Optional<StageEntity<VersionEntity>> get(SessionContext context,
+                                                  VersionContext entityContext,
+                                                  VersionEntity entity) {
+    return database.execute(context).versionStage
+        .read(getVersionKey(entityContext.getSpace(), entityContext.getItemId()),
+            entity.getId().getValue(), row -> {
+              VersionEntity version = new VersionEntity(entity.getId());
+              version.setBaseId(new Id(row.baseVersionId));
+              version.setCreationTime(row.creationTime);
+              version.setModificationTime(row.modificationTime);
+
+              StageEntity<VersionEntity> versionStage =
+                  new StageEntity<>(version, row.publishTime);
+              versionStage.setAction(row.action);
+              return versionStage;
+            });
+  }
+
+  @Override
+  public void create(SessionContext context, VersionContext entityContext,
+                     StageEntity<VersionEntity> stageEntity) {
+    VersionEntity entity = stageEntity.getEntity();
+    database.execute(context).versionStage
+        .upsert(getVersionKey(entityContext.getSpace(), entityContext.getItemId()),
+            entity.getId().getValue(), row -> {
+              row.versionId = entity.getId().getValue();
+              row.baseVersionId = entity.getBaseId() == null ? null : entity.getBaseId().getValue();
+              row.creationTime = entity.getCreationTime();
+              row.modificationTime = entity.getModificationTime();
+              row.publishTime = stageEntity.getPublishTime();
+              row.action = stageEntity.getAction();
+            });
+  }
+
+  @Override
+  public void delete(SessionContext context, VersionContext entityContext, VersionEntity entity) {
+    database.execute(context).versionStage
+        .delete(getVersionKey(entityContext.getSpace(), entityContext.getItemId()),
+            entity.getId().getValue());
+  }
+}
@@ -0,0 +1,17 @@
+package com.amdocs.zusammen.plugin.dao.impl.inmemory;
+
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.dao.VersionSynchronizationStateRepository;
+import com.amdocs.zusammen.plugin.dao.VersionSynchronizationStateRepositoryFactory;
+
+public class VersionSynchronizationStateRepositoryFactoryImpl
+    extends VersionSynchronizationStateRepositoryFactory {
+
+  private static final VersionSynchronizationStateRepository INSTANCE =
+      new VersionSynchronizationStateRepositoryImpl();
+
+  @Override
+  public VersionSynchronizationStateRepository createInterface(SessionContext context) {
+    return INSTANCE;
+  }
+}
@@ -0,0 +1,109 @@
+package com.amdocs.zusammen.plugin.dao.impl.inmemory;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.dao.VersionSynchronizationStateRepository;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryRows.VersionElementsRow;
+import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
+import com.amdocs.zusammen.plugin.dao.types.VersionContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryTable.partitionKey;
+
+public class VersionSynchronizationStateRepositoryImpl
+    implements VersionSynchronizationStateRepository {
+
+  private final InMemoryDatabase database;
+
+  public VersionSynchronizationStateRepositoryImpl() {
+    this(InMemoryDatabase.getInstance());
+  }
+
+  public VersionSynchronizationStateRepositoryImpl(InMemoryDatabase database) {
+    this.database = database;
+  }
+
+  @Override
+  public void create(SessionContext context, VersionContext entityContext,
+                     SynchronizationStateEntity syncStateEntity) {
+    updatePublishTime(context, entityContext, syncStateEntity);
+  }
+
+  @Override
+  public void updatePublishTime(SessionContext context, VersionContext entityContext,
+                                SynchronizationStateEntity syncStateEntity) {
+    database.execute(context).versionElements
+        .upsert(getVersionElementsKey(entityContext, syncStateEntity.getId()),
+            syncStateEntity.getRevisionId().getValue(),
+            row -> row.publishTime = syncStateEntity.getPublishTime());
+  }
+
+  @Override
+  public List<SynchronizationStateEntity> list(SessionContext context, VersionContext entityContext,
+                                               SynchronizationStateEntity syncStateEntity) {
+    return database.execute(context).versionElements
+        .withRows(getVersionElementsKey(entityContext, syncStateEntity.getId()), rows -> {
+          List<SynchronizationStateEntity> syncStates = new ArrayList<>(rows.size());
+          for (Map.Entry<String, VersionElementsRow> revision : rows.entrySet()) {
+            syncStates.add(getRevisionEntity(syncStateEntity.getId(), revision.getKey(),
+                revision.getValue()));
+          }
+          return syncStates;
+        });
+  }
+
+  @Override
+  public Optional<SynchronizationStateEntity> getRevision(SessionContext context,
+                                                          VersionContext entityContext,
+                                                          SynchronizationStateEntity syncStateEntity) {
+    String revisionId = syncStateEntity.getRevisionId().getValue();
+    return database.execute(context).versionElements
+        .read(getVersionElementsKey(entityContext, syncStateEntity.getId()), revisionId,
+            row -> getRevisionEntity(syncStateEntity.getId(), revisionId, row));
+  }
+
+  @Override
+  public void delete(SessionContext context, VersionContext entityContext,
+                     SynchronizationStateEntity syncStateEntity) {
+    database.execute(context).versionElements
+        .deletePartition(getVersionElementsKey(entityContext, syncStateEntity.getId()));
+  }
+
+  @Override
+  public Optional<SynchronizationStateEntity> get(SessionContext context,
+                                                  VersionContext entityContext,
+                                                  SynchronizationStateEntity syncStateEntity) {
+    String revisionId = syncStateEntity.getRevisionId().getValue();
+    return database.execute(context).versionElements
+        .read(getVersionElementsKey(entityContext, syncStateEntity.getId()), revisionId,
+            row -> getSynchronizationStateEntity(syncStateEntity.getId(), revisionId, row));
+  }
+
+  private SynchronizationStateEntity getSynchronizationStateEntity(Id versionId, String revisionId,
+                                                                   VersionElementsRow row) {
+    SynchronizationStateEntity syncStateEntity =
+        new SynchronizationStateEntity(versionId, new Id(revisionId));
+    syncStateEntity.setPublishTime(row.publishTime);
+    syncStateEntity.setDirty(!row.dirtyElementIds.isEmpty());
+    return syncStateEntity;
+  }
+
+  private SynchronizationStateEntity getRevisionEntity(Id versionId, String revisionId,
+                                                       VersionElementsRow row) {
+    SynchronizationStateEntity revision =
+        new SynchronizationStateEntity(versionId, new Id(revisionId));
+    revision.setPublishTime(row.publishTime);
+    revision.setUser(row.user);
+    revision.setMessage(row.message);
+    return revision;
+  }
+
+  private static List<String> getVersionElementsKey(VersionContext entityContext, Id versionId) {
+    return partitionKey(entityContext.getSpace(), entityContext.getItemId().getValue(),
+        versionId.getValue());
+  }
+}
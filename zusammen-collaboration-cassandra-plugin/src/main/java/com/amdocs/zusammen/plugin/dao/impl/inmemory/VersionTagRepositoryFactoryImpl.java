@@ -0,0 +1,16 @@
+package com.amdocs.zusammen.plugin.dao.impl.inmemory;
+
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.dao.VersionTagRepository;
+import com.amdocs.zusammen.plugin.dao.VersionTagRepositoryFactory;
+
+public class VersionTagRepositoryFactoryImpl extends VersionTagRepositoryFactory {
+
+  private static final VersionTagRepository INSTANCE =
+      new VersionTagRepositoryImpl();
+
+  @Override
+  public VersionTagRepository createInterface(SessionContext context) {
+    return INSTANCE;
+  }
+}
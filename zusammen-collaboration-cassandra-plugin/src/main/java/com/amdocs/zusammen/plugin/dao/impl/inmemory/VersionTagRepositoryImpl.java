@@ -0,0 +1,79 @@
+package com.amdocs.zusammen.plugin.dao.impl.inmemory;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.plugin.dao.VersionTagRepository;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryRows.VersionTagRow;
+import com.amdocs.zusammen.plugin.dao.types.TagEntity;
+import com.amdocs.zusammen.plugin.dao.types.VersionContext;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryTable.partitionKey;
+
+public class VersionTagRepositoryImpl implements VersionTagRepository {
+
+  private final InMemoryDatabase database;
+
+  public VersionTagRepositoryImpl() {
+    this(InMemoryDatabase.getInstance());
+  }
+
+  public VersionTagRepositoryImpl(InMemoryDatabase database) {
+    this.database = database;
+  }
+
+  @Override
+  public boolean create(SessionContext context, VersionContext versionContext, Id versionId,
+                        TagEntity tag) {
+    return database.execute(context).versionTags
+        .withRows(getVersionTagsKey(versionContext, versionId), rows -> {
+          if (rows.containsKey(tag.getName())) {
+            return false;
+          }
+          VersionTagRow row = new VersionTagRow();
+          row.tagName = tag.getName();
+          row.revisionId = tag.getRevisionId().getValue();
+          row.description = tag.getDescription();
+          row.creationTime = tag.getCreationTime();
+          row.user = tag.getUser();
+          rows.put(tag.getName(), row);
+          return true;
+        });
+  }
+
+  @Override
+  public Optional<TagEntity> get(SessionContext context, VersionContext versionContext,
+                                 Id versionId, String name) {
+    return database.execute(context).versionTags
+        .read(getVersionTagsKey(versionContext, versionId), name, this::getTagEntity);
+  }
+
+  @Override
+  public Collection<TagEntity> list(SessionContext context, VersionContext versionContext,
+                                    Id versionId) {
+    return database.execute(context).versionTags
+        .readAll(getVersionTagsKey(versionContext, versionId), this::getTagEntity);
+  }
+
+  @Override
+  public void deleteAll(SessionContext context, VersionContext versionContext, Id versionId) {
+    database.execute(context).versionTags
+        .deletePartition(getVersionTagsKey(versionContext, versionId));
+  }
+
+  private TagEntity getTagEntity(VersionTagRow row) {
+    TagEntity tag = new TagEntity(row.tagName, new Id(row.revisionId));
+    tag.setDescription(row.description);
+    tag.setCreationTime(row.creationTime);
+    tag.setUser(row.user);
+    return tag;
+  }
+
+  private static List<String> getVersionTagsKey(VersionContext versionContext, Id versionId) {
+    return partitionKey(versionContext.getSpace(), versionContext.getItemId().getValue(),
+        versionId.getValue());
+  }
+}
@@ -0,0 +1,40 @@
+package com.amdocs.zusammen.plugin.dao.types;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.item.Action;
+
+import java.util.Date;
+
+/**
+ * An entry of a version's public change log: the action done on an element by the publication of
+ * a revision.
+ */
+public class ChangeLogEntryEntity {
+  private Id elementId;
+  private Id revisionId;
+  private Date publishTime;
+  private Action action;
+
+  public ChangeLogEntryEntity(Id elementId, Id revisionId, Date publishTime, Action action) {
+    this.elementId = elementId;
+    this.revisionId = revisionId;
+    this.publishTime = publishTime;
+    this.action = action;
+  }
+
+  public Id getElementId() {
+    return elementId;
+  }
+
+  public Id getRevisionId() {
+    return revisionId;
+  }
+
+  public Date getPublishTime() {
+    return publishTime;
+  }
+
+  public Action getAction() {
+    return action;
+  }
+}
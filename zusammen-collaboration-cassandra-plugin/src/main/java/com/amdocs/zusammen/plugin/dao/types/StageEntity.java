@@ -11,6 +11,7 @@ public class StageEntity<E> {
   private Date publishTime;
   private Action action = Action.IGNORE;
   private boolean conflicted;
+  private boolean local;
   private Set<E> conflictDependents = Collections.emptySet();
 
   // used by sync on stage creation
@@ -50,6 +51,18 @@ public class StageEntity<E> {
     this.conflicted = conflicted;
   }
 
+  /**
+   * A local change is made to the private version itself (e.g. merged from another version) rather
+   * than synced from public, so it is committed as a dirty private change with no publish time.
+   */
+  public boolean isLocal() {
+    return local;
+  }
+
+  public void setLocal(boolean local) {
+    this.local = local;
+  }
+
   public Set<E> getConflictDependents() {
     return conflictDependents;
   }
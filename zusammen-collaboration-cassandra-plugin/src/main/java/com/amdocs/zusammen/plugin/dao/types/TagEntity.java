@@ -0,0 +1,54 @@
+package com.amdocs.zusammen.plugin.dao.types;
+
+import com.amdocs.zusammen.datatypes.Id;
+
+import java.util.Date;
+
+/**
+ * A named pointer of a version to one of its public revisions. Tags are immutable - a tag is
+ * never moved to another revision.
+ */
+public class TagEntity {
+  private String name;
+  private Id revisionId;
+  private String description;
+  private Date creationTime;
+  private String user;
+
+  public TagEntity(String name, Id revisionId) {
+    this.name = name;
+    this.revisionId = revisionId;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public Id getRevisionId() {
+    return revisionId;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  public void setDescription(String description) {
+    this.description = description;
+  }
+
+  public Date getCreationTime() {
+    return creationTime;
+  }
+
+  public void setCreationTime(Date creationTime) {
+    this.creationTime = creationTime;
+  }
+
+  public String getUser() {
+    return user;
+  }
+
+  public void setUser(String user) {
+    this.user = user;
+  }
+}
@@ -40,11 +40,15 @@ import com.amdocs.zusammen.datatypes.response.ReturnCode;
 import com.amdocs.zusammen.datatypes.response.ZusammenException;
 import com.amdocs.zusammen.plugin.ZusammenPluginUtil;
 import com.amdocs.zusammen.plugin.collaboration.CommitStagingService;
+import com.amdocs.zusammen.plugin.collaboration.ConflictResolutionPolicy;
 import com.amdocs.zusammen.plugin.collaboration.DiscardChangesService;
 import com.amdocs.zusammen.plugin.collaboration.ElementPrivateStore;
 import com.amdocs.zusammen.plugin.collaboration.ElementPublicStore;
 import com.amdocs.zusammen.plugin.collaboration.ElementStageStore;
+import com.amdocs.zusammen.plugin.collaboration.ElementUpdateBuffer;
+import com.amdocs.zusammen.plugin.collaboration.MergeService;
 import com.amdocs.zusammen.plugin.collaboration.PublishService;
+import com.amdocs.zusammen.plugin.collaboration.ResetService;
 import com.amdocs.zusammen.plugin.collaboration.RevertService;
 import com.amdocs.zusammen.plugin.collaboration.SyncService;
 import com.amdocs.zusammen.plugin.collaboration.VersionPrivateStore;
@@ -59,6 +63,7 @@ import com.amdocs.zusammen.plugin.collaboration.impl.VersionStageStoreImpl;
 import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
 import com.amdocs.zusammen.plugin.dao.types.StageEntity;
 import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
+import com.amdocs.zusammen.plugin.dao.types.TagEntity;
 import com.amdocs.zusammen.plugin.dao.types.VersionDataElement;
 import com.amdocs.zusammen.plugin.dao.types.VersionEntity;
 import com.amdocs.zusammen.sdk.collaboration.CollaborationStore;
@@ -74,6 +79,7 @@ import com.amdocs.zusammen.sdk.types.ElementDescriptor;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -81,32 +87,76 @@ import static com.amdocs.zusammen.datatypes.item.SynchronizationStatus.MERGING;
 import static com.amdocs.zusammen.datatypes.item.SynchronizationStatus.OUT_OF_SYNC;
 import static com.amdocs.zusammen.datatypes.item.SynchronizationStatus.UP_TO_DATE;
 import static com.amdocs.zusammen.plugin.ZusammenPluginConstants.ROOT_ELEMENTS_PARENT_ID;
+import static com.amdocs.zusammen.plugin.metrics.PluginInstrumentation.measure;
 
 public class CassandraCollaborationStorePluginImpl implements CollaborationStore {
-  // TODO: 8/15/2017 inject
-  private VersionPrivateStore versionPrivateStore = new VersionPrivateStoreImpl();
-  private VersionPublicStore versionPublicStore = new VersionPublicStoreImpl();
-  private VersionStageStore versionStageStore = new VersionStageStoreImpl();
-
-  private ElementPrivateStore elementPrivateStore = new ElementPrivateStoreImpl();
-  private ElementPublicStore elementPublicStore = new ElementPublicStoreImpl();
-  private ElementStageStore elementStageStore = new ElementStageStoreImpl();
-
-  // TODO: 9/4/2017
-  private PublishService publishService =
-      new PublishService(versionPublicStore, versionPrivateStore, elementPublicStore,
-          elementPrivateStore);
-  private DiscardChangesService discardChangesService =
-      new DiscardChangesService(versionPublicStore, versionPrivateStore, elementPublicStore,
-          elementPrivateStore, elementStageStore);
-  private SyncService syncService =
-      new SyncService(versionPublicStore, versionPrivateStore, versionStageStore,
-          elementPublicStore, elementPrivateStore, elementStageStore);
-  private CommitStagingService commitStagingService =
-      new CommitStagingService(versionPrivateStore, versionStageStore, elementPrivateStore,
-          elementStageStore);
-  private RevertService revertService =
-      new RevertService(elementPublicStore, elementPrivateStore);
+  private final VersionPrivateStore versionPrivateStore;
+  private final VersionPublicStore versionPublicStore;
+  private final VersionStageStore versionStageStore;
+
+  private final ElementPrivateStore elementPrivateStore;
+  private final ElementPublicStore elementPublicStore;
+  private final ElementStageStore elementStageStore;
+  private final ElementUpdateBuffer elementUpdateBuffer;
+
+  private final PublishService publishService;
+  private final DiscardChangesService discardChangesService;
+  private final SyncService syncService;
+  private final CommitStagingService commitStagingService;
+  private final RevertService revertService;
+  private final ResetService resetService;
+  private final MergeService mergeService;
+
+  public CassandraCollaborationStorePluginImpl() {
+    this(new VersionPrivateStoreImpl(), new VersionPublicStoreImpl(), new VersionStageStoreImpl(),
+        new ElementPrivateStoreImpl(), new ElementPublicStoreImpl(), new ElementStageStoreImpl(),
+        ElementUpdateBuffer.getInstance());
+  }
+
+  /**
+   * Creates the plugin over the given stores (e.g. stores over other DAO implementations).
+   * Element updates are written through.
+   */
+  public CassandraCollaborationStorePluginImpl(VersionPrivateStore versionPrivateStore,
+                                               VersionPublicStore versionPublicStore,
+                                               VersionStageStore versionStageStore,
+                                               ElementPrivateStore elementPrivateStore,
+                                               ElementPublicStore elementPublicStore,
+                                               ElementStageStore elementStageStore) {
+    this(versionPrivateStore, versionPublicStore, versionStageStore, elementPrivateStore,
+        elementPublicStore, elementStageStore,
+        new ElementUpdateBuffer(elementPrivateStore, 0, false));
+  }
+
+  private CassandraCollaborationStorePluginImpl(VersionPrivateStore versionPrivateStore,
+                                                VersionPublicStore versionPublicStore,
+                                                VersionStageStore versionStageStore,
+                                                ElementPrivateStore elementPrivateStore,
+                                                ElementPublicStore elementPublicStore,
+                                                ElementStageStore elementStageStore,
+                                                ElementUpdateBuffer elementUpdateBuffer) {
+    this.versionPrivateStore = versionPrivateStore;
+    this.versionPublicStore = versionPublicStore;
+    this.versionStageStore = versionStageStore;
+    this.elementPrivateStore = elementPrivateStore;
+    this.elementPublicStore = elementPublicStore;
+    this.elementStageStore = elementStageStore;
+    this.elementUpdateBuffer = elementUpdateBuffer;
+
+    publishService = new PublishService(versionPublicStore, versionPrivateStore,
+        elementPublicStore, elementPrivateStore);
+    discardChangesService = new DiscardChangesService(versionPublicStore, versionPrivateStore,
+        elementPublicStore, elementPrivateStore, elementStageStore);
+    syncService = new SyncService(versionPublicStore, versionPrivateStore, versionStageStore,
+        elementPublicStore, elementPrivateStore, elementStageStore);
+    commitStagingService = new CommitStagingService(versionPrivateStore, versionStageStore,
+        elementPrivateStore, elementStageStore);
+    revertService = new RevertService(elementPublicStore, elementPrivateStore);
+    resetService = new ResetService(versionPublicStore, versionPrivateStore, versionStageStore,
+        elementPublicStore, elementPrivateStore, elementStageStore);
+    mergeService = new MergeService(versionPublicStore, versionPrivateStore, elementPublicStore,
+        elementPrivateStore, elementStageStore);
+  }
 
   @Override
   public Response<Void> createItem(SessionContext context, Id itemId, Info info) {
@@ -116,192 +166,301 @@ public class CassandraCollaborationStorePluginImpl implements CollaborationStore
 
   @Override
   public Response<Void> deleteItem(SessionContext context, Id itemId) {
-    versionPrivateStore.list(context, itemId)
-        .forEach(version -> deleteItemVersion(context, itemId, version.getId()));
-
-    versionPublicStore.list(context, itemId)
-        .forEach(version -> {
-          elementPublicStore.cleanAll(context, new ElementContext(itemId, version.getId()));
-          versionPublicStore.delete(context, itemId, version);
-        });
-
-    // delete item done by state store
-    return new Response(Void.TYPE);
+    return measure("CollaborationStore.deleteItem", () -> {
+      versionPrivateStore.list(context, itemId)
+          .forEach(version -> deleteItemVersion(context, itemId, version.getId()));
+
+      versionPublicStore.list(context, itemId)
+          .forEach(version -> {
+            elementPublicStore.cleanAll(context, new ElementContext(itemId, version.getId()));
+            versionPublicStore.delete(context, itemId, version);
+          });
+
+      // delete item done by state store
+      return new Response(Void.TYPE);
+    });
   }
 
   @Override
   public Response<Void> createItemVersion(SessionContext context, Id itemId, Id baseVersionId,
                                           Id versionId, ItemVersionData itemVersionData) {
-    Date creationTime = new Date();
-    versionPrivateStore.create(context, itemId,
-        ZusammenPluginUtil
-            .convertToVersionEntity(versionId, baseVersionId, creationTime, creationTime));
+    return measure("CollaborationStore.createItemVersion", () -> {
+      Date creationTime = new Date();
+      versionPrivateStore.create(context, itemId,
+          ZusammenPluginUtil
+              .convertToVersionEntity(versionId, baseVersionId, creationTime, creationTime));
 
-    ElementContext elementContext = new ElementContext(itemId, versionId);
-    VersionDataElement versionData = new VersionDataElement(itemVersionData);
+      ElementContext elementContext = new ElementContext(itemId, versionId);
+      VersionDataElement versionData = new VersionDataElement(itemVersionData);
 
-    if (baseVersionId == null) {
-      elementPrivateStore.create(context, elementContext, versionData);
-    } else {
-      copyElements(context, new ElementContext(itemId, baseVersionId), elementContext);
-      elementPrivateStore.update(context, elementContext, versionData);
-    }
+      if (baseVersionId == null) {
+        elementPrivateStore.create(context, elementContext, versionData);
+      } else {
+        elementUpdateBuffer.flush(context, itemId, baseVersionId);
+        copyElements(context, new ElementContext(itemId, baseVersionId), elementContext);
+        elementPrivateStore.update(context, elementContext, versionData);
+      }
 
-    return new Response(Void.TYPE);
+      return new Response(Void.TYPE);
+    });
   }
 
   @Override
   public Response<Void> updateItemVersion(SessionContext context, Id itemId, Id versionId,
                                           ItemVersionData itemVersionData) {
+    return measure("CollaborationStore.updateItemVersion", () -> {
 
-    if (elementPrivateStore.update(context, new ElementContext(itemId, versionId),
-        new VersionDataElement(itemVersionData))) {
+      if (elementPrivateStore.update(context, new ElementContext(itemId, versionId),
+          new VersionDataElement(itemVersionData))) {
 
-      VersionEntity version = new VersionEntity(versionId);
-      version.setModificationTime(new Date());
-      versionPrivateStore.update(context, itemId, version);
-    }
+        VersionEntity version = new VersionEntity(versionId);
+        version.setModificationTime(new Date());
+        versionPrivateStore.update(context, itemId, version);
+      }
 
-    return new Response(Void.TYPE);
+      return new Response(Void.TYPE);
+    });
   }
 
   @Override
   public Response<Void> deleteItemVersion(SessionContext context, Id itemId, Id versionId) {
-    ElementContext elementContext = new ElementContext(itemId, versionId);
-    VersionEntity version = new VersionEntity(versionId);
+    return measure("CollaborationStore.deleteItemVersion", () -> {
+      ElementContext elementContext = new ElementContext(itemId, versionId);
+      VersionEntity version = new VersionEntity(versionId);
 
-    elementStageStore.deleteAll(context, elementContext);
-    versionStageStore.delete(context, itemId, version);
+      elementUpdateBuffer.discard(context, itemId, versionId);
+      elementStageStore.deleteAll(context, elementContext);
+      versionStageStore.delete(context, itemId, version);
 
-    elementPrivateStore.cleanAll(context, elementContext);
-    versionPrivateStore.delete(context, itemId, version);
-    return new Response(Void.TYPE);
+      elementPrivateStore.cleanAll(context, elementContext);
+      versionPrivateStore.delete(context, itemId, version);
+      return new Response(Void.TYPE);
+    });
   }
 
   @Override
   public Response<ItemVersionStatus> getItemVersionStatus(SessionContext context, Id itemId,
                                                           Id versionId) {
-    if (versionStageStore.get(context, itemId, new VersionEntity(versionId)).isPresent()) {
-      return new Response<>(new ItemVersionStatus(MERGING, true));
-    }
+    return measure("CollaborationStore.getItemVersionStatus", () -> {
+      elementUpdateBuffer.flush(context, itemId, versionId);
+      if (versionStageStore.get(context, itemId, new VersionEntity(versionId)).isPresent()) {
+        return new Response<>(new ItemVersionStatus(MERGING, true));
+      }
 
-    Optional<SynchronizationStateEntity> publicSyncState =
-        versionPublicStore.getSynchronizationState(context, itemId, versionId, null);
+      Optional<SynchronizationStateEntity> publicSyncState =
+          versionPublicStore.getSynchronizationState(context, itemId, versionId, null);
 
-    if (!publicSyncState.isPresent()) {
-      return new Response<>(new ItemVersionStatus(UP_TO_DATE, true));
-    }
+      if (!publicSyncState.isPresent()) {
+        return new Response<>(new ItemVersionStatus(UP_TO_DATE, true));
+      }
 
-    SynchronizationStateEntity privateSyncState =
-        versionPrivateStore.getSynchronizationState(context, itemId, versionId)
-            // TODO: 7/18/2017 ?
-            .orElseThrow(() -> new IllegalStateException("private version must exist"));
+      SynchronizationStateEntity privateSyncState =
+          versionPrivateStore.getSynchronizationState(context, itemId, versionId)
+              // TODO: 7/18/2017 ?
+              .orElseThrow(() -> new IllegalStateException("private version must exist"));
 
-    return new Response<>(new ItemVersionStatus(
-        privateSyncState.getPublishTime().equals(publicSyncState.get().getPublishTime())
-            ? UP_TO_DATE
-            : OUT_OF_SYNC,
-        privateSyncState.isDirty()));
+      return new Response<>(new ItemVersionStatus(
+          privateSyncState.getPublishTime().equals(publicSyncState.get().getPublishTime())
+              ? UP_TO_DATE
+              : OUT_OF_SYNC,
+          privateSyncState.isDirty()));
+    });
   }
 
   @Override
   public Response<Void> tagItemVersion(SessionContext context, Id itemId, Id versionId,
                                        Id revisionId,
                                        Tag tag) {
-   /* if (revisionId != null) {
-      throw new UnsupportedOperationException(
-          "In this plugin implementation tag is supported only on versionId");
-    }
+    // a tag only points to a public revision, which is immutable - no elements are copied
+    return measure("CollaborationStore.tagItemVersion", () -> {
+      if (!versionPublicStore.isTaggingEnabled()) {
+        return new Response(Void.TYPE); // tags are not stored
+      }
+      Optional<SynchronizationStateEntity> revision = revisionId == null
+          ? versionPublicStore.getSynchronizationState(context, itemId, versionId, null)
+          : versionPublicStore.getRevision(context, itemId, versionId, revisionId);
+      if (!revision.isPresent()) {
+        throw new IllegalArgumentException(String
+            .format("Item %s, version %s: Cannot tag revision %s since it is not found",
+                itemId, versionId, revisionId));
+      }
 
-    copyElements(context,
-        new ElementContext(itemId, versionId),
-        new ElementContext(itemId, versionId, tag.getName()));*/
+      TagEntity tagEntity = new TagEntity(tag.getName(), revision.get().getRevisionId());
+      tagEntity.setDescription(tag.getDescription());
+      tagEntity.setCreationTime(new Date());
+      tagEntity.setUser(context.getUser().getUserName());
+      if (!versionPublicStore.createTag(context, itemId, versionId, tagEntity)) {
+        Id taggedRevisionId = versionPublicStore.getTag(context, itemId, versionId, tag.getName())
+            .map(TagEntity::getRevisionId)
+            .orElse(null);
+        if (!tagEntity.getRevisionId().equals(taggedRevisionId)) {
+          throw new IllegalStateException(String
+              .format("Item %s, version %s: Tag %s already exists on revision %s",
+                  itemId, versionId, tag.getName(), taggedRevisionId));
+        }
+      }
+      return new Response(Void.TYPE);
+    });
+  }
 
-    return new Response(Void.TYPE);
+  /**
+   * Returns the revision the tag points to, so that the tagged content can be read by it as by any
+   * other public revision.
+   */
+  public Response<Revision> getItemVersionTagRevision(SessionContext context, Id itemId,
+                                                      Id versionId, String tagName) {
+    return measure("CollaborationStore.getItemVersionTagRevision", () -> {
+      return new Response<>(versionPublicStore.getTag(context, itemId, versionId, tagName)
+          .flatMap(tag ->
+              versionPublicStore.getRevision(context, itemId, versionId, tag.getRevisionId()))
+          .map(this::convertSyncStateToRevision)
+          .orElse(null));
+    });
   }
 
   @Override
   public Response<CollaborationPublishResult> publishItemVersion(SessionContext context,
                                                                  Id itemId, Id versionId,
                                                                  String message) {
-    try {
-      return new Response<>(publishService.publish(context, itemId, versionId, message));
-    } catch (ZusammenException ze) {
-      return new Response<>(
-          new ReturnCode(ErrorCode.CL_ITEM_VERSION_PUBLISH, Module.ZCSP, null, ze.getReturnCode()));
-    }
+    return measure("CollaborationStore.publishItemVersion", () -> {
+      elementUpdateBuffer.flush(context, itemId, versionId);
+      try {
+        return new Response<>(publishService.publish(context, itemId, versionId, message));
+      } catch (ZusammenException ze) {
+        return new Response<>(
+            new ReturnCode(ErrorCode.CL_ITEM_VERSION_PUBLISH, Module.ZCSP, null,
+                ze.getReturnCode()));
+      }
+    });
   }
 
   @Override
   public Response<CollaborationMergeResult> syncItemVersion(SessionContext context, Id itemId,
                                                             Id versionId) {
-    CollaborationMergeResult result = syncService.sync(context, itemId, versionId);
-    commitStagingService.commitStaging(context, itemId, versionId);
+    return measure("CollaborationStore.syncItemVersion", () -> {
+      elementUpdateBuffer.flush(context, itemId, versionId);
+      CollaborationMergeResult result = syncService.sync(context, itemId, versionId);
+      commitStagingService.commitStaging(context, itemId, versionId);
 
-    return new Response<>(result);
+      return new Response<>(result);
+    });
   }
 
   @Override
   public Response<CollaborationMergeResult> forceSyncItemVersion(SessionContext context, Id itemId,
                                                                  Id versionId) {
-    discardItemVersionChanges(context, itemId, versionId);
-    return syncItemVersion(context, itemId, versionId);
+    return measure("CollaborationStore.forceSyncItemVersion", () -> {
+      elementUpdateBuffer.flush(context, itemId, versionId);
+      discardItemVersionChanges(context, itemId, versionId);
+      return syncItemVersion(context, itemId, versionId);
+    });
   }
 
   @Override
   public Response<CollaborationMergeResult> mergeItemVersion(SessionContext context, Id itemId,
                                                              Id versionId, Id sourceVersionId) {
-    throw new UnsupportedOperationException("mergeItemVersion");
+    return measure("CollaborationStore.mergeItemVersion", () -> {
+      elementUpdateBuffer.flush(context, itemId, versionId);
+      elementUpdateBuffer.flush(context, itemId, sourceVersionId);
+      CollaborationMergeResult result =
+          mergeService.merge(context, itemId, versionId, sourceVersionId);
+      commitStagingService.commitStaging(context, itemId, versionId);
+
+      return new Response<>(result);
+    });
   }
 
   @Override
   public Response<CollaborationItemVersionConflict> getItemVersionConflict(SessionContext context,
                                                                            Id itemId,
                                                                            Id versionId) {
-    ElementContext elementContext = new ElementContext(itemId, versionId, Id.ZERO);
-
-    Collection<StageEntity<ElementEntity>> conflictedStagedElementDescriptors =
-        elementStageStore.listConflictedDescriptors(context, elementContext);
-
-    CollaborationItemVersionConflict result = new CollaborationItemVersionConflict();
-    for (StageEntity<ElementEntity> stagedElementDescriptor : conflictedStagedElementDescriptors) {
-      if (ROOT_ELEMENTS_PARENT_ID.equals(stagedElementDescriptor.getEntity().getId())) {
-        result.setVersionDataConflict(
-            getVersionDataConflict(context, elementContext, stagedElementDescriptor));
-      } else {
-        result.getElementConflictDescriptors()
-            .add(getElementConflictDescriptor(context, elementContext, stagedElementDescriptor));
+    return measure("CollaborationStore.getItemVersionConflict", () -> {
+      elementUpdateBuffer.flush(context, itemId, versionId);
+      ElementContext elementContext = new ElementContext(itemId, versionId, Id.ZERO);
+
+      Collection<StageEntity<ElementEntity>> conflictedStagedElementDescriptors =
+          elementStageStore.listConflictedDescriptors(context, elementContext);
+      // the local side of all the updated conflicts is fetched at once
+      Map<Id, ElementEntity> privateElementDescriptors =
+          elementPrivateStore.getDescriptors(context, elementContext,
+              conflictedStagedElementDescriptors.stream()
+                  .filter(stagedElementDescriptor ->
+                      stagedElementDescriptor.getAction() == Action.UPDATE)
+                  .map(stagedElementDescriptor -> stagedElementDescriptor.getEntity().getId())
+                  .collect(Collectors.toList()));
+
+      CollaborationItemVersionConflict result = new CollaborationItemVersionConflict();
+      for (StageEntity<ElementEntity> stagedElementDescriptor
+          : conflictedStagedElementDescriptors) {
+        if (ROOT_ELEMENTS_PARENT_ID.equals(stagedElementDescriptor.getEntity().getId())) {
+          result.setVersionDataConflict(
+              getVersionDataConflict(stagedElementDescriptor, privateElementDescriptors));
+        } else {
+          result.getElementConflictDescriptors().add(getElementConflictDescriptor(elementContext,
+              stagedElementDescriptor, privateElementDescriptors));
+        }
       }
-    }
-    return new Response<>(result);
+      return new Response<>(result);
+    });
   }
 
   @Override
   public Response<ItemVersionRevisions> listItemVersionRevisions(SessionContext context, Id itemId,
                                                                  Id versionId) {
-    List<SynchronizationStateEntity> syncStates =
-        versionPublicStore.listSynchronizationStates(context, itemId, versionId);
+    return measure("CollaborationStore.listItemVersionRevisions", () -> {
+      List<SynchronizationStateEntity> syncStates =
+          versionPublicStore.listSynchronizationStates(context, itemId, versionId);
 
-    ItemVersionRevisions itemVersionRevisions = new ItemVersionRevisions();
-    syncStates.forEach(
-        syncState -> itemVersionRevisions.addChange(convertSyncStateToRevision(syncState)));
+      ItemVersionRevisions itemVersionRevisions = new ItemVersionRevisions();
+      syncStates.forEach(
+          syncState -> itemVersionRevisions.addChange(convertSyncStateToRevision(syncState)));
 
-    return new Response<>(itemVersionRevisions);
+      return new Response<>(itemVersionRevisions);
+    });
+  }
+
+  /**
+   * Lists a page of the version revisions, from the newest to the oldest.
+   *
+   * @param lastPublishTime the time of the last revision of the previous page, null for the first
+   *                        page
+   * @param lastRevisionId  the id of the last revision of the previous page, null for the first
+   *                        page
+   * @param limit           the maximal number of revisions in the page
+   */
+  public Response<ItemVersionRevisions> listItemVersionRevisions(SessionContext context, Id itemId,
+                                                                 Id versionId,
+                                                                 Date lastPublishTime,
+                                                                 Id lastRevisionId, int limit) {
+    return measure("CollaborationStore.listItemVersionRevisions", () -> {
+      ItemVersionRevisions itemVersionRevisions = new ItemVersionRevisions();
+      versionPublicStore
+          .listRevisions(context, itemId, versionId, lastPublishTime, lastRevisionId, limit)
+          .forEach(revision -> itemVersionRevisions.addChange(convertSyncStateToRevision(revision)));
+      return new Response<>(itemVersionRevisions);
+    });
   }
 
   @Override
   public Response<Revision> getItemVersionRevision(SessionContext context, Id itemId, Id versionId,
                                                    Id revisionId) {
-    throw new UnsupportedOperationException(
-        "get revision is not supported in the current cassandra plugin");
+    return measure("CollaborationStore.getItemVersionRevision", () -> {
+      return new Response<>(
+          versionPublicStore.getRevision(context, itemId, versionId, revisionId)
+              .map(this::convertSyncStateToRevision)
+              .orElse(null));
+    });
   }
 
   @Override
   public Response<CollaborationMergeChange> resetItemVersionRevision(SessionContext context,
                                                                      Id itemId, Id versionId,
                                                                      Id revisionId) {
-    throw new UnsupportedOperationException("resetItemVersionRevision function not supported");
-
+    return measure("CollaborationStore.resetItemVersionRevision", () -> {
+      elementUpdateBuffer.flush(context, itemId, versionId);
+      resetService.reset(context, itemId, versionId, revisionId);
+      return new Response<>(new CollaborationMergeChange());
+    });
   }
 
   /**
@@ -313,20 +472,22 @@ public class CassandraCollaborationStorePluginImpl implements CollaborationStore
   public Response<CollaborationMergeChange> revertItemVersionRevision(SessionContext context,
                                                                       Id itemId, Id versionId,
                                                                       Id revisionId) {
-    Optional<ItemVersion> itemVersion = getItemVersion(context, itemId, versionId, revisionId);
-    if (!itemVersion.isPresent()) {
-      throw new IllegalArgumentException(String
-          .format("Item %s, version %s: Cannot revert to revision %s since it is not found", itemId,
-              versionId, revisionId));
-    }
+    return measure("CollaborationStore.revertItemVersionRevision", () -> {
+      Optional<ItemVersion> itemVersion = getItemVersion(context, itemId, versionId, revisionId);
+      if (!itemVersion.isPresent()) {
+        throw new IllegalArgumentException(String
+            .format("Item %s, version %s: Cannot revert to revision %s since it is not found",
+                itemId, versionId, revisionId));
+      }
 
-    // TODO: 12/4/2017 force sync is done in order to clear dirty element on private
-    // this is temp solution that should be fixed.
-    forceSyncItemVersion(context, itemId, versionId);
+      // TODO: 12/4/2017 force sync is done in order to clear dirty element on private
+      // this is temp solution that should be fixed.
+      forceSyncItemVersion(context, itemId, versionId);
 
-    revertService.revert(context, itemId, versionId, revisionId);
+      revertService.revert(context, itemId, versionId, revisionId);
 
-    return new Response<>(new CollaborationMergeChange());
+      return new Response<>(new CollaborationMergeChange());
+    });
   }
 
   @Override
@@ -340,20 +501,27 @@ public class CassandraCollaborationStorePluginImpl implements CollaborationStore
                                                                  ElementContext elementContext,
                                                                  Namespace namespace,
                                                                  Id elementId) {
-    return new Response<>(elementPrivateStore.listSubs(context, elementContext, elementId).stream()
-        .map(elementEntity -> ZusammenPluginUtil
-            .convertToCollaborationElement(elementContext, elementEntity))
-        .collect(Collectors.toList()));
+    return measure("CollaborationStore.listElements", () -> {
+      flushElementUpdates(context, elementContext);
+      return new Response<>(elementPrivateStore.listSubs(context, elementContext, elementId)
+          .stream()
+          .map(elementEntity -> ZusammenPluginUtil
+              .convertToCollaborationElement(elementContext, elementEntity))
+          .collect(Collectors.toList()));
+    });
   }
 
   @Override
   public Response<CollaborationElement> getElement(SessionContext context,
                                                    ElementContext elementContext,
                                                    Namespace namespace, Id elementId) {
-    return new Response<>(elementPrivateStore.get(context, elementContext, elementId)
-        .map(elementEntity -> ZusammenPluginUtil
-            .convertToCollaborationElement(elementContext, elementEntity))
-        .orElse(null));
+    return measure("CollaborationStore.getElement", () -> {
+      flushElementUpdates(context, elementContext);
+      return new Response<>(elementPrivateStore.get(context, elementContext, elementId)
+          .map(elementEntity -> ZusammenPluginUtil
+              .convertToCollaborationElement(elementContext, elementEntity))
+          .orElse(null));
+    });
   }
 
   @Override
@@ -361,66 +529,111 @@ public class CassandraCollaborationStorePluginImpl implements CollaborationStore
                                                                    ElementContext elementContext,
                                                                    Namespace namespace,
                                                                    Id elementId) {
-    Optional<StageEntity<ElementEntity>> conflictedStagedElement =
-        elementStageStore
-            .getConflicted(context, elementContext, new ElementEntity(elementId));
-
-    return new Response<>(conflictedStagedElement
-        .map(stagedElement -> getElementConflict(context, elementContext, stagedElement))
-        .orElse(null));
+    return measure("CollaborationStore.getElementConflict", () -> {
+      flushElementUpdates(context, elementContext);
+      Optional<StageEntity<ElementEntity>> conflictedStagedElement =
+          elementStageStore
+              .getConflicted(context, elementContext, new ElementEntity(elementId));
+
+      return new Response<>(conflictedStagedElement
+          .map(stagedElement -> getElementConflict(context, elementContext, stagedElement))
+          .orElse(null));
+    });
   }
 
   @Override
   public Response<Void> createElement(SessionContext context, CollaborationElement element) {
-    elementPrivateStore.create(context,
-        new ElementContext(element.getItemId(), element.getVersionId()),
-        ZusammenPluginUtil.convertToElementEntity(element));
-    return new Response(Void.TYPE);
+    return measure("CollaborationStore.createElement", () -> {
+      elementPrivateStore.create(context,
+          new ElementContext(element.getItemId(), element.getVersionId()),
+          ZusammenPluginUtil.convertToElementEntity(element));
+      return new Response(Void.TYPE);
+    });
   }
 
   @Override
   public Response<Void> updateElement(SessionContext context, CollaborationElement element) {
-    elementPrivateStore.update(context,
-        new ElementContext(element.getItemId(), element.getVersionId()),
-        ZusammenPluginUtil.convertToElementEntity(element));
-    return new Response(Void.TYPE);
+    return measure("CollaborationStore.updateElement", () -> {
+      elementUpdateBuffer.update(context,
+          new ElementContext(element.getItemId(), element.getVersionId()),
+          ZusammenPluginUtil.convertToElementEntity(element));
+      return new Response(Void.TYPE);
+    });
   }
 
   @Override
   public Response<Void> deleteElement(SessionContext context, CollaborationElement element) {
-    elementPrivateStore
-        .delete(context, new ElementContext(element.getItemId(), element.getVersionId()),
-            ZusammenPluginUtil.convertToElementEntity(element));
-
-    return new Response(Void.TYPE);
+    return measure("CollaborationStore.deleteElement", () -> {
+      // pending updates of the deleted hierarchy must not be written after the deletion
+      elementUpdateBuffer.flush(context, element.getItemId(), element.getVersionId());
+      elementPrivateStore
+          .delete(context, new ElementContext(element.getItemId(), element.getVersionId()),
+              ZusammenPluginUtil.convertToElementEntity(element));
+
+      return new Response(Void.TYPE);
+    });
   }
 
   @Override
   public Response<CollaborationMergeResult> resolveElementConflict(SessionContext context,
                                                                    CollaborationElement element,
                                                                    Resolution resolution) {
-    ElementContext elementContext = new ElementContext(element.getItemId(), element.getVersionId());
-    elementStageStore
-        .resolveConflict(context, elementContext,
-            ZusammenPluginUtil.convertToElementEntity(element), resolution);
-    commitStagingService.commitStaging(context, element.getItemId(), element.getVersionId());
+    return measure("CollaborationStore.resolveElementConflict", () -> {
+      ElementContext elementContext =
+          new ElementContext(element.getItemId(), element.getVersionId());
+      elementUpdateBuffer.flush(context, element.getItemId(), element.getVersionId());
+      elementStageStore
+          .resolveConflict(context, elementContext,
+              ZusammenPluginUtil.convertToElementEntity(element), resolution);
+      commitStagingService.commitStaging(context, element.getItemId(), element.getVersionId());
+
+      return new Response<>(new CollaborationMergeResult());
+    });
+  }
 
-    return new Response<>(new CollaborationMergeResult());
+  /**
+   * Resolves the conflicts of an item version chosen by the policy, as
+   * {@link #resolveElementConflict} does for a single element, committing the staging once at
+   * the end.
+   */
+  public Response<CollaborationMergeResult> resolveElementConflicts(SessionContext context,
+                                                                    Id itemId, Id versionId,
+                                                                    ConflictResolutionPolicy resolutionPolicy) {
+    return measure("CollaborationStore.resolveElementConflicts", () -> {
+      elementUpdateBuffer.flush(context, itemId, versionId);
+      elementStageStore
+          .resolveConflicts(context, new ElementContext(itemId, versionId), resolutionPolicy);
+      commitStagingService.commitStaging(context, itemId, versionId);
+
+      return new Response<>(new CollaborationMergeResult());
+    });
   }
 
   @Override
   public Response<ItemVersion> getItemVersion(SessionContext context, Space space, Id itemId,
                                               Id versionId, Id revisionId) {
-    return new Response<>(getItemVersion(context, itemId, versionId, revisionId).orElse(null));
+    return measure("CollaborationStore.getItemVersion", () -> {
+      return new Response<>(getItemVersion(context, itemId, versionId, revisionId).orElse(null));
+    });
   }
 
   @Override
   public Response<HealthInfo> checkHealth(SessionContext context) {
-    HealthInfo healthInfo = versionPublicStore.checkHealth(context)
-        ? new HealthInfo(Module.ZCSP.getDescription(), HealthStatus.UP, "")
-        : new HealthInfo(Module.ZCSP.getDescription(), HealthStatus.DOWN, "No Schema Available");
+    return measure("CollaborationStore.checkHealth", () -> {
+      HealthInfo healthInfo = versionPublicStore.checkHealth(context)
+          ? new HealthInfo(Module.ZCSP.getDescription(), HealthStatus.UP, "")
+          : new HealthInfo(Module.ZCSP.getDescription(), HealthStatus.DOWN, "No Schema Available");
 
-    return new Response<>(healthInfo);
+      return new Response<>(healthInfo);
+    });
+  }
+
+  private void flushElementUpdates(SessionContext context, ElementContext elementContext) {
+    // only private elements (no revision) are buffered
+    if (elementContext.getRevisionId() == null || Id.ZERO.equals(elementContext.getRevisionId())) {
+      elementUpdateBuffer
+          .flush(context, elementContext.getItemId(), elementContext.getVersionId());
+    }
   }
 
   private void discardItemVersionChanges(SessionContext context, Id itemId, Id versionId) {
@@ -463,29 +676,27 @@ public class CassandraCollaborationStorePluginImpl implements CollaborationStore
     });
   }
 
-  private ItemVersionDataConflict getVersionDataConflict(SessionContext context,
-                                                         ElementContext elementContext,
-                                                         StageEntity<ElementEntity> stagedElementDescriptor) {
+  private ItemVersionDataConflict getVersionDataConflict(
+      StageEntity<ElementEntity> stagedElementDescriptor,
+      Map<Id, ElementEntity> privateElementDescriptors) {
     ItemVersionDataConflict versionConflict = new ItemVersionDataConflict();
     versionConflict.setRemoteData(
         ZusammenPluginUtil.convertToVersionData(stagedElementDescriptor.getEntity()));
     if (stagedElementDescriptor.getAction() == Action.UPDATE) {
-      versionConflict.setLocalData(getPrivateVersionData(context, elementContext));
+      versionConflict.setLocalData(getPrivateVersionData(privateElementDescriptors));
     }
     return versionConflict;
   }
 
-  private ItemVersionData getPrivateVersionData(SessionContext context,
-                                                ElementContext elementContext) {
-    return elementPrivateStore
-        .getDescriptor(context, elementContext, ROOT_ELEMENTS_PARENT_ID)
+  private ItemVersionData getPrivateVersionData(Map<Id, ElementEntity> privateElementDescriptors) {
+    return Optional.ofNullable(privateElementDescriptors.get(ROOT_ELEMENTS_PARENT_ID))
         .map(ZusammenPluginUtil::convertToVersionData)
         .orElseThrow(() -> new IllegalStateException("Version must have data"));
   }
 
-  private ElementConflictDescriptor getElementConflictDescriptor(SessionContext context,
-                                                                 ElementContext elementContext,
-                                                                 StageEntity<ElementEntity> stagedElementDescriptor) {
+  private ElementConflictDescriptor getElementConflictDescriptor(ElementContext elementContext,
+                                                                 StageEntity<ElementEntity> stagedElementDescriptor,
+                                                                 Map<Id, ElementEntity> privateElementDescriptors) {
     ElementDescriptor elementDescriptorFromStage =
         ZusammenPluginUtil
             .convertToElementDescriptor(elementContext, (stagedElementDescriptor.getEntity()));
@@ -499,10 +710,8 @@ public class CassandraCollaborationStorePluginImpl implements CollaborationStore
         conflictDescriptor.setRemoteElementDescriptor(elementDescriptorFromStage);
         conflictDescriptor
             .setLocalElementDescriptor(ZusammenPluginUtil.convertToElementDescriptor(elementContext,
-                elementPrivateStore
-                    .getDescriptor(context, elementContext,
-                        stagedElementDescriptor.getEntity().getId())
-                    .orElse(null)));// updated on public while deleted from private
+                privateElementDescriptors
+                    .get(stagedElementDescriptor.getEntity().getId())));// updated on public while deleted from private
         break;
       case DELETE:
         conflictDescriptor.setLocalElementDescriptor(elementDescriptorFromStage);
@@ -26,6 +26,7 @@ import com.amdocs.zusammen.datatypes.item.ItemVersionData;
 import com.amdocs.zusammen.datatypes.response.Response;
 import com.amdocs.zusammen.plugin.ZusammenPluginUtil;
 import com.amdocs.zusammen.plugin.collaboration.ElementPrivateStore;
+import com.amdocs.zusammen.plugin.collaboration.ElementUpdateBuffer;
 import com.amdocs.zusammen.plugin.collaboration.impl.ElementPrivateStoreImpl;
 import com.amdocs.zusammen.plugin.dao.ElementRepository;
 import com.amdocs.zusammen.plugin.dao.ElementRepositoryFactory;
@@ -44,43 +45,54 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.stream.Collectors;
 
+import static com.amdocs.zusammen.plugin.metrics.PluginInstrumentation.measure;
+
 public class CassandraStateStorePluginImpl extends StateStoreImpl {
 
   private ElementPrivateStore elementPrivateStore = new ElementPrivateStoreImpl();
+  private ElementUpdateBuffer elementUpdateBuffer = ElementUpdateBuffer.getInstance();
 
   @Override
   public Response<Void> deleteItem(SessionContext context, Id itemId) {
-    getItemDao(context).delete(context, itemId);
+    return measure("StateStore.deleteItem", () -> {
+      getItemDao(context).delete(context, itemId);
 
-    // delete all versions - done by collaboration store
-    return new Response(Void.TYPE);
+      // delete all versions - done by collaboration store
+      return new Response(Void.TYPE);
+    });
   }
 
   @Override
   public Response<Collection<ItemVersion>> listItemVersions(SessionContext context, Space space,
                                                             Id itemId) {
-    String spaceName = ZusammenPluginUtil.getSpaceName(context, space);
-    return new Response<>(getVersionDao(context).list(context, spaceName, itemId).stream()
-        .map(versionEntity -> getItemVersion(context, spaceName, itemId, versionEntity))
-        .collect(Collectors.toList()));
+    return measure("StateStore.listItemVersions", () -> {
+      String spaceName = ZusammenPluginUtil.getSpaceName(context, space);
+      return new Response<>(getVersionDao(context).list(context, spaceName, itemId).stream()
+          .map(versionEntity -> getItemVersion(context, spaceName, itemId, versionEntity))
+          .collect(Collectors.toList()));
+    });
   }
 
   @Override
   public Response<Boolean> isItemVersionExist(SessionContext context, Space space, Id itemId,
                                               Id versionId) {
-    return new Response<>(
-        getVersionDao(context)
-            .get(context, ZusammenPluginUtil.getSpaceName(context, space), itemId, versionId)
-            .isPresent());
+    return measure("StateStore.isItemVersionExist", () -> {
+      return new Response<>(
+          getVersionDao(context)
+              .get(context, ZusammenPluginUtil.getSpaceName(context, space), itemId, versionId)
+              .isPresent());
+    });
   }
 
   @Override
   public Response<ItemVersion> getItemVersion(SessionContext context, Space space, Id itemId,
                                               Id versionId) {
-    String spaceName = ZusammenPluginUtil.getSpaceName(context, space);
-    return new Response<>(getVersionDao(context).get(context, spaceName, itemId, versionId)
-        .map(versionEntity -> getItemVersion(context, spaceName, itemId, versionEntity))
-        .orElse(null));
+    return measure("StateStore.getItemVersion", () -> {
+      String spaceName = ZusammenPluginUtil.getSpaceName(context, space);
+      return new Response<>(getVersionDao(context).get(context, spaceName, itemId, versionId)
+          .map(versionEntity -> getItemVersion(context, spaceName, itemId, versionEntity))
+          .orElse(null));
+    });
   }
 
   @Override
@@ -108,15 +120,17 @@ public class CassandraStateStorePluginImpl extends StateStoreImpl {
 
   @Override
   public Response<Void> createElement(SessionContext context, StateElement element) {
-    ElementEntity elementEntity = new ElementEntity(element.getId());
-    elementEntity.setNamespace(element.getNamespace());
-
-    ElementRepositoryFactory.getInstance().createInterface(context)
-        .createNamespace(context,
-            new ElementEntityContext(ZusammenPluginUtil.getSpaceName(context, element.getSpace()),
-                element.getItemId(), element.getVersionId()), elementEntity);
-    // create element is done by collaboration store
-    return new Response(Void.TYPE);
+    return measure("StateStore.createElement", () -> {
+      ElementEntity elementEntity = new ElementEntity(element.getId());
+      elementEntity.setNamespace(element.getNamespace());
+
+      ElementRepositoryFactory.getInstance().createInterface(context)
+          .createNamespace(context,
+              new ElementEntityContext(ZusammenPluginUtil.getSpaceName(context, element.getSpace()),
+                  element.getItemId(), element.getVersionId()), elementEntity);
+      // create element is done by collaboration store
+      return new Response(Void.TYPE);
+    });
   }
 
   @Override
@@ -135,19 +149,24 @@ public class CassandraStateStorePluginImpl extends StateStoreImpl {
   public Response<Collection<StateElement>> listElements(SessionContext context,
                                                          ElementContext elementContext,
                                                          Id elementId) {
-    return new Response(elementPrivateStore.listSubs(context, elementContext, elementId).stream()
-        .map(elementEntity -> ZusammenPluginUtil.getStateElement(elementContext, elementEntity))
-        .collect(Collectors.toList()));
+    return measure("StateStore.listElements", () -> {
+      elementUpdateBuffer.flush(context, elementContext.getItemId(), elementContext.getVersionId());
+      return new Response(elementPrivateStore.listSubs(context, elementContext, elementId).stream()
+          .map(elementEntity -> ZusammenPluginUtil.getStateElement(elementContext, elementEntity))
+          .collect(Collectors.toList()));
 
+    });
   }
 
   @Override
   public Response<StateElement> getElement(SessionContext context, ElementContext elementContext,
                                            Id elementId) {
-
-    return new Response(elementPrivateStore.get(context, elementContext, elementId)
-        .map(elementEntity -> ZusammenPluginUtil.getStateElement(elementContext, elementEntity))
-        .orElse(null));
+    return measure("StateStore.getElement", () -> {
+      elementUpdateBuffer.flush(context, elementContext.getItemId(), elementContext.getVersionId());
+      return new Response(elementPrivateStore.get(context, elementContext, elementId)
+          .map(elementEntity -> ZusammenPluginUtil.getStateElement(elementContext, elementEntity))
+          .orElse(null));
+    });
   }
 
   private ItemVersion getItemVersion(SessionContext context, String spaceName, Id itemId,
@@ -0,0 +1,82 @@
+package com.amdocs.zusammen.plugin.metrics;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * What a single plugin operation (a public method of a plugin) did: its latency, the statements
+ * it executed per accessor method, the rows it read and the bytes it transferred.
+ * Statements of an operation may be executed by several threads concurrently.
+ */
+public class OperationMetrics {
+  private final String operation;
+  private final Map<String, Long> statements = new HashMap<>();
+  private long rowsRead;
+  private long bytesRead;
+  private long bytesWritten;
+  private long latencyNanos;
+  private boolean failed;
+
+  public OperationMetrics(String operation) {
+    this.operation = operation;
+  }
+
+  public String getOperation() {
+    return operation;
+  }
+
+  /**
+   * @return number of executed statements per accessor method (e.g. ElementAccessor.get)
+   */
+  public synchronized Map<String, Long> getStatements() {
+    return Collections.unmodifiableMap(new HashMap<>(statements));
+  }
+
+  public synchronized long getStatementCount() {
+    return statements.values().stream().mapToLong(Long::longValue).sum();
+  }
+
+  public synchronized long getRowsRead() {
+    return rowsRead;
+  }
+
+  public synchronized long getBytesRead() {
+    return bytesRead;
+  }
+
+  public synchronized long getBytesWritten() {
+    return bytesWritten;
+  }
+
+  public long getLatencyNanos() {
+    return latencyNanos;
+  }
+
+  public boolean isFailed() {
+    return failed;
+  }
+
+  synchronized void addStatement(String accessorMethod, long bytesWritten) {
+    statements.merge(accessorMethod, 1L, Long::sum);
+    this.bytesWritten += bytesWritten;
+  }
+
+  synchronized void addRow(long bytesRead) {
+    rowsRead++;
+    this.bytesRead += bytesRead;
+  }
+
+  void complete(long latencyNanos, boolean failed) {
+    this.latencyNanos = latencyNanos;
+    this.failed = failed;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return String.format(
+        "%s took %.3f ms%s: %d statements %s, %d rows read, %d bytes read, %d bytes written",
+        operation, latencyNanos / 1_000_000.0, failed ? " (failed)" : "", getStatementCount(),
+        statements, rowsRead, bytesRead, bytesWritten);
+  }
+}
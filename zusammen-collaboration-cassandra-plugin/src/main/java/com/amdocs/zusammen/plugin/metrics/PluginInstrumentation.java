@@ -0,0 +1,103 @@
+package com.amdocs.zusammen.plugin.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static com.amdocs.zusammen.plugin.ZusammenPluginConstants.METRICS_ENABLED;
+import static com.amdocs.zusammen.plugin.ZusammenPluginConstants.METRICS_SUMMARY_THRESHOLD_MILLIS;
+
+/**
+ * Collects the metrics of plugin operations.
+ * A plugin operation is measured by {@link #measure(String, Supplier)}, the statements executed
+ * by the calling thread meanwhile are attributed to it (operations invoked from within another
+ * operation are part of the outer one). Completed operations are recorded to the configured
+ * {@link PluginMetrics}, and summarized in the log when slower than the configured threshold.
+ */
+public class PluginInstrumentation {
+  private static final Logger LOGGER = Logger.getLogger(PluginInstrumentation.class.getName());
+
+  private static final boolean ENABLED =
+      Boolean.parseBoolean(System.getProperty(METRICS_ENABLED, "true"));
+  private static final long SUMMARY_THRESHOLD_NANOS =
+      TimeUnit.MILLISECONDS.toNanos(Long.getLong(METRICS_SUMMARY_THRESHOLD_MILLIS, 1000L));
+
+  private static final ThreadLocal<OperationMetrics> CURRENT_OPERATION = new ThreadLocal<>();
+
+  private PluginInstrumentation() {
+  }
+
+  public static <T> T measure(String operation, Supplier<T> body) {
+    if (!ENABLED || CURRENT_OPERATION.get() != null) {
+      return body.get();
+    }
+
+    OperationMetrics operationMetrics = new OperationMetrics(operation);
+    CURRENT_OPERATION.set(operationMetrics);
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      T result = body.get();
+      failed = false;
+      return result;
+    } finally {
+      CURRENT_OPERATION.remove();
+      operationMetrics.complete(System.nanoTime() - start, failed);
+      record(operationMetrics);
+    }
+  }
+
+  /**
+   * @return whether the calling thread is within a measured operation
+   */
+  public static boolean isMeasuring() {
+    return CURRENT_OPERATION.get() != null;
+  }
+
+  /**
+   * @return a task which is measured as part of the current operation of the calling thread,
+   * when run on another thread
+   */
+  public static <T> Supplier<T> inCurrentOperation(Supplier<T> task) {
+    OperationMetrics operationMetrics = CURRENT_OPERATION.get();
+    if (operationMetrics == null) {
+      return task;
+    }
+    return () -> {
+      CURRENT_OPERATION.set(operationMetrics);
+      try {
+        return task.get();
+      } finally {
+        CURRENT_OPERATION.remove();
+      }
+    };
+  }
+
+  public static void statementExecuted(String accessorMethod, long bytesWritten) {
+    OperationMetrics operationMetrics = CURRENT_OPERATION.get();
+    if (operationMetrics != null) {
+      operationMetrics.addStatement(accessorMethod, bytesWritten);
+    }
+  }
+
+  public static void rowRead(long bytesRead) {
+    OperationMetrics operationMetrics = CURRENT_OPERATION.get();
+    if (operationMetrics != null) {
+      operationMetrics.addRow(bytesRead);
+    }
+  }
+
+  private static void record(OperationMetrics operationMetrics) {
+    if (operationMetrics.getLatencyNanos() >= SUMMARY_THRESHOLD_NANOS) {
+      LOGGER.info(operationMetrics.toString());
+    }
+    try {
+      PluginMetricsFactory.getInstance().createInterface().record(operationMetrics);
+    } catch (RuntimeException e) {
+      // metrics must never fail the operation itself
+      LOGGER.log(Level.WARNING, "Failed to record metrics of " + operationMetrics.getOperation(),
+          e);
+    }
+  }
+}
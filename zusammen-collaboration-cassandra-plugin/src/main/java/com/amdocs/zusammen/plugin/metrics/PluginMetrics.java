@@ -0,0 +1,11 @@
+package com.amdocs.zusammen.plugin.metrics;
+
+/**
+ * Metrics SPI - receives the metrics of every completed plugin operation.
+ * Implementations are configured in factoryConfiguration.json (see {@link PluginMetricsFactory})
+ * and must be thread safe.
+ */
+public interface PluginMetrics {
+
+  void record(OperationMetrics operationMetrics);
+}
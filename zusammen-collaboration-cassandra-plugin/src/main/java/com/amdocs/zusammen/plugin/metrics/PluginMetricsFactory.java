@@ -0,0 +1,12 @@
+package com.amdocs.zusammen.plugin.metrics;
+
+import com.amdocs.zusammen.utils.facade.api.AbstractComponentFactory;
+import com.amdocs.zusammen.utils.facade.api.AbstractFactory;
+
+public abstract class PluginMetricsFactory extends AbstractComponentFactory<PluginMetrics> {
+  public static PluginMetricsFactory getInstance() {
+    return AbstractFactory.getInstance(PluginMetricsFactory.class);
+  }
+
+  public abstract PluginMetrics createInterface();
+}
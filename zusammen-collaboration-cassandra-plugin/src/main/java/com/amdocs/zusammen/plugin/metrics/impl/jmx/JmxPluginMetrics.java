@@ -0,0 +1,42 @@
+package com.amdocs.zusammen.plugin.metrics.impl.jmx;
+
+import com.amdocs.zusammen.plugin.metrics.OperationMetrics;
+import com.amdocs.zusammen.plugin.metrics.PluginMetrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Exposes the statistics of every plugin operation as an MXBean named
+ * com.amdocs.zusammen.plugin:type=Operation,name=&lt;operation&gt;.
+ */
+public class JmxPluginMetrics implements PluginMetrics {
+  private static final Logger LOGGER = Logger.getLogger(JmxPluginMetrics.class.getName());
+  private static final String OBJECT_NAME_FORMAT =
+      "com.amdocs.zusammen.plugin:type=Operation,name=%s";
+
+  private final Map<String, OperationStatistics> statistics = new ConcurrentHashMap<>();
+
+  @Override
+  public void record(OperationMetrics operationMetrics) {
+    statistics.computeIfAbsent(operationMetrics.getOperation(), this::register)
+        .record(operationMetrics);
+  }
+
+  private OperationStatistics register(String operation) {
+    OperationStatistics operationStatistics = new OperationStatistics();
+    try {
+      ManagementFactory.getPlatformMBeanServer().registerMBean(operationStatistics,
+          new ObjectName(String.format(OBJECT_NAME_FORMAT, ObjectName.quote(operation))));
+    } catch (JMException e) {
+      // still collected, only not exposed (e.g. the name is taken by another loaded plugin)
+      LOGGER.log(Level.WARNING, "Failed to register the statistics of " + operation, e);
+    }
+    return operationStatistics;
+  }
+}
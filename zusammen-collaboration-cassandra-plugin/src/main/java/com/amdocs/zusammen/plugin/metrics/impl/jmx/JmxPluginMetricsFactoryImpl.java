@@ -0,0 +1,14 @@
+package com.amdocs.zusammen.plugin.metrics.impl.jmx;
+
+import com.amdocs.zusammen.plugin.metrics.PluginMetrics;
+import com.amdocs.zusammen.plugin.metrics.PluginMetricsFactory;
+
+public class JmxPluginMetricsFactoryImpl extends PluginMetricsFactory {
+
+  private static final PluginMetrics INSTANCE = new JmxPluginMetrics();
+
+  @Override
+  public PluginMetrics createInterface() {
+    return INSTANCE;
+  }
+}
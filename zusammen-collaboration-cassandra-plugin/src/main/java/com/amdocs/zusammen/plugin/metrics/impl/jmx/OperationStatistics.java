@@ -0,0 +1,141 @@
+package com.amdocs.zusammen.plugin.metrics.impl.jmx;
+
+import com.amdocs.zusammen.plugin.metrics.OperationMetrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+class OperationStatistics implements OperationStatisticsMXBean {
+  // bucket i holds the latencies of [2^i, 2^(i+1)) microseconds, bucket 0 also the shorter ones
+  private static final int LATENCY_BUCKETS = 48;
+
+  private final AtomicLongArray latencyBuckets = new AtomicLongArray(LATENCY_BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder failureCount = new LongAdder();
+  private final LongAdder totalLatencyNanos = new LongAdder();
+  private final AtomicLong maxLatencyNanos = new AtomicLong();
+  private final Map<String, LongAdder> statementCounts = new ConcurrentHashMap<>();
+  private final LongAdder rowsRead = new LongAdder();
+  private final LongAdder bytesRead = new LongAdder();
+  private final LongAdder bytesWritten = new LongAdder();
+
+  void record(OperationMetrics operationMetrics) {
+    long latencyNanos = operationMetrics.getLatencyNanos();
+    latencyBuckets.incrementAndGet(getBucket(latencyNanos));
+    count.increment();
+    if (operationMetrics.isFailed()) {
+      failureCount.increment();
+    }
+    totalLatencyNanos.add(latencyNanos);
+    maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+
+    operationMetrics.getStatements().forEach((accessorMethod, statementCount) ->
+        statementCounts.computeIfAbsent(accessorMethod, method -> new LongAdder())
+            .add(statementCount));
+    rowsRead.add(operationMetrics.getRowsRead());
+    bytesRead.add(operationMetrics.getBytesRead());
+    bytesWritten.add(operationMetrics.getBytesWritten());
+  }
+
+  @Override
+  public long getCount() {
+    return count.sum();
+  }
+
+  @Override
+  public long getFailureCount() {
+    return failureCount.sum();
+  }
+
+  @Override
+  public double getMeanLatencyMillis() {
+    long operations = count.sum();
+    return operations == 0 ? 0 : toMillis(totalLatencyNanos.sum()) / operations;
+  }
+
+  @Override
+  public double getMaxLatencyMillis() {
+    return toMillis(maxLatencyNanos.get());
+  }
+
+  @Override
+  public double getLatency50thPercentileMillis() {
+    return getLatencyPercentileMillis(0.5);
+  }
+
+  @Override
+  public double getLatency90thPercentileMillis() {
+    return getLatencyPercentileMillis(0.9);
+  }
+
+  @Override
+  public double getLatency99thPercentileMillis() {
+    return getLatencyPercentileMillis(0.99);
+  }
+
+  @Override
+  public long getStatementCount() {
+    return statementCounts.values().stream().mapToLong(LongAdder::sum).sum();
+  }
+
+  @Override
+  public Map<String, Long> getStatementCountByAccessorMethod() {
+    Map<String, Long> counts = new TreeMap<>();
+    statementCounts.forEach((accessorMethod, statementCount) ->
+        counts.put(accessorMethod, statementCount.sum()));
+    return counts;
+  }
+
+  @Override
+  public long getRowsRead() {
+    return rowsRead.sum();
+  }
+
+  @Override
+  public long getBytesRead() {
+    return bytesRead.sum();
+  }
+
+  @Override
+  public long getBytesWritten() {
+    return bytesWritten.sum();
+  }
+
+  private double getLatencyPercentileMillis(double percentile) {
+    long[] buckets = new long[LATENCY_BUCKETS];
+    long total = 0;
+    for (int bucket = 0; bucket < LATENCY_BUCKETS; bucket++) {
+      buckets[bucket] = latencyBuckets.get(bucket);
+      total += buckets[bucket];
+    }
+    if (total == 0) {
+      return 0;
+    }
+
+    long rank = (long) Math.ceil(percentile * total);
+    long cumulative = 0;
+    for (int bucket = 0; bucket < LATENCY_BUCKETS; bucket++) {
+      cumulative += buckets[bucket];
+      if (cumulative >= rank) {
+        // upper bound of the bucket
+        return toMillis(TimeUnit.MICROSECONDS.toNanos(1L << (bucket + 1)));
+      }
+    }
+    return getMaxLatencyMillis();
+  }
+
+  private static int getBucket(long latencyNanos) {
+    long latencyMicros = TimeUnit.NANOSECONDS.toMicros(latencyNanos);
+    int bucket = 63 - Long.numberOfLeadingZeros(Math.max(latencyMicros, 1));
+    return Math.min(bucket, LATENCY_BUCKETS - 1);
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / 1_000_000.0;
+  }
+}
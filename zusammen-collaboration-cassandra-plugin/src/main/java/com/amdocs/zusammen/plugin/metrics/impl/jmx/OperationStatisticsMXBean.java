@@ -0,0 +1,34 @@
+package com.amdocs.zusammen.plugin.metrics.impl.jmx;
+
+import java.util.Map;
+
+/**
+ * Statistics of a plugin operation since the plugin was loaded.
+ * Latency percentiles are approximated by power of 2 microsecond buckets.
+ */
+public interface OperationStatisticsMXBean {
+
+  long getCount();
+
+  long getFailureCount();
+
+  double getMeanLatencyMillis();
+
+  double getMaxLatencyMillis();
+
+  double getLatency50thPercentileMillis();
+
+  double getLatency90thPercentileMillis();
+
+  double getLatency99thPercentileMillis();
+
+  long getStatementCount();
+
+  Map<String, Long> getStatementCountByAccessorMethod();
+
+  long getRowsRead();
+
+  long getBytesRead();
+
+  long getBytesWritten();
+}
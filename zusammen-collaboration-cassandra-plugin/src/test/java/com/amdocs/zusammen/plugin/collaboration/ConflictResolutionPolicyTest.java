@@ -0,0 +1,41 @@
+package com.amdocs.zusammen.plugin.collaboration;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.Namespace;
+import com.amdocs.zusammen.datatypes.item.Resolution;
+import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Optional;
+
+public class ConflictResolutionPolicyTest {
+
+  @Test
+  public void testInNamespace() throws Exception {
+    String namespace = new Id().getValue();
+    ConflictResolutionPolicy policy =
+        ConflictResolutionPolicy.inNamespace(createNamespace(namespace), Resolution.THEIRS);
+
+    Assert.assertEquals(policy.getResolution(createElement(namespace)),
+        Optional.of(Resolution.THEIRS));
+    Assert.assertEquals(policy.getResolution(createElement(namespace + "/" + new Id())),
+        Optional.of(Resolution.THEIRS));
+    // a sibling namespace starting by the same characters
+    Assert.assertEquals(policy.getResolution(createElement(namespace + new Id())),
+        Optional.empty());
+    Assert.assertEquals(policy.getResolution(new ElementEntity(new Id())), Optional.empty());
+  }
+
+  private static ElementEntity createElement(String namespace) {
+    ElementEntity element = new ElementEntity(new Id());
+    element.setNamespace(createNamespace(namespace));
+    return element;
+  }
+
+  private static Namespace createNamespace(String value) {
+    Namespace namespace = new Namespace();
+    namespace.setValue(value);
+    return namespace;
+  }
+}
@@ -0,0 +1,151 @@
+package com.amdocs.zusammen.plugin.collaboration;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.datatypes.UserInfo;
+import com.amdocs.zusammen.datatypes.item.Action;
+import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
+import com.amdocs.zusammen.plugin.dao.types.StageEntity;
+import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DiscardChangesServiceTest {
+  private static final UserInfo USER = new UserInfo("user");
+  private static final SessionContext context = TestUtils.createSessionContext(USER, "test");
+  private static final Date SYNCED_PUBLISH_TIME = new Date(1000);
+
+  private final Id itemId = new Id();
+  private final Id versionId = new Id();
+
+  private final List<SynchronizationStateEntity> dirtyPrivateSyncStates = new ArrayList<>();
+  private final Map<Id, ElementEntity> privateDescriptors = new HashMap<>();
+  private final Map<Id, SynchronizationStateEntity> publicSyncStates = new HashMap<>();
+  private final Map<Id, ElementEntity> publicElements = new HashMap<>();
+
+  private Id updatedElementId;
+  private Id createdElementId;
+  private Id deletedElementId;
+
+  @Mock
+  private VersionPublicStore versionPublicStore;
+  @Mock
+  private VersionPrivateStore versionPrivateStore;
+  @Mock
+  private ElementPublicStore elementPublicStore;
+  @Mock
+  private ElementPrivateStore elementPrivateStore;
+  @Mock
+  private ElementStageStore elementStageStore;
+
+  private DiscardChangesService discardChangesService;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    MockitoAnnotations.initMocks(this);
+    discardChangesService = new DiscardChangesService(versionPublicStore, versionPrivateStore,
+        elementPublicStore, elementPrivateStore, elementStageStore);
+
+    when(versionPrivateStore.getSynchronizationState(context, itemId, versionId))
+        .thenReturn(Optional.of(
+            new SynchronizationStateEntity(versionId, Id.ZERO, SYNCED_PUBLISH_TIME, false)));
+    when(versionPublicStore.findRevision(context, itemId, versionId, SYNCED_PUBLISH_TIME))
+        .thenReturn(Optional.of(
+            new SynchronizationStateEntity(versionId, new Id(), SYNCED_PUBLISH_TIME, false)));
+
+    when(elementPrivateStore.listDirtySynchronizationStates(eq(context), anyObject()))
+        .thenReturn(dirtyPrivateSyncStates);
+    when(elementPrivateStore.getDescriptors(eq(context), anyObject(), anyObject()))
+        .thenAnswer(invocation -> ((Collection<Id>) invocation.getArguments()[2]).stream()
+            .filter(privateDescriptors::containsKey)
+            .collect(Collectors.toMap(elementId -> elementId, privateDescriptors::get)));
+    when(elementPublicStore.getSynchronizationStates(eq(context), anyObject(), anyObject()))
+        .thenAnswer(invocation -> ((Collection<Id>) invocation.getArguments()[2]).stream()
+            .filter(publicSyncStates::containsKey)
+            .collect(Collectors.toMap(elementId -> elementId, publicSyncStates::get)));
+    when(elementPublicStore.get(eq(context), anyObject(), (Collection<Id>) anyObject()))
+        .thenAnswer(invocation -> ((Collection<Id>) invocation.getArguments()[2]).stream()
+            .collect(Collectors.toMap(elementId -> elementId, publicElements::get)));
+
+    updatedElementId = addDirtyElement(true, true);
+    createdElementId = addDirtyElement(true, false); // created privately, not published
+    deletedElementId = addDirtyElement(false, true); // deleted privately
+  }
+
+  @Test
+  public void testDiscardChangesApplied() throws Exception {
+    discardChangesService.discardChanges(context, itemId, versionId);
+
+    verify(elementPrivateStore).commitStagedUpdate(eq(context), anyObject(),
+        eq(publicElements.get(updatedElementId)), eq(SYNCED_PUBLISH_TIME));
+    verify(elementPrivateStore).commitStagedCreate(eq(context), anyObject(),
+        eq(publicElements.get(deletedElementId)), eq(SYNCED_PUBLISH_TIME));
+    ArgumentCaptor<Collection> deletedCaptor = ArgumentCaptor.forClass(Collection.class);
+    verify(elementPrivateStore).commitStagedDelete(eq(context), anyObject(),
+        (Collection<ElementEntity>) deletedCaptor.capture());
+    Assert.assertEquals(((Collection<ElementEntity>) deletedCaptor.getValue()).stream()
+        .map(ElementEntity::getId)
+        .collect(Collectors.toList()), Collections.singletonList(createdElementId));
+    verify(elementStageStore, never()).create(anyObject(), anyObject(), anyObject());
+  }
+
+  @Test
+  public void testDiscardChangesStagedWithPendingStage() throws Exception {
+    // e.g. unresolved conflicts of a sync
+    when(elementStageStore.hasElements(eq(context), anyObject())).thenReturn(true);
+
+    discardChangesService.discardChanges(context, itemId, versionId);
+
+    ArgumentCaptor<StageEntity> stageCaptor = ArgumentCaptor.forClass(StageEntity.class);
+    verify(elementStageStore, times(3)).create(eq(context), anyObject(), stageCaptor.capture());
+    Map<Id, Action> stagedActions = new HashMap<>();
+    for (StageEntity stagedElement : stageCaptor.getAllValues()) {
+      Assert.assertFalse(stagedElement.isConflicted());
+      stagedActions.put(((ElementEntity) stagedElement.getEntity()).getId(),
+          stagedElement.getAction());
+    }
+    Assert.assertEquals(stagedActions.get(updatedElementId), Action.UPDATE);
+    Assert.assertEquals(stagedActions.get(createdElementId), Action.DELETE);
+    Assert.assertEquals(stagedActions.get(deletedElementId), Action.CREATE);
+    verify(elementPrivateStore, never())
+        .commitStagedUpdate(anyObject(), anyObject(), anyObject(), anyObject());
+    verify(elementPrivateStore, never())
+        .commitStagedCreate(anyObject(), anyObject(), anyObject(), anyObject());
+  }
+
+  private Id addDirtyElement(boolean existsOnPrivate, boolean published) {
+    Id elementId = new Id();
+    dirtyPrivateSyncStates.add(new SynchronizationStateEntity(elementId, Id.ZERO,
+        published ? SYNCED_PUBLISH_TIME : null, true));
+    if (existsOnPrivate) {
+      privateDescriptors.put(elementId, new ElementEntity(elementId));
+    }
+    if (published) {
+      publicSyncStates.put(elementId,
+          new SynchronizationStateEntity(elementId, new Id(), SYNCED_PUBLISH_TIME, false));
+      publicElements.put(elementId, new ElementEntity(elementId));
+    }
+    return elementId;
+  }
+}
@@ -0,0 +1,134 @@
+package com.amdocs.zusammen.plugin.collaboration;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class ElementTreeWalkerTest {
+
+  private final Map<Id, ElementEntity> elements = new HashMap<>();
+  private final List<Collection<Id>> fetchedLevels = new ArrayList<>();
+  private final List<Id> missingElementIds = new ArrayList<>();
+
+  private ElementTreeWalker elementTreeWalker;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    elements.clear();
+    fetchedLevels.clear();
+    missingElementIds.clear();
+    elementTreeWalker = new ElementTreeWalker(levelElementIds -> {
+      fetchedLevels.add(new ArrayList<>(levelElementIds));
+      return levelElementIds.stream()
+          .filter(elements::containsKey)
+          .collect(Collectors.toMap(elementId -> elementId, elements::get));
+    }, missingElementIds::add, false);
+  }
+
+  @Test
+  public void testWalkTopDownLevelOrder() throws Exception {
+    Id rootId = new Id();
+    Id childId = new Id();
+    Id otherChildId = new Id();
+    Id grandChildId = new Id();
+    addElement(rootId, childId, otherChildId);
+    addElement(childId, grandChildId);
+    addElement(otherChildId);
+    addElement(grandChildId);
+
+    List<Id> visitedElementIds = new ArrayList<>();
+    Set<Id> walkedElementIds = elementTreeWalker.walkTopDown(Collections.singleton(rootId),
+        element -> visitedElementIds.add(element.getId()));
+
+    Assert.assertEquals(walkedElementIds, toSet(rootId, childId, otherChildId, grandChildId));
+    Assert.assertEquals(visitedElementIds.get(0), rootId);
+    Assert.assertEquals(new HashSet<>(visitedElementIds.subList(1, 3)),
+        toSet(childId, otherChildId));
+    Assert.assertEquals(visitedElementIds.get(3), grandChildId);
+    // a single fetch per level
+    Assert.assertEquals(fetchedLevels.size(), 3);
+  }
+
+  @Test
+  public void testWalkTopDownSharedSubElement() throws Exception {
+    Id parentId = new Id();
+    Id otherParentId = new Id();
+    Id sharedSubElementId = new Id();
+    addElement(parentId, sharedSubElementId);
+    addElement(otherParentId, sharedSubElementId);
+    addElement(sharedSubElementId, parentId); // a cycle back to a visited element
+
+    List<Id> visitedElementIds = new ArrayList<>();
+    Set<Id> walkedElementIds = elementTreeWalker.walkTopDown(
+        Arrays.asList(parentId, otherParentId), element -> visitedElementIds.add(element.getId()));
+
+    Assert.assertEquals(walkedElementIds, toSet(parentId, otherParentId, sharedSubElementId));
+    Assert.assertEquals(visitedElementIds.size(), 3);
+    Assert.assertEquals(fetchedLevels.get(1), Collections.singletonList(sharedSubElementId));
+  }
+
+  @Test
+  public void testWalkTopDownMissingSubElement() throws Exception {
+    Id parentId = new Id();
+    Id missingSubElementId = new Id();
+    addElement(parentId, missingSubElementId);
+
+    Set<Id> walkedElementIds =
+        elementTreeWalker.walkTopDown(Collections.singleton(parentId), element -> {
+        });
+
+    Assert.assertEquals(walkedElementIds, toSet(parentId));
+    Assert.assertEquals(missingElementIds, Collections.singletonList(missingSubElementId));
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void testWalkTopDownMissingSubElementRejected() throws Exception {
+    Id parentId = new Id();
+    addElement(parentId, new Id());
+
+    new ElementTreeWalker(levelElementIds -> levelElementIds.stream()
+        .filter(elements::containsKey)
+        .collect(Collectors.toMap(elementId -> elementId, elements::get)),
+        missingElementId -> {
+          throw new IllegalStateException("missing " + missingElementId);
+        }, false)
+        .walkTopDown(Collections.singleton(parentId), element -> {
+        });
+  }
+
+  @Test
+  public void testWalkTopDownEmpty() throws Exception {
+    Set<Id> walkedElementIds =
+        elementTreeWalker.walkTopDown(Collections.emptySet(), element -> {
+          Assert.fail("no element should be visited");
+        });
+
+    Assert.assertTrue(walkedElementIds.isEmpty());
+    Assert.assertTrue(fetchedLevels.isEmpty());
+  }
+
+  private void addElement(Id elementId, Id... subElementIds) {
+    ElementEntity element = new ElementEntity(elementId);
+    element.setSubElementIds(toSet(subElementIds));
+    elements.put(elementId, element);
+  }
+
+  private static Set<Id> toSet(Id... elementIds) {
+    Set<Id> set = new HashSet<>();
+    Collections.addAll(set, elementIds);
+    return set;
+  }
+}
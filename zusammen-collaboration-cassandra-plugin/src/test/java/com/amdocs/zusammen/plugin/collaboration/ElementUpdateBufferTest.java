@@ -0,0 +1,130 @@
+package com.amdocs.zusammen.plugin.collaboration;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.datatypes.UserInfo;
+import com.amdocs.zusammen.datatypes.item.ElementContext;
+import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ElementUpdateBufferTest {
+  private static final UserInfo USER = new UserInfo("user");
+  private static final SessionContext context = TestUtils.createSessionContext(USER, "test");
+  private static final long LONG_WINDOW_MILLIS = 60000;
+
+  private final Id itemId = new Id();
+  private final ElementContext elementContext = TestUtils.createElementContext(itemId, new Id());
+  private final ElementContext otherElementContext =
+      TestUtils.createElementContext(itemId, new Id());
+
+  @Mock
+  private ElementPrivateStore elementPrivateStore;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    MockitoAnnotations.initMocks(this);
+  }
+
+  @Test
+  public void testUpdateWrittenThroughWhenDisabled() throws Exception {
+    ElementUpdateBuffer buffer = new ElementUpdateBuffer(elementPrivateStore, 0, false);
+    ElementEntity element = new ElementEntity(new Id());
+
+    buffer.update(context, elementContext, element);
+
+    verify(elementPrivateStore).update(context, elementContext, element);
+  }
+
+  @Test
+  public void testUpdatesCoalesced() throws Exception {
+    ElementUpdateBuffer buffer = new ElementUpdateBuffer(elementPrivateStore, LONG_WINDOW_MILLIS,
+        false);
+    Id elementId = new Id();
+    ElementEntity firstUpdate = new ElementEntity(elementId);
+    ElementEntity lastUpdate = new ElementEntity(elementId);
+
+    buffer.update(context, elementContext, firstUpdate);
+    buffer.update(context, elementContext, lastUpdate);
+    verify(elementPrivateStore, never()).update(anyObject(), anyObject(), anyObject());
+
+    buffer.flush(context, itemId, elementContext.getVersionId());
+
+    ArgumentCaptor<ElementEntity> elementCaptor = ArgumentCaptor.forClass(ElementEntity.class);
+    verify(elementPrivateStore).update(eq(context), eq(elementContext), elementCaptor.capture());
+    Assert.assertSame(elementCaptor.getValue(), lastUpdate);
+  }
+
+  @Test
+  public void testFlushBeforeRead() throws Exception {
+    ElementUpdateBuffer buffer = new ElementUpdateBuffer(elementPrivateStore, LONG_WINDOW_MILLIS,
+        false);
+    ElementEntity element = new ElementEntity(new Id());
+    ElementEntity otherVersionElement = new ElementEntity(new Id());
+    buffer.update(context, elementContext, element);
+    buffer.update(context, otherElementContext, otherVersionElement);
+
+    // as done by the plugin before reading the elements of the version
+    buffer.flush(context, itemId, elementContext.getVersionId());
+    buffer.flush(context, itemId, elementContext.getVersionId());
+
+    verify(elementPrivateStore, times(1)).update(context, elementContext, element);
+    verify(elementPrivateStore, never()).update(context, otherElementContext, otherVersionElement);
+  }
+
+  @Test
+  public void testDiscard() throws Exception {
+    ElementUpdateBuffer buffer = new ElementUpdateBuffer(elementPrivateStore, LONG_WINDOW_MILLIS,
+        false);
+    buffer.update(context, elementContext, new ElementEntity(new Id()));
+
+    buffer.discard(context, itemId, elementContext.getVersionId());
+    buffer.flushAll();
+
+    verify(elementPrivateStore, never()).update(anyObject(), anyObject(), anyObject());
+  }
+
+  @Test
+  public void testFlushAllContinuesPastFailedVersion() throws Exception {
+    ElementUpdateBuffer buffer = new ElementUpdateBuffer(elementPrivateStore, LONG_WINDOW_MILLIS,
+        false);
+    ElementEntity failingElement = new ElementEntity(new Id());
+    ElementEntity element = new ElementEntity(new Id());
+    doThrow(new IllegalStateException("session closed")).when(elementPrivateStore)
+        .update(context, elementContext, failingElement);
+    buffer.update(context, elementContext, failingElement);
+    buffer.update(context, otherElementContext, element);
+
+    // as done by the shutdown hook
+    buffer.flushAll();
+
+    verify(elementPrivateStore).update(context, otherElementContext, element);
+    // the failed version stays pending
+    buffer.flushAll();
+    verify(elementPrivateStore, times(2)).update(context, elementContext, failingElement);
+  }
+
+  @Test
+  public void testScheduledFlushRetriesBounded() throws Exception {
+    ElementUpdateBuffer buffer = new ElementUpdateBuffer(elementPrivateStore, 5, false, 3);
+    ElementEntity element = new ElementEntity(new Id());
+    doThrow(new IllegalStateException("unavailable")).when(elementPrivateStore)
+        .update(context, elementContext, element);
+
+    buffer.update(context, elementContext, element);
+    Thread.sleep(500);
+
+    verify(elementPrivateStore, times(3)).update(context, elementContext, element);
+  }
+}
@@ -0,0 +1,179 @@
+package com.amdocs.zusammen.plugin.collaboration;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.datatypes.UserInfo;
+import com.amdocs.zusammen.datatypes.item.Action;
+import com.amdocs.zusammen.datatypes.item.ElementContext;
+import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
+import com.amdocs.zusammen.plugin.dao.types.StageEntity;
+import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
+import com.amdocs.zusammen.plugin.dao.types.VersionEntity;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MergeServiceTest {
+  private static final UserInfo USER = new UserInfo("user");
+  private static final SessionContext context = TestUtils.createSessionContext(USER, "test");
+
+  private final Id itemId = new Id();
+  private final Id targetVersionId = new Id();
+  private final Id sourceVersionId = new Id();
+  private final Id baseRevisionId = new Id();
+
+  private final Map<Id, Id> baseHashes = new HashMap<>();
+  private final Map<Id, Id> sourceHashes = new HashMap<>();
+  private final Map<Id, Id> targetHashes = new HashMap<>();
+  private final Map<Id, ElementEntity> targetDescriptors = new HashMap<>();
+
+  @Mock
+  private VersionPublicStore versionPublicStore;
+  @Mock
+  private VersionPrivateStore versionPrivateStore;
+  @Mock
+  private ElementPublicStore elementPublicStore;
+  @Mock
+  private ElementPrivateStore elementPrivateStore;
+  @Mock
+  private ElementStageStore elementStageStore;
+
+  private MergeService mergeService;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    MockitoAnnotations.initMocks(this);
+    mergeService = new MergeService(versionPublicStore, versionPrivateStore, elementPublicStore,
+        elementPrivateStore, elementStageStore);
+
+    // the source was branched from the target, after the target was published
+    VersionEntity targetVersion = new VersionEntity(targetVersionId);
+    targetVersion.setCreationTime(new Date(1000));
+    VersionEntity sourceVersion = new VersionEntity(sourceVersionId);
+    sourceVersion.setBaseId(targetVersionId);
+    sourceVersion.setCreationTime(new Date(2000));
+    when(versionPrivateStore.get(anyObject(), eq(itemId), eq(targetVersionId)))
+        .thenReturn(Optional.of(targetVersion));
+    when(versionPrivateStore.get(anyObject(), eq(itemId), eq(sourceVersionId)))
+        .thenReturn(Optional.of(sourceVersion));
+    when(versionPublicStore.listRevisions(anyObject(), eq(itemId), eq(targetVersionId),
+        anyObject(), anyObject(), anyInt())).thenReturn(Collections.singletonList(
+        new SynchronizationStateEntity(targetVersionId, baseRevisionId, new Date(1500), false)));
+
+    when(elementPublicStore.listIds(anyObject(), anyObject()))
+        .thenAnswer(invocation -> asIds(baseHashes));
+    when(elementPublicStore.getHashes(anyObject(), anyObject(), anyObject()))
+        .thenAnswer(invocation -> baseHashes);
+    when(elementPrivateStore.listIds(anyObject(), anyObject()))
+        .thenAnswer(invocation -> asIds(getPrivateHashes(invocation.getArguments()[1])));
+    when(elementPrivateStore.getHashes(anyObject(), anyObject(), anyObject()))
+        .thenAnswer(invocation -> getPrivateHashes(invocation.getArguments()[1]));
+    when(elementPrivateStore.get(anyObject(), anyObject(), (Collection<Id>) anyObject()))
+        .thenReturn(new HashMap<>());
+    when(elementPrivateStore.getDescriptors(anyObject(), anyObject(), anyObject()))
+        .thenAnswer(invocation -> ((Collection<Id>) invocation.getArguments()[2]).stream()
+            .filter(targetDescriptors::containsKey)
+            .collect(Collectors.toMap(elementId -> elementId, targetDescriptors::get)));
+  }
+
+  @Test
+  public void testMergeDeletionOfUnchangedTree() throws Exception {
+    Id parentId = new Id();
+    Id subElementId = new Id();
+    addTargetElement(parentId, new Id(), subElementId);
+    addTargetElement(subElementId, new Id());
+    baseHashes.putAll(targetHashes);
+
+    Map<Id, StageEntity<ElementEntity>> stagedElements = merge();
+
+    Assert.assertEquals(stagedElements.keySet(), toSet(parentId, subElementId));
+    stagedElements.values().forEach(stagedElement -> {
+      Assert.assertEquals(stagedElement.getAction(), Action.DELETE);
+      Assert.assertFalse(stagedElement.isConflicted());
+      Assert.assertTrue(stagedElement.isLocal());
+    });
+  }
+
+  @Test
+  public void testMergeDeletionOfTreeChangedOnTarget() throws Exception {
+    Id parentId = new Id();
+    Id updatedSubElementId = new Id();
+    Id createdSubElementId = new Id();
+    Id parentHash = new Id();
+    addTargetElement(parentId, parentHash, updatedSubElementId, createdSubElementId);
+    addTargetElement(updatedSubElementId, new Id());
+    addTargetElement(createdSubElementId, new Id());
+    baseHashes.put(parentId, parentHash);
+    baseHashes.put(updatedSubElementId, new Id());
+
+    Map<Id, StageEntity<ElementEntity>> stagedElements = merge();
+
+    StageEntity<ElementEntity> stagedParent = stagedElements.get(parentId);
+    Assert.assertEquals(stagedParent.getAction(), Action.DELETE);
+    Assert.assertTrue(stagedParent.isConflicted());
+    Assert.assertEquals(stagedParent.getConflictDependents().stream()
+            .map(ElementEntity::getId)
+            .collect(Collectors.toSet()),
+        toSet(updatedSubElementId, createdSubElementId));
+    Assert.assertTrue(stagedElements.get(updatedSubElementId).isConflicted());
+    // created on the target only - kept
+    Assert.assertFalse(stagedElements.containsKey(createdSubElementId));
+  }
+
+  private Map<Id, StageEntity<ElementEntity>> merge() {
+    mergeService.merge(context, itemId, targetVersionId, sourceVersionId);
+
+    ArgumentCaptor<StageEntity> stageCaptor = ArgumentCaptor.forClass(StageEntity.class);
+    verify(elementStageStore, atLeastOnce())
+        .create(anyObject(), anyObject(), stageCaptor.capture());
+    Map<Id, StageEntity<ElementEntity>> stagedElements = new HashMap<>();
+    for (StageEntity stagedElement : stageCaptor.getAllValues()) {
+      stagedElements.put(((ElementEntity) stagedElement.getEntity()).getId(), stagedElement);
+    }
+    return stagedElements;
+  }
+
+  private void addTargetElement(Id elementId, Id hash, Id... subElementIds) {
+    targetHashes.put(elementId, hash);
+    ElementEntity descriptor = new ElementEntity(elementId);
+    descriptor.setSubElementIds(toSet(subElementIds));
+    targetDescriptors.put(elementId, descriptor);
+  }
+
+  private Map<Id, Id> getPrivateHashes(Object elementContext) {
+    return targetVersionId.equals(((ElementContext) elementContext).getVersionId())
+        ? targetHashes
+        : sourceHashes;
+  }
+
+  private static Map<Id, Id> asIds(Map<Id, Id> hashes) {
+    return hashes.keySet().stream()
+        .collect(Collectors.toMap(elementId -> elementId, elementId -> Id.ZERO));
+  }
+
+  private static Set<Id> toSet(Id... elementIds) {
+    Set<Id> set = new HashSet<>();
+    Collections.addAll(set, elementIds);
+    return set;
+  }
+}
@@ -0,0 +1,167 @@
+package com.amdocs.zusammen.plugin.collaboration;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.datatypes.UserInfo;
+import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
+import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
+import com.amdocs.zusammen.plugin.dao.types.VersionEntity;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ResetServiceTest {
+  private static final UserInfo USER = new UserInfo("user");
+  private static final SessionContext context = TestUtils.createSessionContext(USER, "test");
+  private static final Date REVISION_PUBLISH_TIME = new Date(1000);
+  private static final Date LATER_PUBLISH_TIME = new Date(2000);
+
+  private final Id itemId = new Id();
+  private final Id versionId = new Id();
+  private final Id revisionId = new Id();
+  private final VersionEntity privateVersion = new VersionEntity(versionId);
+
+  private final List<SynchronizationStateEntity> revisionSyncStates = new ArrayList<>();
+  private final Map<Id, ElementEntity> revisionElements = new HashMap<>();
+  private final List<SynchronizationStateEntity> privateSyncStates = new ArrayList<>();
+  private final Map<Id, Id> privateElementIds = new HashMap<>();
+  private final Map<Id, ElementEntity> privateDescriptors = new HashMap<>();
+
+  @Mock
+  private VersionPublicStore versionPublicStore;
+  @Mock
+  private VersionPrivateStore versionPrivateStore;
+  @Mock
+  private VersionStageStore versionStageStore;
+  @Mock
+  private ElementPublicStore elementPublicStore;
+  @Mock
+  private ElementPrivateStore elementPrivateStore;
+  @Mock
+  private ElementStageStore elementStageStore;
+
+  private ResetService resetService;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    MockitoAnnotations.initMocks(this);
+    resetService = new ResetService(versionPublicStore, versionPrivateStore, versionStageStore,
+        elementPublicStore, elementPrivateStore, elementStageStore);
+
+    when(versionPublicStore.getRevision(context, itemId, versionId, revisionId)).thenReturn(
+        Optional.of(new SynchronizationStateEntity(versionId, revisionId, REVISION_PUBLISH_TIME,
+            false)));
+    when(versionPrivateStore.get(context, itemId, versionId))
+        .thenReturn(Optional.of(privateVersion));
+
+    when(elementPublicStore.listSynchronizationStates(eq(context), anyObject()))
+        .thenReturn(revisionSyncStates);
+    when(elementPublicStore.get(eq(context), anyObject(), (Collection<Id>) anyObject()))
+        .thenAnswer(invocation -> ((Collection<Id>) invocation.getArguments()[2]).stream()
+            .collect(Collectors.toMap(elementId -> elementId, revisionElements::get)));
+    when(elementPrivateStore.listSynchronizationStates(eq(context), anyObject()))
+        .thenReturn(privateSyncStates);
+    when(elementPrivateStore.listIds(eq(context), anyObject())).thenReturn(privateElementIds);
+    when(elementPrivateStore.getDescriptors(eq(context), anyObject(), anyObject()))
+        .thenAnswer(invocation -> ((Collection<Id>) invocation.getArguments()[2]).stream()
+            .filter(privateDescriptors::containsKey)
+            .collect(Collectors.toMap(elementId -> elementId, privateDescriptors::get)));
+  }
+
+  @Test
+  public void testResetToOlderRevision() throws Exception {
+    Id createdElementId = addRevisionElement();
+    Id updatedElementId = addRevisionElement();
+    addPrivateElement(updatedElementId, LATER_PUBLISH_TIME, false, null);
+    Id dirtyElementId = addRevisionElement();
+    addPrivateElement(dirtyElementId, REVISION_PUBLISH_TIME, true, null);
+    Id unchangedElementId = addRevisionElement();
+    addPrivateElement(unchangedElementId, REVISION_PUBLISH_TIME, false, null);
+    Id deletedElementId = new Id();
+    addPrivateElement(deletedElementId, LATER_PUBLISH_TIME, false, unchangedElementId);
+    // deleted privately and not published yet - only its state is left
+    Id deletionElementId = new Id();
+    privateSyncStates.add(
+        new SynchronizationStateEntity(deletionElementId, Id.ZERO, LATER_PUBLISH_TIME, true));
+
+    resetService.reset(context, itemId, versionId, revisionId);
+
+    verify(elementStageStore).deleteAll(eq(context), anyObject());
+    verify(versionStageStore).delete(context, itemId, privateVersion);
+    verify(elementPrivateStore).commitStagedCreate(eq(context), anyObject(),
+        eq(revisionElements.get(createdElementId)), eq(REVISION_PUBLISH_TIME));
+    verify(elementPrivateStore).commitStagedUpdate(eq(context), anyObject(),
+        eq(revisionElements.get(updatedElementId)), eq(REVISION_PUBLISH_TIME));
+    // the dirty state is cleared by committing the revision's element over it
+    verify(elementPrivateStore).commitStagedUpdate(eq(context), anyObject(),
+        eq(revisionElements.get(dirtyElementId)), eq(REVISION_PUBLISH_TIME));
+    verify(elementPrivateStore, never()).commitStagedUpdate(eq(context), anyObject(),
+        eq(revisionElements.get(unchangedElementId)), anyObject());
+
+    ArgumentCaptor<Collection> deletedCaptor = ArgumentCaptor.forClass(Collection.class);
+    verify(elementPrivateStore).commitStagedDelete(eq(context), anyObject(),
+        (Collection<ElementEntity>) deletedCaptor.capture());
+    Map<Id, ElementEntity> deletedElements = new HashMap<>();
+    for (Object deletedElement : deletedCaptor.getValue()) {
+      deletedElements.put(((ElementEntity) deletedElement).getId(), (ElementEntity) deletedElement);
+    }
+    Assert.assertEquals(deletedElements.keySet(), toSet(deletedElementId, deletionElementId));
+    // removed from its kept parent
+    Assert.assertEquals(deletedElements.get(deletedElementId).getParentId(), unchangedElementId);
+
+    verify(versionPrivateStore)
+        .update(context, itemId, privateVersion, REVISION_PUBLISH_TIME, false);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testResetToNonExistingRevision() throws Exception {
+    Id nonExistingRevisionId = new Id();
+    when(versionPublicStore.getRevision(context, itemId, versionId, nonExistingRevisionId))
+        .thenReturn(Optional.empty());
+
+    resetService.reset(context, itemId, versionId, nonExistingRevisionId);
+  }
+
+  private Id addRevisionElement() {
+    Id elementId = new Id();
+    revisionSyncStates.add(
+        new SynchronizationStateEntity(elementId, revisionId, REVISION_PUBLISH_TIME, false));
+    revisionElements.put(elementId, new ElementEntity(elementId));
+    return elementId;
+  }
+
+  private void addPrivateElement(Id elementId, Date publishTime, boolean dirty, Id parentId) {
+    privateSyncStates.add(new SynchronizationStateEntity(elementId, Id.ZERO, publishTime, dirty));
+    privateElementIds.put(elementId, Id.ZERO);
+    ElementEntity descriptor = new ElementEntity(elementId);
+    descriptor.setParentId(parentId);
+    privateDescriptors.put(elementId, descriptor);
+  }
+
+  private static Set<Id> toSet(Id... elementIds) {
+    Set<Id> set = new HashSet<>();
+    Collections.addAll(set, elementIds);
+    return set;
+  }
+}
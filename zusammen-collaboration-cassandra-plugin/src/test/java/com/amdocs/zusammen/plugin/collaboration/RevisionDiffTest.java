@@ -0,0 +1,44 @@
+package com.amdocs.zusammen.plugin.collaboration;
+
+import com.amdocs.zusammen.datatypes.Id;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class RevisionDiffTest {
+
+  @Test
+  public void testBetween() throws Exception {
+    Id unchanged = new Id();
+    Id updated = new Id();
+    Id created = new Id();
+    Id deleted = new Id();
+    Id unchangedRevision = new Id();
+
+    Map<Id, Id> fromElements = new HashMap<>();
+    fromElements.put(unchanged, unchangedRevision);
+    fromElements.put(updated, new Id());
+    fromElements.put(deleted, new Id());
+    Map<Id, Id> toElements = new HashMap<>();
+    toElements.put(unchanged, unchangedRevision);
+    toElements.put(updated, new Id());
+    toElements.put(created, new Id());
+
+    RevisionDiff diff = RevisionDiff.between(fromElements, toElements);
+
+    Assert.assertEquals(diff.getCreated(), Collections.singleton(created));
+    Assert.assertEquals(diff.getUpdated(), Collections.singleton(updated));
+    Assert.assertEquals(diff.getDeleted(), Collections.singleton(deleted));
+    Assert.assertFalse(diff.isEmpty());
+  }
+
+  @Test
+  public void testBetweenSameManifests() throws Exception {
+    Map<Id, Id> elements = Collections.singletonMap(new Id(), new Id());
+
+    Assert.assertTrue(RevisionDiff.between(elements, new HashMap<>(elements)).isEmpty());
+  }
+}
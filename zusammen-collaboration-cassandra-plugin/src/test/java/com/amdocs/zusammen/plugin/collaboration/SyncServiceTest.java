@@ -0,0 +1,157 @@
+package com.amdocs.zusammen.plugin.collaboration;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.datatypes.UserInfo;
+import com.amdocs.zusammen.datatypes.item.Action;
+import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
+import com.amdocs.zusammen.plugin.dao.types.StageEntity;
+import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SyncServiceTest {
+  private static final UserInfo USER = new UserInfo("user");
+  private static final SessionContext context = TestUtils.createSessionContext(USER, "test");
+  private static final Date SYNCED_PUBLISH_TIME = new Date(1000);
+  private static final Date PUBLISH_TIME = new Date(2000);
+
+  private final Id itemId = new Id();
+  private final Id versionId = new Id();
+
+  private final List<SynchronizationStateEntity> publicSyncStates = new ArrayList<>();
+  private final Map<Id, ElementEntity> publicElements = new HashMap<>();
+  private final List<SynchronizationStateEntity> privateSyncStates = new ArrayList<>();
+
+  @Mock
+  private VersionPublicStore versionPublicStore;
+  @Mock
+  private VersionPrivateStore versionPrivateStore;
+  @Mock
+  private VersionStageStore versionStageStore;
+  @Mock
+  private ElementPublicStore elementPublicStore;
+  @Mock
+  private ElementPrivateStore elementPrivateStore;
+  @Mock
+  private ElementStageStore elementStageStore;
+
+  private SyncService syncService;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    MockitoAnnotations.initMocks(this);
+    syncService = new SyncService(versionPublicStore, versionPrivateStore, versionStageStore,
+        elementPublicStore, elementPrivateStore, elementStageStore);
+
+    when(versionPublicStore.getSynchronizationState(context, itemId, versionId, null))
+        .thenReturn(Optional.of(
+            new SynchronizationStateEntity(versionId, new Id(), PUBLISH_TIME, false)));
+    when(versionPrivateStore.getSynchronizationState(context, itemId, versionId))
+        .thenReturn(Optional.of(
+            new SynchronizationStateEntity(versionId, Id.ZERO, SYNCED_PUBLISH_TIME, false)));
+
+    when(elementPrivateStore.listSynchronizationStates(eq(context), anyObject()))
+        .thenReturn(privateSyncStates);
+    when(elementPublicStore.listChanges(eq(context), anyObject(), anyObject(), anyObject()))
+        .thenReturn(Optional.empty());
+    when(elementPublicStore.listSynchronizationStates(eq(context), anyObject()))
+        .thenReturn(publicSyncStates);
+    when(elementPublicStore.get(eq(context), anyObject(), (Collection<Id>) anyObject()))
+        .thenAnswer(invocation -> ((Collection<Id>) invocation.getArguments()[2]).stream()
+            .collect(Collectors.toMap(elementId -> elementId, publicElements::get)));
+    when(elementPublicStore.get(eq(context), anyObject(), (Id) anyObject()))
+        .thenAnswer(invocation ->
+            Optional.ofNullable(publicElements.get((Id) invocation.getArguments()[2])));
+    when(elementPrivateStore.getDescriptors(eq(context), anyObject(), anyObject()))
+        .thenReturn(new HashMap<>());
+  }
+
+  @Test
+  public void testConflictFreeSyncAppliedDirectly() throws Exception {
+    Id updatedElementId = addPublicElement();
+    privateSyncStates.add(
+        new SynchronizationStateEntity(updatedElementId, Id.ZERO, SYNCED_PUBLISH_TIME, false));
+    Id createdElementId = addPublicElement();
+    Id deletedElementId = new Id();
+    privateSyncStates.add(
+        new SynchronizationStateEntity(deletedElementId, Id.ZERO, SYNCED_PUBLISH_TIME, false));
+
+    syncService.sync(context, itemId, versionId);
+
+    verify(elementPrivateStore).commitStagedUpdate(eq(context), anyObject(),
+        eq(publicElements.get(updatedElementId)), eq(PUBLISH_TIME));
+    verify(elementPrivateStore).commitStagedCreate(eq(context), anyObject(),
+        eq(publicElements.get(createdElementId)), eq(PUBLISH_TIME));
+    ArgumentCaptor<Collection> deletedCaptor = ArgumentCaptor.forClass(Collection.class);
+    verify(elementPrivateStore).commitStagedDelete(eq(context), anyObject(),
+        (Collection<ElementEntity>) deletedCaptor.capture());
+    Assert.assertEquals(((Collection<ElementEntity>) deletedCaptor.getValue()).stream()
+        .map(ElementEntity::getId)
+        .collect(Collectors.toList()), Collections.singletonList(deletedElementId));
+    verify(elementStageStore, never()).create(anyObject(), anyObject(), anyObject());
+  }
+
+  @Test
+  public void testSyncWithStagedElementsStaged() throws Exception {
+    Id updatedElementId = addPublicElement();
+    privateSyncStates.add(
+        new SynchronizationStateEntity(updatedElementId, Id.ZERO, SYNCED_PUBLISH_TIME, false));
+    // e.g. unresolved conflicts of a previous sync
+    when(elementStageStore.hasElements(eq(context), anyObject())).thenReturn(true);
+
+    syncService.sync(context, itemId, versionId);
+
+    ArgumentCaptor<StageEntity> stageCaptor = ArgumentCaptor.forClass(StageEntity.class);
+    verify(elementStageStore).create(eq(context), anyObject(), stageCaptor.capture());
+    StageEntity<ElementEntity> stagedElement = stageCaptor.getValue();
+    Assert.assertEquals(stagedElement.getEntity().getId(), updatedElementId);
+    Assert.assertEquals(stagedElement.getAction(), Action.UPDATE);
+    Assert.assertFalse(stagedElement.isConflicted());
+    verify(elementPrivateStore, never())
+        .commitStagedUpdate(anyObject(), anyObject(), anyObject(), anyObject());
+  }
+
+  @Test
+  public void testSyncWithStagedLocalChangesRejected() throws Exception {
+    when(elementStageStore.hasLocalChanges(eq(context), anyObject())).thenReturn(true);
+
+    try {
+      syncService.sync(context, itemId, versionId);
+      Assert.fail("sync over staged local changes should be rejected");
+    } catch (IllegalStateException expected) {
+      // nothing is staged over the local changes
+    }
+    verify(versionStageStore, never()).create(anyObject(), anyObject(), anyObject());
+    verify(elementStageStore, never()).create(anyObject(), anyObject(), anyObject());
+  }
+
+  private Id addPublicElement() {
+    Id elementId = new Id();
+    publicSyncStates.add(new SynchronizationStateEntity(elementId, new Id(), PUBLISH_TIME, false));
+    ElementEntity element = new ElementEntity(elementId);
+    element.setElementHash(new Id());
+    publicElements.put(elementId, element);
+    return elementId;
+  }
+}
@@ -0,0 +1,74 @@
+package com.amdocs.zusammen.plugin.collaboration;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.item.Action;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class ThreeWayDiffTest {
+
+  @Test
+  public void testBetween() throws Exception {
+    Id unchanged = new Id();
+    Id changedOnTarget = new Id();
+    Id updatedOnSource = new Id();
+    Id createdOnSource = new Id();
+    Id deletedOnSource = new Id();
+    Id updatedOnBoth = new Id();
+    Id deletedOnSourceUpdatedOnTarget = new Id();
+
+    Map<Id, Id> base = new HashMap<>();
+    Map<Id, Id> source = new HashMap<>();
+    Map<Id, Id> target = new HashMap<>();
+    putAll(unchanged, new Id(), base, source, target);
+    Id changedOnTargetHash = new Id();
+    putAll(changedOnTarget, changedOnTargetHash, base, source);
+    target.put(changedOnTarget, new Id());
+    Id updatedOnSourceHash = new Id();
+    putAll(updatedOnSource, updatedOnSourceHash, base, target);
+    source.put(updatedOnSource, new Id());
+    source.put(createdOnSource, new Id());
+    putAll(deletedOnSource, new Id(), base, target);
+    base.put(updatedOnBoth, new Id());
+    source.put(updatedOnBoth, new Id());
+    target.put(updatedOnBoth, new Id());
+    base.put(deletedOnSourceUpdatedOnTarget, new Id());
+    target.put(deletedOnSourceUpdatedOnTarget, new Id());
+
+    ThreeWayDiff diff = ThreeWayDiff.between(base, source, target);
+
+    Map<Id, Action> expectedChanges = new HashMap<>();
+    expectedChanges.put(updatedOnSource, Action.UPDATE);
+    expectedChanges.put(createdOnSource, Action.CREATE);
+    expectedChanges.put(deletedOnSource, Action.DELETE);
+    Assert.assertEquals(diff.getChanges(), expectedChanges);
+
+    Map<Id, Action> expectedConflicts = new HashMap<>();
+    expectedConflicts.put(updatedOnBoth, Action.UPDATE);
+    expectedConflicts.put(deletedOnSourceUpdatedOnTarget, Action.DELETE);
+    Assert.assertEquals(diff.getConflicts(), expectedConflicts);
+  }
+
+  @Test
+  public void testBetweenSameChangeOnBothSides() throws Exception {
+    Id elementId = new Id();
+    Id changedHash = new Id();
+    Map<Id, Id> base = new HashMap<>();
+    base.put(elementId, new Id());
+    Map<Id, Id> source = new HashMap<>();
+    source.put(elementId, changedHash);
+    Map<Id, Id> target = new HashMap<>(source);
+
+    Assert.assertTrue(ThreeWayDiff.between(base, source, target).isEmpty());
+  }
+
+  @SafeVarargs
+  private static void putAll(Id elementId, Id hash, Map<Id, Id>... manifests) {
+    for (Map<Id, Id> manifest : manifests) {
+      manifest.put(elementId, hash);
+    }
+  }
+}
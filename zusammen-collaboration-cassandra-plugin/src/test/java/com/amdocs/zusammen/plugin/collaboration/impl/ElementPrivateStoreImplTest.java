@@ -0,0 +1,179 @@
+package com.amdocs.zusammen.plugin.collaboration.impl;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.datatypes.UserInfo;
+import com.amdocs.zusammen.datatypes.item.ElementContext;
+import com.amdocs.zusammen.plugin.collaboration.TestUtils;
+import com.amdocs.zusammen.plugin.dao.ElementRepository;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.ElementRepositoryImpl;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.ElementSynchronizationStateRepositoryImpl;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryDatabase;
+import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ElementPrivateStoreImplTest {
+  private static final UserInfo USER = new UserInfo("user");
+  private static final SessionContext context = TestUtils.createSessionContext(USER, "test");
+  private static final ElementContext elementContext =
+      TestUtils.createElementContext(new Id(), new Id());
+
+  private InMemoryDatabase database;
+  private ElementRepository elementRepository;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    database = new InMemoryDatabase(0);
+    elementRepository = Mockito.spy(new ElementRepositoryImpl(database));
+  }
+
+  @Test
+  public void testUpdateOfMissingElement() throws Exception {
+    ElementPrivateStoreImpl elementPrivateStore = createElementPrivateStore();
+    Id elementId = new Id();
+
+    Assert.assertTrue(elementPrivateStore.update(context, elementContext,
+        createElement(elementId, new Id())));
+    Assert.assertTrue(elementPrivateStore.get(context, elementContext, elementId).isPresent());
+  }
+
+  @Test
+  public void testUpdateWithSameHash() throws Exception {
+    ElementPrivateStoreImpl elementPrivateStore = createElementPrivateStore();
+    Id elementId = new Id();
+    Id elementHash = new Id();
+    elementPrivateStore.update(context, elementContext, createElement(elementId, elementHash));
+
+    Assert.assertFalse(elementPrivateStore.update(context, elementContext,
+        createElement(elementId, elementHash)));
+  }
+
+  @Test
+  public void testUpdateWithHashDifferentFromCached() throws Exception {
+    ElementPrivateStoreImpl elementPrivateStore = createElementPrivateStore();
+    Id elementId = new Id();
+    elementPrivateStore.update(context, elementContext, createElement(elementId, new Id()));
+
+    Id changedHash = new Id();
+    Assert.assertTrue(elementPrivateStore.update(context, elementContext,
+        createElement(elementId, changedHash)));
+    // only the first update, of an uncached element, compared with the stored hash
+    verify(elementRepository, times(1)).updateIfChanged(anyObject(), anyObject(), anyObject());
+    Assert.assertEquals(elementPrivateStore.getHashes(context, elementContext,
+        Collections.singleton(elementId)).get(elementId), changedHash);
+  }
+
+  @Test
+  public void testUpdateOfElementChangedByAnotherStore() throws Exception {
+    ElementPrivateStoreImpl elementPrivateStore = createElementPrivateStore();
+    // of another JVM
+    ElementPrivateStoreImpl otherElementPrivateStore = createElementPrivateStore();
+    Id elementId = new Id();
+    Id elementHash = new Id();
+    elementPrivateStore.update(context, elementContext, createElement(elementId, elementHash));
+    otherElementPrivateStore.update(context, elementContext, createElement(elementId, new Id()));
+
+    // equal to the cached hash, but not to the stored one
+    Assert.assertTrue(elementPrivateStore.update(context, elementContext,
+        createElement(elementId, elementHash)));
+    Assert.assertEquals(elementPrivateStore.getHashes(context, elementContext,
+        Collections.singleton(elementId)).get(elementId), elementHash);
+  }
+
+  @Test
+  public void testUpdateOfElementChangedByStoreSharingCache() throws Exception {
+    ElementHashCache hashCache = new ElementHashCache(100);
+    ElementPrivateStoreImpl elementPrivateStore = createElementPrivateStore(hashCache);
+    ElementPrivateStoreImpl otherElementPrivateStore = createElementPrivateStore(hashCache);
+    Id elementId = new Id();
+    Id elementHash = new Id();
+    elementPrivateStore.update(context, elementContext, createElement(elementId, new Id()));
+    otherElementPrivateStore.update(context, elementContext, createElement(elementId, elementHash));
+
+    Assert.assertFalse(elementPrivateStore.update(context, elementContext,
+        createElement(elementId, elementHash)));
+  }
+
+  @Test
+  public void testUpdateAfterCommitStagedUpdate() throws Exception {
+    ElementPrivateStoreImpl elementPrivateStore = createElementPrivateStore();
+    Id elementId = new Id();
+    elementPrivateStore.update(context, elementContext, createElement(elementId, new Id()));
+    Id syncedHash = new Id();
+    elementPrivateStore.commitStagedUpdate(context, elementContext,
+        createElement(elementId, syncedHash), new Date());
+
+    // the synced hash is not taken for a change of the hash cached before the sync
+    Assert.assertFalse(elementPrivateStore.update(context, elementContext,
+        createElement(elementId, syncedHash)));
+  }
+
+  @Test
+  public void testDeleteElementHierarchies() throws Exception {
+    ElementPrivateStoreImpl elementPrivateStore = createElementPrivateStore();
+    Id parentId = new Id();
+    Id elementId = new Id();
+    Id subElementId = new Id();
+    Id publishedElementId = new Id();
+    elementPrivateStore.create(context, elementContext, createSubElement(parentId, null));
+    elementPrivateStore.create(context, elementContext, createSubElement(elementId, parentId));
+    elementPrivateStore.create(context, elementContext, createSubElement(subElementId, elementId));
+    elementPrivateStore.commitStagedCreate(context, elementContext,
+        createSubElement(publishedElementId, parentId), new Date());
+
+    elementPrivateStore.delete(context, elementContext,
+        Arrays.asList(elementId, publishedElementId));
+
+    for (Id deletedElementId : Arrays.asList(elementId, subElementId, publishedElementId)) {
+      Assert.assertFalse(
+          elementPrivateStore.get(context, elementContext, deletedElementId).isPresent());
+    }
+    Assert.assertTrue(elementPrivateStore.get(context, elementContext, parentId).get()
+        .getSubElementIds().isEmpty());
+    // unpublished elements are forgotten, the deletion of a published one is to be published
+    Assert.assertFalse(elementPrivateStore
+        .getSynchronizationState(context, elementContext, subElementId).isPresent());
+    Assert.assertTrue(elementPrivateStore
+        .getSynchronizationState(context, elementContext, publishedElementId).get().isDirty());
+    Assert.assertTrue(elementPrivateStore
+        .getSynchronizationState(context, elementContext, parentId).isPresent());
+  }
+
+  private ElementPrivateStoreImpl createElementPrivateStore() {
+    return createElementPrivateStore(new ElementHashCache(100));
+  }
+
+  private ElementPrivateStoreImpl createElementPrivateStore(ElementHashCache hashCache) {
+    ElementPrivateStoreImpl elementPrivateStore =
+        Mockito.spy(new ElementPrivateStoreImpl(hashCache));
+    when(elementPrivateStore.getElementRepository(anyObject())).thenReturn(elementRepository);
+    when(elementPrivateStore.getElementSyncStateRepository(anyObject()))
+        .thenReturn(new ElementSynchronizationStateRepositoryImpl(database));
+    return elementPrivateStore;
+  }
+
+  private static ElementEntity createSubElement(Id elementId, Id parentId) {
+    ElementEntity element = createElement(elementId, new Id());
+    element.setParentId(parentId);
+    return element;
+  }
+
+  private static ElementEntity createElement(Id elementId, Id elementHash) {
+    ElementEntity element = new ElementEntity(elementId);
+    element.setInfo(TestUtils.createInfo(elementHash.getValue()));
+    element.setElementHash(elementHash);
+    return element;
+  }
+}
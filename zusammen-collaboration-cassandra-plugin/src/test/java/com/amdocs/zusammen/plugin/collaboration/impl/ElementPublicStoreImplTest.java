@@ -0,0 +1,98 @@
+package com.amdocs.zusammen.plugin.collaboration.impl;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.datatypes.UserInfo;
+import com.amdocs.zusammen.datatypes.item.Action;
+import com.amdocs.zusammen.datatypes.item.ElementContext;
+import com.amdocs.zusammen.plugin.collaboration.TestUtils;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryDatabase;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.VersionChangeLogRepositoryImpl;
+import com.amdocs.zusammen.plugin.dao.types.ChangeLogEntryEntity;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ElementPublicStoreImplTest {
+  private static final UserInfo USER = new UserInfo("user");
+  private static final SessionContext context = TestUtils.createSessionContext(USER, "test");
+
+  private final ElementContext elementContext = new ElementContext(new Id(), new Id(), new Id());
+  private final Date firstPublishTime = new Date(1000);
+  private final Date secondPublishTime = new Date(2000);
+  private final Date thirdPublishTime = new Date(3000);
+
+  @Spy
+  private ElementPublicStoreImpl elementPublicStore;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    MockitoAnnotations.initMocks(this);
+    when(elementPublicStore.getVersionChangeLogRepository(anyObject()))
+        .thenReturn(new VersionChangeLogRepositoryImpl(new InMemoryDatabase(0)));
+    when(elementPublicStore.isChangeLogEnabled()).thenReturn(true);
+  }
+
+  @Test
+  public void testListChangesBetweenLoggedPublications() throws Exception {
+    Id firstElementId = new Id();
+    Id secondElementId = new Id();
+    logChange(firstPublishTime, firstElementId);
+    logChange(secondPublishTime, secondElementId);
+    logChange(thirdPublishTime, firstElementId);
+
+    Optional<List<ChangeLogEntryEntity>> changes =
+        elementPublicStore.listChanges(context, elementContext, firstPublishTime,
+            secondPublishTime);
+
+    Assert.assertTrue(changes.isPresent());
+    Assert.assertEquals(changes.get().size(), 1);
+    Assert.assertEquals(changes.get().get(0).getElementId(), secondElementId);
+  }
+
+  @Test
+  public void testListChangesFromUnloggedPublication() throws Exception {
+    logChange(secondPublishTime, new Id());
+
+    Assert.assertFalse(elementPublicStore
+        .listChanges(context, elementContext, firstPublishTime, secondPublishTime).isPresent());
+  }
+
+  @Test
+  public void testListChangesToUnloggedPublication() throws Exception {
+    logChange(firstPublishTime, new Id());
+    // a publication whose elements were written while it was not logged (yet)
+
+    Assert.assertFalse(elementPublicStore
+        .listChanges(context, elementContext, firstPublishTime, secondPublishTime).isPresent());
+  }
+
+  @Test
+  public void testListChangesWhenChangeLogDisabled() throws Exception {
+    when(elementPublicStore.isChangeLogEnabled()).thenReturn(false);
+    logChange(firstPublishTime, new Id());
+    logChange(secondPublishTime, new Id());
+
+    Assert.assertFalse(elementPublicStore
+        .listChanges(context, elementContext, firstPublishTime, secondPublishTime).isPresent());
+    verify(elementPublicStore, never()).getVersionChangeLogRepository(anyObject());
+  }
+
+  private void logChange(Date publishTime, Id elementId) {
+    elementPublicStore.logChanges(context, elementContext, publishTime, Collections.singleton(
+        new ChangeLogEntryEntity(elementId, elementContext.getRevisionId(), publishTime,
+            Action.UPDATE)));
+  }
+}
@@ -6,19 +6,25 @@ import com.amdocs.zusammen.datatypes.UserInfo;
 import com.amdocs.zusammen.datatypes.item.Action;
 import com.amdocs.zusammen.datatypes.item.ElementContext;
 import com.amdocs.zusammen.datatypes.item.Resolution;
-import com.amdocs.zusammen.plugin.statestore.cassandra.dao.types.ElementEntityContext;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
-import org.mockito.Spy;
+import com.amdocs.zusammen.plugin.collaboration.ConflictResolutionPolicy;
 import com.amdocs.zusammen.plugin.collaboration.TestUtils;
 import com.amdocs.zusammen.plugin.dao.ElementStageRepository;
 import com.amdocs.zusammen.plugin.dao.types.ElementEntity;
 import com.amdocs.zusammen.plugin.dao.types.StageEntity;
+import com.amdocs.zusammen.plugin.statestore.cassandra.dao.types.ElementEntityContext;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -154,6 +160,48 @@ public class ElementStageStoreImplTest {
         same(relatedElement3), same(Action.IGNORE));
   }
 
+  @Test
+  public void testResolveConflicts() throws Exception {
+    StageEntity<ElementEntity> yoursElement = createConflictedElement();
+    ElementEntity yoursDependent = new ElementEntity(new Id());
+    yoursElement.setConflictDependents(Collections.singleton(yoursDependent));
+    StageEntity<ElementEntity> theirsElement = createConflictedElement();
+    StageEntity<ElementEntity> unresolvedElement = createConflictedElement();
+
+    doReturn(Arrays.asList(yoursElement.getEntity(), theirsElement.getEntity(),
+        unresolvedElement.getEntity()))
+        .when(elementStageRepositoryMock).listConflictedIds(anyObject(), anyObject());
+    Map<Id, StageEntity<ElementEntity>> descriptors = new HashMap<>();
+    descriptors.put(yoursElement.getEntity().getId(), yoursElement);
+    descriptors.put(theirsElement.getEntity().getId(), theirsElement);
+    descriptors.put(unresolvedElement.getEntity().getId(), unresolvedElement);
+    doReturn(descriptors)
+        .when(elementStageRepositoryMock).getDescriptors(anyObject(), anyObject(), anyObject());
+
+    Map<Id, Resolution> resolutions = new HashMap<>();
+    resolutions.put(yoursElement.getEntity().getId(), Resolution.YOURS);
+    resolutions.put(theirsElement.getEntity().getId(), Resolution.THEIRS);
+    int resolved = elementStageStore
+        .resolveConflicts(context, elementContext, ConflictResolutionPolicy.of(resolutions));
+
+    Assert.assertEquals(resolved, 2); // the dependent of yours is not a conflict of its own
+    ElementEntityContext elementEntityContext =
+        new ElementEntityContext(USER.getUserName(), elementContext);
+    verify(elementStageRepositoryMock).markAsNotConflicted(same(context), eq(elementEntityContext),
+        eq(new HashSet<>(Arrays.asList(yoursElement.getEntity(), yoursDependent))),
+        same(Action.IGNORE));
+    verify(elementStageRepositoryMock).markAsNotConflicted(same(context), eq(elementEntityContext),
+        eq(Collections.singleton(theirsElement.getEntity())));
+  }
+
+  private StageEntity<ElementEntity> createConflictedElement() {
+    StageEntity<ElementEntity> stagedElement =
+        new StageEntity<>(new ElementEntity(new Id()), new Date());
+    stagedElement.setAction(Action.UPDATE);
+    stagedElement.setConflicted(true);
+    return stagedElement;
+  }
+
   @Test
   public void testResolveConflictByTheirs() throws Exception {
 
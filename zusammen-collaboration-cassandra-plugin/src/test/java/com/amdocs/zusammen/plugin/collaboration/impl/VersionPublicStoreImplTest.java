@@ -0,0 +1,116 @@
+package com.amdocs.zusammen.plugin.collaboration.impl;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.datatypes.UserInfo;
+import com.amdocs.zusammen.plugin.collaboration.TestUtils;
+import com.amdocs.zusammen.plugin.dao.VersionDao;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.InMemoryDatabase;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.VersionRevisionRepositoryImpl;
+import com.amdocs.zusammen.plugin.dao.impl.inmemory.VersionSynchronizationStateRepositoryImpl;
+import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
+import com.amdocs.zusammen.plugin.dao.types.VersionEntity;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class VersionPublicStoreImplTest {
+  private static final UserInfo USER = new UserInfo("user");
+  private static final SessionContext context = TestUtils.createSessionContext(USER, "test");
+
+  private final Id itemId = new Id();
+  private final VersionEntity version = new VersionEntity(new Id());
+
+  @Mock
+  private VersionDao versionDaoMock;
+  @Spy
+  private VersionPublicStoreImpl versionPublicStore;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    MockitoAnnotations.initMocks(this);
+    InMemoryDatabase database = new InMemoryDatabase(0);
+    when(versionPublicStore.getVersionDao(anyObject())).thenReturn(versionDaoMock);
+    when(versionPublicStore.getVersionSyncStateRepository(anyObject()))
+        .thenReturn(new VersionSynchronizationStateRepositoryImpl(database));
+    when(versionPublicStore.getVersionRevisionRepository(anyObject()))
+        .thenReturn(new VersionRevisionRepositoryImpl(database));
+  }
+
+  @Test
+  public void testListRevisionsPagedAcrossEqualPublishTimes() throws Exception {
+    when(versionPublicStore.isVersionRevisionsEnabled()).thenReturn(true);
+    List<Id> expectedRevisionIds = publishRevisions();
+
+    Assert.assertEquals(listRevisionIdsInPages(2), expectedRevisionIds);
+    Assert.assertEquals(getRevisionIds(
+        versionPublicStore.listSynchronizationStates(context, itemId, version.getId())),
+        expectedRevisionIds);
+  }
+
+  @Test
+  public void testListRevisionsWhenVersionRevisionsDisabled() throws Exception {
+    when(versionPublicStore.isVersionRevisionsEnabled()).thenReturn(false);
+    List<Id> expectedRevisionIds = publishRevisions();
+
+    Assert.assertEquals(listRevisionIdsInPages(2), expectedRevisionIds);
+    verify(versionPublicStore, never()).getVersionRevisionRepository(anyObject());
+  }
+
+  /**
+   * Publishes a revision and then three revisions at the same time.
+   *
+   * @return the ids of the published revisions, from the newest to the oldest
+   */
+  private List<Id> publishRevisions() {
+    Id firstRevisionId = new Id();
+    versionPublicStore.create(context, itemId, version, firstRevisionId, Collections.emptyMap(),
+        new Date(1000), "first");
+
+    List<Id> sameTimeRevisionIds = Arrays.asList(new Id(), new Id(), new Id());
+    Date publishTime = new Date(2000);
+    sameTimeRevisionIds.forEach(revisionId -> versionPublicStore.update(context, itemId, version,
+        revisionId, Collections.emptyMap(), publishTime, "same time"));
+
+    List<Id> revisionIds = sameTimeRevisionIds.stream()
+        .sorted((o1, o2) -> o1.getValue().compareTo(o2.getValue()))
+        .collect(Collectors.toList());
+    revisionIds.add(firstRevisionId);
+    return revisionIds;
+  }
+
+  private List<Id> listRevisionIdsInPages(int pageSize) {
+    List<SynchronizationStateEntity> revisions = new ArrayList<>();
+    List<SynchronizationStateEntity> page =
+        versionPublicStore.listRevisions(context, itemId, version.getId(), null, null, pageSize);
+    while (!page.isEmpty()) {
+      Assert.assertTrue(page.size() <= pageSize);
+      revisions.addAll(page);
+      SynchronizationStateEntity lastRevision = page.get(page.size() - 1);
+      page = versionPublicStore.listRevisions(context, itemId, version.getId(),
+          lastRevision.getPublishTime(), lastRevision.getRevisionId(), pageSize);
+    }
+    return getRevisionIds(revisions);
+  }
+
+  private static List<Id> getRevisionIds(List<SynchronizationStateEntity> revisions) {
+    return revisions.stream()
+        .map(SynchronizationStateEntity::getRevisionId)
+        .collect(Collectors.toList());
+  }
+}
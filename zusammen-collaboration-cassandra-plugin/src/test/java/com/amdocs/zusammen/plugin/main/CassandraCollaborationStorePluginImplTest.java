@@ -0,0 +1,119 @@
+package com.amdocs.zusammen.plugin.main;
+
+import com.amdocs.zusammen.datatypes.Id;
+import com.amdocs.zusammen.datatypes.SessionContext;
+import com.amdocs.zusammen.datatypes.UserInfo;
+import com.amdocs.zusammen.datatypes.itemversion.Tag;
+import com.amdocs.zusammen.plugin.collaboration.ElementPrivateStore;
+import com.amdocs.zusammen.plugin.collaboration.ElementPublicStore;
+import com.amdocs.zusammen.plugin.collaboration.ElementStageStore;
+import com.amdocs.zusammen.plugin.collaboration.TestUtils;
+import com.amdocs.zusammen.plugin.collaboration.VersionPrivateStore;
+import com.amdocs.zusammen.plugin.collaboration.VersionPublicStore;
+import com.amdocs.zusammen.plugin.collaboration.VersionStageStore;
+import com.amdocs.zusammen.plugin.dao.types.SynchronizationStateEntity;
+import com.amdocs.zusammen.plugin.dao.types.TagEntity;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CassandraCollaborationStorePluginImplTest {
+  private static final UserInfo USER = new UserInfo("user");
+  private static final SessionContext context = TestUtils.createSessionContext(USER, "test");
+  private static final String TAG_NAME = "tag";
+
+  private final Id itemId = new Id();
+  private final Id versionId = new Id();
+
+  @Mock
+  private VersionPrivateStore versionPrivateStore;
+  @Mock
+  private VersionPublicStore versionPublicStore;
+  @Mock
+  private VersionStageStore versionStageStore;
+  @Mock
+  private ElementPrivateStore elementPrivateStore;
+  @Mock
+  private ElementPublicStore elementPublicStore;
+  @Mock
+  private ElementStageStore elementStageStore;
+
+  private CassandraCollaborationStorePluginImpl collaborationStore;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    MockitoAnnotations.initMocks(this);
+    collaborationStore = new CassandraCollaborationStorePluginImpl(versionPrivateStore,
+        versionPublicStore, versionStageStore, elementPrivateStore, elementPublicStore,
+        elementStageStore);
+    when(versionPublicStore.isTaggingEnabled()).thenReturn(true);
+  }
+
+  @Test
+  public void testTagItemVersion() throws Exception {
+    Id revisionId = givenRevision();
+    when(versionPublicStore.createTag(eq(context), eq(itemId), eq(versionId), anyObject()))
+        .thenReturn(true);
+
+    collaborationStore.tagItemVersion(context, itemId, versionId, revisionId, createTag());
+
+    verify(versionPublicStore).createTag(eq(context), eq(itemId), eq(versionId), anyObject());
+  }
+
+  @Test
+  public void testRetagSameRevision() throws Exception {
+    Id revisionId = givenRevision();
+    givenExistingTag(revisionId);
+
+    collaborationStore.tagItemVersion(context, itemId, versionId, revisionId, createTag());
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void testRetagDifferentRevisionRejected() throws Exception {
+    Id revisionId = givenRevision();
+    givenExistingTag(new Id());
+
+    collaborationStore.tagItemVersion(context, itemId, versionId, revisionId, createTag());
+  }
+
+  @Test
+  public void testTagItemVersionWhenTaggingDisabled() throws Exception {
+    when(versionPublicStore.isTaggingEnabled()).thenReturn(false);
+
+    collaborationStore.tagItemVersion(context, itemId, versionId, new Id(), createTag());
+
+    verify(versionPublicStore, never()).createTag(anyObject(), anyObject(), anyObject(),
+        anyObject());
+  }
+
+  private Id givenRevision() {
+    Id revisionId = new Id();
+    when(versionPublicStore.getRevision(context, itemId, versionId, revisionId)).thenReturn(
+        Optional.of(new SynchronizationStateEntity(versionId, revisionId, new Date(), false)));
+    return revisionId;
+  }
+
+  private void givenExistingTag(Id taggedRevisionId) {
+    when(versionPublicStore.createTag(eq(context), eq(itemId), eq(versionId), anyObject()))
+        .thenReturn(false);
+    when(versionPublicStore.getTag(context, itemId, versionId, TAG_NAME))
+        .thenReturn(Optional.of(new TagEntity(TAG_NAME, taggedRevisionId)));
+  }
+
+  private static Tag createTag() {
+    Tag tag = mock(Tag.class);
+    when(tag.getName()).thenReturn(TAG_NAME);
+    return tag;
+  }
+}